@@ -0,0 +1,25 @@
+package com.example.fastcampusmysql.rowmapper;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// 엔티티에 붙이면 컴파일할 때 <엔티티>RowMappers 클래스를 만듦(RowMapperProcessor)
+//  - 컬럼은 public 생성자 중 파라미터가 가장 많은 생성자(하나여야 함)의 파라미터 이름과 순서를 그대로 사용
+//  - COLUMNS : SELECT 절에 넣을 컬럼 목록, ROW_MAPPER : 컬럼 이름(파라미터 이름)으로 읽어서 생성자를 호출
+//  - projections : 일부 컬럼만 읽는 매퍼, 컬럼이 하나면 그 값을 바로, 여러 개면 같은 이름의 record로 돌려줌
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface GenerateRowMapper {
+    Projection[] projections() default {};
+
+    @Retention(RetentionPolicy.SOURCE)
+    @Target({})
+    @interface Projection {
+        // 상수 이름(IdOnly -> ID_ONLY, ID_ONLY_COLUMNS)과 record 이름
+        String name();
+
+        String[] columns();
+    }
+}
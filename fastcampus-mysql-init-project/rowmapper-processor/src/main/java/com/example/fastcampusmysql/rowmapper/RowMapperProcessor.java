@@ -0,0 +1,187 @@
+package com.example.fastcampusmysql.rowmapper;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+// @GenerateRowMapper가 붙은 엔티티마다 컬럼 목록과 RowMapper를 만듦
+//  - 직접 짠 RowMapper(resultSet.getLong("id") ...)와 SELECT 컬럼 목록이 따로 놀지 않도록 생성자 하나에서 같이 만듦
+//  - 값은 컬럼 이름(생성자 파라미터 이름)으로 읽음
+//      -> 위치로 읽으면 COLUMNS 대신 다른 순서로 SELECT한 쿼리에서 타입이 같은 컬럼끼리 값이 조용히 바뀌어 들어감
+//      -> 이름으로 읽으면 SELECT에 없는 컬럼은 예외로 드러남
+//  - 필요 없는 컬럼(contents 등)은 projection으로 빼고 읽을 수 있음
+//  - 리플렉션 없이 생성자를 직접 호출하는 코드를 만들어서 직접 짠 RowMapper와 같은 비용
+//  - 생성자를 고를 수 없거나(public 생성자가 없거나 파라미터가 가장 많은 생성자가 여럿), 생성된 클래스에서 엔티티를 쓸 수 없으면(private, 내부 클래스) 컴파일 에러
+@SupportedAnnotationTypes("com.example.fastcampusmysql.rowmapper.GenerateRowMapper")
+public class RowMapperProcessor extends AbstractProcessor {
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for(Element element : roundEnv.getElementsAnnotatedWith(GenerateRowMapper.class)) {
+            if(element.getKind() != ElementKind.CLASS) {
+                error(element, "@GenerateRowMapper는 클래스에만 붙일 수 있습니다.");
+                continue;
+            }
+            try {
+                generate((TypeElement) element);
+            } catch (IllegalArgumentException e) {
+                error(element, e.getMessage());
+            } catch (IOException e) {
+                error(element, "RowMapper 생성 실패 : " + e.getMessage());
+            }
+        }
+        return true;
+    }
+
+    private void generate(TypeElement entity) throws IOException {
+        // 생성된 클래스는 같은 패키지의 최상위 클래스이므로 그 자리에서 보이는 엔티티만
+        if(entity.getModifiers().contains(Modifier.PRIVATE)) {
+            throw new IllegalArgumentException("@GenerateRowMapper는 private 클래스에 붙일 수 없습니다.");
+        }
+        if(entity.getNestingKind() != NestingKind.TOP_LEVEL) {
+            throw new IllegalArgumentException("@GenerateRowMapper는 최상위 클래스에만 붙일 수 있습니다.");
+        }
+
+        var constructors = ElementFilter.constructorsIn(entity.getEnclosedElements()).stream()
+                .filter(candidate -> candidate.getModifiers().contains(Modifier.PUBLIC))
+                .toList();
+        var maxParameters = constructors.stream()
+                .mapToInt(candidate -> candidate.getParameters().size())
+                .max()
+                .orElseThrow(() -> new IllegalArgumentException("public 생성자가 없습니다."));
+        var largest = constructors.stream()
+                .filter(candidate -> candidate.getParameters().size() == maxParameters)
+                .toList();
+        if(largest.size() > 1) {
+            throw new IllegalArgumentException("파라미터가 가장 많은(" + maxParameters + "개) public 생성자가 여러 개라 컬럼을 정할 수 없습니다.");
+        }
+        var columns = columns(largest.get(0));
+
+        var packageName = processingEnv.getElementUtils().getPackageOf(entity).getQualifiedName().toString();
+        var entityName = entity.getSimpleName().toString();
+        var className = entityName + "RowMappers";
+
+        // 파일을 쓰다가 멈추면 반쯤 쓴 파일의 문법 에러까지 같이 나오므로 projection 컬럼은 먼저 확인
+        var projections = new LinkedHashMap<String, Map<String, TypeMirror>>();
+        for(var projection : entity.getAnnotation(GenerateRowMapper.class).projections()) {
+            var projectionColumns = new LinkedHashMap<String, TypeMirror>();
+            for(var column : projection.columns()) {
+                if(!columns.containsKey(column)) {
+                    throw new IllegalArgumentException(projection.name() + " : " + entityName + "에 " + column + " 컬럼이 없습니다.");
+                }
+                projectionColumns.put(column, columns.get(column));
+            }
+            projections.put(projection.name(), projectionColumns);
+        }
+
+        var file = processingEnv.getFiler().createSourceFile(packageName + "." + className, entity);
+        try (var out = new PrintWriter(file.openWriter())) {
+            out.println("package " + packageName + ";");
+            out.println();
+            out.println("import org.springframework.jdbc.core.RowMapper;");
+            out.println();
+            out.println("// " + entityName + "에 붙인 @GenerateRowMapper로 만든 클래스(직접 수정하지 말 것)");
+            out.println("@javax.annotation.processing.Generated(\"" + RowMapperProcessor.class.getName() + "\")");
+            out.println("public final class " + className + " {");
+            writeMapper(out, "", entityName, columns, "new " + entityName);
+            out.println();
+            out.println("    // 같은 컬럼 목록에 테이블 별칭을 붙임(join용)");
+            out.println("    public static String columns(String alias) {");
+            out.println("        return " + String.join(" + \", \" + ", columns.keySet().stream().map(column -> "alias + \"." + column + "\"").toList()) + ";");
+            out.println("    }");
+
+            for(var projection : projections.entrySet()) {
+                var projectionName = projection.getKey();
+                var projectionColumns = projection.getValue();
+
+                out.println();
+                var prefix = constantName(projectionName) + "_";
+                if(projectionColumns.size() == 1) {
+                    var type = projectionColumns.values().iterator().next();
+                    writeMapper(out, prefix, boxed(type), projectionColumns, "");
+                    continue;
+                }
+                writeMapper(out, prefix, projectionName, projectionColumns, "new " + projectionName);
+                out.println();
+                var components = new ArrayList<String>();
+                projectionColumns.forEach((column, type) -> components.add(boxed(type) + " " + column));
+                out.println("    public record " + projectionName + "(" + String.join(", ", components) + ") {");
+                out.println("    }");
+            }
+
+            out.println();
+            out.println("    private " + className + "() {");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    // creator가 비어있으면 컬럼 하나를 그대로 반환
+    private void writeMapper(PrintWriter out, String prefix, String type, Map<String, TypeMirror> columns, String creator) {
+        out.println("    public static final String " + prefix + "COLUMNS = \"" + String.join(", ", columns.keySet()) + "\";");
+        var getters = new ArrayList<String>();
+        columns.forEach((column, columnType) -> getters.add(getter(columnType, column)));
+        var mapperName = prefix.isEmpty() ? "ROW_MAPPER" : prefix.substring(0, prefix.length() - 1);
+        out.println("    public static final RowMapper<" + type + "> " + mapperName + " = (resultSet, rowNum) -> " + creator + "(");
+        out.println("            " + String.join(",\n            ", getters));
+        out.println("    );");
+    }
+
+    private Map<String, TypeMirror> columns(ExecutableElement constructor) {
+        var columns = new LinkedHashMap<String, TypeMirror>();
+        for(VariableElement parameter : constructor.getParameters()) {
+            columns.put(parameter.getSimpleName().toString(), parameter.asType());
+        }
+        return columns;
+    }
+
+    // getLong, getInt는 NULL을 0으로 읽으므로 직접 짠 RowMapper(getLong("id"))와 같음
+    private String getter(TypeMirror type, String column) {
+        var label = "\"" + column + "\"";
+        return switch (boxed(type)) {
+            case "java.lang.Long" -> "resultSet.getLong(" + label + ")";
+            case "java.lang.Integer" -> "resultSet.getInt(" + label + ")";
+            case "java.lang.Boolean" -> "resultSet.getBoolean(" + label + ")";
+            case "java.lang.String" -> "resultSet.getString(" + label + ")";
+            default -> "resultSet.getObject(" + label + ", " + processingEnv.getTypeUtils().erasure(type) + ".class)";
+        };
+    }
+
+    private String boxed(TypeMirror type) {
+        if(type.getKind().isPrimitive()) {
+            return processingEnv.getTypeUtils().boxedClass(processingEnv.getTypeUtils().getPrimitiveType(type.getKind())).getQualifiedName().toString();
+        }
+        return type.toString();
+    }
+
+    // IdOnly -> ID_ONLY
+    private static String constantName(String name) {
+        return name.replaceAll("([a-z0-9])([A-Z])", "$1_$2").toUpperCase();
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
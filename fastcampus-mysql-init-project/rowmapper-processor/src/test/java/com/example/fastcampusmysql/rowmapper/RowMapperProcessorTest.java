@@ -0,0 +1,218 @@
+package com.example.fastcampusmysql.rowmapper;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.jdbc.core.RowMapper;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+// 테스트 클래스패스(spring-jdbc 포함)로 소스를 컴파일하면서 RowMapperProcessor를 돌려 보고 생성된 코드와 에러를 확인
+class RowMapperProcessorTest {
+    @TempDir
+    Path output;
+
+    @DisplayName("생성된 매퍼는 컬럼 이름으로 읽어서 SELECT 순서가 달라도 같은 값을 만든다")
+    @Test
+    public void testReadByLabel() throws Exception {
+        var errors = compile("sample.Sample", """
+                package sample;
+
+                import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
+
+                @GenerateRowMapper(projections = @GenerateRowMapper.Projection(name = "IdOnly", columns = {"id"}))
+                public class Sample {
+                    public final long id;
+                    public final long memberId;
+                    public final String contents;
+
+                    public Sample(long id, long memberId, String contents) {
+                        this.id = id;
+                        this.memberId = memberId;
+                        this.contents = contents;
+                    }
+                }
+                """);
+
+        Assertions.assertEquals(List.of(), errors);
+        var source = Files.readString(output.resolve("sample/SampleRowMappers.java"));
+        Assertions.assertTrue(source.contains("public static final String COLUMNS = \"id, memberId, contents\";"));
+        Assertions.assertTrue(source.contains("resultSet.getLong(\"memberId\")"));
+
+        // 같은 타입(long)인 id, memberId를 COLUMNS와 반대 순서로 SELECT한 행
+        var row = resultSet(Map.of("memberId", 7L, "contents", "hello", "id", 3L));
+        try (var loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            var mappers = loader.loadClass("sample.SampleRowMappers");
+            var sample = ((RowMapper<?>) mappers.getField("ROW_MAPPER").get(null)).mapRow(row, 0);
+            var sampleClass = loader.loadClass("sample.Sample");
+
+            Assertions.assertEquals(3L, sampleClass.getField("id").get(sample));
+            Assertions.assertEquals(7L, sampleClass.getField("memberId").get(sample));
+            Assertions.assertEquals("hello", sampleClass.getField("contents").get(sample));
+            Assertions.assertEquals(3L, ((RowMapper<?>) mappers.getField("ID_ONLY").get(null)).mapRow(row, 0));
+        }
+    }
+
+    @DisplayName("public 생성자가 여러 개면 파라미터가 가장 많은 생성자로 컬럼을 정한다")
+    @Test
+    public void testLargestConstructor() throws Exception {
+        var errors = compile("sample.Sample", """
+                package sample;
+
+                import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
+
+                @GenerateRowMapper
+                public class Sample {
+                    public Sample(long id) {
+                    }
+
+                    public Sample(long id, String contents) {
+                    }
+
+                    private Sample(long id, String contents, long version) {
+                    }
+                }
+                """);
+
+        Assertions.assertEquals(List.of(), errors);
+        var source = Files.readString(output.resolve("sample/SampleRowMappers.java"));
+        Assertions.assertTrue(source.contains("public static final String COLUMNS = \"id, contents\";"));
+    }
+
+    @DisplayName("파라미터가 가장 많은 public 생성자가 여러 개면 컴파일 에러")
+    @Test
+    public void testAmbiguousConstructors() {
+        var errors = compile("sample.Sample", """
+                package sample;
+
+                import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
+
+                @GenerateRowMapper
+                public class Sample {
+                    public Sample(long id, String contents) {
+                    }
+
+                    public Sample(long id, long memberId) {
+                    }
+                }
+                """);
+
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0).contains("public 생성자가 여러 개"));
+    }
+
+    @DisplayName("projection에 생성자 파라미터에 없는 컬럼이 있으면 컴파일 에러")
+    @Test
+    public void testUnknownProjectionColumn() {
+        var errors = compile("sample.Sample", """
+                package sample;
+
+                import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
+
+                @GenerateRowMapper(projections = @GenerateRowMapper.Projection(name = "Summary", columns = {"id", "title"}))
+                public class Sample {
+                    public Sample(long id, String contents) {
+                    }
+                }
+                """);
+
+        Assertions.assertEquals(1, errors.size());
+        Assertions.assertTrue(errors.get(0).contains("Summary : Sample에 title 컬럼이 없습니다."));
+    }
+
+    @DisplayName("package-private 클래스는 같은 패키지에 생성되는 매퍼에서 쓸 수 있다")
+    @Test
+    public void testPackagePrivateClass() throws Exception {
+        var errors = compile("sample.Sample", """
+                package sample;
+
+                import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
+
+                @GenerateRowMapper
+                class Sample {
+                    public Sample(long id) {
+                    }
+                }
+                """);
+
+        Assertions.assertEquals(List.of(), errors);
+        Assertions.assertTrue(Files.exists(output.resolve("sample/SampleRowMappers.java")));
+    }
+
+    @DisplayName("생성된 매퍼에서 쓸 수 없는 private 클래스, 내부 클래스는 컴파일 에러")
+    @Test
+    public void testNestedClass() {
+        var errors = compile("sample.Outer", """
+                package sample;
+
+                import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
+
+                public class Outer {
+                    @GenerateRowMapper
+                    private static class Hidden {
+                        public Hidden(long id) {
+                        }
+                    }
+
+                    @GenerateRowMapper
+                    public static class Nested {
+                        public Nested(long id) {
+                        }
+                    }
+                }
+                """);
+
+        Assertions.assertEquals(2, errors.size());
+        Assertions.assertTrue(errors.contains("@GenerateRowMapper는 private 클래스에 붙일 수 없습니다."));
+        Assertions.assertTrue(errors.contains("@GenerateRowMapper는 최상위 클래스에만 붙일 수 있습니다."));
+    }
+
+    private List<String> compile(String className, String source) {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        var file = new SimpleJavaFileObject(URI.create("string:///" + className.replace('.', '/') + ".java"), JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return source;
+            }
+        };
+        var options = List.of(
+                "-classpath", System.getProperty("java.class.path"),
+                "-d", output.toString(),
+                "-s", output.toString()
+        );
+
+        var task = compiler.getTask(null, null, diagnostics, options, null, List.of(file));
+        task.setProcessors(List.of(new RowMapperProcessor()));
+        task.call();
+
+        return diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(null))
+                .toList();
+    }
+
+    // 이름으로 읽을 때만 값을 주는 ResultSet, 위치로 읽으면 실패
+    private static ResultSet resultSet(Map<String, Object> row) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+            if(args == null || !(args[0] instanceof String label)) {
+                throw new UnsupportedOperationException(method.getName());
+            }
+            return row.get(label);
+        });
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.fastcampusmysql.domain.follow.repository;
+
+import com.example.fastcampusmysql.domain.follow.entity.Follow;
+import com.example.fastcampusmysql.domain.follow.entity.FollowRowMappers;
+import com.example.fastcampusmysql.util.FakeResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// 조회 결과 한 행을 Follow로 바꾸는 비용(FollowRepository.ROW_MAPPER)
+@State(Scope.Benchmark)
+public class FollowRowMapperBenchmark {
+    private ResultSet followRow;
+
+    @Setup
+    public void setUp() {
+        followRow = FakeResultSet.of(FollowRowMappers.COLUMNS, Map.of(
+                "id", 1L,
+                "fromMemberId", 4L,
+                "toMemberId", 5L,
+                "createdAt", LocalDateTime.of(2022, 8, 1, 12, 30)
+        ));
+    }
+
+    @Benchmark
+    public Follow follow() throws SQLException {
+        return FollowRepository.ROW_MAPPER.mapRow(followRow, 0);
+    }
+}
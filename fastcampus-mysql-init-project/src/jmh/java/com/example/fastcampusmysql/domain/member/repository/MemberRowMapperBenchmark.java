@@ -0,0 +1,37 @@
+package com.example.fastcampusmysql.domain.member.repository;
+
+import com.example.fastcampusmysql.domain.member.entity.Member;
+import com.example.fastcampusmysql.domain.member.entity.MemberRowMappers;
+import com.example.fastcampusmysql.util.FakeResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// 조회 결과 한 행을 Member로 바꾸는 비용(MemberRepository.ROW_MAPPER)
+@State(Scope.Benchmark)
+public class MemberRowMapperBenchmark {
+    private ResultSet memberRow;
+
+    @Setup
+    public void setUp() {
+        memberRow = FakeResultSet.of(MemberRowMappers.COLUMNS, Map.of(
+                "id", 1L,
+                "email", "member@fastcampus.com",
+                "nickname", "member",
+                "birthday", LocalDate.of(1990, 1, 1),
+                "createdAt", LocalDateTime.of(2022, 8, 1, 12, 30)
+        ));
+    }
+
+    @Benchmark
+    public Member member() throws SQLException {
+        return MemberRepository.ROW_MAPPER.mapRow(memberRow, 0);
+    }
+}
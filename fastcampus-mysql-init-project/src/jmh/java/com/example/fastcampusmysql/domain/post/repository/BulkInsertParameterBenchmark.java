@@ -0,0 +1,60 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// bulkInsert가 chunk(1000건)마다 파라미터를 만들고, batchUpdate가 컬럼마다 값을 꺼내는 비용
+//  - PostRepository.bulkInsert는 BeanPropertySqlParameterSource(getter를 reflection으로 호출)를 사용
+//  - 비교용으로 MapSqlParameterSource에 직접 넣는 경우
+@State(Scope.Benchmark)
+public class BulkInsertParameterBenchmark {
+    final private static String[] COLUMNS = {"memberId", "contents", "createdDate", "createdAt"};
+
+    private List<Post> posts;
+
+    @Setup
+    public void setUp() {
+        posts = new ArrayList<>(1000);
+        for(long id = 1; id <= 1000; id++) {
+            posts.add(Post.builder().memberId(id % 100).contents("contents " + id).build());
+        }
+    }
+
+    @Benchmark
+    public void beanProperty(Blackhole blackhole) {
+        SqlParameterSource[] params = posts.stream()
+                .map(BeanPropertySqlParameterSource::new)
+                .toArray(SqlParameterSource[]::new);
+        readAll(params, blackhole);
+    }
+
+    @Benchmark
+    public void map(Blackhole blackhole) {
+        SqlParameterSource[] params = posts.stream()
+                .map(post -> new MapSqlParameterSource()
+                        .addValue("memberId", post.getMemberId())
+                        .addValue("contents", post.getContents())
+                        .addValue("createdDate", post.getCreatedDate())
+                        .addValue("createdAt", post.getCreatedAt()))
+                .toArray(SqlParameterSource[]::new);
+        readAll(params, blackhole);
+    }
+
+    private static void readAll(SqlParameterSource[] params, Blackhole blackhole) {
+        for(var param : params) {
+            for(var column : COLUMNS) {
+                blackhole.consume(param.getValue(column));
+            }
+        }
+    }
+}
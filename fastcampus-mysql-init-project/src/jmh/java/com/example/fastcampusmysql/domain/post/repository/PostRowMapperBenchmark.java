@@ -0,0 +1,85 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.entity.PostRowMappers;
+import com.example.fastcampusmysql.domain.post.entity.Timeline;
+import com.example.fastcampusmysql.domain.post.entity.TimelineRowMappers;
+import com.example.fastcampusmysql.util.FakeResultSet;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// 조회 결과 한 행을 Post, Timeline으로 바꾸는 비용(PostRepository.ROW_MAPPER, TimelineRepository.ROW_MAPPER)
+//  - post: 생성된 매퍼, postByLabel: @GenerateRowMapper 이전에 직접 짠 매퍼(둘 다 컬럼 이름으로 읽음)
+@State(Scope.Benchmark)
+public class PostRowMapperBenchmark {
+    // @GenerateRowMapper 이전의 PostRepository.ROW_MAPPER
+    private static final RowMapper<Post> POST_BY_LABEL = (ResultSet resultSet, int rowNum) -> Post.builder()
+            .id(resultSet.getLong("id"))
+            .memberId(resultSet.getLong("memberId"))
+            .contents(resultSet.getString("contents"))
+            .createdDate(resultSet.getObject("createdDate", LocalDate.class))
+            .likeCount(resultSet.getLong("likeCount"))
+            .version(resultSet.getLong("version"))
+            .createdAt(resultSet.getObject("createdAt", LocalDateTime.class))
+            .build();
+
+    private ResultSet postRow;
+    private ResultSet timelineRow;
+
+    @Setup
+    public void setUp() {
+        var createdAt = LocalDateTime.of(2022, 8, 1, 12, 30, 15, 123_000_000);
+        postRow = FakeResultSet.of(PostRowMappers.COLUMNS, Map.of(
+                "id", 1_000_000L,
+                "memberId", 4L,
+                "contents", "게시물 내용입니다. 게시물 내용입니다.",
+                "createdDate", createdAt.toLocalDate(),
+                "likeCount", 12L,
+                "version", 3L,
+                "createdAt", createdAt
+        ));
+        timelineRow = FakeResultSet.of(TimelineRowMappers.COLUMNS, Map.of(
+                "id", 2_000_000L,
+                "memberId", 5L,
+                "postId", 1_000_000L,
+                "createdAt", createdAt
+        ));
+    }
+
+    @Benchmark
+    public Post post() throws SQLException {
+        return PostRepository.ROW_MAPPER.mapRow(postRow, 0);
+    }
+
+    @Benchmark
+    public Post postByLabel() throws SQLException {
+        return POST_BY_LABEL.mapRow(postRow, 0);
+    }
+
+    // 매핑 없이 Post의 컬럼만 인덱스로 읽는 비용(FakeResultSet 호출 비용)
+    @Benchmark
+    public void postBaseline(Blackhole blackhole) throws SQLException {
+        blackhole.consume(postRow.getLong(1));
+        blackhole.consume(postRow.getLong(2));
+        blackhole.consume(postRow.getString(3));
+        blackhole.consume(postRow.getObject(4, LocalDate.class));
+        blackhole.consume(postRow.getLong(5));
+        blackhole.consume(postRow.getLong(6));
+        blackhole.consume(postRow.getObject(7, LocalDateTime.class));
+    }
+
+    @Benchmark
+    public Timeline timeline() throws SQLException {
+        return TimelineRepository.ROW_MAPPER.mapRow(timelineRow, 0);
+    }
+}
@@ -0,0 +1,63 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.entity.PostRowMappers;
+import com.example.fastcampusmysql.util.FakeResultSet;
+import com.example.fastcampusmysql.util.NdjsonWriter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+// 게시물 100만건인 회원의 export(PostReadService.exportPosts)에서 DB를 뺀 나머지 비용
+//  - 한 행을 Post로 매핑하고 NDJSON 한 줄로 쓰는 것을 100만번 반복, 결과는 버림
+//  - 1회 실행 = 100만 행이므로 점수(ns/op)는 한 행당 시간, 초당 행 수는 1e9 / 점수
+//  - 실제 export는 여기에 DB에서 행을 받는 시간과 네트워크로 내보내는 시간이 더해짐
+//      -> DB에서 받는 시간까지 포함한 초당 행 수는 PostExportBenchmarkTest(SpringBootTest)로 잼
+@State(Scope.Benchmark)
+public class PostExportBenchmark {
+    private static final int ROWS = 1_000_000;
+
+    private ObjectMapper objectMapper;
+    private ResultSet postRow;
+
+    @Setup
+    public void setUp() {
+        // 스프링 부트가 만드는 ObjectMapper와 같은 날짜 설정
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        var createdAt = LocalDateTime.of(2022, 8, 1, 12, 30, 15);
+        postRow = FakeResultSet.of(PostRowMappers.COLUMNS, Map.of(
+                "id", 1_000_000L,
+                "memberId", 4L,
+                "contents", "게시물 내용입니다. 게시물 내용입니다.",
+                "createdDate", createdAt.toLocalDate(),
+                "likeCount", 12L,
+                "version", 3L,
+                "createdAt", createdAt
+        ));
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long export() throws IOException, SQLException {
+        try (var writer = new NdjsonWriter<>(objectMapper, Post.class, OutputStream.nullOutputStream())) {
+            for(var rowNum = 0; rowNum < ROWS; rowNum++) {
+                writer.write(PostRowMappers.ROW_MAPPER.mapRow(postRow, rowNum));
+            }
+            return writer.count();
+        }
+    }
+}
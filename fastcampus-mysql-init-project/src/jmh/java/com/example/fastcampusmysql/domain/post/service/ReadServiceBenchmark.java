@@ -0,0 +1,55 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import com.example.fastcampusmysql.domain.post.dto.PostDto;
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.entity.Timeline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 커서 응답을 만들 때마다 도는 작업
+//  - 다음 커서 키(id 최솟값)를 stream으로 구하는 getNextKey
+//  - Post -> PostDto 매핑
+@State(Scope.Benchmark)
+public class ReadServiceBenchmark {
+    @Param({"20", "100"})
+    private int size;
+
+    private List<Post> posts;
+    private List<Timeline> timelines;
+
+    @Setup
+    public void setUp() {
+        posts = new ArrayList<>(size);
+        timelines = new ArrayList<>(size);
+        var createdAt = LocalDateTime.of(2022, 8, 1, 12, 30);
+        for(long id = size; id > 0; id--) {
+            posts.add(Post.builder().id(id).memberId(id % 7).contents("contents " + id).createdAt(createdAt).build());
+            timelines.add(Timeline.builder().id(id).memberId(1L).postId(id).createdAt(createdAt).build());
+        }
+    }
+
+    @Benchmark
+    public long postNextKey() {
+        return PostReadService.getNextKey(posts);
+    }
+
+    @Benchmark
+    public long timelineNextKey() {
+        return TimelineReadService.getNextKey(timelines);
+    }
+
+    // 좋아요 수는 미리 조회해서 넘겨받으므로 매핑 비용만 잼
+    @Benchmark
+    public List<PostDto> toDtos() {
+        return posts.stream()
+                .map(post -> PostReadService.toDto(post, 0L))
+                .toList();
+    }
+}
@@ -0,0 +1,44 @@
+package com.example.fastcampusmysql.util;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+
+// 커서 조회 응답(CursorResponse<Post>)을 JSON으로 쓰는 비용
+//  - 스프링 부트 기본 설정과 같게 날짜는 숫자 배열이 아니라 ISO 문자열로 씀
+@State(Scope.Benchmark)
+public class CursorResponseJsonBenchmark {
+    @Param({"20", "100"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private CursorResponse<Post> response;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        var posts = new ArrayList<Post>(size);
+        var createdAt = LocalDateTime.of(2022, 8, 1, 12, 30);
+        for(long id = size; id > 0; id--) {
+            posts.add(Post.builder().id(id).memberId(id % 7).contents("게시물 내용 " + id).createdAt(createdAt).build());
+        }
+        response = new CursorResponse<>(new CursorRequest(1L, size), posts);
+    }
+
+    @Benchmark
+    public byte[] serialize() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+}
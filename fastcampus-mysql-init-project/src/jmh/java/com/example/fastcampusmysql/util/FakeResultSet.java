@@ -0,0 +1,45 @@
+package com.example.fastcampusmysql.util;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+// RowMapper 벤치마크용 ResultSet, 한 행의 컬럼 값을 SELECT 순서대로 배열로 들고 있음
+//  - DB 드라이버 없이 매핑 비용만 재기 위함
+//  - Proxy 호출 비용이 같이 잡히므로 각 벤치마크의 baseline(컬럼만 읽는 것)과의 차이를 매핑 비용으로 봄
+//  - 컬럼 이름으로 읽으면 MySQL 드라이버처럼 대소문자 무시 TreeMap에서 인덱스를 찾은 뒤 읽음(findColumn)
+public class FakeResultSet {
+    private FakeResultSet() {
+    }
+
+    // columns: "id, memberId, ..." 형태의 SELECT 컬럼 목록(<Entity>RowMappers.COLUMNS)
+    public static ResultSet of(String columns, Map<String, Object> row) {
+        var labels = Arrays.stream(columns.split(","))
+                .map(String::trim)
+                .toArray(String[]::new);
+        var values = new Object[labels.length];
+        var indexes = new TreeMap<String, Integer>(String.CASE_INSENSITIVE_ORDER);
+        for(var i = 0; i < labels.length; i++) {
+            values[i] = row.get(labels[i]);
+            indexes.put(labels[i], i + 1);
+        }
+
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class}, (proxy, method, args) -> {
+            Object value = null;
+            if(args != null && args.length > 0) {
+                var index = args[0] instanceof String label ? indexes.get(label) : (Integer) args[0];
+                value = values[index - 1];
+            }
+            return switch (method.getName()) {
+                case "getLong" -> value == null ? 0L : ((Number) value).longValue();
+                case "getInt" -> value == null ? 0 : ((Number) value).intValue();
+                case "getString" -> value == null ? null : value.toString();
+                case "getObject" -> value;
+                case "wasNull" -> false;
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.fastcampusmysql.util;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Sort;
+
+// 페이지 조회마다 Sort를 ORDER BY 문자열로 바꾸는 비용
+@State(Scope.Benchmark)
+public class PageHelperBenchmark {
+    final private Sort unsorted = Sort.unsorted();
+    final private Sort single = Sort.by(Sort.Direction.DESC, "id");
+    final private Sort multiple = Sort.by(Sort.Order.desc("createdAt"), Sort.Order.desc("likeCount"), Sort.Order.desc("id"));
+
+    @Benchmark
+    public String unsorted() {
+        return PageHelper.orderBy(unsorted);
+    }
+
+    @Benchmark
+    public String single() {
+        return PageHelper.orderBy(single);
+    }
+
+    @Benchmark
+    public String multiple() {
+        return PageHelper.orderBy(multiple);
+    }
+}
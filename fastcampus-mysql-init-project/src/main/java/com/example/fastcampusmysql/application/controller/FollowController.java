@@ -1,28 +1,56 @@
 package com.example.fastcampusmysql.application.controller;
 
 import com.example.fastcampusmysql.application.usecase.CreateFollowMemberUsecase;
+import com.example.fastcampusmysql.application.usecase.DeleteFollowMemberUsecase;
 import com.example.fastcampusmysql.application.usecase.GetFollowingMembersUsecase;
+import com.example.fastcampusmysql.application.usecase.ImportFollowsUsecase;
+import com.example.fastcampusmysql.domain.follow.dto.FollowImportResult;
+import com.example.fastcampusmysql.domain.follow.dto.FollowPair;
 import com.example.fastcampusmysql.domain.follow.service.FollowWriteService;
 import com.example.fastcampusmysql.domain.member.dto.MemberDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
 
 @RestController
 @RequiredArgsConstructor
 @RequestMapping("/follow")
 public class FollowController {
     final private CreateFollowMemberUsecase createFollowMemberUsecase;
+    final private DeleteFollowMemberUsecase deleteFollowMemberUsecase;
     final private GetFollowingMembersUsecase getFollowingMembersUsecase;
+    final private ImportFollowsUsecase importFollowsUsecase;
+    final private ObjectMapper objectMapper;
 
     @PostMapping("/{fromId}/{toId}")
     public void create(@PathVariable Long fromId, @PathVariable Long toId) {
         createFollowMemberUsecase.execute(fromId, toId);
     }
 
+    @DeleteMapping("/{fromId}/{toId}")
+    public void delete(@PathVariable Long fromId, @PathVariable Long toId) {
+        deleteFollowMemberUsecase.execute(fromId, toId);
+    }
+
     @GetMapping("/members/{fromId}")
     public List<MemberDto> find(@PathVariable Long fromId) {
         return getFollowingMembersUsecase.execute(fromId);
     }
+
+    // 팔로우 관계를 한꺼번에 옮김, 본문은 한 줄에 하나씩 {"fromMemberId":1,"toMemberId":2}(NDJSON)
+    //  - 본문을 다 읽지 않고 한 줄씩 읽으면서 처리하므로 입력 크기와 관계없이 메모리 사용량이 일정
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public FollowImportResult importFollows(InputStream body) throws IOException {
+        try (var pairs = objectMapper.readerFor(FollowPair.class).<FollowPair>readValues(body)) {
+            var stream = StreamSupport.stream(Spliterators.spliteratorUnknownSize(pairs, Spliterator.ORDERED), false);
+            return importFollowsUsecase.execute(stream);
+        }
+    }
 }
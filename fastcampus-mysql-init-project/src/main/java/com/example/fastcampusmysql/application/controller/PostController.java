@@ -7,16 +7,25 @@ import com.example.fastcampusmysql.domain.post.dto.DailyPostCount;
 import com.example.fastcampusmysql.domain.post.dto.DailyPostCountRequest;
 import com.example.fastcampusmysql.domain.post.dto.PostCommand;
 import com.example.fastcampusmysql.domain.post.dto.PostDto;
+import com.example.fastcampusmysql.domain.post.dto.PostSort;
 import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.service.PostExportLimiter;
 import com.example.fastcampusmysql.domain.post.service.PostReadService;
 import com.example.fastcampusmysql.domain.post.service.PostWriteService;
 import com.example.fastcampusmysql.util.CursorRequest;
 import com.example.fastcampusmysql.util.CursorResponse;
+import com.example.fastcampusmysql.util.InvalidSeekRequestException;
+import com.example.fastcampusmysql.util.SeekRequest;
+import com.example.fastcampusmysql.util.SeekResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -29,6 +38,14 @@ public class PostController {
     final private GetTimelinePostUsecase getTimelinePostUsecase;
     final private CreatePostUsecase createPostUsecase;
     final private CreatePostLikeUsecase createPostLikeUsecase;
+    final private PostExportLimiter postExportLimiter;
+
+    // 지원하지 않는 정렬, 잘못된 커서/size 등 페이징 요청 값이 잘못된 경우는 500이 아니라 400
+    //  -> IllegalArgumentException 전체를 잡으면 서버 쪽 버그도 400으로 숨겨지므로 이 예외만
+    @ExceptionHandler(InvalidSeekRequestException.class)
+    public ResponseEntity<String> handleInvalidSeekRequest(InvalidSeekRequestException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
 
     @PostMapping("")
     public Long create(PostCommand command) {
@@ -65,6 +82,45 @@ public class PostController {
         return postReadService.getPosts(memberId, cursorRequest);
     }
 
+    @GetMapping("/members/{memberId}/by-cursor/v2")
+    public CursorResponse<PostDto> getPostDtosByCursor(
+            @PathVariable Long memberId,
+            CursorRequest cursorRequest
+    ) {
+        return postReadService.getPostDtos(memberId, cursorRequest);
+    }
+
+    // 정렬 기준(ID_DESC, CREATED_AT_DESC, LIKE_COUNT_DESC)별 keyset 페이징
+    @GetMapping("/members/{memberId}/by-keyset")
+    public SeekResponse<PostDto> getPostDtosByKeyset(
+            @PathVariable Long memberId,
+            @RequestParam(defaultValue = "ID_DESC") PostSort sort,
+            SeekRequest seekRequest
+    ) {
+        return postReadService.getPostDtos(memberId, sort, seekRequest);
+    }
+
+    // 회원의 게시물 전체를 id 순으로 한 줄에 하나씩(NDJSON) 내려줌
+    //  - 응답을 다 만들지 않고 DB에서 읽는 대로 바로 씀(StreamingResponseBody, MVC 비동기 스레드에서 실행)
+    //  - 동시에 실행 중인 export가 post.export.max-concurrent개면 429, 끝나면(실패 포함) 자리를 돌려줌
+    @GetMapping(value = "/members/{memberId}/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportPosts(@PathVariable Long memberId) {
+        if(!postExportLimiter.tryAcquire()) {
+            return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).build();
+        }
+
+        StreamingResponseBody body = outputStream -> {
+            try {
+                postReadService.exportPosts(memberId, outputStream);
+            } finally {
+                postExportLimiter.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
+    }
+
 //    @GetMapping("/members/{memberId}/timeline")
 //    public CursorResponse<Post> getTimeline(
 //            @PathVariable Long memberId,
@@ -92,6 +148,29 @@ public class PostController {
         postWriteService.likePostByOptimisticLock(postId);
     }
 
+    // write-behind 버퍼를 통한 좋아요 증가
+    @PostMapping("/{postId}/like/v3")
+    public void likePostV3(@PathVariable Long postId) {
+        postWriteService.likePostByWriteBehind(postId);
+    }
+
+    // 슬롯으로 나눈 카운터를 통한 좋아요 증가
+    @PostMapping("/{postId}/like/v4")
+    public void likePostV4(@PathVariable Long postId) {
+        postWriteService.likePostBySharding(postId);
+    }
+
+    @PostMapping("/{postId}/like-counter-slots")
+    public void changeLikeCounterSlotCount(@PathVariable Long postId,
+                                           @RequestParam int slotCount) {
+        postWriteService.changeLikeCounterSlotCount(postId, slotCount);
+    }
+
+    @GetMapping("/{postId}/like-count")
+    public Long getLikeCount(@PathVariable Long postId) {
+        return postReadService.getLikeCount(postId);
+    }
+
     // 좋아요를 별도 집계 테이블로 나눈 후 좋아요 증가
     @PostMapping("/{postId}/like/v2")
     public void likePostV2(@PathVariable Long postId,
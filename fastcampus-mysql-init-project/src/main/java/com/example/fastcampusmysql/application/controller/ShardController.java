@@ -0,0 +1,38 @@
+package com.example.fastcampusmysql.application.controller;
+
+import com.example.fastcampusmysql.domain.post.dto.ReshardJob;
+import com.example.fastcampusmysql.domain.post.service.ReshardService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/shards")
+public class ShardController {
+    final private ReshardService reshardService;
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+    }
+
+    // 같은 회원의 이동이 진행 중이거나 대기열이 가득 찬 경우
+    @ExceptionHandler(IllegalStateException.class)
+    public ResponseEntity<String> handleIllegalState(IllegalStateException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
+    // 회원의 게시물, 타임라인을 targetShard로 옮기는 작업을 넣고 바로 응답(202)
+    //  -> 진행 상태는 GET /shards/members/{memberId}/job 으로 확인
+    @PostMapping("/members/{memberId}")
+    public ResponseEntity<ReshardJob> move(@PathVariable Long memberId, @RequestParam int targetShard) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(reshardService.submit(memberId, targetShard));
+    }
+
+    @GetMapping("/members/{memberId}/job")
+    public ResponseEntity<ReshardJob> getJob(@PathVariable Long memberId) {
+        return ResponseEntity.of(reshardService.getJob(memberId));
+    }
+}
@@ -1,9 +1,12 @@
 package com.example.fastcampusmysql.application.usecase;
 
+import com.example.fastcampusmysql.domain.follow.service.FollowReadService;
 import com.example.fastcampusmysql.domain.follow.service.FollowWriteService;
 import com.example.fastcampusmysql.domain.member.service.MemberReadService;
+import com.example.fastcampusmysql.domain.post.service.TimelineWriteService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
 @RequiredArgsConstructor
@@ -12,6 +15,10 @@ public class CreateFollowMemberUsecase {
     //  -> 이 usecase는 회원에 대한 쓰기 권한이 전혀 없음(의존성이 분리된 덕분에)
     final private MemberReadService memberReadService;
     final private FollowWriteService followWriteService;
+    final private FollowReadService followReadService;
+    final private TimelineWriteService timelineWriteService;
+    final private UsecaseComposer usecaseComposer;
+    final private TransactionTemplate transactionTemplate;
 
     public void execute(Long fromMemberId, Long toMemberId) {
         /*
@@ -19,10 +26,20 @@ public class CreateFollowMemberUsecase {
             2. followWriteService.create() 호출
          */
 
-        var fromMember = memberReadService.getMember(fromMemberId);
-        var toMember = memberReadService.getMember(toMemberId);
+        // 두 회원을 동시에 조회
+        try (var composition = usecaseComposer.begin("CreateFollowMemberUsecase")) {
+            var fromMember = composition.fork("getFromMember", () -> memberReadService.getMember(fromMemberId));
+            var toMember = composition.fork("getToMember", () -> memberReadService.getMember(toMemberId));
 
-        followWriteService.create(fromMember, toMember);
+            // 팔로우와 타임라인 백필 작업은 같은 트랜잭션으로 남기고, 백필은 TimelineBackfillWorker가 요청 밖에서 진행
+            //  -> pull 작성자의 글은 타임라인에 넣지 않고 읽을 때 가져가므로 백필하지 않음
+            composition.run("create", () -> transactionTemplate.executeWithoutResult(status -> {
+                followWriteService.create(fromMember.join(), toMember.join());
+                if(!followReadService.isPullAuthor(toMemberId)) {
+                    timelineWriteService.enqueueBackfill(fromMemberId, toMemberId);
+                }
+            }));
+        }
     }
 }
 
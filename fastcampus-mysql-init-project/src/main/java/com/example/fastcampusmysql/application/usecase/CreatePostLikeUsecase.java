@@ -12,13 +12,17 @@ public class CreatePostLikeUsecase {
     final private PostReadService postReadService;
     final private MemberReadService memberReadService;
     final private PostLikeWriteService postLikeWriteService;
+    final private UsecaseComposer usecaseComposer;
 
     // 좋아요를 테이블로 분리함으로써 코드 작업은 더 들어갔지만 write의 성능이 좋아짐
     //  - post에 대한 락을 안잡아도 됨(optimistic locking을 사용하지 않더라도 lock을 잡지 않아도 된다! -> insert이므로!)
     //  - 하나의 자원에 대해서 서로 update하려고 경합하지 않음(insert만 하니까)
     public void execute(Long postId, Long memberId) {
-        var post = postReadService.getPost(postId);
-        var member = memberReadService.getMember(memberId);
-        postLikeWriteService.create(post, member);
+        // 게시물과 회원은 서로 관계없으므로 동시에 조회
+        try (var composition = usecaseComposer.begin("CreatePostLikeUsecase")) {
+            var post = composition.fork("getPost", () -> postReadService.getPost(postId));
+            var member = composition.fork("getMember", () -> memberReadService.getMember(memberId));
+            composition.run("create", () -> postLikeWriteService.create(post.join(), member.join()));
+        }
     }
 }
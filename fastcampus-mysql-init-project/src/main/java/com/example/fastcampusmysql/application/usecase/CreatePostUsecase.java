@@ -1,6 +1,5 @@
 package com.example.fastcampusmysql.application.usecase;
 
-import com.example.fastcampusmysql.domain.follow.entity.Follow;
 import com.example.fastcampusmysql.domain.follow.service.FollowReadService;
 import com.example.fastcampusmysql.domain.post.dto.PostCommand;
 import com.example.fastcampusmysql.domain.post.service.PostWriteService;
@@ -16,7 +15,7 @@ public class CreatePostUsecase {
     final private FollowReadService followReadService;
     final private TimelineWriteService timelineWriteService;
 
-//    @Transactional
+    @Transactional
     public Long execute(PostCommand postCommand) {
         // insert 쿼리가 postWriteService.create()에서 한 번, timelineWriteService.deliveryToTimeline()에서 한 번 나가게 됨
         //  -> 트랜잭션 필요!
@@ -24,15 +23,13 @@ public class CreatePostUsecase {
         // 여기에 트랜잭션을 걸 것인지는 고민해봐야 하는 문제
         //  -> 게시물 하나를 작성하는 것에 팔로워가 몇 만명 이상이라면 이 트랜잭션이 너무 길어질 것임
         //
+        // 그래서 팔로워에게 배달하는 것은 요청 안에서 하지 않고 배달 작업(TimelineOutbox)만 같은 트랜잭션으로 남김
+        //  -> 게시물이 저장되면 배달 작업도 반드시 남고, 배달은 TimelineFanOutWorker가 팔로워를 나눠 읽으면서 진행
+        //  -> 팔로워가 아주 많은 작성자(pull 작성자)의 글은 배달하지 않고 읽을 때 직접 가져감(GetTimelinePostUsecase)
         var postId = postWriteService.create(postCommand);
-
-        var followerMemberIds = followReadService
-                .getFollows(postCommand.memberId())
-                .stream()
-                .map(Follow :: getFromMemberId)
-                .toList();
-
-        timelineWriteService.deliveryToTimeline(postId, followerMemberIds);
+        if(!followReadService.isPullAuthor(postCommand.memberId())) {
+            timelineWriteService.enqueueDelivery(postId, postCommand.memberId());
+        }
 
         return postId;
     }
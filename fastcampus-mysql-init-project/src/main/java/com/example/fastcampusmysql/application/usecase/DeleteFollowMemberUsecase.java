@@ -0,0 +1,24 @@
+package com.example.fastcampusmysql.application.usecase;
+
+import com.example.fastcampusmysql.domain.follow.service.FollowWriteService;
+import com.example.fastcampusmysql.domain.post.service.TimelineWriteService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+@RequiredArgsConstructor
+public class DeleteFollowMemberUsecase {
+    final private FollowWriteService followWriteService;
+    final private TimelineWriteService timelineWriteService;
+
+    // 팔로우 취소와 타임라인 정리 작업을 같은 트랜잭션으로 남기고, 정리는 TimelineBackfillWorker가 나눠서 진행
+    //  -> 팔로우하고 있지 않았다면 정리할 것도 없음
+    @Transactional
+    public void execute(Long fromMemberId, Long toMemberId) {
+        var deleted = followWriteService.delete(fromMemberId, toMemberId);
+        if(deleted > 0) {
+            timelineWriteService.enqueueCleanup(fromMemberId, toMemberId);
+        }
+    }
+}
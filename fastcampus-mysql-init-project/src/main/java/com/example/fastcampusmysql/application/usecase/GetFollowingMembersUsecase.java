@@ -1,10 +1,10 @@
 package com.example.fastcampusmysql.application.usecase;
 
 
-import com.example.fastcampusmysql.domain.follow.entity.Follow;
 import com.example.fastcampusmysql.domain.follow.service.FollowReadService;
 import com.example.fastcampusmysql.domain.member.dto.MemberDto;
 import com.example.fastcampusmysql.domain.member.service.MemberReadService;
+import com.example.fastcampusmysql.util.LongListView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -24,8 +24,8 @@ public class GetFollowingMembersUsecase {
             1. fromMemberId = memberId 인 follow list 조회
             2. 1번을 순회하면서 회원정보를 찾으면 된다
          */
-        var followings = followReadService.getFollowings(memberId);
-        var followingMemberIds = followings.stream().map(Follow::getToMemberId).toList();
+        // 팔로우가 많은 회원도 id 배열을 박싱해서 옮겨 담지 않도록 view로 넘김
+        var followingMemberIds = LongListView.of(followReadService.getFollowingIds(memberId));
         return memberReadService.getMembers(followingMemberIds);
     }
 }
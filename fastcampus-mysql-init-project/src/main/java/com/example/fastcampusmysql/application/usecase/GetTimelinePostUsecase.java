@@ -1,34 +1,32 @@
 package com.example.fastcampusmysql.application.usecase;
 
-import com.example.fastcampusmysql.domain.follow.entity.Follow;
 import com.example.fastcampusmysql.domain.follow.service.FollowReadService;
 import com.example.fastcampusmysql.domain.post.entity.Post;
-import com.example.fastcampusmysql.domain.post.entity.Timeline;
 import com.example.fastcampusmysql.domain.post.service.PostReadService;
-import com.example.fastcampusmysql.domain.post.service.TimelineReadService;
 import com.example.fastcampusmysql.util.CursorRequest;
 import com.example.fastcampusmysql.util.CursorResponse;
+import com.example.fastcampusmysql.util.LongListView;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class GetTimelinePostUsecase {
     final private FollowReadService followReadService;
     final private PostReadService postReadService;
-    final private TimelineReadService timelineReadService;
+    final private UsecaseComposer usecaseComposer;
 
     public CursorResponse<Post> execute(Long memberId, CursorRequest cursorRequest) {
         /*
             1. memberId로 follow 정보 조회
             2. 1번의 결과로 게시물 조회
          */
-        var followings = followReadService.getFollowings(memberId);
-        var followingMemberIds = followings.stream()
-                .map(Follow::getToMemberId)
-                .toList();
+        var followingMemberIds = LongListView.of(followReadService.getFollowingIds(memberId));
 
         return postReadService.getPosts(followingMemberIds, cursorRequest);
     }
@@ -37,20 +35,39 @@ public class GetTimelinePostUsecase {
         /*
             1. timeline 테이블 조회
             2. 1번에 해당하는 게시물을 조회한다
-                -> join으로 가져와도 됨
+                -> join으로 1, 2번을 한 번에 가져옴
+            3. 팔로우한 pull 작성자(팔로워가 아주 많아서 배달하지 않는 작성자)의 최신 게시물을 가져와서 합친다
+                -> push로 받은 게시물과 pull로 가져온 게시물을 같은 기준으로 이어서 읽을 수 있도록 커서는 postId
          */
-        var pagedTimelines = timelineReadService.getTimelines(memberId, cursorRequest);
-        var postIds = pagedTimelines.contents().stream()
-                .map(Timeline::getPostId)
-                .toList();
-
-        // 기존에는 회원 아이디로 조회했다면 이번에는 식별자로 조회해야 함
-        //  in query를 이용해 구현
-        var posts = postReadService.getPosts(postIds);
-
-        return new CursorResponse<>(
-                pagedTimelines.nextCursorRequest(),
-                posts
-        );
+        var cursorPostId = cursorRequest.hasKey() ? cursorRequest.key() : null;
+        var size = cursorRequest.size();
+
+        // push로 받은 게시물과 pull 작성자의 게시물은 서로 관계없으므로 동시에 조회
+        //  -> pull 쪽은 팔로우 조회 -> 게시물 조회 순서로 이어서 실행
+        List<Post> posts;
+        try (var composition = usecaseComposer.begin("GetTimelinePostUsecase")) {
+            // 기존에는 Timeline을 읽은 뒤 id IN 쿼리로 게시물을 한 번 더 조회했음
+            //  -> Timeline과 Post를 join해서 타임라인 순서 그대로 한 번에 조회
+            var pushedPosts = composition.fork("getTimelinePosts", () -> postReadService.getTimelinePosts(memberId, cursorPostId, size));
+            var pulledPosts = composition.fork("getPulledPosts", () -> {
+                var pullAuthorIds = followReadService.getPullAuthorFollowings(memberId);
+                return postReadService.getLatestPosts(pullAuthorIds, cursorPostId, size);
+            });
+
+            // pull 작성자가 되기 전에 배달된 게시물은 양쪽에 다 있을 수 있으므로 postId로 중복 제거
+            posts = Stream.concat(pushedPosts.join().stream(), pulledPosts.join().stream())
+                    .collect(Collectors.toMap(Post::getId, post -> post, (first, second) -> first))
+                    .values().stream()
+                    .sorted(Comparator.comparing(Post::getId).reversed())
+                    .limit(size)
+                    .toList();
+        }
+
+        var nextKey = posts.stream()
+                .mapToLong(Post::getId)
+                .min()
+                .orElse(CursorRequest.NONE_KEY);
+
+        return new CursorResponse<>(cursorRequest.next(nextKey), posts);
     }
 }
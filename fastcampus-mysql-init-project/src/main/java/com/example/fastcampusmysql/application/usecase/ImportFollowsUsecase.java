@@ -0,0 +1,106 @@
+package com.example.fastcampusmysql.application.usecase;
+
+import com.example.fastcampusmysql.domain.follow.dto.FollowImportResult;
+import com.example.fastcampusmysql.domain.follow.dto.FollowPair;
+import com.example.fastcampusmysql.domain.follow.service.FollowWriteService;
+import com.example.fastcampusmysql.domain.member.service.MemberReadService;
+import com.example.fastcampusmysql.util.BulkInsertPipeline;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// 다른 시스템의 팔로우 관계를 한꺼번에 옮길 때 사용
+//  - CreateFollowMemberUsecase는 한 쌍마다 회원 2번 조회 + insert 1번
+//  - 여기서는 BulkInsertPipeline으로 chunk(bulk-insert.chunk-size)씩 끊어서 여러 스레드로 처리
+//      1. chunk 안의 중복 쌍, 자기 자신을 팔로우하는 쌍을 메모리에서 거름
+//      2. chunk에 나온 회원 id를 IN 쿼리 한 번으로 검증(없는 회원이 들어간 쌍은 rejected)
+//      3. 남은 쌍을 (fromMemberId, toMemberId) 순으로 정렬해서 INSERT IGNORE
+//          -> 이미 있는 팔로우는 유니크 인덱스에 걸려 건너뜀(duplicates)
+//          -> 정렬해서 넣으면 유니크 인덱스를 순서대로 채우고, 동시에 실행되는 chunk끼리 락을 잡는 순서도 같아짐
+//  - 회원 검증은 replica에서 하므로 방금 가입한 회원은 복제 지연만큼 rejected될 수 있음
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportFollowsUsecase {
+    private static final Comparator<FollowPair> PAIR_ORDER = Comparator.comparing(FollowPair::fromMemberId)
+            .thenComparing(FollowPair::toMemberId);
+
+    final private MemberReadService memberReadService;
+    final private FollowWriteService followWriteService;
+    final private BulkInsertPipeline bulkInsertPipeline;
+
+    public FollowImportResult execute(Stream<FollowPair> pairs) {
+        var accepted = new AtomicLong();
+        var duplicates = new AtomicLong();
+        var rejected = new AtomicLong();
+        var batchIndex = new AtomicInteger();
+
+        var result = bulkInsertPipeline.run(pairs.iterator(), chunk -> {
+            var startedAt = System.nanoTime();
+            var batch = importBatch(chunk);
+            accepted.addAndGet(batch.accepted());
+            duplicates.addAndGet(batch.duplicates());
+            rejected.addAndGet(batch.rejected());
+
+            var elapsedNanos = Math.max(System.nanoTime() - startedAt, 1);
+            log.info("follow import batch #{} : accepted {}, duplicates {}, rejected {}, {} ms, {} pairs/sec",
+                    batchIndex.getAndIncrement(), batch.accepted(), batch.duplicates(), batch.rejected(),
+                    elapsedNanos / 1_000_000, chunk.size() * 1_000_000_000L / elapsedNanos);
+        }, report -> {
+        });
+
+        var importResult = new FollowImportResult(accepted.get(), duplicates.get(), rejected.get(), result.chunks(), result.elapsed());
+        log.info("follow import : {} pairs, accepted {}, duplicates {}, rejected {}, {} ms, {} pairs/sec",
+                importResult.pairs(), importResult.accepted(), importResult.duplicates(), importResult.rejected(),
+                importResult.elapsed().toMillis(), importResult.pairsPerSecond());
+        return importResult;
+    }
+
+    private Batch importBatch(List<FollowPair> chunk) {
+        var rejected = 0;
+        var unique = new LinkedHashSet<FollowPair>(chunk.size());
+        for(var pair : chunk) {
+            if(pair.fromMemberId() == null || pair.toMemberId() == null || pair.fromMemberId().equals(pair.toMemberId())) {
+                rejected++;
+                continue;
+            }
+            unique.add(pair);
+        }
+        var inChunkDuplicates = chunk.size() - rejected - unique.size();
+
+        var memberIds = new HashSet<Long>(unique.size() * 2);
+        for(var pair : unique) {
+            memberIds.add(pair.fromMemberId());
+            memberIds.add(pair.toMemberId());
+        }
+        var existingMemberIds = memberReadService.getExistingMemberIds(memberIds);
+
+        var valid = new ArrayList<FollowPair>(unique.size());
+        for(var pair : unique) {
+            if(existingMemberIds.contains(pair.fromMemberId()) && existingMemberIds.contains(pair.toMemberId())) {
+                valid.add(pair);
+            } else {
+                rejected++;
+            }
+        }
+        if(valid.isEmpty()) {
+            return new Batch(0, inChunkDuplicates, rejected);
+        }
+
+        valid.sort(PAIR_ORDER);
+        var inserted = followWriteService.bulkCreate(valid);
+        return new Batch(inserted, inChunkDuplicates + valid.size() - inserted, rejected);
+    }
+
+    private record Batch(long accepted, long duplicates, long rejected) {
+    }
+}
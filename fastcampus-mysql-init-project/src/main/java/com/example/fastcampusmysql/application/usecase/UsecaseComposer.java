@@ -0,0 +1,155 @@
+package com.example.fastcampusmysql.application.usecase;
+
+import com.example.fastcampusmysql.config.datasource.ReadYourWritesContext;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+// usecase 안에서 서로 관계없는 조회를 동시에 실행하고 결과를 기다림
+//  - 응답 시간이 조회 시간의 합이 아니라 가장 느린 조회의 시간이 됨
+//  - begin()부터 timeout이 지나면 기다리던 join()이 예외를 던짐(이미 실행 중인 조회를 멈추지는 않음)
+//  - 요청 스레드의 MDC를 조회 스레드로 옮겨서 로그를 요청 단위로 묶을 수 있게 함
+//  - read-your-writes 표시도 같이 옮김 -> 요청에서 쓴 뒤 fork한 조회도 primary에서 읽음
+//  - 트랜잭션 안에서 부르면 다른 스레드의 조회는 그 트랜잭션 밖이 되므로 동시에 실행하지 않고 호출한 스레드에서 바로 실행
+//      -> 동시에 실행한 조회 안에서 다시 fork해도 바로 실행(같은 풀에서 서로 기다리다 멈추지 않도록)
+//  - 단계별 시간은 usecase.steps(usecase, step 태그), 전체 시간은 usecase.executions(usecase 태그)
+@Component
+public class UsecaseComposer {
+    private static final ThreadLocal<Boolean> IN_STEP = new ThreadLocal<>();
+
+    final private Executor usecaseExecutor;
+    final private MeterRegistry meterRegistry;
+    final private long timeoutNanos;
+
+    public UsecaseComposer(
+            @Qualifier("usecaseExecutor") Executor usecaseExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${usecase.timeout-ms:3000}") long timeoutMillis
+    ) {
+        this.usecaseExecutor = usecaseExecutor;
+        this.meterRegistry = meterRegistry;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+    }
+
+    public Composition begin(String usecase) {
+        return new Composition(usecase);
+    }
+
+    public class Composition implements AutoCloseable {
+        final private String usecase;
+        final private long startedAt;
+        final private long deadline;
+        final private List<CompletableFuture<?>> futures = new ArrayList<>();
+
+        private Composition(String usecase) {
+            this.usecase = usecase;
+            this.startedAt = System.nanoTime();
+            this.deadline = startedAt + timeoutNanos;
+        }
+
+        public <T> Step<T> fork(String step, Supplier<T> supplier) {
+            if(TransactionSynchronizationManager.isActualTransactionActive() || IN_STEP.get() != null) {
+                try {
+                    return new Step<>(step, CompletableFuture.completedFuture(call(step, supplier)));
+                } catch (RuntimeException e) {
+                    return new Step<>(step, CompletableFuture.failedFuture(e));
+                }
+            }
+
+            var mdc = MDC.getCopyOfContextMap();
+            var future = CompletableFuture.supplyAsync(() -> {
+                var previous = MDC.getCopyOfContextMap();
+                setMdc(mdc);
+                IN_STEP.set(true);
+                try {
+                    return call(step, supplier);
+                } finally {
+                    IN_STEP.remove();
+                    setMdc(previous);
+                }
+            }, ReadYourWritesContext.wrap(usecaseExecutor));
+            futures.add(future);
+            return new Step<>(step, future);
+        }
+
+        // 앞의 결과가 필요한 단계는 호출한 스레드에서 실행하고 시간만 기록
+        public <T> T call(String step, Supplier<T> supplier) {
+            var startedAt = System.nanoTime();
+            try {
+                return supplier.get();
+            } finally {
+                timer("usecase.steps", step).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+            }
+        }
+
+        public void run(String step, Runnable runnable) {
+            call(step, () -> {
+                runnable.run();
+                return null;
+            });
+        }
+
+        // 기다리지 않은 조회는 결과를 버림(실행 중이면 끝까지 실행됨)
+        @Override
+        public void close() {
+            futures.forEach(future -> future.cancel(false));
+            timer("usecase.executions", null).record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
+
+        private Timer timer(String name, String step) {
+            var builder = Timer.builder(name).tag("usecase", usecase);
+            if(step != null) {
+                builder.tag("step", step);
+            }
+            return builder.register(meterRegistry);
+        }
+
+        public class Step<T> {
+            final private String name;
+            final private CompletableFuture<T> future;
+
+            private Step(String name, CompletableFuture<T> future) {
+                this.name = name;
+                this.future = future;
+            }
+
+            public T join() {
+                try {
+                    return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                } catch (TimeoutException e) {
+                    throw new IllegalStateException(usecase + "." + name + " 조회 시간이 초과되었습니다.", e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException(usecase + "." + name + " 조회 중 인터럽트되었습니다.", e);
+                } catch (ExecutionException e) {
+                    if(e.getCause() instanceof RuntimeException cause) {
+                        throw cause;
+                    }
+                    throw new IllegalStateException(e.getCause());
+                }
+            }
+        }
+    }
+
+    private static void setMdc(Map<String, String> context) {
+        if(context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.fastcampusmysql.application.worker;
+
+import com.example.fastcampusmysql.domain.follow.entity.Follow;
+import com.example.fastcampusmysql.domain.follow.service.FollowReadService;
+import com.example.fastcampusmysql.domain.follow.service.PullAuthorRegistry;
+import com.example.fastcampusmysql.domain.post.service.TimelineWriteService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// pull 작성자에서 빠진 작성자의 글을 팔로워들의 타임라인에 채운 뒤 pull 작성자 목록에서 지움
+//  - 빠진 지 exitGrace가 지난 작성자 : 팔로워마다 BACKFILL 작업(최근 timeline.backfill.size개)을 남김
+//      -> 보정 표시(markBackfilled)와 작업 insert를 한 트랜잭션으로 묶어서, 여러 서버 중 한 서버만 한 번 남김
+//      -> 빠지는 작성자는 팔로워가 exitThreshold 미만이거나 max-pull-authors에서 밀려난 작성자라 한 트랜잭션으로 남길 만한 수
+//      -> 팔로워는 Follow id 순으로 pageSize명씩 읽어서 한 번에 메모리에 올리지 않음
+//  - 보정 작업이 다 끝난 작성자 : 목록에서 지움, 그때까지는 읽을 때 계속 pull로도 가져오므로 타임라인에서 글이 사라지지 않음
+//  - 보정은 최근 게시물만 채우므로 pull 작성자였던 동안 쓴 글이 그보다 많으면 오래된 글은 타임라인에 없음(팔로우할 때의 백필과 같은 기준)
+@Slf4j
+@Component
+public class PullAuthorExitWorker {
+    final private PullAuthorRegistry pullAuthorRegistry;
+    final private FollowReadService followReadService;
+    final private TimelineWriteService timelineWriteService;
+    final private TransactionTemplate transactionTemplate;
+    final private int pageSize;
+
+    public PullAuthorExitWorker(
+            PullAuthorRegistry pullAuthorRegistry,
+            FollowReadService followReadService,
+            TimelineWriteService timelineWriteService,
+            TransactionTemplate transactionTemplate,
+            @Value("${timeline.hybrid.exit-backfill-page-size:1000}") int pageSize
+    ) {
+        this.pullAuthorRegistry = pullAuthorRegistry;
+        this.followReadService = followReadService;
+        this.timelineWriteService = timelineWriteService;
+        this.transactionTemplate = transactionTemplate;
+        this.pageSize = pageSize;
+    }
+
+    @Scheduled(fixedDelayString = "${timeline.hybrid.exit-check-interval-ms:60000}")
+    public void run() {
+        try {
+            for(var authorId : pullAuthorRegistry.getExitedAuthorIds()) {
+                backfill(authorId);
+            }
+            for(var authorId : pullAuthorRegistry.getBackfilledAuthorIds()) {
+                if(!timelineWriteService.hasPendingBackfill(authorId)) {
+                    pullAuthorRegistry.remove(authorId);
+                    log.info("pull 작성자 제외 완료. authorId={}", authorId);
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("pull 작성자 제외 처리 실패", e);
+        }
+    }
+
+    void backfill(Long authorId) {
+        var followers = transactionTemplate.execute(status -> {
+            if(!pullAuthorRegistry.markBackfilled(authorId)) {
+                return 0;
+            }
+
+            var count = 0;
+            var lastFollowId = 0L;
+            while (true) {
+                var follows = followReadService.getFollows(authorId, lastFollowId, pageSize);
+                if(follows.isEmpty()) {
+                    break;
+                }
+                timelineWriteService.enqueueBackfills(follows.stream().map(Follow::getFromMemberId).toList(), authorId);
+                count += follows.size();
+                lastFollowId = follows.get(follows.size() - 1).getId();
+                if(follows.size() < pageSize) {
+                    break;
+                }
+            }
+            return count;
+        });
+        if(followers > 0) {
+            log.info("pull 작성자 제외, 팔로워 타임라인 보정 작업 생성. authorId={}, followers={}", authorId, followers);
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.fastcampusmysql.application.worker;
+
+import com.example.fastcampusmysql.domain.follow.service.FollowReadService;
+import com.example.fastcampusmysql.domain.post.entity.TimelineBackfill;
+import com.example.fastcampusmysql.domain.post.repository.TimelineBackfillRepository;
+import com.example.fastcampusmysql.domain.post.service.PostReadService;
+import com.example.fastcampusmysql.domain.post.service.TimelineWriteService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 팔로우/언팔로우 시 남긴 타임라인 보정 작업(TimelineBackfill)을 백그라운드에서 처리
+//  - 가져오는 방식은 TimelineFanOutWorker와 같음(빈 워커 수만큼 claim)
+//  - BACKFILL : 작성자의 최근 게시물 backfillSize개를 팔로우한 회원의 타임라인에 insert 한 번으로 넣음
+//      -> 작업을 처리할 때 이미 언팔로우했다면 넣지 않음
+//  - CLEANUP : 회원의 타임라인에 들어와 있는 작성자의 게시물을 postId 내림차순으로 chunkSize개씩 읽고, chunk마다 Timeline delete + 체크포인트를 하나의 트랜잭션으로 반영
+//      -> 작성자의 게시물 전체가 아니라 타임라인을 기준으로 찾으므로, 작성자의 게시물이 많아도 타임라인에 있는 만큼만 지움
+//      -> 타임라인에 남아 있어도 조회 결과가 틀리지는 않으므로(언팔로우 전에 배달된 글) 서두르지 않고 나눠서 지움
+//      -> chunk마다 다시 팔로우했는지 확인하고, 다시 팔로우했다면 거기서 멈춤(그 뒤의 BACKFILL 작업이 다시 채움)
+//  - 팔로우 여부와 게시물은 쓰기 트랜잭션 안에서 읽으므로 replica 지연과 관계없이 primary에서 읽음
+//  - lease를 넘겨서 다른 워커가 다시 가져간 작업은 체크포인트가 거절되어(claimedBy) 그 chunk를 롤백하고 멈춤
+//  - 완료된 지 retention이 지난 작업은 주기적으로 지움
+//  - 지표
+//      -> timeline.backfill.queue.depth : 아직 끝나지 않은 보정 작업 수
+//      -> timeline.backfill.inserted / timeline.backfill.removed : 넣은/지운 Timeline 수
+@Slf4j
+@Component
+public class TimelineBackfillWorker {
+    final private FollowReadService followReadService;
+    final private PostReadService postReadService;
+    final private TimelineWriteService timelineWriteService;
+    final private TimelineBackfillRepository timelineBackfillRepository;
+    final private TransactionTemplate transactionTemplate;
+    final private ThreadPoolTaskExecutor timelineBackfillExecutor;
+    final private int workers;
+    final private int backfillSize;
+    final private int chunkSize;
+    final private Duration lease;
+    final private Duration retention;
+    final private int purgeBatchSize;
+
+    final private AtomicInteger running = new AtomicInteger();
+    final private AtomicLong queueDepth = new AtomicLong();
+    final private Counter inserted;
+    final private Counter removed;
+
+    public TimelineBackfillWorker(
+            FollowReadService followReadService,
+            PostReadService postReadService,
+            TimelineWriteService timelineWriteService,
+            TimelineBackfillRepository timelineBackfillRepository,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("timelineBackfillExecutor") ThreadPoolTaskExecutor timelineBackfillExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${timeline.backfill.workers:1}") int workers,
+            @Value("${timeline.backfill.size:50}") int backfillSize,
+            @Value("${timeline.backfill.chunk-size:500}") int chunkSize,
+            @Value("${timeline.backfill.lease-ms:60000}") long leaseMillis,
+            @Value("${timeline.backfill.retention-ms:86400000}") long retentionMillis,
+            @Value("${timeline.backfill.purge-batch-size:1000}") int purgeBatchSize
+    ) {
+        this.followReadService = followReadService;
+        this.postReadService = postReadService;
+        this.timelineWriteService = timelineWriteService;
+        this.timelineBackfillRepository = timelineBackfillRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.timelineBackfillExecutor = timelineBackfillExecutor;
+        this.workers = workers;
+        this.backfillSize = backfillSize;
+        this.chunkSize = chunkSize;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retention = Duration.ofMillis(retentionMillis);
+        this.purgeBatchSize = purgeBatchSize;
+
+        meterRegistry.gauge("timeline.backfill.queue.depth", queueDepth);
+        this.inserted = meterRegistry.counter("timeline.backfill.inserted");
+        this.removed = meterRegistry.counter("timeline.backfill.removed");
+    }
+
+    @Scheduled(fixedDelayString = "${timeline.backfill.poll-interval-ms:1000}")
+    public void poll() {
+        try {
+            var idle = workers - running.get();
+            if(idle > 0) {
+                List<TimelineBackfill> backfills = transactionTemplate.execute(status -> timelineBackfillRepository.claim(idle, lease));
+                for(var backfill : backfills) {
+                    running.incrementAndGet();
+                    timelineBackfillExecutor.execute(() -> {
+                        try {
+                            process(backfill);
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                    });
+                }
+            }
+            queueDepth.set(timelineBackfillRepository.countPending());
+        } catch (RuntimeException e) {
+            log.warn("타임라인 보정 작업 조회 실패", e);
+        }
+    }
+
+    void process(TimelineBackfill backfill) {
+        try {
+            switch (backfill.getType()) {
+                case BACKFILL -> backfill(backfill);
+                case CLEANUP -> cleanup(backfill);
+            }
+            timelineBackfillRepository.complete(backfill.getId(), backfill.getClaimedBy());
+        } catch (RuntimeException e) {
+            // BACKFILL은 한 트랜잭션이라 그대로, CLEANUP은 체크포인트부터 lease가 끝나면 다시 시도
+            log.warn("타임라인 보정 실패. backfillId={}, type={}, memberId={}, authorId={}",
+                    backfill.getId(), backfill.getType(), backfill.getMemberId(), backfill.getAuthorId(), e);
+        }
+    }
+
+    private void backfill(TimelineBackfill backfill) {
+        var count = transactionTemplate.execute(status -> {
+            if(!followReadService.isFollowing(backfill.getMemberId(), backfill.getAuthorId())) {
+                return 0;
+            }
+            var postIds = postReadService.getPostIds(backfill.getAuthorId(), null, backfillSize);
+            return timelineWriteService.backfill(backfill.getMemberId(), postIds);
+        });
+        inserted.increment(count);
+    }
+
+    private void cleanup(TimelineBackfill backfill) {
+        var lastPostId = backfill.getLastPostId();
+        while (true) {
+            var cursor = lastPostId;
+            CleanupChunk chunk = transactionTemplate.execute(status -> {
+                if(followReadService.isFollowing(backfill.getMemberId(), backfill.getAuthorId())) {
+                    return new CleanupChunk(List.of(), 0);
+                }
+                var postIds = postReadService.getTimelinePostIds(backfill.getMemberId(), backfill.getAuthorId(), cursor, chunkSize);
+                if(postIds.isEmpty()) {
+                    return new CleanupChunk(postIds, 0);
+                }
+                var deleted = timelineWriteService.removeFromTimeline(backfill.getMemberId(), postIds);
+                timelineBackfillRepository.saveCheckpoint(backfill.getId(), backfill.getClaimedBy(), postIds.get(postIds.size() - 1), lease);
+                return new CleanupChunk(postIds, deleted);
+            });
+            removed.increment(chunk.removed());
+            if(chunk.postIds().size() < chunkSize) {
+                break;
+            }
+            lastPostId = chunk.postIds().get(chunk.postIds().size() - 1);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${timeline.backfill.purge-interval-ms:60000}")
+    public void purge() {
+        try {
+            // 지운 수가 batch 크기와 같으면 더 남아 있을 수 있으므로 계속
+            var before = LocalDateTime.now().minus(retention);
+            int deleted;
+            do {
+                deleted = timelineBackfillRepository.deleteAllCompletedBefore(before, purgeBatchSize);
+            } while (deleted == purgeBatchSize);
+        } catch (RuntimeException e) {
+            log.warn("완료된 타임라인 보정 작업 삭제 실패", e);
+        }
+    }
+
+    // 다시 팔로우했거나 더 지울 게시물이 없으면 postIds가 비어 있음
+    private record CleanupChunk(List<Long> postIds, int removed) {
+    }
+}
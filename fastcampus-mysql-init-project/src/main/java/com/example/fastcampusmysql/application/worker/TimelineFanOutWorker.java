@@ -0,0 +1,157 @@
+package com.example.fastcampusmysql.application.worker;
+
+import com.example.fastcampusmysql.domain.follow.entity.Follow;
+import com.example.fastcampusmysql.domain.follow.service.FollowReadService;
+import com.example.fastcampusmysql.domain.post.entity.TimelineOutbox;
+import com.example.fastcampusmysql.domain.post.repository.TimelineOutboxRepository;
+import com.example.fastcampusmysql.domain.post.service.TimelineWriteService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 타임라인 배달 작업(TimelineOutbox)을 백그라운드에서 처리
+//  - 주기적으로 빈 워커 수만큼 작업을 가져와서(claim) 워커 스레드에서 배달
+//  - 팔로워를 Follow id 순으로 chunkSize명씩 읽고, chunk마다 Timeline insert + 체크포인트를 하나의 트랜잭션으로 반영
+//      -> 팔로워가 100만명이어도 한 번에 메모리에 올리는 것은 chunkSize명
+//      -> 서버가 죽으면 lease가 끝난 뒤 다른 서버가 마지막 체크포인트부터 이어서 배달(중복 배달 없음)
+//      -> 살아 있지만 lease보다 오래 걸린 워커는 다른 서버가 다시 가져가면 체크포인트가 거절되어(claimedBy) 그 chunk를 롤백하고 멈춤
+//  - 완료된 지 retention이 지난 작업은 주기적으로 지움
+//  - 지표
+//      -> timeline.fan-out.queue.depth : 아직 끝나지 않은 배달 작업 수
+//      -> timeline.fan-out.lag : 가장 오래 기다리고 있는 배달 작업이 생성된 지 몇 초 지났는지
+//      -> timeline.fan-out.delivered : 배달한 Timeline 수
+@Slf4j
+@Component
+public class TimelineFanOutWorker {
+    final private FollowReadService followReadService;
+    final private TimelineWriteService timelineWriteService;
+    final private TimelineOutboxRepository timelineOutboxRepository;
+    final private TransactionTemplate transactionTemplate;
+    final private ThreadPoolTaskExecutor timelineFanOutExecutor;
+    final private int workers;
+    final private int chunkSize;
+    final private Duration lease;
+    final private Duration retention;
+    final private int purgeBatchSize;
+
+    final private AtomicInteger running = new AtomicInteger();
+    final private AtomicLong queueDepth = new AtomicLong();
+    final private AtomicLong lagSeconds = new AtomicLong();
+    final private Counter delivered;
+
+    public TimelineFanOutWorker(
+            FollowReadService followReadService,
+            TimelineWriteService timelineWriteService,
+            TimelineOutboxRepository timelineOutboxRepository,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("timelineFanOutExecutor") ThreadPoolTaskExecutor timelineFanOutExecutor,
+            MeterRegistry meterRegistry,
+            @Value("${timeline.fan-out.workers:2}") int workers,
+            @Value("${timeline.fan-out.chunk-size:1000}") int chunkSize,
+            @Value("${timeline.fan-out.lease-ms:60000}") long leaseMillis,
+            @Value("${timeline.fan-out.retention-ms:86400000}") long retentionMillis,
+            @Value("${timeline.fan-out.purge-batch-size:1000}") int purgeBatchSize
+    ) {
+        this.followReadService = followReadService;
+        this.timelineWriteService = timelineWriteService;
+        this.timelineOutboxRepository = timelineOutboxRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.timelineFanOutExecutor = timelineFanOutExecutor;
+        this.workers = workers;
+        this.chunkSize = chunkSize;
+        this.lease = Duration.ofMillis(leaseMillis);
+        this.retention = Duration.ofMillis(retentionMillis);
+        this.purgeBatchSize = purgeBatchSize;
+
+        meterRegistry.gauge("timeline.fan-out.queue.depth", queueDepth);
+        meterRegistry.gauge("timeline.fan-out.lag", lagSeconds);
+        this.delivered = meterRegistry.counter("timeline.fan-out.delivered");
+    }
+
+    @Scheduled(fixedDelayString = "${timeline.fan-out.poll-interval-ms:500}")
+    public void poll() {
+        try {
+            var idle = workers - running.get();
+            if(idle > 0) {
+                List<TimelineOutbox> outboxes = transactionTemplate.execute(status -> timelineOutboxRepository.claim(idle, lease));
+                for(var outbox : outboxes) {
+                    running.incrementAndGet();
+                    timelineFanOutExecutor.execute(() -> {
+                        try {
+                            deliver(outbox);
+                        } finally {
+                            running.decrementAndGet();
+                        }
+                    });
+                }
+            }
+            updateMetrics();
+        } catch (RuntimeException e) {
+            log.warn("타임라인 배달 작업 조회 실패", e);
+        }
+    }
+
+    void deliver(TimelineOutbox outbox) {
+        try {
+            var lastFollowId = outbox.getLastFollowId();
+            while (true) {
+                var follows = followReadService.getFollows(outbox.getAuthorId(), lastFollowId, chunkSize);
+                if(follows.isEmpty()) {
+                    break;
+                }
+
+                var checkpoint = follows.get(follows.size() - 1).getId();
+                var followerMemberIds = follows.stream()
+                        .map(Follow::getFromMemberId)
+                        .toList();
+                transactionTemplate.executeWithoutResult(status -> {
+                    timelineWriteService.deliveryToTimeline(outbox.getPostId(), followerMemberIds);
+                    timelineOutboxRepository.saveCheckpoint(outbox.getId(), outbox.getClaimedBy(), checkpoint, lease);
+                });
+                delivered.increment(followerMemberIds.size());
+                lastFollowId = checkpoint;
+
+                if(follows.size() < chunkSize) {
+                    break;
+                }
+            }
+            timelineOutboxRepository.complete(outbox.getId(), outbox.getClaimedBy());
+        } catch (RuntimeException e) {
+            // 체크포인트까지는 반영되었으므로 lease가 끝나면 거기서부터 다시 시도
+            log.warn("타임라인 배달 실패. outboxId={}, postId={}", outbox.getId(), outbox.getPostId(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${timeline.fan-out.purge-interval-ms:60000}")
+    public void purge() {
+        try {
+            var before = LocalDateTime.now().minus(retention);
+            // 지운 수가 batch 크기와 같으면 더 남아 있을 수 있으므로 계속
+            int deleted;
+            do {
+                deleted = timelineOutboxRepository.deleteAllCompletedBefore(before, purgeBatchSize);
+            } while (deleted == purgeBatchSize);
+        } catch (RuntimeException e) {
+            log.warn("완료된 타임라인 배달 작업 삭제 실패", e);
+        }
+    }
+
+    private void updateMetrics() {
+        queueDepth.set(timelineOutboxRepository.countPending());
+        lagSeconds.set(timelineOutboxRepository.findOldestPendingCreatedAt()
+                .map(createdAt -> Duration.between(createdAt, LocalDateTime.now()).toSeconds())
+                .orElse(0L));
+    }
+}
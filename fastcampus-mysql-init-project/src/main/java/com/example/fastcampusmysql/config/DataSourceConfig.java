@@ -0,0 +1,102 @@
+package com.example.fastcampusmysql.config;
+
+import com.example.fastcampusmysql.config.datasource.MeteredDataSource;
+import com.example.fastcampusmysql.config.datasource.ReplicaDataSources;
+import com.example.fastcampusmysql.config.datasource.ReplicaLagMonitor;
+import com.example.fastcampusmysql.config.datasource.ReplicaLagProbe;
+import com.example.fastcampusmysql.config.datasource.ReplicationRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// primary(쓰기)와 replica(읽기) DataSource 구성
+//  - primary : spring.datasource.*
+//  - replica : datasource.replica.urls에 쉼표로 나열, 계정은 따로 지정하지 않으면 primary와 같음
+//      -> 비워두면 모든 쿼리가 primary로 감
+//  - 읽기 전용 트랜잭션은 replica로, 나머지는 primary로 보내는 ReplicationRoutingDataSource를 기본 DataSource로 사용
+//      -> NamedParameterJdbcTemplate, 트랜잭션 매니저 모두 이 DataSource를 사용
+@Configuration
+public class DataSourceConfig {
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+    }
+
+    @Bean(destroyMethod = "close")
+    public ReplicaDataSources replicaDataSources(
+            DataSourceProperties properties,
+            @Value("${datasource.replica.urls:}") String[] urls,
+            @Value("${datasource.replica.username:${spring.datasource.username:}}") String username,
+            @Value("${datasource.replica.password:${spring.datasource.password:}}") String password,
+            @Value("${datasource.replica.maximum-pool-size:10}") int maximumPoolSize
+    ) {
+        var dataSources = new LinkedHashMap<String, DataSource>();
+        for(var url : urls) {
+            if(url.isBlank()) {
+                continue;
+            }
+            var name = "replica-" + dataSources.size();
+            var dataSource = new HikariDataSource();
+            dataSource.setPoolName(name);
+            dataSource.setDriverClassName(properties.determineDriverClassName());
+            dataSource.setJdbcUrl(url.trim());
+            dataSource.setUsername(username);
+            dataSource.setPassword(password);
+            dataSource.setMaximumPoolSize(maximumPoolSize);
+            dataSource.setReadOnly(true);
+            dataSources.put(name, dataSource);
+        }
+        return new ReplicaDataSources(dataSources);
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+            ReplicaDataSources replicaDataSources,
+            MeterRegistry meterRegistry,
+            @Value("${datasource.replica.lag-check-enabled:true}") boolean lagCheckEnabled,
+            @Value("${datasource.replica.lag-query:SHOW REPLICA STATUS}") String lagQuery,
+            @Value("${datasource.replica.max-lag-ms:1000}") long maxLagMillis,
+            @Value("${datasource.replica.lag-check-interval-ms:1000}") long lagCheckIntervalMillis,
+            @Value("${datasource.replica.lag-check-stale-intervals:3}") int staleIntervals
+    ) {
+        var probe = lagCheckEnabled ? ReplicaLagProbe.mysql(lagQuery) : ReplicaLagProbe.none();
+        return new ReplicaLagMonitor(replicaDataSources, probe, maxLagMillis, lagCheckIntervalMillis * staleIntervals, meterRegistry);
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            HikariDataSource primaryDataSource,
+            ReplicaDataSources replicaDataSources,
+            ReplicaLagMonitor replicaLagMonitor,
+            MeterRegistry meterRegistry
+    ) {
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(ReplicationRoutingDataSource.PRIMARY,
+                new MeteredDataSource(primaryDataSource, ReplicationRoutingDataSource.PRIMARY, meterRegistry));
+        replicaDataSources.getDataSources().forEach((name, replica) ->
+                targets.put(name, new MeteredDataSource(replica, name, meterRegistry)));
+
+        var routing = new ReplicationRoutingDataSource(
+                new ArrayList<>(replicaDataSources.getDataSources().keySet()), replicaLagMonitor, meterRegistry);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(targets.get(ReplicationRoutingDataSource.PRIMARY));
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+}
@@ -0,0 +1,166 @@
+package com.example.fastcampusmysql.config;
+
+import com.example.fastcampusmysql.config.datasource.ReadYourWritesContext;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+    // 팔로우한 회원들의 게시물을 여러 쿼리로 나눠서 동시에 조회할 때 사용
+    //  - 스레드마다 커넥션을 하나씩 잡으므로 커넥션 풀 크기(hikari 기본 10)보다 작게
+    //  - 큐가 가득 차면 요청 스레드에서 직접 실행해서 스레드가 무한정 늘어나거나 작업이 버려지지 않게 함
+    //  - 요청의 read-your-writes 표시를 조회 스레드로 옮김(쓰기 뒤의 조회가 replica로 가지 않도록)
+    @Bean
+    public ThreadPoolTaskExecutor feedQueryExecutor(
+            @Value("${feed.merge.parallelism:4}") int parallelism,
+            @Value("${feed.merge.queue-capacity:100}") int queueCapacity
+    ) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("feed-query-");
+        executor.setTaskDecorator(ReadYourWritesContext::wrap);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 여러 샤드에 같은 조회를 동시에 보낼 때 사용(MemberShardRouter.scatter)
+    //  - feedQueryExecutor에서 실행 중인 조회가 다시 샤드별로 나뉘므로 같은 풀을 쓰면 서로 기다리다 멈출 수 있어 따로 둠
+    //  - feedQueryExecutor와 같이 read-your-writes 표시를 옮김
+    @Bean
+    public ThreadPoolTaskExecutor shardQueryExecutor(
+            @Value("${shard.query.parallelism:4}") int parallelism,
+            @Value("${shard.query.queue-capacity:100}") int queueCapacity
+    ) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("shard-query-");
+        executor.setTaskDecorator(ReadYourWritesContext::wrap);
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // usecase 안에서 서로 관계없는 조회를 동시에 실행할 때 사용(UsecaseComposer)
+    //  - 조회마다 커넥션을 하나씩 잡으므로 커넥션 풀 크기보다 작게
+    //  - 큐가 가득 차면 요청 스레드에서 직접 실행(그 요청은 순서대로 조회하는 것과 같아짐)
+    @Bean
+    public ThreadPoolTaskExecutor usecaseExecutor(
+            @Value("${usecase.parallelism:4}") int parallelism,
+            @Value("${usecase.queue-capacity:100}") int queueCapacity
+    ) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("usecase-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 타임라인 배달 작업(TimelineOutbox)을 처리하는 워커
+    //  - 작업 수는 TimelineFanOutWorker가 빈 스레드 수만큼만 가져오므로 큐는 거의 쓰이지 않음
+    @Bean
+    public ThreadPoolTaskExecutor timelineFanOutExecutor(
+            @Value("${timeline.fan-out.workers:2}") int workers
+    ) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("timeline-fan-out-");
+        // 종료 시 진행 중인 chunk는 마저 끝내고, 못 끝낸 작업은 lease가 끝난 뒤 다른 서버가 체크포인트부터 이어서 배달
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // 팔로우/언팔로우 시 남긴 타임라인 보정 작업(TimelineBackfill)을 처리하는 워커
+    //  - 배달(timelineFanOutExecutor)과 따로 두어 언팔로우 정리가 몰려도 게시물 배달이 밀리지 않음
+    @Bean
+    public ThreadPoolTaskExecutor timelineBackfillExecutor(
+            @Value("${timeline.backfill.workers:1}") int workers
+    ) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(workers);
+        executor.setMaxPoolSize(workers);
+        executor.setQueueCapacity(workers);
+        executor.setThreadNamePrefix("timeline-backfill-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(30);
+        executor.initialize();
+        return executor;
+    }
+
+    // MVC 비동기 응답(StreamingResponseBody 등)을 실행하는 스레드 풀(WebAsyncConfig)
+    //  - export는 PostExportLimiter로 따로 제한하므로 parallelism은 post.export.max-concurrent보다 크게
+    //  - 큐가 가득 차면 요청 스레드에서 직접 실행(응답은 늦어지지만 버려지지 않음)
+    @Bean
+    public ThreadPoolTaskExecutor mvcAsyncExecutor(
+            @Value("${mvc.async.parallelism:8}") int parallelism,
+            @Value("${mvc.async.queue-capacity:100}") int queueCapacity
+    ) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(parallelism);
+        executor.setMaxPoolSize(parallelism);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("mvc-async-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // 팔로우 그래프(FollowGraph)의 merge, reload를 실행하는 스레드
+    //  - 전체 적재가 스케줄러 스레드를 오래 잡지 않도록 따로 둠
+    //  - merge, reload는 서로 겹치지 않으므로(rebuildLock) 스레드 하나, 각각 하나씩만 대기하므로 큐는 2
+    @Bean
+    public ThreadPoolTaskExecutor followGraphExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(2);
+        executor.setThreadNamePrefix("follow-graph-");
+        executor.initialize();
+        return executor;
+    }
+
+    // 회원 샤드 이동(ReshardService)을 실행하는 스레드
+    //  - 이동은 회원의 데이터를 모두 복사하므로 오래 걸림 -> HTTP 요청 스레드가 아니라 여기서 하나씩 실행
+    //  - 큐가 가득 차면 요청을 거절(ReshardService.submit에서 IllegalStateException)
+    @Bean
+    public ThreadPoolTaskExecutor reshardExecutor(
+            @Value("${shard.reshard.queue-capacity:100}") int queueCapacity
+    ) {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("reshard-");
+        executor.initialize();
+        return executor;
+    }
+
+    // 샤드 테이블의 Post, Timeline id 범위를 받아오는 스레드(ShardIdGenerator)
+    //  - insert하는 요청의 트랜잭션과 따로 커넥션을 잡아 바로 커밋
+    //  - 이름(테이블)마다 한 번에 하나만 받아오므로 큐는 작게
+    @Bean
+    public ThreadPoolTaskExecutor shardIdExecutor() {
+        var executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(16);
+        executor.setThreadNamePrefix("shard-id-");
+        executor.initialize();
+        return executor;
+    }
+}
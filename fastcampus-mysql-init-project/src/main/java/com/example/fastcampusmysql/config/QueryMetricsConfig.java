@@ -0,0 +1,41 @@
+package com.example.fastcampusmysql.config;
+
+import com.example.fastcampusmysql.config.jdbc.MeteredNamedParameterJdbcTemplate;
+import com.example.fastcampusmysql.config.jdbc.QueryMetrics;
+import com.example.fastcampusmysql.config.jdbc.RepositoryQueryMetricsPostProcessor;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+
+// @Repository 빈의 메서드마다 쿼리 지표를 남김(QueryMetrics)
+//  - /actuator/metrics/repository.queries?tag=method:PostRepository.findAllByInMemberIdAndOrderByIdDesc
+//  - 느린 쿼리는 slow-query-sample-rate 비율로 SQL, 바인딩 값과 함께 WARN 로그
+@Configuration
+public class QueryMetricsConfig {
+    @Bean
+    public NamedParameterJdbcTemplate namedParameterJdbcTemplate(JdbcTemplate jdbcTemplate) {
+        return new MeteredNamedParameterJdbcTemplate(jdbcTemplate);
+    }
+
+    @Bean
+    public QueryMetrics queryMetrics(
+            MeterRegistry meterRegistry,
+            @Value("${repository.metrics.slow-query-ms:200}") long slowQueryMillis,
+            @Value("${repository.metrics.slow-query-sample-rate:0.1}") double slowQuerySampleRate
+    ) {
+        return new QueryMetrics(meterRegistry, Duration.ofMillis(slowQueryMillis), slowQuerySampleRate);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "repository.metrics.enabled", havingValue = "true", matchIfMissing = true)
+    public static RepositoryQueryMetricsPostProcessor repositoryQueryMetricsPostProcessor(ObjectProvider<QueryMetrics> queryMetrics) {
+        return new RepositoryQueryMetricsPostProcessor(queryMetrics);
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.fastcampusmysql.config;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// StreamingResponseBody 같은 MVC 비동기 응답을 실행할 스레드 풀
+//  - ExecutorConfig에 executor 빈이 있어서 applicationTaskExecutor가 자동으로 만들어지지 않음
+//      -> 지정하지 않으면 SimpleAsyncTaskExecutor(요청마다 새 스레드, 개수 제한 없음)로 실행됨
+@Configuration
+public class WebAsyncConfig implements WebMvcConfigurer {
+    final private ThreadPoolTaskExecutor mvcAsyncExecutor;
+
+    public WebAsyncConfig(@Qualifier("mvcAsyncExecutor") ThreadPoolTaskExecutor mvcAsyncExecutor) {
+        this.mvcAsyncExecutor = mvcAsyncExecutor;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(mvcAsyncExecutor);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.fastcampusmysql.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+// 라우팅 대상(primary, replica-N)마다 실행한 쿼리 수와 실행 시간을 재는 DataSource
+//  - Connection, Statement를 프록시로 감싸서 execute* 호출 시간을 datasource.queries 타이머(target 태그)에 기록
+//      -> /actuator/metrics/datasource.queries?tag=target:replica-0
+//  - unwrap() 등 나머지 메서드는 그대로 원래 객체에 위임하므로 드라이버 전용 기능(LOAD DATA LOCAL INFILE 등)도 그대로 사용 가능
+public class MeteredDataSource extends DelegatingDataSource {
+    final private Timer queries;
+
+    public MeteredDataSource(DataSource target, String name, MeterRegistry meterRegistry) {
+        super(target);
+        this.queries = Timer.builder("datasource.queries")
+                .tag("target", name)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return proxy(Connection.class, super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return proxy(Connection.class, super.getConnection(username, password));
+    }
+
+    private <T> T proxy(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new Handler(target)));
+    }
+
+    private class Handler implements InvocationHandler {
+        final private Object target;
+
+        private Handler(Object target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if(method.getName().equals("equals") && args != null && args.length == 1) {
+                return proxy == args[0];
+            }
+            if(method.getName().equals("hashCode") && (args == null || args.length == 0)) {
+                return System.identityHashCode(proxy);
+            }
+            if(method.getName().startsWith("execute") && target instanceof Statement) {
+                var startedAt = System.nanoTime();
+                try {
+                    return invokeTarget(method, args);
+                } finally {
+                    queries.record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+                }
+            }
+
+            var result = invokeTarget(method, args);
+            // Connection에서 만든 Statement도 감싸야 실행 시간을 잴 수 있음
+            if(result instanceof CallableStatement statement && method.getReturnType() == CallableStatement.class) {
+                return proxy(CallableStatement.class, statement);
+            }
+            if(result instanceof PreparedStatement statement && method.getReturnType() == PreparedStatement.class) {
+                return proxy(PreparedStatement.class, statement);
+            }
+            if(result instanceof Statement statement && method.getReturnType() == Statement.class) {
+                return proxy(Statement.class, statement);
+            }
+            return result;
+        }
+
+        private Object invokeTarget(Method method, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.example.fastcampusmysql.config.datasource;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.function.Supplier;
+
+// 캐시를 채우는 조회를 replica가 아니라 primary에서 실행
+//  - 캐시는 쓰기가 커밋된 뒤(afterCommit)에 비우는데, 바로 다음 조회가 아직 복제되지 않은 replica에서 읽어서 캐시에 넣으면
+//    1초 미만이던 복제 지연이 캐시가 만료될 때까지(최대 expire-after-write) 이어짐
+//  - 읽기 전용 트랜잭션 안이면 그 트랜잭션을 잠시 멈추고(NOT_SUPPORTED) 트랜잭션 밖에서 primary로 읽음
+//      -> replica 커넥션을 든 채로 primary 커넥션을 하나 더 잡음
+//      -> primary 커넥션을 든 쪽(쓰기 트랜잭션)은 이 경로를 타지 않으므로 두 풀이 서로를 기다리다 멈추지는 않음
+//  - 읽기 전용 트랜잭션이 아니거나, replica가 없거나, 이미 primary로 읽는 요청(read-your-writes)이면 커넥션을 더 잡지 않고 그대로 실행
+@Component
+public class PrimaryReader {
+    final private TransactionTemplate suspending;
+    final private boolean hasReplicas;
+
+    public PrimaryReader(PlatformTransactionManager transactionManager, ReplicaDataSources replicaDataSources) {
+        this.suspending = new TransactionTemplate(transactionManager);
+        this.suspending.setPropagationBehavior(TransactionDefinition.PROPAGATION_NOT_SUPPORTED);
+        this.hasReplicas = !replicaDataSources.getDataSources().isEmpty();
+    }
+
+    public <T> T read(Supplier<T> query) {
+        if(!hasReplicas || !TransactionSynchronizationManager.isCurrentTransactionReadOnly() || ReadYourWritesContext.isWritten()) {
+            return query.get();
+        }
+        return suspending.execute(status -> ReadYourWritesContext.readPrimary(query));
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.fastcampusmysql.config.datasource;
+
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+// 요청 하나 안에서 쓰기를 한 뒤의 조회는 replica가 아니라 primary에서 읽도록 표시
+//  - replica는 복제 지연이 있으므로 방금 쓴 데이터가 아직 없을 수 있음
+//  - ReadYourWritesFilter가 요청 시작/끝에 열고 닫음, 요청 밖(스케줄러, 워커 스레드)에서는 표시하지 않음
+//  - 요청이 다른 스레드로 나눠서 실행하는 조회(UsecaseComposer, feedQueryExecutor, shardQueryExecutor)에는 wrap으로 표시를 옮김
+//      -> 같은 표시를 공유하므로 어느 스레드에서 쓰든 그 요청의 이후 조회는 모두 primary
+public final class ReadYourWritesContext {
+    final private static ThreadLocal<boolean[]> WRITTEN = new ThreadLocal<>();
+    // PrimaryReader가 primary에서 읽는 중(쓰기가 아니므로 WRITTEN은 표시하지 않음)
+    final private static ThreadLocal<Boolean> PRIMARY_READ = new ThreadLocal<>();
+
+    private ReadYourWritesContext() {
+    }
+
+    public static void begin() {
+        WRITTEN.set(new boolean[1]);
+    }
+
+    public static void end() {
+        WRITTEN.remove();
+    }
+
+    public static void markWritten() {
+        var written = WRITTEN.get();
+        if(written != null) {
+            written[0] = true;
+        }
+    }
+
+    public static boolean isWritten() {
+        var written = WRITTEN.get();
+        return written != null && written[0];
+    }
+
+    // 호출한 스레드의 표시를 task를 실행하는 스레드로 옮김(ThreadPoolTaskExecutor의 TaskDecorator로도 사용)
+    public static Runnable wrap(Runnable task) {
+        var written = WRITTEN.get();
+        if(written == null) {
+            return task;
+        }
+        return () -> {
+            var previous = WRITTEN.get();
+            WRITTEN.set(written);
+            try {
+                task.run();
+            } finally {
+                if(previous == null) {
+                    WRITTEN.remove();
+                } else {
+                    WRITTEN.set(previous);
+                }
+            }
+        };
+    }
+
+    public static Executor wrap(Executor executor) {
+        return task -> executor.execute(wrap(task));
+    }
+
+    static <T> T readPrimary(Supplier<T> query) {
+        var previous = PRIMARY_READ.get();
+        PRIMARY_READ.set(true);
+        try {
+            return query.get();
+        } finally {
+            if(previous == null) {
+                PRIMARY_READ.remove();
+            }
+        }
+    }
+
+    static boolean isPrimaryRead() {
+        return PRIMARY_READ.get() != null;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.fastcampusmysql.config.datasource;
+
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain) throws ServletException, IOException {
+        ReadYourWritesContext.begin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            ReadYourWritesContext.end();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.fastcampusmysql.config.datasource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 조회를 보낼 replica 목록(replica-0, replica-1, ...)
+//  - 설정된 replica가 없으면 모든 쿼리가 primary로 감
+public class ReplicaDataSources implements Closeable {
+    final private Map<String, DataSource> dataSources;
+
+    public ReplicaDataSources(Map<String, DataSource> dataSources) {
+        this.dataSources = Collections.unmodifiableMap(new LinkedHashMap<>(dataSources));
+    }
+
+    public Map<String, DataSource> getDataSources() {
+        return dataSources;
+    }
+
+    @Override
+    public void close() throws IOException {
+        for(var dataSource : dataSources.values()) {
+            if(dataSource instanceof Closeable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package com.example.fastcampusmysql.config.datasource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// replica마다 복제 지연을 주기적으로 재서 maxLag 이하인 replica만 조회에 사용하도록 함
+//  - 처음 재기 전이나 잴 수 없는 replica는 사용하지 않음(primary로 감)
+//  - 마지막으로 잰 지 staleAfter가 지났으면(스케줄러가 밀려서 check가 돌지 못한 경우) 모든 replica를 사용하지 않음
+//      -> 예전에 잰 결과로 그 사이 지연되기 시작한 replica를 계속 사용하지 않도록
+//  - 지표 : datasource.replica.lag (replica 태그, ms, 잴 수 없으면 -1)
+@Slf4j
+public class ReplicaLagMonitor {
+    final private ReplicaDataSources replicaDataSources;
+    final private ReplicaLagProbe probe;
+    final private long maxLagMillis;
+    final private long staleAfterNanos;
+    final private LongSupplier nanoTime;
+    final private Map<String, AtomicLong> lagMillis = new ConcurrentHashMap<>();
+
+    // 조회가 훨씬 많으므로 잰 시각과 함께 통째로 바꿔 끼우는 불변 객체
+    private volatile HealthyReplicas healthyReplicas;
+
+    public ReplicaLagMonitor(ReplicaDataSources replicaDataSources, ReplicaLagProbe probe, long maxLagMillis, long staleAfterMillis, MeterRegistry meterRegistry) {
+        this(replicaDataSources, probe, maxLagMillis, staleAfterMillis, meterRegistry, System::nanoTime);
+    }
+
+    ReplicaLagMonitor(ReplicaDataSources replicaDataSources, ReplicaLagProbe probe, long maxLagMillis, long staleAfterMillis, MeterRegistry meterRegistry, LongSupplier nanoTime) {
+        this.replicaDataSources = replicaDataSources;
+        this.probe = probe;
+        this.maxLagMillis = maxLagMillis;
+        this.staleAfterNanos = staleAfterMillis * 1_000_000L;
+        this.nanoTime = nanoTime;
+        this.healthyReplicas = new HealthyReplicas(Set.of(), nanoTime.getAsLong());
+        for(var replica : replicaDataSources.getDataSources().keySet()) {
+            var lag = new AtomicLong(-1);
+            lagMillis.put(replica, lag);
+            meterRegistry.gauge("datasource.replica.lag", Tags.of("replica", replica), lag);
+        }
+    }
+
+    public boolean isHealthy(String replica) {
+        var current = healthyReplicas;
+        if(nanoTime.getAsLong() - current.checkedAt() > staleAfterNanos) {
+            return false;
+        }
+        return current.replicas().contains(replica);
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replica.lag-check-interval-ms:1000}")
+    public void check() {
+        var healthy = new HashSet<String>();
+        replicaDataSources.getDataSources().forEach((replica, dataSource) -> {
+            var lag = measure(replica, dataSource);
+            lagMillis.get(replica).set(lag);
+            if(lag >= 0 && lag <= maxLagMillis) {
+                healthy.add(replica);
+            }
+        });
+
+        if(!healthy.equals(healthyReplicas.replicas())) {
+            log.info("조회에 사용하는 replica 변경. {} -> {}", healthyReplicas.replicas(), healthy);
+        }
+        healthyReplicas = new HealthyReplicas(Set.copyOf(healthy), nanoTime.getAsLong());
+    }
+
+    private record HealthyReplicas(Set<String> replicas, long checkedAt) {
+    }
+
+    private long measure(String replica, DataSource dataSource) {
+        try {
+            return probe.lagMillis(dataSource);
+        } catch (RuntimeException e) {
+            log.warn("replica 복제 지연 확인 실패. replica={}", replica, e);
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.fastcampusmysql.config.datasource;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+// replica의 복제 지연을 재는 방법
+//  - 복제가 멈춰 있거나 알 수 없으면 음수를 반환하고, 이 replica로는 조회를 보내지 않음
+@FunctionalInterface
+public interface ReplicaLagProbe {
+    long lagMillis(DataSource replica);
+
+    // MySQL : SHOW REPLICA STATUS(8.0.22 이상) 또는 SHOW SLAVE STATUS의 Seconds_Behind_Source(Master)
+    //  -> 초 단위라서 1초 미만의 지연은 0으로 보임
+    static ReplicaLagProbe mysql(String statusQuery) {
+        return replica -> {
+            Long seconds = new JdbcTemplate(replica).query(statusQuery, resultSet -> {
+                if(!resultSet.next()) {
+                    return null;
+                }
+                return secondsBehind(resultSet);
+            });
+            return seconds == null ? -1 : seconds * 1000;
+        };
+    }
+
+    // 로컬에서 복제 없이 다른 DB를 replica 대신 띄운 경우처럼 지연을 잴 수 없을 때
+    static ReplicaLagProbe none() {
+        return replica -> 0;
+    }
+
+    private static Long secondsBehind(ResultSet resultSet) throws SQLException {
+        for(var column : new String[]{"Seconds_Behind_Source", "Seconds_Behind_Master"}) {
+            try {
+                var value = resultSet.getObject(resultSet.findColumn(column));
+                return value == null ? null : ((Number) value).longValue();
+            } catch (SQLException e) {
+                // 버전에 따라 컬럼 이름이 다르므로 다음 이름으로 시도
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.fastcampusmysql.config.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// 읽기 전용 트랜잭션(@Transactional(readOnly = true))의 쿼리는 replica로, 나머지는 primary로 보냄
+//  - 트랜잭션 밖의 쿼리(별도 스레드에서 도는 캐시 로더, 워커 등)는 쓰기일 수도 있으므로 primary
+//  - 요청 안에서 한 번이라도 primary를 쓰면 그 요청의 이후 조회도 primary(read-your-writes)
+//  - 캐시를 채우는 조회(PrimaryReader)는 primary, 쓰기가 아니므로 read-your-writes 표시는 하지 않음
+//  - 복제 지연이 maxLag을 넘은 replica는 건너뛰고, 쓸 수 있는 replica가 없으면 primary(fallback)
+//  - 사용할 수 있는 replica 사이에서는 돌아가면서 보냄(round robin)
+//  - 트랜잭션이 시작될 때가 아니라 첫 쿼리를 실행할 때 대상을 정해야 readOnly 여부를 알 수 있으므로
+//    LazyConnectionDataSourceProxy로 감싸서 사용
+public class ReplicationRoutingDataSource extends AbstractRoutingDataSource {
+    final public static String PRIMARY = "primary";
+
+    final private List<String> replicas;
+    final private ReplicaLagMonitor replicaLagMonitor;
+    final private AtomicInteger next = new AtomicInteger();
+    final private Counter fallbacks;
+
+    public ReplicationRoutingDataSource(List<String> replicas, ReplicaLagMonitor replicaLagMonitor, MeterRegistry meterRegistry) {
+        this.replicas = List.copyOf(replicas);
+        this.replicaLagMonitor = replicaLagMonitor;
+        this.fallbacks = meterRegistry.counter("datasource.routing.fallbacks");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if(ReadYourWritesContext.isPrimaryRead()) {
+            return PRIMARY;
+        }
+        if(!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            ReadYourWritesContext.markWritten();
+            return PRIMARY;
+        }
+        if(replicas.isEmpty() || ReadYourWritesContext.isWritten()) {
+            return PRIMARY;
+        }
+
+        var healthy = new ArrayList<String>(replicas.size());
+        for(var replica : replicas) {
+            if(replicaLagMonitor.isHealthy(replica)) {
+                healthy.add(replica);
+            }
+        }
+        if(healthy.isEmpty()) {
+            fallbacks.increment();
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(next.getAndIncrement(), healthy.size()));
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.fastcampusmysql.config.jdbc;
+
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.util.function.Consumer;
+
+// 실행하는 SQL과 바인딩 값을 QueryMetrics에 넘기는 NamedParameterJdbcTemplate
+//  - query*, update, execute 모두 getPreparedStatementCreator를 거치므로 여기와 batchUpdate만 덮어씀
+//  - 값을 복사하지 않고 참조만 넘김(느린 쿼리로 로그를 남길 때만 문자열로 만듦)
+public class MeteredNamedParameterJdbcTemplate extends NamedParameterJdbcTemplate {
+    public MeteredNamedParameterJdbcTemplate(JdbcOperations classicJdbcTemplate) {
+        super(classicJdbcTemplate);
+    }
+
+    @Override
+    protected PreparedStatementCreator getPreparedStatementCreator(String sql, SqlParameterSource paramSource, Consumer<PreparedStatementCreatorFactory> customizer) {
+        QueryMetrics.capture(sql, paramSource, 0);
+        return super.getPreparedStatementCreator(sql, paramSource, customizer);
+    }
+
+    @Override
+    public int[] batchUpdate(String sql, SqlParameterSource[] batchArgs) {
+        QueryMetrics.capture(sql, batchArgs.length > 0 ? batchArgs[0] : null, batchArgs.length);
+        return super.batchUpdate(sql, batchArgs);
+    }
+}
@@ -0,0 +1,159 @@
+package com.example.fastcampusmysql.config.jdbc;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.StringJoiner;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 리포지토리 메서드(PostRepository.findAllByInMemberIdAndOrderByIdDesc 등)마다 쿼리 지표를 남김
+//  - repository.queries    : 실행 시간 히스토그램(method 태그)
+//  - repository.query.rows : 반환한 행 수(List, Map, Optional을 반환하는 메서드만)
+//  - repository.query.errors : 예외 수(method, exception 태그)
+//  - slowQueryThreshold를 넘은 호출은 slowQuerySampleRate 비율로 마지막에 실행한 SQL과 바인딩 값을 로그로 남김
+//      -> SQL은 MeteredNamedParameterJdbcTemplate이 현재 스레드의 Execution에 적어둔 것(다른 스레드에서 실행한 scatter 쿼리는 빠짐)
+//  - 메서드별 지표는 처음 호출할 때 만들어 두고, 호출마다 하는 일은 시간 재기와 참조 몇 개 저장뿐
+@Slf4j
+public class QueryMetrics implements MethodInterceptor {
+    private static final ThreadLocal<Execution> CURRENT = new ThreadLocal<>();
+    private static final int MAX_PARAMS_LENGTH = 1000;
+
+    final private MeterRegistry meterRegistry;
+    final private long slowQueryNanos;
+    final private double slowQuerySampleRate;
+    final private Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public QueryMetrics(MeterRegistry meterRegistry, Duration slowQueryThreshold, double slowQuerySampleRate) {
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = slowQueryThreshold.toNanos();
+        this.slowQuerySampleRate = slowQuerySampleRate;
+    }
+
+    // MeteredNamedParameterJdbcTemplate에서 실행할 SQL을 현재 리포지토리 메서드 호출에 적어둠
+    static void capture(String sql, SqlParameterSource params, int batchSize) {
+        var execution = CURRENT.get();
+        if(execution != null) {
+            execution.sql = sql;
+            execution.params = params;
+            execution.batchSize = batchSize;
+            execution.statements++;
+        }
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        var method = invocation.getMethod();
+        if(method.getDeclaringClass() == Object.class) {
+            return invocation.proceed();
+        }
+
+        var meter = meters.computeIfAbsent(method, key -> register(invocation));
+        var previous = CURRENT.get();
+        var execution = new Execution();
+        CURRENT.set(execution);
+        var startedAt = System.nanoTime();
+        try {
+            var result = invocation.proceed();
+            var rows = rows(result);
+            if(rows >= 0) {
+                meter.rows.record(rows);
+            }
+            return result;
+        } catch (Throwable e) {
+            Counter.builder("repository.query.errors")
+                    .tag("method", meter.name)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        } finally {
+            var elapsed = System.nanoTime() - startedAt;
+            meter.timer.record(elapsed, TimeUnit.NANOSECONDS);
+            if(elapsed >= slowQueryNanos && ThreadLocalRandom.current().nextDouble() < slowQuerySampleRate) {
+                logSlowQuery(meter.name, elapsed, execution);
+            }
+            CURRENT.set(previous);
+        }
+    }
+
+    private Meters register(MethodInvocation invocation) {
+        var targetClass = invocation.getThis() != null ? AopUtils.getTargetClass(invocation.getThis()) : invocation.getMethod().getDeclaringClass();
+        var name = targetClass.getSimpleName() + "." + invocation.getMethod().getName();
+        var timer = Timer.builder("repository.queries")
+                .tag("method", name)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+        var rows = DistributionSummary.builder("repository.query.rows")
+                .tag("method", name)
+                .register(meterRegistry);
+        return new Meters(name, timer, rows);
+    }
+
+    private static long rows(Object result) {
+        if(result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if(result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if(result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        return -1;
+    }
+
+    private static void logSlowQuery(String name, long elapsedNanos, Execution execution) {
+        log.warn("slow query {} {}ms statements={} batchSize={} sql={} params={}",
+                name,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                execution.statements,
+                execution.batchSize,
+                execution.sql,
+                format(execution.params));
+    }
+
+    private static String format(SqlParameterSource params) {
+        if(params == null) {
+            return "";
+        }
+        var names = params.getParameterNames();
+        if(names == null) {
+            return params.getClass().getSimpleName();
+        }
+
+        var joiner = new StringJoiner(", ", "{", "}");
+        for(var name : names) {
+            joiner.add(name + "=" + params.getValue(name));
+        }
+        var formatted = joiner.toString();
+        // IN 절에 넘긴 id 목록처럼 긴 값은 잘라서 남김
+        return formatted.length() > MAX_PARAMS_LENGTH ? formatted.substring(0, MAX_PARAMS_LENGTH) + "...(" + formatted.length() + ")" : formatted;
+    }
+
+    private record Meters(String name, Timer timer, DistributionSummary rows) {
+    }
+
+    // 리포지토리 메서드 한 번 호출 동안 실행한 SQL(마지막 것만)
+    private static class Execution {
+        private String sql;
+        private SqlParameterSource params;
+        private int batchSize;
+        private int statements;
+    }
+}
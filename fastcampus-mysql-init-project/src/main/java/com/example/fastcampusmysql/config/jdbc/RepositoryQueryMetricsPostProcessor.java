@@ -0,0 +1,32 @@
+package com.example.fastcampusmysql.config.jdbc;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.aop.framework.autoproxy.AbstractBeanFactoryAwareAdvisingPostProcessor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Repository;
+
+// @Repository 빈을 프록시로 감싸서 메서드마다 QueryMetrics를 거치게 함
+//  - BeanPostProcessor는 다른 빈보다 먼저 만들어지므로 QueryMetrics(MeterRegistry)는 처음 호출될 때 가져옴
+//      -> 여기서 바로 주입받으면 MeterRegistry가 설정(MeterFilter, 공통 태그)이 적용되기 전에 만들어짐
+//  - 예외 변환 등 이미 붙어 있는 advisor보다 바깥에서 시간을 잼
+public class RepositoryQueryMetricsPostProcessor extends AbstractBeanFactoryAwareAdvisingPostProcessor {
+    final private ObjectProvider<QueryMetrics> queryMetricsProvider;
+    private volatile QueryMetrics queryMetrics;
+
+    public RepositoryQueryMetricsPostProcessor(ObjectProvider<QueryMetrics> queryMetricsProvider) {
+        this.queryMetricsProvider = queryMetricsProvider;
+        this.advisor = new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(Repository.class, true), (MethodInterceptor) invocation -> queryMetrics().invoke(invocation));
+        setProxyTargetClass(true);
+        setBeforeExistingAdvisors(true);
+    }
+
+    private QueryMetrics queryMetrics() {
+        var resolved = queryMetrics;
+        if(resolved == null) {
+            resolved = queryMetrics = queryMetricsProvider.getObject();
+        }
+        return resolved;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.fastcampusmysql.domain.follow.dto;
+
+import java.time.Duration;
+
+// 팔로우 import 결과
+//  - accepted  : 새로 저장한 팔로우
+//  - duplicates : 이미 있거나 입력 안에서 중복된 팔로우
+//  - rejected  : 없는 회원, 자기 자신을 팔로우하는 등 저장할 수 없는 팔로우
+public record FollowImportResult(
+        long accepted,
+        long duplicates,
+        long rejected,
+        int batches,
+        Duration elapsed
+) {
+    public long pairs() {
+        return accepted + duplicates + rejected;
+    }
+
+    public long pairsPerSecond() {
+        return pairs() * 1_000_000_000L / Math.max(elapsed.toNanos(), 1);
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.fastcampusmysql.domain.follow.dto;
+
+// 팔로우 import 입력 한 줄(fromMemberId가 toMemberId를 팔로우)
+public record FollowPair(
+        Long fromMemberId,
+        Long toMemberId
+) {
+}
@@ -0,0 +1,7 @@
+package com.example.fastcampusmysql.domain.follow.dto;
+
+public record FollowerCount(
+        Long memberId,
+        Long followerCount
+) {
+}
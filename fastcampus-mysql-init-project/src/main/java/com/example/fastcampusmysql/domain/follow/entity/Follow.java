@@ -1,11 +1,17 @@
 package com.example.fastcampusmysql.domain.follow.entity;
 
+import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
+import com.example.fastcampusmysql.rowmapper.GenerateRowMapper.Projection;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+@GenerateRowMapper(projections = {
+        @Projection(name = "FromMemberIdOnly", columns = "fromMemberId"),
+        @Projection(name = "ToMemberIdOnly", columns = "toMemberId")
+})
 @Getter
 public class Follow {
     final private Long id;
@@ -0,0 +1,30 @@
+package com.example.fastcampusmysql.domain.follow.entity;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// 하이브리드 타임라인의 pull 작성자(PullAuthorRegistry)
+//  - leavingAt : pull 작성자에서 빠지기 시작한 시각, 이때부터 다시 배달(push)하지만 읽을 때는 계속 pull로도 가져옴
+//  - backfilledAt : 팔로워들의 타임라인에 최근 게시물 보정 작업(TimelineBackfill)을 남긴 시각, 보정이 다 끝나면 행을 지움
+@Getter
+public class PullAuthor {
+    final private Long memberId;
+    final private LocalDateTime leavingAt;
+    final private LocalDateTime backfilledAt;
+    final private LocalDateTime createdAt;
+
+    @Builder
+    public PullAuthor(Long memberId, LocalDateTime leavingAt, LocalDateTime backfilledAt, LocalDateTime createdAt) {
+        this.memberId = Objects.requireNonNull(memberId);
+        this.leavingAt = leavingAt;
+        this.backfilledAt = backfilledAt;
+        this.createdAt = createdAt == null ? LocalDateTime.now() : createdAt;
+    }
+
+    public boolean isLeaving() {
+        return leavingAt != null;
+    }
+}
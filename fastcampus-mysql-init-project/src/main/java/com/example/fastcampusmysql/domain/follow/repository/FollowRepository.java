@@ -1,6 +1,11 @@
 package com.example.fastcampusmysql.domain.follow.repository;
 
+import com.example.fastcampusmysql.domain.follow.dto.FollowerCount;
 import com.example.fastcampusmysql.domain.follow.entity.Follow;
+import com.example.fastcampusmysql.domain.follow.entity.FollowRowMappers;
+import com.example.fastcampusmysql.util.BulkInsertPipeline;
+import com.example.fastcampusmysql.util.loaddata.LoadDataFormat;
+import com.example.fastcampusmysql.util.loaddata.LocalInfileLoader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
@@ -11,33 +16,113 @@ import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
-import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
 public class FollowRepository {
     static final String TABLE = "Follow";
     final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
-    private final RowMapper<Follow> ROW_MAPPER = (ResultSet resultSet, int rowNum) -> Follow.builder()
-            .id(resultSet.getLong("id"))
-            .fromMemberId(resultSet.getLong("fromMemberId"))
-            .toMemberId(resultSet.getLong("toMemberId"))
-            .createdAt(resultSet.getObject("createdAt", LocalDateTime.class))
-            .build();
+    final private BulkInsertPipeline bulkInsertPipeline;
+    final private LocalInfileLoader localInfileLoader;
+    static final RowMapper<Follow> ROW_MAPPER = FollowRowMappers.ROW_MAPPER;
+    private static final int MAX_ROWS_PER_STATEMENT = 1000;
+    private final LoadDataFormat<Follow> LOAD_DATA_FORMAT = new LoadDataFormat<>(
+            TABLE,
+            List.of("fromMemberId", "toMemberId", "createdAt"),
+            (follow, writer) -> writer
+                    .column(follow.getFromMemberId())
+                    .column(follow.getToMemberId())
+                    .column(follow.getCreatedAt())
+    );
 
     public List<Follow> findAllByFromMemberId(Long fromMemberId) {
-        var sql = String.format("SELECT * FROM %s WHERE fromMemberId = :fromMemberId", TABLE);
+        var sql = String.format("SELECT " + FollowRowMappers.COLUMNS + " FROM %s WHERE fromMemberId = :fromMemberId", TABLE);
         var params = new MapSqlParameterSource().addValue("fromMemberId", fromMemberId);
         return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
     }
 
     public List<Follow> findAllByToMemberId(Long toMemberId) {
-        var sql = String.format("SELECT * FROM %s WHERE toMemberId = :toMemberId", TABLE);
+        var sql = String.format("SELECT " + FollowRowMappers.COLUMNS + " FROM %s WHERE toMemberId = :toMemberId", TABLE);
         var params = new MapSqlParameterSource().addValue("toMemberId", toMemberId);
         return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
     }
 
+    // id 목록만 필요한 경우 회원 id 컬럼만 읽음
+    //  -> (fromMemberId, toMemberId) 유니크 인덱스만 읽고 끝남(covering index)
+    public List<Long> findAllToMemberIdsByFromMemberId(Long fromMemberId) {
+        var sql = String.format("SELECT " + FollowRowMappers.TO_MEMBER_ID_ONLY_COLUMNS + " FROM %s WHERE fromMemberId = :fromMemberId", TABLE);
+        var params = new MapSqlParameterSource().addValue("fromMemberId", fromMemberId);
+        return namedParameterJdbcTemplate.query(sql, params, FollowRowMappers.TO_MEMBER_ID_ONLY);
+    }
+
+    public List<Long> findAllFromMemberIdsByToMemberId(Long toMemberId) {
+        var sql = String.format("SELECT " + FollowRowMappers.FROM_MEMBER_ID_ONLY_COLUMNS + " FROM %s WHERE toMemberId = :toMemberId", TABLE);
+        var params = new MapSqlParameterSource().addValue("toMemberId", toMemberId);
+        return namedParameterJdbcTemplate.query(sql, params, FollowRowMappers.FROM_MEMBER_ID_ONLY);
+    }
+
+    // 팔로우 전체를 id 순으로 나눠서 읽을 때 사용(PK range scan)
+    public List<Follow> findAllByGreaterThanIdOrderByIdAsc(Long id, int size) {
+        var sql = String.format("SELECT " + FollowRowMappers.COLUMNS + " " +
+                "FROM %s " +
+                "WHERE id > :id " +
+                "ORDER BY id ASC " +
+                "LIMIT :size", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("size", size);
+        return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    // 팔로워가 많은 회원의 팔로워를 id 순으로 나눠서 읽을 때 사용(toMemberId 인덱스 + PK)
+    public List<Follow> findAllByToMemberIdAndGreaterThanIdOrderByIdAsc(Long toMemberId, Long id, int size) {
+        var sql = String.format("SELECT " + FollowRowMappers.COLUMNS + " " +
+                "FROM %s " +
+                "WHERE toMemberId = :toMemberId AND id > :id " +
+                "ORDER BY id ASC " +
+                "LIMIT :size", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("toMemberId", toMemberId)
+                .addValue("id", id)
+                .addValue("size", size);
+        return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    // 회원이 팔로우한 회원 중 toMemberIds에 있는 회원만, (fromMemberId, toMemberId) 유니크 인덱스로 조회
+    public List<Long> findAllToMemberIdsByFromMemberIdAndInToMemberId(Long fromMemberId, Collection<Long> toMemberIds) {
+        if(toMemberIds.isEmpty()) {
+            return List.of();
+        }
+
+        var sql = String.format("SELECT " + FollowRowMappers.TO_MEMBER_ID_ONLY_COLUMNS + " FROM %s WHERE fromMemberId = :fromMemberId AND toMemberId in (:toMemberIds)", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("fromMemberId", fromMemberId)
+                .addValue("toMemberIds", toMemberIds);
+        return namedParameterJdbcTemplate.query(sql, params, FollowRowMappers.TO_MEMBER_ID_ONLY);
+    }
+
+    // 팔로워 수가 minFollowerCount 이상인 회원과 팔로워 수, 팔로워 수 내림차순으로 최대 size명
+    //  -> toMemberId 인덱스만 읽어서 GROUP BY
+    public List<FollowerCount> findAllFollowerCountsGreaterThanOrEqual(long minFollowerCount, int size) {
+        var sql = String.format("SELECT toMemberId, count(id) as followerCount " +
+                "FROM %s " +
+                "GROUP BY toMemberId " +
+                "HAVING followerCount >= :minFollowerCount " +
+                "ORDER BY followerCount DESC " +
+                "LIMIT :size", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("minFollowerCount", minFollowerCount)
+                .addValue("size", size);
+        return namedParameterJdbcTemplate.query(sql, params, (ResultSet resultSet, int rowNum) -> new FollowerCount(
+                resultSet.getLong("toMemberId"),
+                resultSet.getLong("followerCount")
+        ));
+    }
+
     public Follow save(Follow follow) {
         if(follow.getId() == null) {
             return insert(follow);
@@ -46,6 +131,59 @@ public class FollowRepository {
         throw new UnsupportedOperationException("Follow는 갱신을 지원히자 않습니다.");
     }
 
+    public void bulkInsert(List<Follow> follows) {
+        var sql = String.format("INSERT INTO %s (fromMemberId, toMemberId, createdAt) " +
+                "VALUES (:fromMemberId, :toMemberId, :createdAt)", TABLE);
+
+        SqlParameterSource[] params = follows.stream()
+                .map(BeanPropertySqlParameterSource::new)
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(sql, params);
+    }
+
+    // 이미 있는 (fromMemberId, toMemberId)는 Follow_fromMemberId_toMemberId_uindex에 걸려 건너뛰고, 실제로 넣은 행 수를 반환
+    //  - batchUpdate는 rewriteBatchedStatements로 합쳐지면 행별 결과를 알 수 없어서 multi-row INSERT를 직접 만듦
+    //      -> INSERT IGNORE의 affected rows = 새로 넣은 행 수
+    //  - 한 문장의 행 수는 MAX_ROWS_PER_STATEMENT로 제한(placeholder 수 제한 65535, max_allowed_packet)
+    public int bulkInsertIgnore(List<Follow> follows) {
+        var inserted = 0;
+        for(var from = 0; from < follows.size(); from += MAX_ROWS_PER_STATEMENT) {
+            var rows = follows.subList(from, Math.min(from + MAX_ROWS_PER_STATEMENT, follows.size()));
+            var sql = String.format("INSERT IGNORE INTO %s (fromMemberId, toMemberId, createdAt) VALUES ", TABLE)
+                    + String.join(", ", Collections.nCopies(rows.size(), "(?, ?, ?)"));
+            inserted += namedParameterJdbcTemplate.getJdbcTemplate().update(sql, statement -> {
+                var index = 1;
+                for(var follow : rows) {
+                    statement.setLong(index++, follow.getFromMemberId());
+                    statement.setLong(index++, follow.getToMemberId());
+                    statement.setObject(index++, follow.getCreatedAt());
+                }
+            });
+        }
+        return inserted;
+    }
+
+    // 지운 행 수를 반환(없는 팔로우면 0)
+    public int delete(Long fromMemberId, Long toMemberId) {
+        var sql = String.format("DELETE FROM %s WHERE fromMemberId = :fromMemberId AND toMemberId = :toMemberId", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("fromMemberId", fromMemberId)
+                .addValue("toMemberId", toMemberId);
+        return namedParameterJdbcTemplate.update(sql, params);
+    }
+
+    public BulkInsertPipeline.BulkInsertResult bulkInsert(Stream<Follow> follows) {
+        return bulkInsertPipeline.run(follows.iterator(), this::bulkInsert);
+    }
+
+    // 팔로우 그래프 시딩처럼 대량으로 넣을 때 LOAD DATA LOCAL INFILE로 적재, 사용할 수 없으면 batch insert
+    public BulkInsertPipeline.BulkInsertResult bulkLoad(Stream<Follow> follows) {
+        if(!localInfileLoader.isAvailable()) {
+            return bulkInsert(follows);
+        }
+        return localInfileLoader.load(LOAD_DATA_FORMAT, follows.iterator());
+    }
+
     private Follow insert(Follow follow) {
         SimpleJdbcInsert jdbcInsert = new SimpleJdbcInsert(namedParameterJdbcTemplate.getJdbcTemplate())
                 .withTableName(TABLE)
@@ -0,0 +1,75 @@
+package com.example.fastcampusmysql.domain.follow.repository;
+
+import com.example.fastcampusmysql.domain.follow.entity.PullAuthor;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+// pull 작성자 목록을 서버끼리 같이 쓰기 위한 테이블
+//  - 목록이 작으므로(최대 max-pull-authors명 + 빠지는 중인 작성자) 전체를 읽음
+//  - 상태를 바꾸는 갱신은 모두 조건부(이미 바뀐 행은 건드리지 않음)라서 여러 서버가 동시에 실행해도 한 서버만 반영됨
+@Repository
+@RequiredArgsConstructor
+public class PullAuthorRepository {
+    static final String TABLE = "PullAuthor";
+
+    final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    final static private RowMapper<PullAuthor> ROW_MAPPER = (ResultSet resultSet, int rowNum) -> PullAuthor.builder()
+            .memberId(resultSet.getLong("memberId"))
+            .leavingAt(resultSet.getObject("leavingAt", LocalDateTime.class))
+            .backfilledAt(resultSet.getObject("backfilledAt", LocalDateTime.class))
+            .createdAt(resultSet.getObject("createdAt", LocalDateTime.class))
+            .build();
+
+    public List<PullAuthor> findAll() {
+        var sql = String.format("SELECT memberId, leavingAt, backfilledAt, createdAt FROM %s", TABLE);
+        return namedParameterJdbcTemplate.query(sql, ROW_MAPPER);
+    }
+
+    // 새로 들어온 작성자를 넣고, 빠지는 중이던 작성자는 다시 pull 작성자로 되돌림
+    public void saveAll(Collection<Long> memberIds) {
+        if(memberIds.isEmpty()) {
+            return;
+        }
+
+        var sql = String.format("INSERT INTO %s (memberId, createdAt) VALUES (:memberId, NOW()) " +
+                "ON DUPLICATE KEY UPDATE leavingAt = NULL, backfilledAt = NULL", TABLE);
+        SqlParameterSource[] params = memberIds.stream()
+                .map(memberId -> new MapSqlParameterSource("memberId", memberId))
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(sql, params);
+    }
+
+    public void markLeaving(Collection<Long> memberIds) {
+        if(memberIds.isEmpty()) {
+            return;
+        }
+
+        var sql = String.format("UPDATE %s SET leavingAt = NOW(6) WHERE memberId IN (:memberIds) AND leavingAt IS NULL", TABLE);
+        namedParameterJdbcTemplate.update(sql, new MapSqlParameterSource("memberIds", memberIds));
+    }
+
+    // 다른 서버가 먼저 표시했거나 그 사이 다시 pull 작성자가 되었으면 false
+    public boolean markBackfilled(Long memberId, LocalDateTime leavingBefore) {
+        var sql = String.format("UPDATE %s SET backfilledAt = NOW(6) " +
+                "WHERE memberId = :memberId AND leavingAt < :leavingBefore AND backfilledAt IS NULL", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("leavingBefore", leavingBefore);
+        return namedParameterJdbcTemplate.update(sql, params) == 1;
+    }
+
+    // 그 사이 다시 pull 작성자가 되었으면(backfilledAt이 비워짐) 지우지 않음
+    public void deleteBackfilled(Long memberId) {
+        var sql = String.format("DELETE FROM %s WHERE memberId = :memberId AND backfilledAt IS NOT NULL", TABLE);
+        namedParameterJdbcTemplate.update(sql, new MapSqlParameterSource("memberId", memberId));
+    }
+}
@@ -0,0 +1,433 @@
+package com.example.fastcampusmysql.domain.follow.service;
+
+import com.example.fastcampusmysql.domain.follow.dto.FollowPair;
+import com.example.fastcampusmysql.domain.follow.repository.FollowRepository;
+import com.example.fastcampusmysql.util.LongAdjacencyIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+// 팔로우 관계 전체를 메모리에 올려둔 그래프
+//  - 팔로우 목록 조회가 List<Follow>를 만들고 id만 꺼내 쓰던 것을, 회원 id 배열로 바로 돌려줌(DB 조회 없음)
+//  - 팔로잉(from -> to), 팔로워(to -> from) 두 방향을 각각 CSR 인덱스(LongAdjacencyIndex)로 들고 있음
+//  - 시작할 때 Follow 테이블을 id 순으로 나눠 읽어서 만들고, reloadInterval마다 다시 만듦
+//      -> 다른 서버에서 생긴 팔로우는 다시 만들 때 반영됨
+//  - 이 서버에서 생긴 팔로우는 커밋 후 delta(배열에 덧붙이기만 함)에 넣고, mergeInterval마다 인덱스와 합쳐 새로 만듦
+//      -> 조회는 인덱스 + delta를 같이 보고, 인덱스에 이미 있는 간선은 건너뜀
+//  - 한 번에 여러 팔로우를 넣을 때(addAll)는 delta에 모두 덧붙인 뒤 View를 한 번만 새로 만듦
+//      -> bulkReloadThreshold개 이상이면 delta에 넣지 않고 reload를 예약(전체를 다시 읽는 편이 delta를 키웠다가 merge하는 것보다 나음)
+//      -> reload가 끝날 때까지는 넣은 팔로우가 보이지 않음
+//  - 이 서버에서 취소한 팔로우는 커밋 후 removed(삭제 표시)에 넣고 조회할 때 걸러냄
+//      -> 인덱스는 간선을 빼지 못하므로, 삭제 표시는 취소 뒤에 시작한 reload가 끝나면(DB에 간선이 없음) 지움
+//      -> 삭제 표시는 이 서버에만 있으므로 다른 서버는 다음 reload(reloadInterval)까지 취소한 팔로우를 계속 보여줌
+//  - 처음 다 읽기 전(isReady() == false)에는 FollowReadService가 DB에서 읽음
+//  - 조회는 락 없이 View(인덱스 + 회원별 delta 이웃 + 삭제 표시)를 읽음
+//      -> 쓰기(add, remove, merge, reload)만 this로 동기화
+//      -> 인덱스를 바꿀 때(merge, reload)만 남은 delta를 회원별로 다시 묶어서 새 View를 만들어 바꿔 끼움
+//      -> 팔로우를 추가할 때는 View의 회원별 delta 이웃 중 두 회원(from, to)의 배열만 새로 만들어 바꿔 끼움(delta 전체를 다시 묶지 않음)
+//  - merge, reload는 스케줄러 스레드가 아니라 followGraphExecutor에서 실행(전체 적재가 다른 @Scheduled 작업을 막지 않도록)
+@Slf4j
+@Component
+class FollowGraph {
+    final private FollowRepository followRepository;
+    final private boolean enabled;
+    final private int loadChunkSize;
+    final private int bulkReloadThreshold;
+    final private Executor followGraphExecutor;
+    // 이미 실행을 기다리고 있는 merge, reload는 다시 넣지 않음
+    final private AtomicBoolean mergeQueued = new AtomicBoolean();
+    final private AtomicBoolean reloadQueued = new AtomicBoolean();
+
+    // 인덱스를 다시 만드는 작업(merge, reload)이 겹치지 않도록
+    final private Object rebuildLock = new Object();
+
+    // 조회는 view만 읽음
+    private volatile View view = new View(null, Map.of(), Map.of(), Set.of());
+
+    // 아래는 쓰기 상태, this로 동기화
+    // null이면 아직 읽지 않음
+    private Snapshot snapshot;
+    private long[] deltaFromMemberIds = new long[16];
+    private long[] deltaToMemberIds = new long[16];
+    private int deltaSize;
+    // delta[0]이 지금까지 추가된 간선 중 몇 번째인지(merge, reload가 반영한 앞부분만 지우기 위함)
+    private long deltaStartSequence;
+    // 취소한 팔로우(key(from, to)) -> 취소한 순서, 다시 팔로우하면 지움
+    final private Map<Long, Long> removed = new HashMap<>();
+    private long removedSequence;
+    // removed를 View에 넣을 불변 복사본, removed가 바뀔 때만 다시 만듦
+    private Set<Long> removedView = Set.of();
+
+    FollowGraph(
+            FollowRepository followRepository,
+            @Value("${follow.graph.enabled:false}") boolean enabled,
+            @Value("${follow.graph.load-chunk-size:10000}") int loadChunkSize,
+            @Value("${follow.graph.bulk-reload-threshold:10000}") int bulkReloadThreshold,
+            @Qualifier("followGraphExecutor") Executor followGraphExecutor
+    ) {
+        Assert.isTrue(loadChunkSize > 0, "loadChunkSize는 1 이상이어야 합니다.");
+        Assert.isTrue(bulkReloadThreshold > 0, "bulkReloadThreshold는 1 이상이어야 합니다.");
+        this.followRepository = followRepository;
+        this.enabled = enabled;
+        this.loadChunkSize = loadChunkSize;
+        this.bulkReloadThreshold = bulkReloadThreshold;
+        this.followGraphExecutor = followGraphExecutor;
+    }
+
+    boolean isReady() {
+        return view.snapshot() != null;
+    }
+
+    long[] getFollowingIds(long memberId) {
+        var current = view;
+        return read(current.snapshot().followings(), current.deltaFollowings().get(memberId), current.removed(), memberId, true);
+    }
+
+    long[] getFollowerIds(long memberId) {
+        var current = view;
+        return read(current.snapshot().followers(), current.deltaFollowers().get(memberId), current.removed(), memberId, false);
+    }
+
+    // 롤백된 팔로우가 보이지 않도록 커밋 후에 반영
+    void add(long fromMemberId, long toMemberId) {
+        if(!enabled) {
+            return;
+        }
+        afterCommit(() -> append(fromMemberId, toMemberId));
+    }
+
+    // 팔로우 import처럼 한 번에 많이 넣을 때, add를 여러 번 부르면 팔로우마다 View를 바꿔 끼우므로 한 번에 반영
+    void addAll(List<FollowPair> pairs) {
+        if(!enabled || pairs.isEmpty()) {
+            return;
+        }
+        afterCommit(() -> {
+            if(pairs.size() >= bulkReloadThreshold) {
+                unmarkRemoved(pairs);
+                scheduleReload();
+                return;
+            }
+            appendAll(pairs);
+        });
+    }
+
+    // 취소한 팔로우도 롤백되면 그대로 보여야 하므로 커밋 후에 반영
+    void remove(long fromMemberId, long toMemberId) {
+        if(!enabled) {
+            return;
+        }
+        afterCommit(() -> markRemoved(fromMemberId, toMemberId));
+    }
+
+    private static void afterCommit(Runnable task) {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    task.run();
+                }
+            });
+            return;
+        }
+        task.run();
+    }
+
+    @Scheduled(fixedDelayString = "${follow.graph.merge-interval-ms:1000}")
+    public void scheduleMerge() {
+        submit(mergeQueued, this::merge);
+    }
+
+    @Scheduled(fixedDelayString = "${follow.graph.reload-interval-ms:3600000}")
+    public void scheduleReload() {
+        submit(reloadQueued, this::reload);
+    }
+
+    private void submit(AtomicBoolean queued, Runnable task) {
+        if(!enabled || !queued.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            followGraphExecutor.execute(() -> {
+                queued.set(false);
+                task.run();
+            });
+        } catch (RuntimeException e) {
+            queued.set(false);
+            log.warn("팔로우 그래프 작업을 실행하지 못했습니다.", e);
+        }
+    }
+
+    void merge() {
+        if(!enabled) {
+            return;
+        }
+
+        synchronized (rebuildLock) {
+            long[] fromMemberIds;
+            long[] toMemberIds;
+            long mergedSequence;
+            Snapshot current;
+            synchronized (this) {
+                if(snapshot == null || deltaSize == 0) {
+                    return;
+                }
+                current = snapshot;
+                fromMemberIds = Arrays.copyOf(deltaFromMemberIds, deltaSize);
+                toMemberIds = Arrays.copyOf(deltaToMemberIds, deltaSize);
+                mergedSequence = deltaStartSequence + deltaSize;
+            }
+
+            // 새 인덱스를 만드는 동안에도 조회는 기존 인덱스 + delta로 처리
+            var merged = new Snapshot(
+                    current.followings().merge(fromMemberIds, toMemberIds, fromMemberIds.length),
+                    current.followers().merge(toMemberIds, fromMemberIds, fromMemberIds.length)
+            );
+            replace(merged, mergedSequence);
+        }
+    }
+
+    void reload() {
+        if(!enabled) {
+            return;
+        }
+
+        synchronized (rebuildLock) {
+            try {
+                long startSequence;
+                long startRemovedSequence;
+                synchronized (this) {
+                    startSequence = deltaStartSequence + deltaSize;
+                    startRemovedSequence = removedSequence;
+                }
+
+                // 읽기 시작 전에 커밋되어 delta에 들어간 팔로우는 읽어온 데이터에 포함되어 있음
+                //  -> 읽는 도중에 생긴 팔로우는 포함됐는지 알 수 없으므로 delta에 남겨두고 다음 merge에서 중복을 지움
+                var loaded = load();
+                replace(loaded, startSequence);
+                // 읽기 시작 전에 취소된 팔로우는 읽어온 데이터에 없음
+                clearRemoved(startRemovedSequence);
+                log.info("팔로우 그래프 적재 완료. 회원 {}명, 팔로우 {}건", loaded.followings().sourceCount(), loaded.followings().edgeCount());
+            } catch (RuntimeException e) {
+                log.warn("팔로우 그래프 적재 실패. 이전 그래프를 계속 사용합니다.", e);
+            }
+        }
+    }
+
+    private Snapshot load() {
+        var fromMemberIds = new long[loadChunkSize];
+        var toMemberIds = new long[loadChunkSize];
+        var size = 0;
+        var lastId = 0L;
+        while (true) {
+            var follows = followRepository.findAllByGreaterThanIdOrderByIdAsc(lastId, loadChunkSize);
+            if(size + follows.size() > fromMemberIds.length) {
+                var capacity = Math.max(fromMemberIds.length * 2, size + follows.size());
+                fromMemberIds = Arrays.copyOf(fromMemberIds, capacity);
+                toMemberIds = Arrays.copyOf(toMemberIds, capacity);
+            }
+            for(var follow : follows) {
+                fromMemberIds[size] = follow.getFromMemberId();
+                toMemberIds[size] = follow.getToMemberId();
+                size++;
+                lastId = follow.getId();
+            }
+            if(follows.size() < loadChunkSize) {
+                break;
+            }
+        }
+        return new Snapshot(
+                LongAdjacencyIndex.build(fromMemberIds, toMemberIds, size),
+                LongAdjacencyIndex.build(toMemberIds, fromMemberIds, size)
+        );
+    }
+
+    // 새 인덱스로 바꾸고, 새 인덱스에 반영된 delta(appliedSequence 이전)를 지움
+    private synchronized void replace(Snapshot replacement, long appliedSequence) {
+        var applied = (int) Math.min(deltaSize, Math.max(0, appliedSequence - deltaStartSequence));
+        System.arraycopy(deltaFromMemberIds, applied, deltaFromMemberIds, 0, deltaSize - applied);
+        System.arraycopy(deltaToMemberIds, applied, deltaToMemberIds, 0, deltaSize - applied);
+        deltaSize -= applied;
+        deltaStartSequence += applied;
+        snapshot = replacement;
+        publish();
+    }
+
+    private synchronized void markRemoved(long fromMemberId, long toMemberId) {
+        removed.put(key(fromMemberId, toMemberId), ++removedSequence);
+        removedView = Set.copyOf(removed.keySet());
+        publishRemoved();
+    }
+
+    private synchronized void clearRemoved(long appliedSequence) {
+        if(removed.values().removeIf(sequence -> sequence <= appliedSequence)) {
+            removedView = Set.copyOf(removed.keySet());
+            publishRemoved();
+        }
+    }
+
+    private synchronized void append(long fromMemberId, long toMemberId) {
+        if(removed.remove(key(fromMemberId, toMemberId)) != null) {
+            removedView = Set.copyOf(removed.keySet());
+            publishRemoved();
+        }
+        if(deltaSize == deltaFromMemberIds.length) {
+            deltaFromMemberIds = Arrays.copyOf(deltaFromMemberIds, deltaSize * 2);
+            deltaToMemberIds = Arrays.copyOf(deltaToMemberIds, deltaSize * 2);
+        }
+        deltaFromMemberIds[deltaSize] = fromMemberId;
+        deltaToMemberIds[deltaSize] = toMemberId;
+        deltaSize++;
+
+        // 아직 인덱스가 없으면 View도 없으므로 첫 replace에서 묶음
+        if(snapshot == null) {
+            return;
+        }
+        var current = view;
+        addNeighbor(current.deltaFollowings(), fromMemberId, toMemberId);
+        addNeighbor(current.deltaFollowers(), toMemberId, fromMemberId);
+    }
+
+    // delta에 모두 덧붙이고 View는 한 번만 새로 만듦
+    private synchronized void appendAll(List<FollowPair> pairs) {
+        var unmarked = false;
+        for(var pair : pairs) {
+            unmarked |= removed.remove(key(pair.fromMemberId(), pair.toMemberId())) != null;
+            if(deltaSize == deltaFromMemberIds.length) {
+                deltaFromMemberIds = Arrays.copyOf(deltaFromMemberIds, deltaSize * 2);
+                deltaToMemberIds = Arrays.copyOf(deltaToMemberIds, deltaSize * 2);
+            }
+            deltaFromMemberIds[deltaSize] = pair.fromMemberId();
+            deltaToMemberIds[deltaSize] = pair.toMemberId();
+            deltaSize++;
+        }
+        if(unmarked) {
+            removedView = Set.copyOf(removed.keySet());
+        }
+        publish();
+    }
+
+    // 다시 팔로우한 간선의 삭제 표시만 지움(간선은 reload가 반영)
+    private synchronized void unmarkRemoved(List<FollowPair> pairs) {
+        var unmarked = false;
+        for(var pair : pairs) {
+            unmarked |= removed.remove(key(pair.fromMemberId(), pair.toMemberId())) != null;
+        }
+        if(unmarked) {
+            removedView = Set.copyOf(removed.keySet());
+            publishRemoved();
+        }
+    }
+
+    // 쓰기 상태로 조회용 View를 새로 만듦(this를 잡고 호출)
+    //  -> delta를 회원별 이웃 배열로 묶어서 조회할 때 delta 전체를 훑지 않도록
+    //  -> 인덱스를 바꿀 때(replace)와 한 번에 여러 팔로우를 넣을 때(appendAll)만 호출, 그 외에 추가되는 팔로우는 append가 이 View의 회원별 이웃에 바로 넣음
+    private void publish() {
+        if(snapshot == null) {
+            return;
+        }
+        view = new View(
+                snapshot,
+                groupBySource(deltaFromMemberIds, deltaToMemberIds, deltaSize),
+                groupBySource(deltaToMemberIds, deltaFromMemberIds, deltaSize),
+                removedView
+        );
+    }
+
+    // 삭제 표시만 바뀌었으므로 인덱스와 delta 이웃은 그대로 쓰고 View만 바꿔 끼움(this를 잡고 호출)
+    private void publishRemoved() {
+        var current = view;
+        if(current.snapshot() == null) {
+            return;
+        }
+        view = new View(current.snapshot(), current.deltaFollowings(), current.deltaFollowers(), removedView);
+    }
+
+    private static Map<Long, long[]> groupBySource(long[] sources, long[] targets, int size) {
+        var grouped = new ConcurrentHashMap<Long, long[]>();
+        for(int i = 0; i < size; i++) {
+            addNeighbor(grouped, sources[i], targets[i]);
+        }
+        return grouped;
+    }
+
+    // 조회는 락 없이 이웃 배열을 읽으므로 배열을 고치지 않고 하나 늘린 새 배열로 바꿔 끼움
+    private static void addNeighbor(Map<Long, long[]> grouped, long source, long target) {
+        var previous = grouped.get(source);
+        var neighbors = previous == null ? new long[1] : Arrays.copyOf(previous, previous.length + 1);
+        neighbors[neighbors.length - 1] = target;
+        grouped.put(source, neighbors);
+    }
+
+    // 인덱스의 이웃 뒤에 delta에만 있는 이웃(deltaTargets, 없으면 null)을 붙여서 반환
+    //  - following : true면 memberId -> 이웃(팔로잉), false면 이웃 -> memberId(팔로워)
+    private static long[] read(LongAdjacencyIndex index, long[] deltaTargets, Set<Long> removed, long memberId, boolean following) {
+        var ids = index.get(memberId);
+        var indexed = ids.length;
+        var size = ids.length;
+        if(deltaTargets != null) {
+            for(var target : deltaTargets) {
+                if(index.contains(memberId, target) || containsFrom(ids, indexed, size, target)) {
+                    continue;
+                }
+                if(size == ids.length) {
+                    ids = Arrays.copyOf(ids, Math.max(4, size * 2));
+                }
+                ids[size++] = target;
+            }
+        }
+        if(!removed.isEmpty()) {
+            return dropRemoved(ids, size, removed, memberId, following);
+        }
+        return size == ids.length ? ids : Arrays.copyOf(ids, size);
+    }
+
+    // ids는 인덱스가 들고 있는 배열일 수 있으므로 고치지 않고 새 배열에 담음
+    private static long[] dropRemoved(long[] ids, int size, Set<Long> removed, long memberId, boolean following) {
+        var kept = new long[size];
+        var keptSize = 0;
+        for(int i = 0; i < size; i++) {
+            var key = following ? key(memberId, ids[i]) : key(ids[i], memberId);
+            if(!removed.contains(key)) {
+                kept[keptSize++] = ids[i];
+            }
+        }
+        return keptSize == size ? kept : Arrays.copyOf(kept, keptSize);
+    }
+
+    // 회원 id는 int 범위(Follow.fromMemberId, toMemberId)
+    private static long key(long fromMemberId, long toMemberId) {
+        return fromMemberId << 32 | (toMemberId & 0xFFFFFFFFL);
+    }
+
+    // delta 안에 같은 간선이 여러 번 들어온 경우, 회원 한 명의 delta 이웃은 몇 개 안 되므로 선형 탐색
+    private static boolean containsFrom(long[] ids, int from, int to, long id) {
+        for(int i = from; i < to; i++) {
+            if(ids[i] == id) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private record Snapshot(LongAdjacencyIndex followings, LongAdjacencyIndex followers) {
+    }
+
+    // 조회용 상태, deltaFollowings/deltaFollowers : 회원 -> delta에만 있는 이웃
+    //  -> 이웃 배열은 불변, 맵(ConcurrentHashMap)은 append가 회원 단위로 바꿔 끼움
+    private record View(Snapshot snapshot, Map<Long, long[]> deltaFollowings, Map<Long, long[]> deltaFollowers, Set<Long> removed) {
+    }
+}
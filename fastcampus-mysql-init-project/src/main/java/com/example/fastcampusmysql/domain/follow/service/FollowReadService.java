@@ -4,13 +4,18 @@ import com.example.fastcampusmysql.domain.follow.entity.Follow;
 import com.example.fastcampusmysql.domain.follow.repository.FollowRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+// 읽기 전용 트랜잭션으로 실행해서 replica로 조회(ReplicationRoutingDataSource)
+@Transactional(readOnly = true)
 @Service
 @RequiredArgsConstructor
 public class FollowReadService {
     final private FollowRepository followRepository;
+    final private PullAuthorRegistry pullAuthorRegistry;
+    final private FollowGraph followGraph;
 
     // MemberReadService에서는 도메인을 직접 반환하지 않았음(MemberDto를 만들어 그것으로 반환했었음)
     // Follow는 외부 API로 나가는 경우가 없을 것 같음
@@ -23,4 +28,45 @@ public class FollowReadService {
     public List<Follow> getFollows(Long memberId) {
         return followRepository.findAllByToMemberId(memberId);
     }
+
+    // 회원이 팔로우한 회원 id 목록, 팔로우 그래프(FollowGraph)를 다 읽기 전에는 DB에서 읽음
+    public long[] getFollowingIds(Long memberId) {
+        if(followGraph.isReady()) {
+            return followGraph.getFollowingIds(memberId);
+        }
+        return followRepository.findAllToMemberIdsByFromMemberId(memberId).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    // 회원을 팔로우한 회원 id 목록
+    public long[] getFollowerIds(Long memberId) {
+        if(followGraph.isReady()) {
+            return followGraph.getFollowerIds(memberId);
+        }
+        return followRepository.findAllFromMemberIdsByToMemberId(memberId).stream()
+                .mapToLong(Long::longValue)
+                .toArray();
+    }
+
+    // 쓰기 트랜잭션 안에서 호출하면 primary에서 읽음(타임라인 백필/정리 워커)
+    public boolean isFollowing(Long fromMemberId, Long toMemberId) {
+        return !followRepository.findAllToMemberIdsByFromMemberIdAndInToMemberId(fromMemberId, List.of(toMemberId)).isEmpty();
+    }
+
+    // 팔로워 전체를 한 번에 올리지 않고 Follow id 순으로 size명씩 읽음
+    public List<Follow> getFollows(Long memberId, Long lastFollowId, int size) {
+        return followRepository.findAllByToMemberIdAndGreaterThanIdOrderByIdAsc(memberId, lastFollowId, size);
+    }
+
+    // 팔로워가 많아서 타임라인 배달(push)을 하지 않는 작성자인지
+    public boolean isPullAuthor(Long memberId) {
+        return pullAuthorRegistry.isPullAuthor(memberId);
+    }
+
+    // 회원이 팔로우한 회원 중 pull 작성자만
+    //  -> 팔로우 전체를 읽지 않고 pull 작성자 목록으로 (fromMemberId, toMemberId) 인덱스를 조회
+    public List<Long> getPullAuthorFollowings(Long memberId) {
+        return followRepository.findAllToMemberIdsByFromMemberIdAndInToMemberId(memberId, pullAuthorRegistry.getPullAuthorIds());
+    }
 }
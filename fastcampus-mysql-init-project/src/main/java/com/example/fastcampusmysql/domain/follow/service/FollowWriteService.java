@@ -1,5 +1,6 @@
 package com.example.fastcampusmysql.domain.follow.service;
 
+import com.example.fastcampusmysql.domain.follow.dto.FollowPair;
 import com.example.fastcampusmysql.domain.follow.entity.Follow;
 import com.example.fastcampusmysql.domain.follow.repository.FollowRepository;
 import com.example.fastcampusmysql.domain.member.dto.MemberDto;
@@ -7,12 +8,15 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.util.Assert;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
 public class FollowWriteService {
     final private FollowRepository followRepository;
+    final private FollowGraph followGraph;
 
     public void create(MemberDto fromMember, MemberDto toMember) {
         /*
@@ -44,5 +48,34 @@ public class FollowWriteService {
                 .build();
 
         followRepository.save(follow);
+        followGraph.add(fromMember.id(), toMember.id());
+    }
+
+    // 팔로우를 취소하고 지운 수를 반환(팔로우하고 있지 않았다면 0)
+    public int delete(Long fromMemberId, Long toMemberId) {
+        var deleted = followRepository.delete(fromMemberId, toMemberId);
+        if(deleted > 0) {
+            followGraph.remove(fromMemberId, toMemberId);
+        }
+        return deleted;
+    }
+
+    // 이미 검증한(존재하는 서로 다른 회원) 팔로우를 한 번에 저장하고, 새로 저장한 수를 반환
+    //  - 이미 있는 팔로우는 유니크 인덱스에 걸려 건너뜀(INSERT IGNORE)
+    //  - 어떤 팔로우가 새로 들어갔는지는 알 수 없으므로 그래프에는 모두 넣음(이미 있는 간선은 그래프가 건너뜀)
+    //      -> 한 번에 넣어서 View를 한 번만 바꿔 끼우고, 많으면 그래프를 다시 읽음(FollowGraph.addAll)
+    public int bulkCreate(List<FollowPair> pairs) {
+        var createdAt = LocalDateTime.now();
+        var follows = pairs.stream()
+                .map(pair -> Follow.builder()
+                        .fromMemberId(pair.fromMemberId())
+                        .toMemberId(pair.toMemberId())
+                        .createdAt(createdAt)
+                        .build())
+                .toList();
+
+        var inserted = followRepository.bulkInsertIgnore(follows);
+        followGraph.addAll(pairs);
+        return inserted;
     }
 }
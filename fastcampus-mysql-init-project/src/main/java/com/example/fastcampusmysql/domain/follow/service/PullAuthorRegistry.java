@@ -0,0 +1,192 @@
+package com.example.fastcampusmysql.domain.follow.service;
+
+import com.example.fastcampusmysql.domain.follow.dto.FollowerCount;
+import com.example.fastcampusmysql.domain.follow.entity.PullAuthor;
+import com.example.fastcampusmysql.domain.follow.repository.FollowRepository;
+import com.example.fastcampusmysql.domain.follow.repository.PullAuthorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+// 하이브리드 타임라인에서 pull 방식으로 읽을 작성자(팔로워가 아주 많은 회원) 목록
+//  - 팔로워가 100만명인 회원이 글을 쓰면 push 방식은 Timeline에 100만 행을 써야 함
+//      -> 이런 작성자의 글은 배달하지 않고, 읽는 쪽에서 최신 게시물을 직접 가져와 합침(pull)
+//  - 팔로워 수로 주기적으로 다시 계산하므로 따로 관리하지 않아도 됨
+//      -> followerThreshold 이상이면 pull 작성자가 됨
+//      -> 경계에 있는 회원이 계속 들어왔다 나갔다 하지 않도록 이미 pull 작성자인 회원은 followerThreshold * exitRatio 밑으로 내려가야 빠짐
+//      -> 읽을 때 pull 작성자 수만큼 seek 쿼리가 늘어나므로 최대 maxPullAuthors명(팔로워 수가 많은 순)으로 제한
+//  - 목록은 PullAuthor 테이블에 저장해서 모든 서버가 같은 목록을 씀
+//      -> 각 서버는 syncInterval마다 테이블을 다시 읽음, 계산(refresh)은 어느 서버가 해도 결과가 같음
+//      -> 서버가 뜰 때 목록을 계산/로딩한 뒤에 요청을 받음(실패하면 뜨지 않음), 빈 목록으로 시작하면 pull 작성자의 글이 배달되지도 읽히지도 않음
+//  - pull 작성자였던 동안 쓴 글은 Timeline에 없으므로 빠지는 작성자는 바로 지우지 않음
+//      -> 빠지는 중(leavingAt)인 작성자의 새 글은 배달하지만(isPullAuthor = false) 읽을 때는 계속 pull로도 가져옴(getPullAuthorIds)
+//      -> exitGrace(모든 서버가 목록을 다시 읽는 시간보다 김)가 지나면 PullAuthorExitWorker가 팔로워들의 타임라인 보정 작업을 남기고, 작업이 다 끝나면 지움
+@Slf4j
+@Component
+public class PullAuthorRegistry {
+    final private FollowRepository followRepository;
+    final private PullAuthorRepository pullAuthorRepository;
+    final private boolean enabled;
+    final private long followerThreshold;
+    final private double exitRatio;
+    final private int maxPullAuthors;
+    final private Duration exitGrace;
+
+    // 조회가 훨씬 많으므로 통째로 바꿔 끼우는 불변 Set
+    //  -> pullAuthorIds : 배달하지 않는 작성자, readAuthorIds : 읽을 때 pull로 가져오는 작성자(빠지는 중인 작성자 포함)
+    private volatile Set<Long> pullAuthorIds = Set.of();
+    private volatile Set<Long> readAuthorIds = Set.of();
+
+    public PullAuthorRegistry(
+            FollowRepository followRepository,
+            PullAuthorRepository pullAuthorRepository,
+            @Value("${timeline.hybrid.enabled:false}") boolean enabled,
+            @Value("${timeline.hybrid.follower-threshold:10000}") long followerThreshold,
+            @Value("${timeline.hybrid.exit-ratio:0.8}") double exitRatio,
+            @Value("${timeline.hybrid.max-pull-authors:1000}") int maxPullAuthors,
+            @Value("${timeline.hybrid.sync-interval-ms:10000}") long syncIntervalMillis,
+            @Value("${timeline.hybrid.exit-grace-ms:60000}") long exitGraceMillis
+    ) {
+        Assert.isTrue(followerThreshold > 0, "followerThreshold는 1 이상이어야 합니다.");
+        Assert.isTrue(exitRatio > 0 && exitRatio <= 1, "exitRatio는 0보다 크고 1 이하여야 합니다.");
+        Assert.isTrue(maxPullAuthors > 0, "maxPullAuthors는 1 이상이어야 합니다.");
+        // 모든 서버가 빠진 작성자의 글을 배달하기 시작한 뒤에 보정해야 그 사이 배달되지 않은 글까지 채워짐
+        Assert.isTrue(exitGraceMillis > syncIntervalMillis, "exitGrace는 syncInterval보다 길어야 합니다.");
+        this.followRepository = followRepository;
+        this.pullAuthorRepository = pullAuthorRepository;
+        this.enabled = enabled;
+        this.followerThreshold = followerThreshold;
+        this.exitRatio = exitRatio;
+        this.maxPullAuthors = maxPullAuthors;
+        this.exitGrace = Duration.ofMillis(exitGraceMillis);
+    }
+
+    public boolean isPullAuthor(Long memberId) {
+        return pullAuthorIds.contains(memberId);
+    }
+
+    public Set<Long> getPullAuthorIds() {
+        return readAuthorIds;
+    }
+
+    // 예외를 잡지 않으므로 목록을 만들지 못하면 서버가 뜨지 않음
+    @PostConstruct
+    public void init() {
+        if(!enabled) {
+            return;
+        }
+
+        recompute();
+    }
+
+    // 시작할 때(init) 이미 계산했으므로 한 주기 뒤부터
+    @Scheduled(fixedDelayString = "${timeline.hybrid.refresh-interval-ms:300000}", initialDelayString = "${timeline.hybrid.refresh-interval-ms:300000}")
+    public void refresh() {
+        if(!enabled) {
+            return;
+        }
+
+        try {
+            recompute();
+        } catch (RuntimeException e) {
+            log.warn("pull 작성자 목록 갱신 실패. 이전 목록을 계속 사용합니다.", e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${timeline.hybrid.sync-interval-ms:10000}", initialDelayString = "${timeline.hybrid.sync-interval-ms:10000}")
+    public void sync() {
+        if(!enabled) {
+            return;
+        }
+
+        try {
+            load(pullAuthorRepository.findAll());
+        } catch (RuntimeException e) {
+            log.warn("pull 작성자 목록 로딩 실패. 이전 목록을 계속 사용합니다.", e);
+        }
+    }
+
+    // 빠진 지 exitGrace가 지났고 아직 보정 작업을 남기지 않은 작성자
+    public List<Long> getExitedAuthorIds() {
+        var before = LocalDateTime.now().minus(exitGrace);
+        return pullAuthorRepository.findAll().stream()
+                .filter(author -> author.isLeaving() && author.getBackfilledAt() == null && author.getLeavingAt().isBefore(before))
+                .map(PullAuthor::getMemberId)
+                .toList();
+    }
+
+    // 여러 서버가 동시에 호출해도 한 서버만 true
+    public boolean markBackfilled(Long memberId) {
+        return pullAuthorRepository.markBackfilled(memberId, LocalDateTime.now().minus(exitGrace));
+    }
+
+    public List<Long> getBackfilledAuthorIds() {
+        return pullAuthorRepository.findAll().stream()
+                .filter(author -> author.getBackfilledAt() != null)
+                .map(PullAuthor::getMemberId)
+                .toList();
+    }
+
+    public void remove(Long memberId) {
+        pullAuthorRepository.deleteBackfilled(memberId);
+    }
+
+    private void recompute() {
+        var current = pullAuthorRepository.findAll().stream()
+                .filter(author -> !author.isLeaving())
+                .map(PullAuthor::getMemberId)
+                .collect(Collectors.toSet());
+        var exitThreshold = exitThreshold();
+        // 들어올 수 없는 회원(exitThreshold 이상 followerThreshold 미만, 기존 pull 작성자 아님)이 섞여 있으므로 여유 있게 읽음
+        var candidates = followRepository.findAllFollowerCountsGreaterThanOrEqual(exitThreshold, maxPullAuthors * 2);
+        var selected = select(current, candidates, followerThreshold, exitThreshold, maxPullAuthors);
+
+        var entering = selected.stream().filter(id -> !current.contains(id)).toList();
+        var exiting = current.stream().filter(id -> !selected.contains(id)).toList();
+        if(!entering.isEmpty() || !exiting.isEmpty()) {
+            log.info("pull 작성자 변경. 추가 {}명, 제외 {}명", entering.size(), exiting.size());
+        }
+        pullAuthorRepository.saveAll(entering);
+        pullAuthorRepository.markLeaving(exiting);
+        load(pullAuthorRepository.findAll());
+    }
+
+    private void load(List<PullAuthor> authors) {
+        pullAuthorIds = authors.stream()
+                .filter(author -> !author.isLeaving())
+                .map(PullAuthor::getMemberId)
+                .collect(Collectors.toUnmodifiableSet());
+        readAuthorIds = authors.stream()
+                .map(PullAuthor::getMemberId)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    private long exitThreshold() {
+        return Math.max(1, (long) (followerThreshold * exitRatio));
+    }
+
+    // candidates : 팔로워 수 내림차순
+    static Set<Long> select(Set<Long> current, List<FollowerCount> candidates, long followerThreshold, long exitThreshold, int maxPullAuthors) {
+        var selected = new HashSet<Long>();
+        for(var candidate : candidates) {
+            if(selected.size() >= maxPullAuthors) {
+                break;
+            }
+            var count = candidate.followerCount();
+            if(count >= followerThreshold || (count >= exitThreshold && current.contains(candidate.memberId()))) {
+                selected.add(candidate.memberId());
+            }
+        }
+        return Set.copyOf(selected);
+    }
+}
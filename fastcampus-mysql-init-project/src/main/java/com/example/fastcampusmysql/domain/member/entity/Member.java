@@ -1,5 +1,7 @@
 package com.example.fastcampusmysql.domain.member.entity;
 
+import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
+import com.example.fastcampusmysql.rowmapper.GenerateRowMapper.Projection;
 import lombok.Builder;
 import lombok.Getter;
 import org.springframework.util.Assert;
@@ -8,6 +10,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+@GenerateRowMapper(projections = @Projection(name = "IdOnly", columns = "id"))
 @Getter
 public class Member {
     final private Long id;
@@ -1,11 +1,13 @@
 package com.example.fastcampusmysql.domain.member.entity;
 
+import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+@GenerateRowMapper
 @Getter
 public class MemberNicknameHistory {
     final private Long id;
@@ -2,6 +2,7 @@ package com.example.fastcampusmysql.domain.member.repository;
 
 import com.example.fastcampusmysql.domain.member.entity.Member;
 import com.example.fastcampusmysql.domain.member.entity.MemberNicknameHistory;
+import com.example.fastcampusmysql.domain.member.entity.MemberNicknameHistoryRowMappers;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
@@ -11,9 +12,7 @@ import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Repository;
 
-import java.sql.ResultSet;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -22,15 +21,10 @@ import java.util.Optional;
 public class MemberNicknameHistoryRepository {
     final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     static final String TABLE = "MemberNicknameHistory";
-    static final RowMapper<MemberNicknameHistory> rowMapper = (ResultSet resultSet, int rowNum) -> MemberNicknameHistory.builder()
-            .id(resultSet.getLong("id"))
-            .memberId(resultSet.getLong("memberId"))
-            .nickname(resultSet.getString("nickname"))
-            .createdAt(resultSet.getObject("createdAt", LocalDateTime.class))
-            .build();
+    static final RowMapper<MemberNicknameHistory> rowMapper = MemberNicknameHistoryRowMappers.ROW_MAPPER;
 
     public List<MemberNicknameHistory> findAllByMemberId(Long memberId) {
-        var sql = String.format("select * from %s WHERE memberId = :memberId", TABLE);
+        var sql = String.format("select " + MemberNicknameHistoryRowMappers.COLUMNS + " from %s WHERE memberId = :memberId", TABLE);
         var params = new MapSqlParameterSource().addValue("memberId", memberId);
         return namedParameterJdbcTemplate.query(sql, params, rowMapper);
     }
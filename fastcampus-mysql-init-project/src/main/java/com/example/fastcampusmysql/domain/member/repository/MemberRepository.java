@@ -2,6 +2,7 @@ package com.example.fastcampusmysql.domain.member.repository;
 
 import com.example.fastcampusmysql.domain.member.dto.MemberDto;
 import com.example.fastcampusmysql.domain.member.entity.Member;
+import com.example.fastcampusmysql.domain.member.entity.MemberRowMappers;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.support.DataAccessUtils;
 import org.springframework.jdbc.core.RowMapper;
@@ -15,6 +16,7 @@ import org.springframework.stereotype.Repository;
 import java.sql.ResultSet;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,13 +29,7 @@ public class MemberRepository {
     final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
     // 테이블 이름이 MemberRepository에 메서드가 추가될 때마다 사용될 것이므로 이를 상수로 뽑아낼 것임
     static final private String TABLE = "Member";
-    private final RowMapper<Member> ROW_MAPPER = (ResultSet resultSet, int rowNum) -> Member.builder()
-            .id(resultSet.getLong("id"))
-            .email(resultSet.getString("email"))
-            .nickname(resultSet.getString("nickname"))
-            .birthday(resultSet.getObject("birthday", LocalDate.class))
-            .createdAt(resultSet.getObject("createdAt", LocalDateTime.class))
-            .build();
+    static final RowMapper<Member> ROW_MAPPER = MemberRowMappers.ROW_MAPPER;
 
     public Optional<Member> findById(Long id) {
         /*
@@ -47,7 +43,7 @@ public class MemberRepository {
         // 우리는 qeury(String sql, Map<String, ?> paramMap, RowMapper<T> rowMapper)을 이용할 것임
 
         // formatter를 이용하여 SQL 작성 -> %s 자리에 TABLE에 해당하는 값이 들어갈 것임
-        var sql = String.format("SELECT * FROM %s WHERE id = :id", TABLE);
+        var sql = String.format("SELECT " + MemberRowMappers.COLUMNS + " FROM %s WHERE id = :id", TABLE);
         // SqlParameterSource를 insert()에서는 BeanPropertySqlParameterSource를 사용했음
         // SqlParameterSource 내부를 들어가 구현체를 보면 크게 3가지가 있음
         //  - BeanPropertySqlParameterSource, EmptySqlParameterSource, MapSqlParameterSource
@@ -97,11 +93,21 @@ public class MemberRepository {
         if(ids.isEmpty())
             return List.of();
 
-        var sql = String.format("SELECT * FROM %s WHERE id in (:ids)", TABLE);
+        var sql = String.format("SELECT " + MemberRowMappers.COLUMNS + " FROM %s WHERE id in (:ids)", TABLE);
         var params = new MapSqlParameterSource().addValue("ids", ids);
         return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
     }
 
+    // 존재하는 회원 id만 반환, PK만 읽음
+    public List<Long> findAllIdsByIdIn(Collection<Long> ids) {
+        if(ids.isEmpty())
+            return List.of();
+
+        var sql = String.format("SELECT " + MemberRowMappers.ID_ONLY_COLUMNS + " FROM %s WHERE id in (:ids)", TABLE);
+        var params = new MapSqlParameterSource().addValue("ids", ids);
+        return namedParameterJdbcTemplate.query(sql, params, MemberRowMappers.ID_ONLY);
+    }
+
     public Member save(Member member) {
         /*
             member id를 보고 갱신 또는 삽입을 정함
@@ -0,0 +1,123 @@
+package com.example.fastcampusmysql.domain.member.service;
+
+import com.example.fastcampusmysql.domain.member.dto.MemberDto;
+import com.example.fastcampusmysql.domain.member.entity.Member;
+import com.example.fastcampusmysql.domain.member.repository.MemberRepository;
+import com.example.fastcampusmysql.util.MicroBatchLoader;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// MemberReadService 앞에 두는 회원 캐시
+//  - 팔로우, 좋아요, 프로필 조회마다 회원 PK 조회가 나가던 것을 메모리에서 처리
+//  - 인기 회원의 캐시가 비는 순간 요청이 몰려도 DB 조회는 한 번만 나가도록 함
+//      -> AsyncCache는 같은 id에 대해 로딩 중인 CompletableFuture를 넣어두므로 뒤에 온 요청은 그 결과를 같이 기다림(single-flight)
+//      -> 서로 다른 id의 캐시 실패는 MicroBatchLoader가 batchWindow 동안 모아서 findAllByIdIn 한 번으로 읽음
+//      -> 로딩은 MicroBatchLoader 스레드(트랜잭션 밖)에서 실행되므로 MemberReadService의 읽기 전용 트랜잭션과 관계없이 primary에서 읽음
+//      -> 커밋 뒤 비운 회원을 아직 복제되지 않은 replica에서 다시 채우지 않음
+//  - 불변인 MemberDto를 캐시하므로 복사하지 않고 그대로 돌려줌
+//  - 없는 회원은 캐시하지 않음(가입하자마자 조회해도 보이도록)
+//  - 적중/실패, 내보낸 수는 cache.* 지표로 노출(/actuator/metrics/cache.gets?tag=cache:member)
+@Component
+class MemberCache {
+    final private AsyncCache<Long, MemberDto> cache;
+    final private MicroBatchLoader<Long, MemberDto> batchLoader;
+
+    @Autowired
+    MemberCache(
+            MemberRepository memberRepository,
+            MeterRegistry meterRegistry,
+            @Value("${member.cache.maximum-size:100000}") long maximumSize,
+            @Value("${member.cache.expire-after-write-ms:60000}") long expireAfterWriteMillis,
+            @Value("${member.cache.batch-window-us:2000}") long batchWindowMicros,
+            @Value("${member.cache.max-batch-size:100}") int maxBatchSize
+    ) {
+        this(memberRepository, maximumSize, expireAfterWriteMillis, batchWindowMicros, maxBatchSize);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "member");
+    }
+
+    MemberCache(MemberRepository memberRepository, long maximumSize, long expireAfterWriteMillis, long batchWindowMicros, int maxBatchSize) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMillis))
+                .recordStats()
+                .buildAsync();
+        this.batchLoader = new MicroBatchLoader<>("member", ids -> {
+            var loaded = new HashMap<Long, MemberDto>();
+            memberRepository.findAllByIdIn(new ArrayList<>(ids))
+                    .forEach(member -> loaded.put(member.getId(), toDto(member)));
+            return loaded;
+        }, batchWindowMicros, maxBatchSize, 2);
+    }
+
+    Optional<MemberDto> get(Long memberId) {
+        return Optional.ofNullable(join(load(memberId)));
+    }
+
+    // 요청한 순서대로(중복 제거), 없는 회원은 결과에서 빠짐
+    List<MemberDto> getAll(Collection<Long> memberIds) {
+        var futures = new LinkedHashSet<>(memberIds).stream()
+                .map(this::load)
+                .toList();
+        return futures.stream()
+                .map(MemberCache::join)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 트랜잭션 안이라면 커밋 전에 다른 요청이 이전 값을 다시 캐시할 수 있으므로 커밋 이후에도 한 번 더 비움
+    //  -> 로딩 중인 CompletableFuture도 같이 빠지므로, 변경 전에 시작된 조회 결과가 캐시에 남지 않음
+    void evictAfterCommit(Long memberId) {
+        cache.synchronous().invalidate(memberId);
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.synchronous().invalidate(memberId);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        batchLoader.close();
+    }
+
+    static MemberDto toDto(Member member) {
+        return new MemberDto(member.getId(), member.getEmail(), member.getNickname(), member.getBirthday());
+    }
+
+    private CompletableFuture<MemberDto> load(Long memberId) {
+        return cache.get(memberId, (id, executor) -> batchLoader.load(id));
+    }
+
+    private static MemberDto join(CompletableFuture<MemberDto> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -8,25 +8,37 @@ import com.example.fastcampusmysql.domain.member.repository.MemberNicknameHistor
 import com.example.fastcampusmysql.domain.member.repository.MemberRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+// 읽기 전용 트랜잭션으로 실행해서 replica로 조회(ReplicationRoutingDataSource)
+@Transactional(readOnly = true)
 @Service
 @RequiredArgsConstructor
 public class MemberReadService {
-    final private MemberRepository memberRepository;
     final private MemberNicknameHistoryRepository memberNicknameHistoryRepository;
+    final private MemberCache memberCache;
+    final private MemberRepository memberRepository;
 
     // entity를 controller단에서도 사용하게 되면 문제가 생기니 Dto를 통해 반환해주도록 변경
     // 그럼 entity를 dto로 매핑하는 로직이 필요
     public MemberDto getMember(Long id) {
-        var member =  memberRepository.findById(id).orElseThrow();
-        return toDto(member);
+        // 캐시에 없으면 동시에 들어온 다른 조회와 묶어서 한 번만 읽음(MemberCache)
+        return memberCache.get(id).orElseThrow();
     }
 
     public List<MemberDto> getMembers(List<Long> ids) {
-        var members = memberRepository.findAllByIdIn(ids);
-        return members.stream().map(this::toDto).toList();
+        return memberCache.getAll(ids);
+    }
+
+    // ids 중 존재하는 회원 id(팔로우 import 등 대량 검증용)
+    //  -> 회원 정보는 필요 없으므로 캐시를 거치지 않고 id만 읽음(대량 조회가 캐시를 밀어내지 않도록)
+    public Set<Long> getExistingMemberIds(Collection<Long> ids) {
+        return new HashSet<>(memberRepository.findAllIdsByIdIn(ids));
     }
 
     public List<MemberNicknameHistoryDto> getNicknameHistories(Long memberId) {
@@ -38,7 +50,7 @@ public class MemberReadService {
     }
 
     public MemberDto toDto(Member member) {
-        return new MemberDto(member.getId(), member.getEmail(), member.getNickname(), member.getBirthday());
+        return MemberCache.toDto(member);
     }
 
     private MemberNicknameHistoryDto toDto(MemberNicknameHistory history) {
@@ -15,6 +15,7 @@ import org.springframework.transaction.support.TransactionTemplate;
 public class MemberWriteService {
     final private MemberRepository memberRepository;
     final private MemberNicknameHistoryRepository memberNicknameHistoryRepository;
+    final private MemberCache memberCache;
 
     @Transactional
     public Member register(RegisterMemberCommand command) {
@@ -66,6 +67,7 @@ public class MemberWriteService {
         var member = memberRepository.findById(memberId).orElseThrow();
         member.changeNickname(nickname);
         memberRepository.save(member);
+        memberCache.evictAfterCommit(memberId);
 
         saveMemberNicknameHistory(member);
         // TODO : 변경내역 히스토리를 저장한다.
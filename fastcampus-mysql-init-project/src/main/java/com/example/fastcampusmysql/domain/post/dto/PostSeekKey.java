@@ -0,0 +1,8 @@
+package com.example.fastcampusmysql.domain.post.dto;
+
+// 커서 토큰에서 꺼낸 마지막 행의 정렬 값과 id
+public record PostSeekKey(
+        Object sortValue,
+        Long id
+) {
+}
@@ -0,0 +1,89 @@
+package com.example.fastcampusmysql.domain.post.dto;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.util.InvalidSeekRequestException;
+import com.example.fastcampusmysql.util.SeekToken;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+// 게시물 조회에 허용하는 정렬 목록
+//  - 클라이언트가 준 Sort를 그대로 ORDER BY에 넣으면 인덱스가 없는 컬럼으로 정렬할 때 filesort가 발생하고 SQL 인젝션 위험도 있음
+//  - 여기 있는 정렬만 허용하고, 각 정렬은 (memberId, 정렬 컬럼) 인덱스를 탐
+//      -> InnoDB 보조 인덱스에는 PK(id)가 뒤에 붙어있으므로 (memberId, 정렬 컬럼, id) 순서로 정렬되어 있음
+//  - 정렬 값이 같은 행이 여러 개일 수 있으므로 id로 한 번 더 정렬해서 순서를 유일하게 만듦
+//      -> 마지막 행의 (정렬 값, id)보다 뒤에 있는 행만 읽으면 OFFSET 없이 다음 페이지를 읽을 수 있음(keyset 페이징)
+public enum PostSort {
+    ID_DESC("id", Post::getId, Long::parseLong),
+    CREATED_AT_DESC("createdAt", Post::getCreatedAt, LocalDateTime::parse),
+    // 좋아요 수는 계속 바뀌는 값이라 페이지를 넘기는 사이에 순위가 바뀐 게시물은 빠지거나 중복될 수 있음
+    LIKE_COUNT_DESC("likeCount", Post::getLikeCount, Long::parseLong);
+
+    final private String column;
+    final private Function<Post, Object> sortValueExtractor;
+    final private Function<String, Object> sortValueParser;
+
+    PostSort(String column, Function<Post, Object> sortValueExtractor, Function<String, Object> sortValueParser) {
+        this.column = column;
+        this.sortValueExtractor = sortValueExtractor;
+        this.sortValueParser = sortValueParser;
+    }
+
+    public String orderBy() {
+        if(this == ID_DESC) {
+            return "id DESC";
+        }
+        return column + " DESC, id DESC";
+    }
+
+    // 마지막으로 읽은 행보다 뒤에 있는 행 조건, 파라미터는 :sortValue, :id
+    //  -> (column, id) < (:sortValue, :id) 처럼 row 비교로 쓰면 인덱스 range scan을 못 타는 경우가 있어서 풀어서 씀
+    public String seekCondition() {
+        if(this == ID_DESC) {
+            return "id < :id";
+        }
+        return String.format("(%s < :sortValue OR (%s = :sortValue AND id < :id))", column, column);
+    }
+
+    public String toToken(Post post) {
+        return SeekToken.encode(List.of(
+                name(),
+                String.valueOf(sortValueExtractor.apply(post)),
+                String.valueOf(post.getId())
+        ));
+    }
+
+    // 다른 정렬로 만든 토큰을 넘기면 엉뚱한 위치부터 읽게 되므로 거부
+    public PostSeekKey fromToken(String token) {
+        var values = SeekToken.decode(token);
+        if(values.size() != 3 || !name().equals(values.get(0))) {
+            throw new InvalidSeekRequestException("정렬 기준과 맞지 않는 커서입니다.");
+        }
+
+        try {
+            return new PostSeekKey(sortValueParser.apply(values.get(1)), Long.parseLong(values.get(2)));
+        } catch (RuntimeException e) {
+            throw new InvalidSeekRequestException("잘못된 커서입니다.", e);
+        }
+    }
+
+    // OFFSET 페이징(Pageable)에서 들어온 Sort를 허용된 정렬로 변환
+    public static PostSort from(Sort sort) {
+        if(sort.isEmpty()) {
+            return ID_DESC;
+        }
+
+        var orders = sort.toList();
+        if(orders.size() == 1 && orders.get(0).isDescending()) {
+            var property = orders.get(0).getProperty();
+            for(var postSort : values()) {
+                if(postSort.column.equals(property)) {
+                    return postSort;
+                }
+            }
+        }
+        throw new InvalidSeekRequestException("지원하지 않는 정렬입니다. " + sort);
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.fastcampusmysql.domain.post.dto;
+
+import java.time.LocalDateTime;
+
+// 회원 한 명의 샤드 이동 작업 상태(회원마다 마지막 작업만 남음)
+//  - error : FAILED일 때 실패 이유
+public record ReshardJob(
+        Long memberId,
+        int targetShard,
+        State state,
+        String error,
+        LocalDateTime requestedAt,
+        LocalDateTime finishedAt
+) {
+    public enum State {
+        PENDING,
+        RUNNING,
+        SUCCEEDED,
+        FAILED
+    }
+
+    public static ReshardJob pending(Long memberId, int targetShard) {
+        return new ReshardJob(memberId, targetShard, State.PENDING, null, LocalDateTime.now(), null);
+    }
+
+    public ReshardJob running() {
+        return new ReshardJob(memberId, targetShard, State.RUNNING, null, requestedAt, null);
+    }
+
+    public ReshardJob succeeded() {
+        return new ReshardJob(memberId, targetShard, State.SUCCEEDED, null, requestedAt, LocalDateTime.now());
+    }
+
+    public ReshardJob failed(String error) {
+        return new ReshardJob(memberId, targetShard, State.FAILED, error, requestedAt, LocalDateTime.now());
+    }
+
+    public boolean isFinished() {
+        return state == State.SUCCEEDED || state == State.FAILED;
+    }
+}
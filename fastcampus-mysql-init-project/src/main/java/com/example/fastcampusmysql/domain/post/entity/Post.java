@@ -1,5 +1,7 @@
 package com.example.fastcampusmysql.domain.post.entity;
 
+import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
+import com.example.fastcampusmysql.rowmapper.GenerateRowMapper.Projection;
 import lombok.Builder;
 import lombok.Getter;
 
@@ -7,6 +9,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+@GenerateRowMapper(projections = {
+        @Projection(name = "IdOnly", columns = "id"),
+        // contents를 빼고 읽음
+        @Projection(name = "Summary", columns = {"id", "memberId", "createdDate", "likeCount", "version", "createdAt"})
+})
 @Getter
 public class Post {
     final private Long id;
@@ -23,7 +30,8 @@ public class Post {
 
     final private LocalDateTime createdAt;
 
-    @Builder
+    // 캐시에 있는 객체를 그대로 넘기지 않고 복사본을 만들 때 사용(toBuilder)
+    @Builder(toBuilder = true)
     public Post(Long id, Long memberId, String contents, LocalDate createdDate, Long likeCount, Long version, LocalDateTime createdAt) {
         this.id = id;
         this.memberId = Objects.requireNonNull(memberId);
@@ -1,11 +1,13 @@
 package com.example.fastcampusmysql.domain.post.entity;
 
+import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+@GenerateRowMapper
 @Getter
 public class PostLike {
     final private Long id;
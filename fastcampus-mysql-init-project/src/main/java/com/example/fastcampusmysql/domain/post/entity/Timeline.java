@@ -1,11 +1,14 @@
 package com.example.fastcampusmysql.domain.post.entity;
 
+import com.example.fastcampusmysql.rowmapper.GenerateRowMapper;
+import com.example.fastcampusmysql.rowmapper.GenerateRowMapper.Projection;
 import lombok.Builder;
 import lombok.Getter;
 
 import java.time.LocalDateTime;
 import java.util.Objects;
 
+@GenerateRowMapper(projections = @Projection(name = "PostIdOnly", columns = "postId"))
 @Getter
 public class Timeline {
     // 배달받은 회원의 id, 게시물 PK
@@ -0,0 +1,39 @@
+package com.example.fastcampusmysql.domain.post.entity;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// 팔로우/언팔로우 시 같은 트랜잭션으로 남기는 타임라인 보정 작업
+//  - BACKFILL : 팔로우한 회원(authorId)의 최근 게시물을 팔로우한 회원(memberId)의 타임라인에 넣음
+//  - CLEANUP : 언팔로우한 회원의 게시물을 타임라인에서 나눠서 지움
+//  - lastPostId : CLEANUP이 어디까지 지웠는지(체크포인트), 타임라인의 작성자 게시물을 postId 내림차순으로 지우므로 이 값보다 작은 것부터 이어서 지움
+//  - claimedBy : 지금 가져간 워커의 토큰(TimelineOutbox와 같음)
+@Getter
+public class TimelineBackfill {
+    final private Long id;
+    final private Long memberId;
+    final private Long authorId;
+    final private Type type;
+    final private Long lastPostId;
+    final private String claimedBy;
+    final private LocalDateTime createdAt;
+
+    public enum Type {
+        BACKFILL,
+        CLEANUP
+    }
+
+    @Builder
+    public TimelineBackfill(Long id, Long memberId, Long authorId, Type type, Long lastPostId, String claimedBy, LocalDateTime createdAt) {
+        this.id = id;
+        this.memberId = Objects.requireNonNull(memberId);
+        this.authorId = Objects.requireNonNull(authorId);
+        this.type = Objects.requireNonNull(type);
+        this.lastPostId = lastPostId;
+        this.claimedBy = claimedBy;
+        this.createdAt = createdAt == null ? LocalDateTime.now() : createdAt;
+    }
+}
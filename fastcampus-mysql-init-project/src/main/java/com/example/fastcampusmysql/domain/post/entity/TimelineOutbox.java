@@ -0,0 +1,31 @@
+package com.example.fastcampusmysql.domain.post.entity;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// 게시물 작성 시 같은 트랜잭션으로 남기는 타임라인 배달 작업
+//  - 배달은 백그라운드에서 팔로워를 Follow id 순으로 나눠 읽으면서 진행
+//  - lastFollowId : 어디까지 배달했는지(체크포인트), 서버가 죽어도 여기서부터 이어서 배달
+//  - claimedBy : 지금 가져간 워커의 토큰(claim할 때마다 새로 발급), 체크포인트/완료는 이 토큰을 가진 워커만 남길 수 있음
+@Getter
+public class TimelineOutbox {
+    final private Long id;
+    final private Long postId;
+    final private Long authorId;
+    final private Long lastFollowId;
+    final private String claimedBy;
+    final private LocalDateTime createdAt;
+
+    @Builder
+    public TimelineOutbox(Long id, Long postId, Long authorId, Long lastFollowId, String claimedBy, LocalDateTime createdAt) {
+        this.id = id;
+        this.postId = Objects.requireNonNull(postId);
+        this.authorId = Objects.requireNonNull(authorId);
+        this.lastFollowId = lastFollowId == null ? 0L : lastFollowId;
+        this.claimedBy = claimedBy;
+        this.createdAt = createdAt == null ? LocalDateTime.now() : createdAt;
+    }
+}
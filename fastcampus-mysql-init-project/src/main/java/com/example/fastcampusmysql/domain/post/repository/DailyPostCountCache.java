@@ -0,0 +1,149 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.domain.post.dto.DailyPostCount;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+// 지난 날짜의 일자별 게시물 수 캐시
+//  - 지난 날짜는 사실상 더 이상 바뀌지 않으므로 한 번 읽은 구간은 메모리에 들고 있음
+//  - 회원마다 지금까지 읽어온 연속 구간(coveredFrom ~ coveredTo)을 기억하고 모자란 앞/뒤 구간만 집계 테이블에서 채움
+//  - 회원 수가 많아져도 메모리가 무한정 늘지 않도록 LRU로 회원 수를 제한
+//  - 읽는 도중에 비워진 경우(읽은 값이 이미 예전 값일 수 있음)에는 캐시에 넣지 않도록 회원별 loading 토큰으로 확인(MemberPostCountCache와 같은 방식)
+//  - 지난 날짜도 다른 서버의 적재, 집계 재계산 등으로 바뀔 수 있으므로 처음 읽은 뒤 ttl이 지나면 회원 단위로 다시 읽음
+class DailyPostCountCache {
+    final private Map<Long, MemberDailyCounts> members;
+    // 읽는 중인 회원 -> 토큰, evict하면 지워서 읽고 있던 값이 캐시에 들어가지 않도록
+    final private Map<Long, Long> loading = new HashMap<>();
+    final private long ttlNanos;
+    final private LongSupplier nanoTime;
+    private long loadSequence;
+
+    DailyPostCountCache(int maxMembers, long ttlMillis) {
+        this(maxMembers, ttlMillis, System::nanoTime);
+    }
+
+    DailyPostCountCache(int maxMembers, long ttlMillis, LongSupplier nanoTime) {
+        this.members = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, MemberDailyCounts> eldest) {
+                return size() > maxMembers;
+            }
+        };
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.nanoTime = nanoTime;
+    }
+
+    // loader : (from, to) 구간을 집계 테이블에서 읽어오는 함수
+    List<DailyPostCount> get(Long memberId, LocalDate from, LocalDate to, Function<DailyPostCountRange, List<DailyPostCount>> loader) {
+        while (true) {
+            var counts = entry(memberId);
+
+            // 같은 회원에 대한 요청이 동시에 들어와도 모자란 구간은 한 번만 읽도록 회원 단위로 lock
+            synchronized (counts) {
+                // lock을 기다리는 동안 비워지거나 만료된 경우 새 항목으로 다시 시작
+                if(!isCurrent(memberId, counts)) {
+                    continue;
+                }
+
+                var missing = counts.missingRanges(from, to);
+                if(!missing.isEmpty()) {
+                    var loadToken = beginLoad(memberId);
+                    var loaded = new ArrayList<DailyPostCount>();
+                    missing.forEach(range -> loaded.addAll(loader.apply(range)));
+                    if(!endLoad(memberId, loadToken, counts)) {
+                        // 읽는 도중에 비워졌으면 이미 들고 있던 구간도 예전 값이므로 캐시를 쓰지 않고 요청 구간을 그대로 읽어서 응답
+                        return loader.apply(new DailyPostCountRange(from, to));
+                    }
+                    counts.cover(from, to, loaded);
+                }
+
+                return counts.counts.subMap(from, true, to, true).entrySet().stream()
+                        .map(entry -> new DailyPostCount(memberId, entry.getKey(), entry.getValue()))
+                        .toList();
+            }
+        }
+    }
+
+    void evict(Long memberId) {
+        synchronized (members) {
+            loading.remove(memberId);
+            members.remove(memberId);
+        }
+    }
+
+    private MemberDailyCounts entry(Long memberId) {
+        synchronized (members) {
+            var counts = members.get(memberId);
+            if(counts == null || nanoTime.getAsLong() - counts.createdAt > ttlNanos) {
+                counts = new MemberDailyCounts(nanoTime.getAsLong());
+                members.put(memberId, counts);
+            }
+            return counts;
+        }
+    }
+
+    private boolean isCurrent(Long memberId, MemberDailyCounts counts) {
+        synchronized (members) {
+            return members.get(memberId) == counts;
+        }
+    }
+
+    private long beginLoad(Long memberId) {
+        synchronized (members) {
+            var loadToken = ++loadSequence;
+            loading.put(memberId, loadToken);
+            return loadToken;
+        }
+    }
+
+    private boolean endLoad(Long memberId, long loadToken, MemberDailyCounts counts) {
+        synchronized (members) {
+            return loading.remove(memberId, loadToken) && members.get(memberId) == counts;
+        }
+    }
+
+    record DailyPostCountRange(LocalDate from, LocalDate to) {
+    }
+
+    private static class MemberDailyCounts {
+        final private long createdAt;
+        private LocalDate coveredFrom;
+        private LocalDate coveredTo;
+        // 게시물이 있는 날짜만 담음(없는 날짜는 GROUP BY 결과와 같게 응답에서 빠짐)
+        final private TreeMap<LocalDate, Long> counts = new TreeMap<>();
+
+        private MemberDailyCounts(long createdAt) {
+            this.createdAt = createdAt;
+        }
+
+        // 구간이 떨어져 있더라도 사이 구간까지 채워서 항상 하나의 연속 구간으로 유지
+        private List<DailyPostCountRange> missingRanges(LocalDate from, LocalDate to) {
+            if(coveredFrom == null) {
+                return List.of(new DailyPostCountRange(from, to));
+            }
+
+            var ranges = new ArrayList<DailyPostCountRange>(2);
+            if(from.isBefore(coveredFrom)) {
+                ranges.add(new DailyPostCountRange(from, coveredFrom.minusDays(1)));
+            }
+            if(to.isAfter(coveredTo)) {
+                ranges.add(new DailyPostCountRange(coveredTo.plusDays(1), to));
+            }
+            return ranges;
+        }
+
+        private void cover(LocalDate from, LocalDate to, List<DailyPostCount> dailyPostCounts) {
+            dailyPostCounts.forEach(count -> counts.put(count.date(), count.postCount()));
+            coveredFrom = coveredFrom == null || from.isBefore(coveredFrom) ? from : coveredFrom;
+            coveredTo = coveredTo == null || to.isAfter(coveredTo) ? to : coveredTo;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+// 회원별 전체 게시물 수 캐시
+//  - 페이지 응답의 totalElements를 만들 때마다 집계 테이블을 읽지 않도록 메모리에 들고 있음
+//  - 게시물이 저장되면 해당 회원을 비우고 다음 조회 때 다시 읽음
+//  - 읽는 도중에 비워진 경우(읽은 값이 이미 예전 값일 수 있음)에는 캐시에 넣지 않도록 회원별 loading 토큰으로 확인
+//      -> 다른 회원이 비워져도 이 회원의 읽기는 그대로 캐시에 들어감
+//  - 다른 서버에서 저장한 게시물은 알 수 없으므로 ttl이 지나면 다시 읽음
+//  - 추정 모드(estimateThreshold > 0)
+//      -> 게시물 수가 estimateThreshold 이상인 회원은 저장할 때 비우지 않고 estimateTtl 동안 같은 값을 사용
+//      -> 게시물이 아주 많은 회원은 정확한 전체 수가 크게 의미 없고 글을 자주 써서 캐시가 계속 비워지므로 약간 늦은 값을 허용
+class MemberPostCountCache {
+    final private Map<Long, CachedCount> members;
+    // 읽는 중인 회원 -> 토큰, evict하면 지워서 읽고 있던 값이 캐시에 들어가지 않도록
+    final private Map<Long, Long> loading = new HashMap<>();
+    final private long ttlNanos;
+    final private long estimateThreshold;
+    final private long estimateTtlNanos;
+    final private LongSupplier nanoTime;
+    private long loadSequence;
+
+    MemberPostCountCache(int maxMembers, long ttlMillis, long estimateThreshold, long estimateTtlMillis) {
+        this(maxMembers, ttlMillis, estimateThreshold, estimateTtlMillis, System::nanoTime);
+    }
+
+    MemberPostCountCache(int maxMembers, long ttlMillis, long estimateThreshold, long estimateTtlMillis, LongSupplier nanoTime) {
+        this.members = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, CachedCount> eldest) {
+                return size() > maxMembers;
+            }
+        };
+        this.ttlNanos = ttlMillis * 1_000_000L;
+        this.estimateThreshold = estimateThreshold;
+        this.estimateTtlNanos = estimateTtlMillis * 1_000_000L;
+        this.nanoTime = nanoTime;
+    }
+
+    // loader : 집계 테이블에서 회원의 게시물 수를 읽어오는 함수
+    long get(Long memberId, LongSupplier loader) {
+        long loadToken;
+        synchronized (members) {
+            var cached = members.get(memberId);
+            if(cached != null && !isExpired(cached)) {
+                return cached.count;
+            }
+            loadToken = ++loadSequence;
+            loading.put(memberId, loadToken);
+        }
+
+        // DB 조회는 lock 밖에서
+        long count;
+        try {
+            count = loader.getAsLong();
+        } catch (RuntimeException e) {
+            synchronized (members) {
+                loading.remove(memberId, loadToken);
+            }
+            throw e;
+        }
+
+        synchronized (members) {
+            // 같은 회원을 동시에 읽으면 마지막에 시작한 읽기만 넣음
+            if(loading.remove(memberId, loadToken)) {
+                members.put(memberId, new CachedCount(count, nanoTime.getAsLong()));
+            }
+        }
+        return count;
+    }
+
+    void evict(Long memberId) {
+        synchronized (members) {
+            loading.remove(memberId);
+            var cached = members.get(memberId);
+            if(cached != null && !isEstimated(cached)) {
+                members.remove(memberId);
+            }
+        }
+    }
+
+    private boolean isEstimated(CachedCount cached) {
+        return estimateThreshold > 0 && cached.count >= estimateThreshold;
+    }
+
+    private boolean isExpired(CachedCount cached) {
+        var ttl = isEstimated(cached) ? estimateTtlNanos : ttlNanos;
+        return nanoTime.getAsLong() - cached.loadedAt > ttl;
+    }
+
+    private record CachedCount(long count, long loadedAt) {
+    }
+}
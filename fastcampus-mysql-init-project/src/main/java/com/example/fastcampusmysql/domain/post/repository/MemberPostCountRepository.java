@@ -0,0 +1,112 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.config.datasource.PrimaryReader;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+
+// 회원별 전체 게시물 수 집계 테이블(MemberPostCount)
+//  - 페이지 응답의 totalElements를 위해 매번 count(id)로 회원의 게시물 인덱스 범위를 전부 읽던 것을 PK 조회 한 번(또는 캐시)으로 대체
+//  - 게시물 저장/bulk insert 시 같은 트랜잭션에서 같이 증가
+@Repository
+public class MemberPostCountRepository {
+    static final String TABLE = "MemberPostCount";
+
+    final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    final private MemberPostCountCache memberPostCountCache;
+    final private MemberShardRouter memberShardRouter;
+    // 캐시를 채우는 조회는 primary에서(replica의 복제 지연이 캐시에 남지 않도록)
+    final private PrimaryReader primaryReader;
+
+    public MemberPostCountRepository(
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            MemberShardRouter memberShardRouter,
+            PrimaryReader primaryReader,
+            @Value("${post.member-count.cache.max-members:10000}") int maxCachedMembers,
+            @Value("${post.member-count.cache.ttl-ms:60000}") long cacheTtlMillis,
+            @Value("${post.member-count.estimate-threshold:0}") long estimateThreshold,
+            @Value("${post.member-count.estimate-ttl-ms:60000}") long estimateTtlMillis
+    ) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.memberShardRouter = memberShardRouter;
+        this.primaryReader = primaryReader;
+        this.memberPostCountCache = new MemberPostCountCache(maxCachedMembers, cacheTtlMillis, estimateThreshold, estimateTtlMillis);
+    }
+
+    public long getCount(Long memberId) {
+        return memberPostCountCache.get(memberId, () -> primaryReader.read(() -> findCountByMemberId(memberId)));
+    }
+
+    public void increment(Long memberId) {
+        incrementAll(Map.of(memberId, 1L));
+    }
+
+    // memberId -> 증가할 게시물 수
+    public void incrementAll(Map<Long, Long> postCounts) {
+        if(postCounts.isEmpty()) {
+            return;
+        }
+
+        var sql = String.format("INSERT INTO %s (memberId, postCount) " +
+                "VALUES (:memberId, :postCount) " +
+                "ON DUPLICATE KEY UPDATE postCount = postCount + :postCount", TABLE);
+
+        // 동시에 여러 회원을 갱신할 때 lock 순서가 엇갈려 데드락이 나지 않도록 memberId 순으로 정렬
+        SqlParameterSource[] params = postCounts.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new MapSqlParameterSource()
+                        .addValue("memberId", entry.getKey())
+                        .addValue("postCount", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(sql, params);
+
+        postCounts.keySet().forEach(this::evictAfterCommit);
+    }
+
+    // 기존 Post 데이터로 회원 한 명의 게시물 수를 다시 계산
+    //  - VALUES(postCount)는 MySQL 8.0.20부터 deprecated, INSERT ... SELECT에는 row alias(AS new)를 쓸 수 없으므로 파생 테이블 컬럼을 참조
+    public void rebuild(Long memberId) {
+        var sql = String.format("INSERT INTO %s (memberId, postCount) " +
+                "SELECT * FROM (" +
+                "SELECT :memberId AS memberId, count(id) AS postCount " +
+                "FROM %s " +
+                "WHERE memberId = :memberId" +
+                ") AS counted " +
+                "ON DUPLICATE KEY UPDATE postCount = counted.postCount", TABLE, memberShardRouter.postTable(memberShardRouter.shardOfForWrite(memberId)));
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId);
+        namedParameterJdbcTemplate.update(sql, params);
+
+        evictAfterCommit(memberId);
+    }
+
+    // 게시물이 없는 회원은 행이 없으므로 0
+    private long findCountByMemberId(Long memberId) {
+        var sql = String.format("SELECT postCount FROM %s WHERE memberId = :memberId", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId);
+
+        return namedParameterJdbcTemplate.queryForList(sql, params, Long.class).stream()
+                .findFirst()
+                .orElse(0L);
+    }
+
+    // 커밋 전에 다른 요청이 이전 값을 다시 캐시할 수 있으므로 커밋 이후에도 한 번 더 비움
+    private void evictAfterCommit(Long memberId) {
+        memberPostCountCache.evict(memberId);
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    memberPostCountCache.evict(memberId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+// 해시 대신 지정한 샤드를 쓰는 회원 목록(MemberShard)과 회원 데이터를 샤드 사이에서 옮기는 쿼리
+//  - 옮긴 회원만 행이 있으므로 작음 -> MemberShardRouter가 통째로 메모리에 들고 있음
+//  - Post, Timeline 샤드 테이블은 같은 DB에 있으므로 INSERT ... SELECT로 옮김
+@Repository
+@RequiredArgsConstructor
+public class MemberShardRepository {
+    static final String TABLE = "MemberShard";
+
+    final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    public Map<Long, Integer> findAll() {
+        var sql = String.format("SELECT memberId, shard FROM %s", TABLE);
+        var shards = new HashMap<Long, Integer>();
+        namedParameterJdbcTemplate.query(sql, new MapSqlParameterSource(), (ResultSet resultSet) -> {
+            shards.put(resultSet.getLong("memberId"), resultSet.getInt("shard"));
+        });
+        return shards;
+    }
+
+    // 쓰기 트랜잭션에서 회원의 샤드를 읽으면서 공유 락을 잡음
+    //  -> 회원을 옮기는 쪽은 배타 락을 잡으므로, 진행 중인 쓰기가 끝난 뒤에 샤드를 바꾸고 그 뒤의 쓰기는 새 샤드로 감
+    //  -> 행이 없는 회원(해시로 정해지는 회원)은 결과에서 빠짐
+    public Map<Long, Integer> findAllByInMemberIdForShare(Collection<Long> memberIds) {
+        var sql = String.format("SELECT memberId, shard FROM %s WHERE memberId in (:memberIds) FOR SHARE", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("memberIds", memberIds);
+        var shards = new HashMap<Long, Integer>();
+        namedParameterJdbcTemplate.query(sql, params, (ResultSet resultSet) -> {
+            shards.put(resultSet.getLong("memberId"), resultSet.getInt("shard"));
+        });
+        return shards;
+    }
+
+    public void lockForUpdate(Long memberId) {
+        var sql = String.format("SELECT memberId FROM %s WHERE memberId = :memberId FOR UPDATE", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId);
+        namedParameterJdbcTemplate.query(sql, params, (ResultSet resultSet) -> {
+        });
+    }
+
+    public void save(Long memberId, int shard) {
+        var sql = String.format("INSERT INTO %s (memberId, shard) VALUES (:memberId, :shard) AS new " +
+                "ON DUPLICATE KEY UPDATE shard = new.shard", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("shard", shard);
+        namedParameterJdbcTemplate.update(sql, params);
+    }
+
+    // 회원의 행을 id 순으로 chunkSize개씩 복사, 이미 복사된 행은 건너뜀
+    //  -> 복사한 마지막 id를 반환하고 더 없으면 null
+    public Long copyChunk(String fromTable, String toTable, Long memberId, long lastId, int chunkSize) {
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("lastId", lastId)
+                .addValue("chunkSize", chunkSize);
+
+        var upperSql = String.format("SELECT MAX(id) FROM (" +
+                "SELECT id FROM %s WHERE memberId = :memberId AND id > :lastId ORDER BY id LIMIT :chunkSize" +
+                ") chunk", fromTable);
+        var upperId = namedParameterJdbcTemplate.queryForObject(upperSql, params, Long.class);
+        if(upperId == null) {
+            return null;
+        }
+
+        var copySql = String.format("INSERT IGNORE INTO %s " +
+                "SELECT * FROM %s WHERE memberId = :memberId AND id > :lastId AND id <= :upperId", toTable, fromTable);
+        namedParameterJdbcTemplate.update(copySql, params.addValue("upperId", upperId));
+        return upperId;
+    }
+
+    // 복사한 뒤에 생기거나 바뀐 행을 다시 맞춤
+    //  - 없는 행은 넣고, version이 다른 행(좋아요 수 등이 바뀐 게시물)은 덮어씀
+    //  - version 컬럼이 없는 테이블(Timeline)은 행이 바뀌지 않으므로 없는 행만 넣음
+    public void sync(String fromTable, String toTable, Long memberId, boolean versioned) {
+        var changed = versioned ? "(t.id IS NULL OR t.version <> s.version)" : "t.id IS NULL";
+        var sql = String.format("REPLACE INTO %s " +
+                "SELECT s.* FROM %s s LEFT JOIN %s t ON t.id = s.id " +
+                "WHERE s.memberId = :memberId AND %s", toTable, fromTable, toTable, changed);
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId);
+        namedParameterJdbcTemplate.update(sql, params);
+    }
+
+    // 복사한 뒤 예전 샤드에서 지워진 행(언팔로우 정리로 지운 Timeline 등)을 새 샤드에서도 지움
+    //  - 복사는 넣거나 덮어쓰기만 하므로 지워진 행이 새 샤드에 되살아나지 않도록, 샤드를 바꾸기 전에 PK로 예전 샤드와 다시 맞춤
+    //  - 이전 이동에서 아직 지우지 않은 행(되돌아온 회원)도 같이 지워짐
+    public int deleteMissing(String fromTable, String toTable, Long memberId) {
+        var sql = String.format("DELETE t FROM %s t LEFT JOIN %s s ON s.id = t.id " +
+                "WHERE t.memberId = :memberId AND s.id IS NULL", toTable, fromTable);
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId);
+        return namedParameterJdbcTemplate.update(sql, params);
+    }
+
+    // 지운 행 수를 반환
+    public int deleteChunk(String table, Long memberId, int chunkSize) {
+        var sql = String.format("DELETE FROM %s WHERE memberId = :memberId ORDER BY id LIMIT :chunkSize", table);
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("chunkSize", chunkSize);
+        return namedParameterJdbcTemplate.update(sql, params);
+    }
+}
@@ -0,0 +1,154 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.IntFunction;
+import java.util.stream.IntStream;
+
+// Post, Timeline을 memberId 기준으로 shardCount개의 테이블에 나눠 담을 때, 회원이 어느 샤드에 있는지 정함
+//  - 기본은 memberId 해시 % hashShardCount, 다른 샤드로 옮긴 회원은 MemberShard에 적어둔 샤드를 사용
+//      -> 샤드를 늘릴 때 hashShardCount를 그대로 두면 기존 회원은 원래 샤드에 남고, 옮기고 싶은 회원만 ReshardService로 옮김
+//  - 샤드 0은 기존 테이블(Post, Timeline)을 그대로 쓰고 나머지는 Post_k, Timeline_k(같은 DB)
+//      -> shardCount가 1이면 지금과 똑같이 동작
+//  - 한 회원의 조회는 그 회원의 샤드로만 보내고, 여러 회원/여러 샤드에 걸친 조회는 샤드별 쿼리를 동시에 보낸 뒤 합침(scatter-gather)
+//  - MemberShard는 메모리에 들고 directoryRefreshInterval마다 다시 읽음
+//      -> 다른 서버가 옮긴 회원은 그 사이 예전 샤드에서 읽힘(옮긴 뒤 일정 시간 동안 예전 샤드의 행을 지우지 않음)
+//      -> 쓰기는 shardOfForWrite로 DB의 MemberShard를 읽으므로 옮긴 직후에도 새 샤드로 감
+@Slf4j
+@Component
+public class MemberShardRouter {
+    final private MemberShardRepository memberShardRepository;
+    final private Executor shardQueryExecutor;
+    final private int shardCount;
+    final private int hashShardCount;
+
+    private volatile Map<Long, Integer> directory = Map.of();
+
+    public MemberShardRouter(
+            MemberShardRepository memberShardRepository,
+            @Qualifier("shardQueryExecutor") Executor shardQueryExecutor,
+            @Value("${shard.count:1}") int shardCount,
+            @Value("${shard.hash-count:${shard.count:1}}") int hashShardCount
+    ) {
+        Assert.isTrue(shardCount > 0, "shardCount는 1 이상이어야 합니다.");
+        Assert.isTrue(hashShardCount > 0 && hashShardCount <= shardCount, "hashShardCount는 1 ~ shardCount 사이여야 합니다.");
+        this.memberShardRepository = memberShardRepository;
+        this.shardQueryExecutor = shardQueryExecutor;
+        this.shardCount = shardCount;
+        this.hashShardCount = hashShardCount;
+    }
+
+    public int shardCount() {
+        return shardCount;
+    }
+
+    public List<Integer> shards() {
+        return IntStream.range(0, shardCount).boxed().toList();
+    }
+
+    public int shardOf(Long memberId) {
+        var shard = directory.get(memberId);
+        return shard != null ? shard : hashShard(memberId);
+    }
+
+    // 쓰기 트랜잭션에서 사용, 옮기는 중인 회원이면 샤드를 바꾸는 트랜잭션이 끝날 때까지 기다림
+    public int shardOfForWrite(Long memberId) {
+        return shardsOfForWrite(List.of(memberId)).get(memberId);
+    }
+
+    public Map<Long, Integer> shardsOfForWrite(Collection<Long> memberIds) {
+        var shards = new HashMap<Long, Integer>();
+        var assigned = shardCount == 1 ? Map.<Long, Integer>of() : memberShardRepository.findAllByInMemberIdForShare(memberIds);
+        for(var memberId : memberIds) {
+            shards.put(memberId, assigned.getOrDefault(memberId, hashShard(memberId)));
+        }
+        return shards;
+    }
+
+    public String postTable(int shard) {
+        return shard == 0 ? PostRepository.TABLE : PostRepository.TABLE + "_" + shard;
+    }
+
+    public String timelineTable(int shard) {
+        return shard == 0 ? TimelineRepository.TABLE : TimelineRepository.TABLE + "_" + shard;
+    }
+
+    // 샤드 번호 순으로 회원 id를 나눔
+    public Map<Integer, List<Long>> groupByShard(Collection<Long> memberIds) {
+        var groups = new TreeMap<Integer, List<Long>>();
+        for(var memberId : memberIds) {
+            groups.computeIfAbsent(shardOf(memberId), shard -> new ArrayList<>()).add(memberId);
+        }
+        return groups;
+    }
+
+    // 샤드마다 query를 동시에 실행하고 결과를 이어 붙임(순서는 호출하는 쪽에서 맞춤)
+    //  - 샤드가 하나면 호출한 스레드에서 바로 실행(트랜잭션, replica 라우팅 등 스레드에 묶인 상태를 그대로 사용)
+    //  - 다른 스레드에서 실행된 쿼리는 호출한 쪽의 트랜잭션 밖이므로 읽기에만 사용
+    public <T> List<T> scatter(Collection<Integer> shards, IntFunction<List<T>> query) {
+        if(shards.size() == 1) {
+            return query.apply(shards.iterator().next());
+        }
+
+        var futures = shards.stream()
+                .map(shard -> CompletableFuture.supplyAsync(() -> query.apply(shard), shardQueryExecutor))
+                .toList();
+        var results = new ArrayList<T>();
+        for(var future : futures) {
+            results.addAll(join(future));
+        }
+        return results;
+    }
+
+    // 해시로 정해지는 샤드가 아닌 회원(옮긴 회원)의 목록을 다시 읽음
+    @Scheduled(fixedDelayString = "${shard.directory-refresh-interval-ms:5000}")
+    public void refresh() {
+        if(shardCount == 1) {
+            return;
+        }
+        try {
+            directory = Map.copyOf(memberShardRepository.findAll());
+        } catch (RuntimeException e) {
+            log.warn("샤드 디렉터리 갱신 실패. 이전 목록을 계속 사용합니다.", e);
+        }
+    }
+
+    // 이 서버에서 옮긴 회원은 다음 refresh를 기다리지 않고 바로 반영
+    public void assign(Long memberId, int shard) {
+        Assert.isTrue(shard >= 0 && shard < shardCount, "없는 샤드입니다.");
+        var assigned = new HashMap<>(directory);
+        assigned.put(memberId, shard);
+        directory = Map.copyOf(assigned);
+    }
+
+    // 연속된 memberId가 같은 샤드에 몰리지 않도록 섞은 뒤 나눔
+    int hashShard(Long memberId) {
+        var mixed = memberId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(mixed ^ (mixed >>> 32), hashShardCount);
+    }
+
+    private static <T> List<T> join(CompletableFuture<List<T>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+
+// PostRepository 앞에 두는 게시물 캐시
+//  - 좋아요, 타임라인, 게시물 조회마다 PK 조회가 나가던 것을 메모리에서 처리
+//  - Caffeine : 최대 개수(maximumSize)를 넘으면 W-TinyLFU로 자주 읽히지 않는 게시물부터 내보냄
+//      -> 한 번 읽히고 마는 게시물이 많이 들어와도 자주 읽히는 인기 게시물은 잘 밀려나지 않음
+//  - Post는 likeCount, version이 바뀌는 객체라 캐시에 있는 객체를 그대로 주면 호출하는 쪽에서 바꾼 값이 캐시에 남음
+//      -> 넣을 때와 꺼낼 때 항상 복사본을 씀
+//  - 다른 서버에서 갱신한 값은 알 수 없으므로 expireAfterWrite가 지나면 다시 읽음
+//  - 적중/실패, 내보낸 수, 로딩 시간은 cache.* 지표로 노출(/actuator/metrics/cache.gets?tag=cache:post)
+@Component
+class PostCache {
+    final private Cache<Long, Post> cache;
+
+    @Autowired
+    PostCache(
+            MeterRegistry meterRegistry,
+            @Value("${post.cache.maximum-size:100000}") long maximumSize,
+            @Value("${post.cache.expire-after-write-ms:60000}") long expireAfterWriteMillis
+    ) {
+        this(maximumSize, expireAfterWriteMillis);
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "post");
+    }
+
+    PostCache(long maximumSize, long expireAfterWriteMillis) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(Duration.ofMillis(expireAfterWriteMillis))
+                .recordStats()
+                .build();
+    }
+
+    // loader가 null을 반환하면(게시물이 없으면) 캐시하지 않음
+    Post get(Long postId, Function<Long, Post> loader) {
+        return copy(cache.get(postId, id -> copy(loader.apply(id))));
+    }
+
+    // 캐시에 없는 게시물만 모아서 loader로 한 번에 읽음, 없는 게시물은 결과에서 빠짐
+    List<Post> getAll(Collection<Long> postIds, Function<Collection<Long>, List<Post>> loader) {
+        var posts = cache.getAll(new HashSet<>(postIds), missingIds -> {
+            var missing = new HashSet<Long>();
+            missingIds.forEach(missing::add);
+            var loaded = new HashMap<Long, Post>();
+            loader.apply(missing).forEach(post -> loaded.put(post.getId(), copy(post)));
+            return loaded;
+        });
+        return posts.values().stream()
+                .map(PostCache::copy)
+                .toList();
+    }
+
+    // 트랜잭션 안이라면 커밋 전에 다른 요청이 이전 값을 다시 캐시할 수 있으므로 커밋 이후에도 한 번 더 비움
+    void evictAfterCommit(Collection<Long> postIds) {
+        cache.invalidateAll(postIds);
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.invalidateAll(postIds);
+                }
+            });
+        }
+    }
+
+    private static Post copy(Post post) {
+        return post == null ? null : post.toBuilder().build();
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.config.datasource.PrimaryReader;
+import com.example.fastcampusmysql.domain.post.dto.DailyPostCount;
+import com.example.fastcampusmysql.domain.post.dto.DailyPostCountRequest;
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// 회원별, 일자별 게시물 수 집계 테이블(PostDailyCount)
+//  - Post 테이블을 매번 GROUP BY 하면 게시물 수에 비례해서 느려짐
+//  - 게시물을 저장할 때 (memberId, createdDate) 행의 postCount를 같이 올려두면 조회는 날짜 수만큼만 읽으면 됨
+@Repository
+public class PostDailyCountRepository {
+    static final String TABLE = "PostDailyCount";
+
+    final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    final private DailyPostCountCache dailyPostCountCache;
+    final private MemberShardRouter memberShardRouter;
+    // 캐시를 채우는 조회는 primary에서(지난 날짜는 만료 없이 들고 있으므로 replica의 복제 지연이 계속 남음)
+    final private PrimaryReader primaryReader;
+
+    final static private RowMapper<DailyPostCount> ROW_MAPPER = (ResultSet resultSet, int rowNum) -> new DailyPostCount(
+            resultSet.getLong("memberId"),
+            resultSet.getObject("createdDate", LocalDate.class),
+            resultSet.getLong("postCount")
+    );
+
+    public PostDailyCountRepository(
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            MemberShardRouter memberShardRouter,
+            PrimaryReader primaryReader,
+            @Value("${post.daily-count.cache.max-members:10000}") int cacheMaxMembers,
+            @Value("${post.daily-count.cache.ttl-ms:60000}") long cacheTtlMillis
+    ) {
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.memberShardRouter = memberShardRouter;
+        this.primaryReader = primaryReader;
+        this.dailyPostCountCache = new DailyPostCountCache(cacheMaxMembers, cacheTtlMillis);
+    }
+
+    // 지난 날짜는 캐시에서, 오늘 날짜는 집계 테이블에서 바로 읽어서 합침
+    //  -> 오늘 날짜는 계속 바뀌므로 캐시하지 않음
+    public List<DailyPostCount> findAllBy(DailyPostCountRequest request) {
+        var today = LocalDate.now();
+        var lastPastDate = request.lastDate().isBefore(today) ? request.lastDate() : today.minusDays(1);
+
+        var dailyPostCounts = new ArrayList<DailyPostCount>();
+        if(!request.firstDate().isAfter(lastPastDate)) {
+            dailyPostCounts.addAll(dailyPostCountCache.get(
+                    request.memberId(),
+                    request.firstDate(),
+                    lastPastDate,
+                    range -> primaryReader.read(() -> findAllByMemberIdAndCreatedDateBetween(request.memberId(), range.from(), range.to()))
+            ));
+        }
+        if(!today.isBefore(request.firstDate()) && !today.isAfter(request.lastDate())) {
+            dailyPostCounts.addAll(findAllByMemberIdAndCreatedDateBetween(request.memberId(), today, today));
+        }
+        return dailyPostCounts;
+    }
+
+    public List<DailyPostCount> findAllByMemberIdAndCreatedDateBetween(Long memberId, LocalDate firstDate, LocalDate lastDate) {
+        var sql = String.format("SELECT memberId, createdDate, postCount " +
+                "FROM %s " +
+                "WHERE memberId = :memberId AND createdDate BETWEEN :firstDate AND :lastDate " +
+                "ORDER BY createdDate", TABLE);
+
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("firstDate", firstDate)
+                .addValue("lastDate", lastDate);
+
+        return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    public void increment(Long memberId, LocalDate createdDate) {
+        upsert(List.of(new DailyPostCount(memberId, createdDate, 1L)));
+    }
+
+    // bulk insert한 게시물들을 (memberId, createdDate) 단위로 묶어서 한 번에 반영
+    public void incrementAll(Collection<Post> posts) {
+        incrementAll(posts.stream()
+                .collect(Collectors.groupingBy(Post::getMemberId,
+                        Collectors.groupingBy(Post::getCreatedDate, Collectors.counting()))));
+    }
+
+    // 이미 memberId -> (createdDate -> 게시물 수)로 묶어둔 집계를 반영
+    //  -> LOAD DATA처럼 Post 목록을 들고 있지 않고 스트리밍하면서 센 경우에 사용
+    public void incrementAll(Map<Long, Map<LocalDate, Long>> postCountsByMember) {
+        var dailyPostCounts = postCountsByMember.entrySet().stream()
+                .flatMap(member -> member.getValue().entrySet().stream()
+                        .map(daily -> new DailyPostCount(member.getKey(), daily.getKey(), daily.getValue())))
+                .toList();
+
+        upsert(dailyPostCounts);
+    }
+
+    private void upsert(List<DailyPostCount> dailyPostCounts) {
+        if(dailyPostCounts.isEmpty()) {
+            return;
+        }
+
+        var sql = String.format("INSERT INTO %s (memberId, createdDate, postCount) " +
+                "VALUES (:memberId, :createdDate, :postCount) " +
+                "ON DUPLICATE KEY UPDATE postCount = postCount + :postCount", TABLE);
+
+        // 여러 bulk insert가 동시에 같은 날짜 행을 갱신할 때 lock 순서가 엇갈려 데드락이 나지 않도록 PK 순으로 정렬
+        SqlParameterSource[] params = dailyPostCounts.stream()
+                .sorted(Comparator.comparing(DailyPostCount::memberId).thenComparing(DailyPostCount::date))
+                .map(count -> new MapSqlParameterSource()
+                        .addValue("memberId", count.memberId())
+                        .addValue("createdDate", count.date())
+                        .addValue("postCount", count.postCount()))
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(sql, params);
+
+        // 지난 날짜가 바뀌었다면(과거 날짜로 bulk insert 한 경우) 해당 회원의 캐시를 비움
+        //  -> 트랜잭션 안이라면 커밋 전에 다른 요청이 이전 값을 다시 캐시할 수 있으므로 커밋 이후에도 한 번 더 비움
+        var today = LocalDate.now();
+        dailyPostCounts.stream()
+                .filter(count -> count.date().isBefore(today))
+                .map(DailyPostCount::memberId)
+                .distinct()
+                .forEach(this::evictAfterCommit);
+    }
+
+    // 기존 Post 데이터로 회원 한 명의 집계를 다시 만듦
+    //  - 호출하는 쪽에서 트랜잭션으로 묶어야 DELETE와 INSERT 사이에 빈 집계가 보이지 않음
+    //  - INSERT ... SELECT는 읽는 Post 행에 lock을 걸기 때문에 그 사이에 들어오는 게시물은 재집계가 끝난 뒤에 더해짐
+    public void rebuild(Long memberId) {
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId);
+
+        var deleteSql = String.format("DELETE FROM %s WHERE memberId = :memberId", TABLE);
+        namedParameterJdbcTemplate.update(deleteSql, params);
+
+        var insertSql = String.format("INSERT INTO %s (memberId, createdDate, postCount) " +
+                "SELECT memberId, createdDate, count(id) " +
+                "FROM %s " +
+                "WHERE memberId = :memberId " +
+                "GROUP BY memberId, createdDate", TABLE, memberShardRouter.postTable(memberShardRouter.shardOfForWrite(memberId)));
+        namedParameterJdbcTemplate.update(insertSql, params);
+
+        evictAfterCommit(memberId);
+    }
+
+    private void evictAfterCommit(Long memberId) {
+        dailyPostCountCache.evict(memberId);
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dailyPostCountCache.evict(memberId);
+                }
+            });
+        }
+    }
+}
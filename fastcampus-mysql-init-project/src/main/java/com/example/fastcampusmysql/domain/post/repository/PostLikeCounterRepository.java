@@ -0,0 +1,90 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// 게시물 좋아요 수를 여러 슬롯(행)으로 나눠서 저장하는 분산 카운터
+//  - Post.likeCount 한 행에 모든 좋아요가 몰리면 row lock을 기다리느라 쓰기가 직렬화됨
+//  - 좋아요마다 N개 슬롯 중 하나만 올리면 동시에 N개까지 경합 없이 쓸 수 있음
+//  - 대신 조회할 때 슬롯을 모두 더해야 하므로(PostRepository.findLikeCount), 슬롯 수는 게시물마다 따로 정함(인기 게시물만 많이)
+//  - 압축한 슬롯은 지우므로 슬롯 테이블에는 아직 압축되지 않은 게시물만 남음
+@Repository
+@RequiredArgsConstructor
+public class PostLikeCounterRepository {
+    static final String SLOT_TABLE = "PostLikeCounterSlot";
+    static final String CONFIG_TABLE = "PostLikeCounterConfig";
+
+    final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    // 슬롯이 없으면 만들고, 있으면 1 증가 -> 좋아요 한 번에 쿼리 하나
+    public void increment(Long postId, int slot) {
+        var sql = String.format("INSERT INTO %s (postId, slot, likeCount) " +
+                "VALUES (:postId, :slot, 1) " +
+                "ON DUPLICATE KEY UPDATE likeCount = likeCount + 1", SLOT_TABLE);
+
+        var params = new MapSqlParameterSource()
+                .addValue("postId", postId)
+                .addValue("slot", slot);
+        namedParameterJdbcTemplate.update(sql, params);
+    }
+
+    // 압축(Post.likeCount로 옮기기)이 필요한 게시물 목록, postId 순으로 afterPostId 다음부터
+    //  - 압축한 슬롯은 지우므로 남아 있는 슬롯이 곧 압축할 대상 -> PK 앞부분(postId)만 읽음
+    public List<Long> findAllPostIdsToCompact(long afterPostId, int size) {
+        var sql = String.format("SELECT DISTINCT postId FROM %s WHERE postId > :afterPostId ORDER BY postId LIMIT :size", SLOT_TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("afterPostId", afterPostId)
+                .addValue("size", size);
+
+        return namedParameterJdbcTemplate.query(sql, params, (ResultSet resultSet, int rowNum) -> resultSet.getLong("postId"));
+    }
+
+    // 압축하는 동안 슬롯 값이 바뀌지 않도록 lock을 잡고 합계를 구함
+    //  -> 트랜잭션 안에서 호출해야 함
+    public long sumByPostIdForUpdate(Long postId) {
+        var sql = String.format("SELECT likeCount FROM %s WHERE postId = :postId FOR UPDATE", SLOT_TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("postId", postId);
+
+        return namedParameterJdbcTemplate.queryForList(sql, params, Long.class).stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+
+    // 압축한 슬롯은 0으로 남기지 않고 지움(슬롯 테이블이 게시물 수만큼 계속 커지지 않도록)
+    //  -> sumByPostIdForUpdate와 같은 트랜잭션에서 호출, 그 사이 좋아요는 lock을 기다렸다가 새 슬롯으로 들어감
+    public void deleteByPostId(Long postId) {
+        var sql = String.format("DELETE FROM %s WHERE postId = :postId", SLOT_TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("postId", postId);
+        namedParameterJdbcTemplate.update(sql, params);
+    }
+
+    // 슬롯 수를 따로 지정한 게시물만 저장(지정하지 않은 게시물은 슬롯 1개)
+    public Map<Long, Integer> findAllSlotCounts() {
+        var sql = String.format("SELECT postId, slotCount FROM %s", CONFIG_TABLE);
+        var slotCounts = new HashMap<Long, Integer>();
+        namedParameterJdbcTemplate.query(sql, new MapSqlParameterSource(), (ResultSet resultSet) -> {
+            slotCounts.put(resultSet.getLong("postId"), resultSet.getInt("slotCount"));
+        });
+        return slotCounts;
+    }
+
+    public void saveSlotCount(Long postId, int slotCount) {
+        var sql = String.format("INSERT INTO %s (postId, slotCount) " +
+                "VALUES (:postId, :slotCount) " +
+                "ON DUPLICATE KEY UPDATE slotCount = :slotCount", CONFIG_TABLE);
+
+        var params = new MapSqlParameterSource()
+                .addValue("postId", postId)
+                .addValue("slotCount", slotCount);
+        namedParameterJdbcTemplate.update(sql, params);
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.fastcampusmysql.domain.post.repository;
 
 import com.example.fastcampusmysql.domain.post.entity.PostLike;
+import com.example.fastcampusmysql.domain.post.entity.PostLikeRowMappers;
+import com.example.fastcampusmysql.util.BulkInsertPipeline;
+import com.example.fastcampusmysql.util.LongLongMap;
+import com.example.fastcampusmysql.util.loaddata.LoadDataFormat;
+import com.example.fastcampusmysql.util.loaddata.LocalInfileLoader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
@@ -11,7 +16,8 @@ import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
-import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -19,13 +25,19 @@ public class PostLikeRepository {
     final private String TABLE = "PostLike";
 
     final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    final private BulkInsertPipeline bulkInsertPipeline;
+    final private LocalInfileLoader localInfileLoader;
 
-    final private RowMapper<PostLike> ROW_MAPPER = (ResultSet resultSet, int rowNum) -> PostLike.builder()
-            .id(resultSet.getLong("id"))
-            .memberId(resultSet.getLong("memberId"))
-            .postId(resultSet.getLong("postId"))
-            .createdAt(resultSet.getObject("createdAt", LocalDateTime.class))
-            .build();
+    final private RowMapper<PostLike> ROW_MAPPER = PostLikeRowMappers.ROW_MAPPER;
+
+    final private LoadDataFormat<PostLike> LOAD_DATA_FORMAT = new LoadDataFormat<>(
+            TABLE,
+            List.of("memberId", "postId", "createdAt"),
+            (postLike, writer) -> writer
+                    .column(postLike.getMemberId())
+                    .column(postLike.getPostId())
+                    .column(postLike.getCreatedAt())
+    );
 
     public Long count(Long postId) {
         var sql = String.format("SELECT count(id) " +
@@ -38,6 +50,30 @@ public class PostLikeRepository {
         return namedParameterJdbcTemplate.queryForObject(sql, param, Long.class);
     }
 
+    // 여러 게시물의 좋아요 수를 쿼리 한 번으로 조회
+    //  - 게시물마다 count()를 호출하면 페이지 크기만큼 쿼리가 나감(N+1)
+    //  - postId 인덱스를 타고 GROUP BY 하므로 게시물 수만큼의 범위만 읽음
+    //  - 좋아요가 하나도 없는 게시물은 결과에 없으므로 조회하는 쪽에서 0으로 처리해야 함
+    public LongLongMap countAllByPostIds(List<Long> postIds) {
+        var counts = new LongLongMap(postIds.size());
+        if(postIds.isEmpty()) {
+            return counts;
+        }
+
+        var sql = String.format("SELECT postId, count(id) as count " +
+                "FROM %s " +
+                "WHERE postId in (:postIds) " +
+                "GROUP BY postId", TABLE);
+
+        var params = new MapSqlParameterSource()
+                .addValue("postIds", postIds);
+
+        namedParameterJdbcTemplate.query(sql, params, (ResultSet resultSet) -> {
+            counts.put(resultSet.getLong("postId"), resultSet.getLong("count"));
+        });
+        return counts;
+    }
+
     public PostLike save(PostLike postLike) {
         if(postLike.getId() == null) {
             return insert(postLike);
@@ -46,6 +82,28 @@ public class PostLikeRepository {
         throw new UnsupportedOperationException("PostLike는 갱신을 지원하지 않습니다.");
     }
 
+    public void bulkInsert(List<PostLike> postLikes) {
+        var sql = String.format("INSERT INTO %s (memberId, postId, createdAt) " +
+                "VALUES (:memberId, :postId, :createdAt)", TABLE);
+
+        SqlParameterSource[] params = postLikes.stream()
+                .map(BeanPropertySqlParameterSource::new)
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(sql, params);
+    }
+
+    public BulkInsertPipeline.BulkInsertResult bulkInsert(Stream<PostLike> postLikes) {
+        return bulkInsertPipeline.run(postLikes.iterator(), this::bulkInsert);
+    }
+
+    // 좋아요 수 벤치마크 데이터처럼 대량으로 넣을 때 LOAD DATA LOCAL INFILE로 적재, 사용할 수 없으면 batch insert
+    public BulkInsertPipeline.BulkInsertResult bulkLoad(Stream<PostLike> postLikes) {
+        if(!localInfileLoader.isAvailable()) {
+            return bulkInsert(postLikes);
+        }
+        return localInfileLoader.load(LOAD_DATA_FORMAT, postLikes.iterator());
+    }
+
     private PostLike insert(PostLike postLike) {
         SimpleJdbcInsert jdbcInsert = new SimpleJdbcInsert(namedParameterJdbcTemplate.getJdbcTemplate())
                 .withTableName(TABLE)
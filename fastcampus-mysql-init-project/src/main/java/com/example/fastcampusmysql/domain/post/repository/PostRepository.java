@@ -1,13 +1,21 @@
 package com.example.fastcampusmysql.domain.post.repository;
 
-import com.example.fastcampusmysql.util.PageHelper;
+import com.example.fastcampusmysql.config.datasource.PrimaryReader;
+import com.example.fastcampusmysql.util.BulkInsertPipeline;
+import com.example.fastcampusmysql.util.loaddata.LoadDataFormat;
+import com.example.fastcampusmysql.util.loaddata.LocalInfileLoader;
 import com.example.fastcampusmysql.domain.post.dto.DailyPostCount;
 import com.example.fastcampusmysql.domain.post.dto.DailyPostCountRequest;
+import com.example.fastcampusmysql.domain.post.dto.PostSeekKey;
+import com.example.fastcampusmysql.domain.post.dto.PostSort;
 import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.entity.PostRowMappers;
+import com.example.fastcampusmysql.domain.post.entity.TimelineRowMappers;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
@@ -17,10 +25,21 @@ import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Repository;
 
 import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -28,30 +47,46 @@ public class PostRepository {
     static final String TABLE = "Post";
 
     final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    final private PostDailyCountRepository postDailyCountRepository;
+    final private MemberPostCountRepository memberPostCountRepository;
+    final private BulkInsertPipeline bulkInsertPipeline;
+    final private LocalInfileLoader localInfileLoader;
+    final private PostCache postCache;
+    // 캐시를 채우는 조회는 primary에서(replica의 복제 지연이 캐시에 남지 않도록)
+    final private PrimaryReader primaryReader;
+    // shard.count가 1이면 모든 쿼리가 Post 테이블 하나로 감
+    final private MemberShardRouter memberShardRouter;
+    final private ShardIdGenerator shardIdGenerator;
     final static private RowMapper<DailyPostCount> DAILY_POST_COUNT_MAPPER = (ResultSet resultSet, int rowNum) -> new DailyPostCount(
             resultSet.getLong("memberId"),
             resultSet.getObject("createdDate", LocalDate.class),
             resultSet.getLong("count")
     );
 
-    final static private RowMapper<Post> ROW_MAPPER = (ResultSet resultSet, int rowNum) -> Post.builder()
-            .id(resultSet.getLong("id"))
-            .memberId(resultSet.getLong("memberId"))
-            .contents(resultSet.getString("contents"))
-            .createdDate(resultSet.getObject("createdDate", LocalDate.class))
-            .likeCount(resultSet.getLong("likeCount"))
-            .version(resultSet.getLong("version"))
-            .createdAt(resultSet.getObject("createdAt", LocalDateTime.class))
-            .build();
+    // 컬럼을 SELECT 절에 적은 순서대로 위치로 읽는 RowMapper(@GenerateRowMapper로 컴파일할 때 생성)
+    //  -> JMH 벤치마크(src/jmh)에서 직접 호출하기 위해 package-private
+    final static RowMapper<Post> ROW_MAPPER = PostRowMappers.ROW_MAPPER;
+
+    // bulkInsert와 같은 컬럼만 넣음(likeCount, version은 기본값)
+    final static private LoadDataFormat<Post> LOAD_DATA_FORMAT = new LoadDataFormat<>(
+            TABLE,
+            List.of("memberId", "contents", "createdDate", "createdAt"),
+            (post, writer) -> writer
+                    .column(post.getMemberId())
+                    .column(post.getContents())
+                    .column(post.getCreatedDate())
+                    .column(post.getCreatedAt())
+    );
 
     public List<DailyPostCount> groupByCreatedDate(DailyPostCountRequest request) {
         // 이 쿼리가 데이터가 많아진다면 문제가 발생한다
         //  -> 성능이 확 느려짐
         // 데이터를 많이 쌓아두는 코드 -> 100만건 정도 되는 데이터를 삽입하는 작업을 EasyRandom을 통해 해볼 것임
+        //  -> 조회는 PostDailyCountRepository의 집계 테이블을 사용하도록 변경, 이 쿼리는 비교용으로 남겨둠
         var sql = String.format("SELECT createdDate, memberId, count(id) as count " +
                 "FROM %s " +
                 "WHERE memberId = :memberId AND createdDate BETWEEN :firstDate AND :lastDate " +
-                "GROUP BY memberId, createdDate", TABLE);
+                "GROUP BY memberId, createdDate", postTableOf(request.memberId()));
 
         var params = new BeanPropertySqlParameterSource(request);
 
@@ -60,14 +95,12 @@ public class PostRepository {
 
     // PageRequest -> Pageable을 구현한 객체
     public Page<Post> findAllByMemberId(Long memberId, Pageable pageable) {
-        var sql = String.format("SELECT * " +
+        var sql = String.format("SELECT " + PostRowMappers.COLUMNS + " " +
                 "FROM %s " +
                 "WHERE memberId = :memberId " +
                 "ORDER BY %s " +
                 "LIMIT :size " +
-                "OFFSET :offset", TABLE, PageHelper.orderBy(pageable.getSort()));
-
-        System.out.println(PageHelper.orderBy(pageable.getSort()));
+                "OFFSET :offset", postTableOf(memberId), PostSort.from(pageable.getSort()).orderBy());
 
         var params = new MapSqlParameterSource()
                 .addValue("memberId", memberId)
@@ -90,6 +123,7 @@ public class PostRepository {
         //  -> 그래서 Sort를 동적으로 사용하려면 MySQL보다 다른 DB를 같이 씀
         //  -> 쇼핑몰 같은 경우는 정렬 기준을 몇 개 정해놓고 그것을 받을 수는 있을 것임
         // 실제 서비스에서는 정렬을 파라미터로 주입 받을 것인지에 대해서는 MySQL만 사용한다면 고민이 필요한 부분!
+        //  -> 그래서 PageHelper로 Sort를 그대로 넣지 않고 PostSort에 정해둔 정렬만 허용
 
         var posts = namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
         // 만들어야 할 객체 -> Page<Post>
@@ -104,32 +138,101 @@ public class PostRepository {
         //          -> content가 Generic 타입이니까 쿼리로 가져온 posts를 content로 넘겨주면 됨
         //          -> Pageable : 컨텐츠를 가지고 올 때 요청받은 PageRequest를 넘겨주면 됨(PageRequest가 Pageable의 구현)
         //          -> total : 전체 개수(전체 개수를 알기 위해 count 쿼리가 필요할 것임)
-        return new PageImpl<>(posts, pageable, getCount(memberId));
+        //  -> 전체 개수는 count 쿼리 대신 게시물 저장 시 같이 갱신되는 MemberPostCount(+ 캐시)에서 가져옴
+        return new PageImpl<>(posts, pageable, memberPostCountRepository.getCount(memberId));
 
         // 프론트와의 규약을 어떻게 가져가느냐에 따라 다른데
         // 위에서 받은 pageable을 바로 넘겨주는데 이렇게 할 수도 있고
         // pageable에 대한 다음 페이지 요청을 넘겨줄 수도 있음
     }
 
+    // keyset 페이징
+    //  - OFFSET은 앞 페이지의 행들을 모두 읽고 버리므로 뒤 페이지로 갈수록 느려짐
+    //  - 마지막으로 읽은 행의 (정렬 값, id) 다음부터 인덱스를 타고 size개만 읽으므로 몇 번째 페이지든 비용이 같음
+    //  - seekKey가 null이면 첫 페이지
+    public List<Post> findAllByMemberId(Long memberId, PostSort sort, PostSeekKey seekKey, int size) {
+        var seekCondition = seekKey == null ? "" : "AND " + sort.seekCondition() + " ";
+        var sql = String.format("SELECT " + PostRowMappers.COLUMNS + " " +
+                "FROM %s " +
+                "WHERE memberId = :memberId %s" +
+                "ORDER BY %s " +
+                "LIMIT :size", postTableOf(memberId), seekCondition, sort.orderBy());
+
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("size", size);
+        if(seekKey != null) {
+            params.addValue("sortValue", seekKey.sortValue())
+                    .addValue("id", seekKey.id());
+        }
+
+        return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    // lock을 잡는 조회는 갱신하기 위한 것이므로 캐시를 거치지 않고 DB에서 최신 값을 읽음
     public Optional<Post> findById(Long postId, boolean requiredLock) {
-        var sql = String.format("SELECT * FROM %s WHERE id = :postId", TABLE);
         if(requiredLock) {
-            sql += " FOR UPDATE";
+            return findByIdFromDb(postId, true);
         }
-        System.out.println(sql);
+        return Optional.ofNullable(postCache.get(postId, id -> primaryReader.read(() -> findByIdFromDb(id, false).orElse(null))));
+    }
+
+    // 좋아요 수 조회용, 캐시와 replica를 거치지 않고 primary에서 커밋된 값을 읽음
+    //  -> Post.likeCount + 아직 압축되지 않은 슬롯 합계(ShardedPostLikeCounter)를 쿼리 하나로 읽음
+    //  -> 따로 읽으면 그 사이 압축(슬롯 -> Post.likeCount)이 끝났을 때 옮겨진 좋아요가 두 번 세어지거나 빠짐
+    public long findLikeCount(Long postId) {
+        return primaryReader.read(() -> {
+            var table = TABLE;
+            if(memberShardRouter.shardCount() > 1) {
+                var post = findAllByInIdFromDb(List.of(postId)).stream().findFirst().orElseThrow();
+                table = postTableOf(post.getMemberId());
+            }
+
+            var sql = String.format("SELECT p.likeCount + " +
+                    "(SELECT COALESCE(SUM(s.likeCount), 0) FROM %s s WHERE s.postId = p.id) AS likeCount " +
+                    "FROM %s p WHERE p.id = :postId", PostLikeCounterRepository.SLOT_TABLE, table);
+            var params = new MapSqlParameterSource()
+                    .addValue("postId", postId);
+            return namedParameterJdbcTemplate.query(sql, params, (ResultSet resultSet, int rowNum) -> resultSet.getLong("likeCount")).stream()
+                    .findFirst()
+                    .orElseThrow();
+        });
+    }
+
+    // id만으로는 어느 샤드에 있는지 모르므로 샤드가 여러 개면 모든 샤드에서 찾음
+    //  -> lock을 잡을 때는 lock 없이 작성자를 먼저 찾고 작성자의 샤드에서만 lock을 잡음
+    private Optional<Post> findByIdFromDb(Long postId, boolean requiredLock) {
+        if(!requiredLock) {
+            return findAllByInIdFromDb(List.of(postId)).stream()
+                    .findFirst();
+        }
+
+        var table = TABLE;
+        if(memberShardRouter.shardCount() > 1) {
+            var post = findAllByInIdFromDb(List.of(postId)).stream().findFirst();
+            if(post.isEmpty()) {
+                return post;
+            }
+            table = memberShardRouter.postTable(memberShardRouter.shardOfForWrite(post.get().getMemberId()));
+        }
+
+        var sql = String.format("SELECT " + PostRowMappers.COLUMNS + " FROM %s WHERE id = :postId FOR UPDATE", table);
         var params = new MapSqlParameterSource()
                 .addValue("postId", postId);
 
         // queryForObject() -> DataAccessUtils.nullableSingleResult()를 해줌!
         //  - 그래서 직접 사용하지 않아도 queryForObject()를 통해 가능하다!
-        var nullablePost = namedParameterJdbcTemplate.queryForObject(sql, params, ROW_MAPPER);
-        return Optional.ofNullable(nullablePost);
+        //  -> 게시물이 없으면 예외 대신 Optional.empty()를 주도록 query()로 변경(없는 게시물은 캐시하지 않음)
+        return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER).stream()
+                .findFirst();
     }
 
-    private Long getCount(Long memberId) {
+    // 회원의 게시물 인덱스 범위를 전부 읽으므로 게시물이 많을수록 느려짐
+    //  -> 페이지 응답에서는 MemberPostCountRepository를 사용, 이 쿼리는 비교용으로 남겨둠
+    public Long getCount(Long memberId) {
         var sql = String.format("SELECT count(id) " +
                 "FROM %s " +
-                "WHERE memberId = :memberId", TABLE);
+                "WHERE memberId = :memberId", postTableOf(memberId));
 
         var param = new MapSqlParameterSource()
                 .addValue("memberId", memberId);
@@ -138,11 +241,11 @@ public class PostRepository {
     }
 
     public List<Post> findAllByMemberIdAndOrderByIdDesc(Long memberId, int size) {
-        var sql = String.format("SELECT * " +
+        var sql = String.format("SELECT " + PostRowMappers.COLUMNS + " " +
                 "FROM %s " +
                 "WHERE memberId = :memberId " +
                 "ORDER BY id DESC " +
-                "LIMIT :size", TABLE);
+                "LIMIT :size", postTableOf(memberId));
 
         var params = new MapSqlParameterSource()
                 .addValue("memberId", memberId)
@@ -151,43 +254,266 @@ public class PostRepository {
         return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
     }
 
+    // 회원의 게시물 id만 id 내림차순으로 size개, lastId가 null이면 가장 최신부터
+    //  -> (memberId, id) 인덱스만 읽고 끝남(타임라인 백필/정리용)
+    public List<Long> findAllIdsByMemberIdAndLessThanIdOrderByIdDesc(Long memberId, Long lastId, int size) {
+        var sql = String.format("SELECT " + PostRowMappers.ID_ONLY_COLUMNS + " " +
+                "FROM %s " +
+                "WHERE memberId = :memberId" + (lastId == null ? " " : " AND id < :id ") +
+                "ORDER BY id DESC " +
+                "LIMIT :size", postTableOf(memberId));
+
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("id", lastId)
+                .addValue("size", size);
+
+        return namedParameterJdbcTemplate.query(sql, params, PostRowMappers.ID_ONLY);
+    }
+
+    // 회원의 게시물 전체를 id 순으로 한 행씩 읽어서 consumer에 넘김(export용)
+    //  - fetchSize를 Integer.MIN_VALUE로 주면 MySQL 드라이버가 결과를 전부 메모리에 올리지 않고 한 행씩 읽음(streaming)
+    //      -> 게시물 수와 관계없이 메모리 사용량이 일정, 대신 다 읽을 때까지 이 커넥션으로 다른 쿼리를 실행할 수 없음
+    //  - 중간에 멈추면(consumer 예외, 클라이언트가 끊긴 경우 등) 그냥 닫으면 드라이버가 남은 행을 끝까지 받아서 버리므로
+    //    먼저 서버에서 쿼리를 멈추고(Statement.cancel -> KILL QUERY) 닫음
+    //  - named parameter는 PreparedStatementCreator를 직접 만들 수 없어 ? 사용
+    public void streamAllByMemberIdOrderByIdAsc(Long memberId, Consumer<Post> consumer) {
+        var sql = String.format("SELECT " + PostRowMappers.COLUMNS + " " +
+                "FROM %s " +
+                "WHERE memberId = ? " +
+                "ORDER BY id ASC", postTableOf(memberId));
+
+        namedParameterJdbcTemplate.getJdbcTemplate().query(connection -> {
+            var statement = connection.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            statement.setFetchSize(Integer.MIN_VALUE);
+            statement.setLong(1, memberId);
+            return statement;
+        }, new RowCallbackHandler() {
+            private int rowNum;
+
+            @Override
+            public void processRow(ResultSet resultSet) throws SQLException {
+                var post = ROW_MAPPER.mapRow(resultSet, rowNum++);
+                try {
+                    consumer.accept(post);
+                } catch (RuntimeException e) {
+                    cancel(resultSet, e);
+                    throw e;
+                }
+            }
+        });
+    }
+
+    private static void cancel(ResultSet resultSet, RuntimeException cause) {
+        try {
+            resultSet.getStatement().cancel();
+        } catch (SQLException e) {
+            cause.addSuppressed(e);
+        }
+    }
+
+    // 캐시에 없는 게시물만 모아서 IN 쿼리 한 번으로 읽음
+    //  -> 순서는 보장하지 않음(PostReadService.getPosts에서 요청한 순서로 정렬)
     public List<Post> findAllByInId(List<Long> ids) {
         if(ids.isEmpty()) {
             return List.of();
         }
 
-        var sql = String.format("SELECT * FROM %s WHERE id in (:ids)", TABLE);
+        return postCache.getAll(ids, missingIds -> primaryReader.read(() -> findAllByInIdFromDb(missingIds)));
+    }
+
+    // 샤드가 여러 개면 모든 샤드에 같은 IN 쿼리를 동시에 보내고 합침
+    //  -> 다른 샤드로 옮기는 중이거나 옮긴 직후인 회원의 게시물은 두 샤드에 모두 있으므로 지금 회원이 속한 샤드의 행만 남김
+    private List<Post> findAllByInIdFromDb(Collection<Long> ids) {
         var params = new MapSqlParameterSource()
                 .addValue("ids", ids);
 
+        return memberShardRouter.scatter(memberShardRouter.shards(), shard -> {
+            var sql = String.format("SELECT " + PostRowMappers.COLUMNS + " FROM %s WHERE id in (:ids)", memberShardRouter.postTable(shard));
+            return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER).stream()
+                    .filter(post -> memberShardRouter.shardOf(post.getMemberId()) == shard)
+                    .toList();
+        });
+    }
+
+    // 회원의 타임라인에 배달된 게시물을 타임라인 순서(postId 내림차순) 그대로 한 번에 조회
+    //  - Timeline을 읽고 다시 id IN (...)으로 Post를 읽으면 쿼리가 두 번이고 IN 결과는 순서가 보장되지 않음
+    //  - (memberId, postId) 인덱스로 Timeline을 순서대로 읽으면서 Post는 PK로 하나씩 찾아 붙임(nested loop join)
+    //  - 게시물이 지워진 타임라인 행은 INNER JOIN에서 빠지고, LIMIT은 join 이후에 적용되므로 페이지 크기는 그대로 채워짐
+    //  - postId가 null이면 가장 최신부터
+    //  - 샤드가 여러 개면 Timeline과 Post가 다른 샤드에 있을 수 있어 join할 수 없으므로 postId를 먼저 읽고 findAllByInId로 채움
+    public List<Post> findAllByTimelineMemberIdAndLessThanPostId(Long memberId, Long postId, int size) {
+        if(memberShardRouter.shardCount() > 1) {
+            return findAllByTimelineMemberIdAndLessThanPostIdAcrossShards(memberId, postId, size);
+        }
+
+        var postIdCondition = postId == null ? "" : "AND t.postId < :postId ";
+        var sql = String.format("SELECT " + PostRowMappers.columns("p") + " " +
+                "FROM %s t " +
+                "INNER JOIN %s p ON p.id = t.postId " +
+                "WHERE t.memberId = :memberId %s" +
+                "ORDER BY t.postId DESC " +
+                "LIMIT :size", TimelineRepository.TABLE, TABLE, postIdCondition);
+
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("postId", postId)
+                .addValue("size", size);
+
         return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
     }
 
+    // 게시물이 지워진 타임라인 행은 빠지므로 size보다 적을 수 있음
+    private List<Post> findAllByTimelineMemberIdAndLessThanPostIdAcrossShards(Long memberId, Long postId, int size) {
+        var postIdCondition = postId == null ? "" : "AND postId < :postId ";
+        var sql = String.format("SELECT " + TimelineRowMappers.POST_ID_ONLY_COLUMNS + " " +
+                "FROM %s " +
+                "WHERE memberId = :memberId %s" +
+                "ORDER BY postId DESC " +
+                "LIMIT :size", memberShardRouter.timelineTable(memberShardRouter.shardOf(memberId)), postIdCondition);
+
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("postId", postId)
+                .addValue("size", size);
+
+        var postIds = namedParameterJdbcTemplate.query(sql, params, TimelineRowMappers.POST_ID_ONLY);
+        var posts = findAllByInId(postIds).stream()
+                .collect(Collectors.toMap(Post::getId, Function.identity()));
+        return postIds.stream()
+                .map(posts::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 회원의 타임라인에 있는 게시물 중 authorId가 쓴 게시물의 id를 postId 내림차순으로 size개(언팔로우 정리용)
+    //  - 작성자의 게시물 전체가 아니라 회원의 타임라인((memberId, postId) 인덱스)을 읽으면서 Post를 PK로 붙여 작성자를 거름
+    //      -> 작성자의 게시물이 많아도 타임라인에 들어와 있는 만큼만 읽음
+    //  - postId가 null이면 가장 최신부터
+    public List<Long> findAllIdsByTimelineMemberIdAndAuthorIdAndLessThanPostId(Long memberId, Long authorId, Long postId, int size) {
+        if(memberShardRouter.shardCount() > 1) {
+            return findAllIdsByTimelineMemberIdAndAuthorIdAndLessThanPostIdAcrossShards(memberId, authorId, postId, size);
+        }
+
+        var postIdCondition = postId == null ? "" : "AND t.postId < :postId ";
+        var sql = String.format("SELECT t.postId " +
+                "FROM %s t " +
+                "INNER JOIN %s p ON p.id = t.postId " +
+                "WHERE t.memberId = :memberId AND p.memberId = :authorId %s" +
+                "ORDER BY t.postId DESC " +
+                "LIMIT :size", TimelineRepository.TABLE, TABLE, postIdCondition);
+
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("authorId", authorId)
+                .addValue("postId", postId)
+                .addValue("size", size);
+
+        return namedParameterJdbcTemplate.query(sql, params, TimelineRowMappers.POST_ID_ONLY);
+    }
+
+    // 샤드가 여러 개면 join할 수 없으므로 타임라인을 size개씩 읽고 게시물을 DB에서 직접 읽어서(캐시를 밀어내지 않도록) 작성자를 거름
+    //  -> size개를 채우거나 타임라인 끝까지 읽으면 멈춤
+    private List<Long> findAllIdsByTimelineMemberIdAndAuthorIdAndLessThanPostIdAcrossShards(Long memberId, Long authorId, Long postId, int size) {
+        var timelineTable = memberShardRouter.timelineTable(memberShardRouter.shardOf(memberId));
+        var matched = new ArrayList<Long>();
+        var cursor = postId;
+        while (matched.size() < size) {
+            var postIdCondition = cursor == null ? "" : "AND postId < :postId ";
+            var sql = String.format("SELECT " + TimelineRowMappers.POST_ID_ONLY_COLUMNS + " " +
+                    "FROM %s " +
+                    "WHERE memberId = :memberId %s" +
+                    "ORDER BY postId DESC " +
+                    "LIMIT :size", timelineTable, postIdCondition);
+            var params = new MapSqlParameterSource()
+                    .addValue("memberId", memberId)
+                    .addValue("postId", cursor)
+                    .addValue("size", size);
+            var postIds = namedParameterJdbcTemplate.query(sql, params, TimelineRowMappers.POST_ID_ONLY);
+            if(postIds.isEmpty()) {
+                break;
+            }
+
+            var authored = findAllByInIdFromDb(postIds).stream()
+                    .filter(post -> authorId.equals(post.getMemberId()))
+                    .map(Post::getId)
+                    .collect(Collectors.toSet());
+            for(var id : postIds) {
+                if(authored.contains(id) && matched.size() < size) {
+                    matched.add(id);
+                }
+            }
+            if(postIds.size() < size) {
+                break;
+            }
+            cursor = postIds.get(postIds.size() - 1);
+        }
+        return matched;
+    }
+
+    // 샤드마다 회원들의 최신 게시물 size개를 동시에 읽고, 합친 뒤 다시 id 내림차순 size개만 남김
     public List<Post> findAllByInMemberIdAndOrderByIdDesc(List<Long> memberIds, int size) {
         if(memberIds.isEmpty()) {
             return List.of();
         }
 
-        var sql = String.format("SELECT * " +
-                "FROM %s " +
-                "WHERE memberId in (:memberIds) " +
-                "ORDER BY id DESC " +
-                "LIMIT :size", TABLE);
+        var groups = memberShardRouter.groupByShard(memberIds);
+        var posts = memberShardRouter.scatter(groups.keySet(), shard -> {
+            var sql = String.format("SELECT " + PostRowMappers.COLUMNS + " " +
+                    "FROM %s " +
+                    "WHERE memberId in (:memberIds) " +
+                    "ORDER BY id DESC " +
+                    "LIMIT :size", memberShardRouter.postTable(shard));
+
+            var params = new MapSqlParameterSource()
+                    .addValue("memberIds", groups.get(shard))
+                    .addValue("size", size);
+
+            return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
+        });
+        return mergeByIdDesc(groups.size(), posts, size);
+    }
 
-        var params = new MapSqlParameterSource()
-                .addValue("memberIds", memberIds)
-                .addValue("size", size);
+    // 회원마다 (memberId, id < :id) 인덱스 seek으로 최신 게시물을 limit개씩 읽어 UNION ALL로 한 번에 조회
+    //  - memberId IN (...)은 모든 회원의 게시물을 합쳐서 정렬(filesort)해야 하지만
+    //    회원별 서브쿼리는 각자 (memberId, id) 인덱스를 역순으로 limit개만 읽고 멈춤
+    //  - 결과는 회원별로 id 내림차순, 회원 간 순서는 보장하지 않으므로 호출하는 쪽에서 병합해야 함
+    //  - id가 null이면 가장 최신 게시물부터
+    public List<Post> findAllBySeekEachMemberId(List<Long> memberIds, Long id, int limit) {
+        if(memberIds.isEmpty()) {
+            return List.of();
+        }
 
-        return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
+        // 샤드가 여러 개면 샤드마다 UNION ALL 쿼리를 하나씩 보냄
+        var idCondition = id == null ? "" : "AND id < :id ";
+        var groups = memberShardRouter.groupByShard(memberIds);
+        return memberShardRouter.scatter(groups.keySet(), shard -> {
+            var shardMemberIds = groups.get(shard);
+            var params = new MapSqlParameterSource()
+                    .addValue("id", id)
+                    .addValue("limit", limit);
+
+            var subQueries = new ArrayList<String>(shardMemberIds.size());
+            for(int i = 0; i < shardMemberIds.size(); i++) {
+                subQueries.add(String.format("(SELECT " + PostRowMappers.COLUMNS + " " +
+                        "FROM %s " +
+                        "WHERE memberId = :memberId%d %s" +
+                        "ORDER BY id DESC " +
+                        "LIMIT :limit)", memberShardRouter.postTable(shard), i, idCondition));
+                params.addValue("memberId" + i, shardMemberIds.get(i));
+            }
+
+            return namedParameterJdbcTemplate.query(String.join(" UNION ALL ", subQueries), params, ROW_MAPPER);
+        });
     }
 
     // key를 가지고 key보다 작은 것들을 조회하는 repository 함수
     public List<Post> findAllByLessThanIdAndMemberIdAndOrderByIdDesc(Long id, Long memberId, int size) {
-        var sql = String.format("SELECT * " +
+        var sql = String.format("SELECT " + PostRowMappers.COLUMNS + " " +
                 "FROM %s " +
                 "WHERE memberId = :memberId AND id < :id " +
                 "ORDER BY id DESC " +
-                "LIMIT :size", TABLE);
+                "LIMIT :size", postTableOf(memberId));
 
         var params = new MapSqlParameterSource()
                 .addValue("memberId", memberId)
@@ -202,18 +528,22 @@ public class PostRepository {
             return List.of();
         }
 
-        var sql = String.format("SELECT * " +
-                "FROM %s " +
-                "WHERE memberId in (:memberIds) AND id < :id " +
-                "ORDER BY id DESC " +
-                "LIMIT :size", TABLE);
-
-        var params = new MapSqlParameterSource()
-                .addValue("memberIds", memberIds)
-                .addValue("size", size)
-                .addValue("id", id);
-
-        return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
+        var groups = memberShardRouter.groupByShard(memberIds);
+        var posts = memberShardRouter.scatter(groups.keySet(), shard -> {
+            var sql = String.format("SELECT " + PostRowMappers.COLUMNS + " " +
+                    "FROM %s " +
+                    "WHERE memberId in (:memberIds) AND id < :id " +
+                    "ORDER BY id DESC " +
+                    "LIMIT :size", memberShardRouter.postTable(shard));
+
+            var params = new MapSqlParameterSource()
+                    .addValue("memberIds", groups.get(shard))
+                    .addValue("size", size)
+                    .addValue("id", id);
+
+            return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
+        });
+        return mergeByIdDesc(groups.size(), posts, size);
     }
 
     public Post save(Post post) {
@@ -227,25 +557,144 @@ public class PostRepository {
     // insert 쿼리를 날릴 것인데 VALUES()로 보낼 것이고, 그럼 쿼리로 보면 VALUES()가 여러 개가 들어갈 것임
     //  -> VALUES() 쪽에 List를 바인딩해줄 수 있어야 함
     //      -> SqlParameterSource의 List로 파라미터를 넘겨주고 batchUpdate()라는 함수를 부르면 리스트가 바인딩됨
+    //  -> 샤드가 여러 개면 샤드별로 나눠서 보내고, id는 ShardSequence에서 한 번에 받아서 넣음
     public void bulkInsert(List<Post> posts) {
-        var sql = String.format("INSERT INTO %s (memberId, contents, createdDate, createdAt) " +
-                "VALUES (:memberId, :contents, :createdDate, :createdAt)", TABLE);
+        if(memberShardRouter.shardCount() == 1) {
+            var sql = String.format("INSERT INTO %s (memberId, contents, createdDate, createdAt) " +
+                    "VALUES (:memberId, :contents, :createdDate, :createdAt)", TABLE);
+
+            SqlParameterSource[] params = posts.stream()
+                    .map(BeanPropertySqlParameterSource::new)
+                    .toArray(SqlParameterSource[]::new);
+            namedParameterJdbcTemplate.batchUpdate(sql, params);
+        } else if(!posts.isEmpty()) {
+            var shards = memberShardRouter.shardsOfForWrite(posts.stream()
+                    .map(Post::getMemberId)
+                    .collect(Collectors.toSet()));
+            var nextId = shardIdGenerator.next(TABLE, posts.size());
+            var postsByShard = new HashMap<Integer, List<Post>>();
+            for(var post : posts) {
+                postsByShard.computeIfAbsent(shards.get(post.getMemberId()), shard -> new ArrayList<>())
+                        .add(post.toBuilder().id(nextId++).build());
+            }
+            postsByShard.forEach((shard, shardPosts) -> namedParameterJdbcTemplate.batchUpdate(
+                    String.format("INSERT INTO %s (id, memberId, contents, createdDate, createdAt) " +
+                            "VALUES (:id, :memberId, :contents, :createdDate, :createdAt)", memberShardRouter.postTable(shard)),
+                    shardPosts.stream()
+                            .map(BeanPropertySqlParameterSource::new)
+                            .toArray(SqlParameterSource[]::new)));
+        }
 
-        SqlParameterSource[] params = posts.stream()
-                .map(BeanPropertySqlParameterSource::new)
-                .toArray(SqlParameterSource[]::new);
-        namedParameterJdbcTemplate.batchUpdate(sql, params);
+        // 일자별 게시물 수, 회원별 게시물 수 집계도 같이 반영
+        postDailyCountRepository.incrementAll(posts);
+        memberPostCountRepository.incrementAll(posts.stream()
+                .collect(Collectors.groupingBy(Post::getMemberId, Collectors.counting())));
     }
 
-    private Post insert(Post post) {
-        SimpleJdbcInsert jdbcInsert = new SimpleJdbcInsert(namedParameterJdbcTemplate.getJdbcTemplate())
-                .withTableName(TABLE)
-                .usingGeneratedKeyColumns("id");
+    // 입력 전체를 List로 들고 있지 않고 chunk 단위로 끊어서 여러 커넥션으로 동시에 insert
+    //  -> chunk마다 위의 bulkInsert(List)를 호출하므로 일자별 집계도 chunk 단위로 반영됨
+    public BulkInsertPipeline.BulkInsertResult bulkInsert(Stream<Post> posts) {
+        return bulkInsertPipeline.run(posts.iterator(), this::bulkInsert);
+    }
 
-        System.out.println(post.getMemberId());
+    // 시딩/백필처럼 수천만 건을 넣을 때는 LOAD DATA LOCAL INFILE로 적재
+    //  -> 사용할 수 없는 환경이면 위의 스트리밍 bulk insert로 대체
+    //  -> 적재하면서 (memberId, createdDate)별 개수를 세어두었다가 LOAD DATA 문장마다 같은 트랜잭션에서 일자별/회원별 집계에 반영
+    //      -> 중간에 실패해도 커밋된 문장의 게시물은 집계에 들어가 있고, 실패한 문장은 게시물과 집계가 같이 롤백됨
+    //  -> 샤드가 여러 개면 행마다 테이블과 id가 달라지므로 bulk insert로 대체
+    public BulkInsertPipeline.BulkInsertResult bulkLoad(Stream<Post> posts) {
+        if(!localInfileLoader.isAvailable() || memberShardRouter.shardCount() > 1) {
+            return bulkInsert(posts);
+        }
 
-        SqlParameterSource params = new BeanPropertySqlParameterSource(post);
-        var id = jdbcInsert.executeAndReturnKey(params).longValue();
+        var postCountsByMember = new HashMap<Long, Map<LocalDate, Long>>();
+        var counted = posts.peek(post -> postCountsByMember
+                .computeIfAbsent(post.getMemberId(), memberId -> new HashMap<>())
+                .merge(post.getCreatedDate(), 1L, Long::sum));
+
+        return localInfileLoader.load(LOAD_DATA_FORMAT, counted.iterator(), () -> {
+            // 이번 문장에서 읽은 게시물만 들어 있음
+            postDailyCountRepository.incrementAll(postCountsByMember);
+            memberPostCountRepository.incrementAll(postCountsByMember.entrySet().stream()
+                    .collect(Collectors.toMap(Map.Entry::getKey, member -> member.getValue().values().stream()
+                            .mapToLong(Long::longValue)
+                            .sum())));
+            postCountsByMember.clear();
+        });
+    }
+
+    // 집계 테이블 재생성 등 회원 단위로 작업할 때 사용
+    //  -> memberId 인덱스만 읽음
+    public List<Long> findAllMemberIds() {
+        var memberIds = memberShardRouter.scatter(memberShardRouter.shards(), shard -> {
+            var sql = String.format("SELECT DISTINCT memberId FROM %s", memberShardRouter.postTable(shard));
+            return namedParameterJdbcTemplate.query(sql, new MapSqlParameterSource(),
+                    (ResultSet resultSet, int rowNum) -> resultSet.getLong("memberId"));
+        });
+        // 옮기는 중인 회원은 두 샤드에 모두 있음
+        return memberShardRouter.shardCount() == 1 ? memberIds : List.copyOf(new HashSet<>(memberIds));
+    }
+
+    // write-behind 좋아요 버퍼에서 모아둔 증가분을 한 번에 반영
+    //  - 읽어서 더하는 것이 아니라 likeCount = likeCount + ? 로 DB에서 더하므로 SELECT가 필요 없음
+    //  - version도 올려줘야 낙관적 락으로 갱신하는 쪽이 이전 likeCount로 덮어쓰지 않음
+    //  - postId 순으로 정렬해서 보내야 여러 서버가 동시에 flush할 때 row lock 획득 순서가 같아져 데드락이 나지 않음
+    //  - 샤드가 여러 개면 게시물의 작성자로 샤드를 찾아서 샤드 번호 순으로 나눠 보냄
+    public void bulkIncrementLikeCount(Map<Long, Long> deltas) {
+        if(deltas.isEmpty()) {
+            return;
+        }
+
+        var deltasByShard = new HashMap<Integer, Map<Long, Long>>();
+        if(memberShardRouter.shardCount() == 1) {
+            deltasByShard.put(0, deltas);
+        } else {
+            var posts = findAllByInId(List.copyOf(deltas.keySet()));
+            var shards = memberShardRouter.shardsOfForWrite(posts.stream()
+                    .map(Post::getMemberId)
+                    .collect(Collectors.toSet()));
+            posts.forEach(post -> deltasByShard.computeIfAbsent(shards.get(post.getMemberId()), shard -> new HashMap<>())
+                    .put(post.getId(), deltas.get(post.getId())));
+        }
+
+        deltasByShard.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(shardDeltas -> {
+                    var sql = String.format("UPDATE %s SET " +
+                            "likeCount = likeCount + :delta, " +
+                            "version = version + 1 " +
+                            "WHERE id = :postId", memberShardRouter.postTable(shardDeltas.getKey()));
+
+                    SqlParameterSource[] params = shardDeltas.getValue().entrySet().stream()
+                            .sorted(Map.Entry.comparingByKey())
+                            .map(entry -> new MapSqlParameterSource()
+                                    .addValue("postId", entry.getKey())
+                                    .addValue("delta", entry.getValue()))
+                            .toArray(SqlParameterSource[]::new);
+                    namedParameterJdbcTemplate.batchUpdate(sql, params);
+                });
+
+        postCache.evictAfterCommit(deltas.keySet());
+    }
+
+    private Post insert(Post post) {
+        long id;
+        if(memberShardRouter.shardCount() == 1) {
+            SimpleJdbcInsert jdbcInsert = new SimpleJdbcInsert(namedParameterJdbcTemplate.getJdbcTemplate())
+                    .withTableName(TABLE)
+                    .usingGeneratedKeyColumns("id");
+
+            SqlParameterSource params = new BeanPropertySqlParameterSource(post);
+            id = jdbcInsert.executeAndReturnKey(params).longValue();
+        } else {
+            id = shardIdGenerator.next(TABLE, 1);
+            var sql = String.format("INSERT INTO %s (id, memberId, contents, createdDate, likeCount, version, createdAt) " +
+                    "VALUES (:id, :memberId, :contents, :createdDate, :likeCount, :version, :createdAt)",
+                    memberShardRouter.postTable(memberShardRouter.shardOfForWrite(post.getMemberId())));
+            namedParameterJdbcTemplate.update(sql, new BeanPropertySqlParameterSource(post.toBuilder().id(id).build()));
+        }
+        postDailyCountRepository.increment(post.getMemberId(), post.getCreatedDate());
+        memberPostCountRepository.increment(post.getMemberId());
 
         return Post.builder()
                 .id(id)
@@ -265,14 +714,30 @@ public class PostRepository {
                     "likeCount = :likeCount, " +
                     "createdAt = :createdAt, " +
                     "version = :version + 1 " +
-                "WHERE id = :id AND version = :version", TABLE);
+                "WHERE id = :id AND version = :version", memberShardRouter.postTable(memberShardRouter.shardOfForWrite(post.getMemberId())));
         SqlParameterSource params = new BeanPropertySqlParameterSource(post);
         var updatedCount = namedParameterJdbcTemplate.update(sql, params);
 
         if(updatedCount == 0) {
             throw new RuntimeException("갱신 실패");
         }
+        postCache.evictAfterCommit(List.of(post.getId()));
         return post;
 
     }
+
+    private String postTableOf(Long memberId) {
+        return memberShardRouter.postTable(memberShardRouter.shardOf(memberId));
+    }
+
+    // 샤드별로 id 내림차순 size개씩 읽은 결과를 합쳐서 전체에서 id 내림차순 size개
+    private static List<Post> mergeByIdDesc(int shardCount, List<Post> posts, int size) {
+        if(shardCount == 1) {
+            return posts;
+        }
+        return posts.stream()
+                .sorted(Comparator.comparing(Post::getId).reversed())
+                .limit(size)
+                .toList();
+    }
 }
@@ -0,0 +1,157 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+// 샤드 테이블이 여러 개일 때 Post, Timeline id를 발급
+//  - 테이블마다 auto_increment를 쓰면 샤드끼리 id가 겹치므로, id로 찾는 조회와 샤드를 옮기는 복사가 깨짐
+//  - ShardSequence(name, nextId) 행 하나를 blockSize만큼 올려서 받은 범위를 서버 메모리에서 나눠 줌
+//      -> LAST_INSERT_ID(expr)는 커넥션마다 값을 기억하므로 같은 커넥션에서 바로 읽으면 다른 요청과 섞이지 않음
+//      -> 행 하나에 insert마다 몰리던 갱신이 blockSize번에 한 번으로 줄어듦
+//  - 범위는 shardIdExecutor 스레드에서 받아옴(호출한 쪽의 트랜잭션, 커넥션과 상관없음)
+//      -> 호출한 쪽이 커넥션을 잡은 채로 두 번째 커넥션을 기다리지 않음(풀이 모자라면 서로 기다리다 멈출 수 있었음)
+//      -> 남은 id가 blockSize / 2 밑으로 내려가면 다음 범위를 미리 받아두므로 보통은 기다리지 않음
+//      -> 미리 받은 범위까지 다 쓰면 받아올 때까지 waitTimeout만큼 기다리고, 넘으면 예외
+//  - 롤백된 insert의 id, 서버가 내려갈 때 남은 범위, 연속된 count개가 남지 않아 건너뛴 id는 비게 됨(auto_increment와 같음)
+//  - 서버마다 다른 범위를 쓰므로 id는 서버 사이에서 작성 순서와 최대 blockSize만큼 어긋날 수 있음
+@Slf4j
+@Component
+class ShardIdGenerator {
+    static final String TABLE = "ShardSequence";
+
+    final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    final private TransactionTemplate transactionTemplate;
+    final private Executor shardIdExecutor;
+    final private int blockSize;
+    final private Duration waitTimeout;
+    final private Map<String, Sequence> sequences = new ConcurrentHashMap<>();
+
+    ShardIdGenerator(
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("shardIdExecutor") Executor shardIdExecutor,
+            @Value("${shard.id.block-size:1000}") int blockSize,
+            @Value("${shard.id.wait-timeout-ms:5000}") long waitTimeoutMillis
+    ) {
+        Assert.isTrue(blockSize > 0, "blockSize는 1 이상이어야 합니다.");
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.shardIdExecutor = shardIdExecutor;
+        this.blockSize = blockSize;
+        this.waitTimeout = Duration.ofMillis(waitTimeoutMillis);
+    }
+
+    // 연속된 id count개 중 첫 번째
+    long next(String name, int count) {
+        Assert.isTrue(count > 0, "count는 1 이상이어야 합니다.");
+        var sequence = sequences.computeIfAbsent(name, key -> new Sequence());
+        while (true) {
+            CompletableFuture<Void> refill;
+            synchronized (sequence) {
+                // 남은 id로 모자라면 미리 받아둔 범위로 넘어감
+                if(sequence.remaining() < count && sequence.hasPrefetched()) {
+                    sequence.usePrefetched();
+                }
+                if(sequence.remaining() >= count) {
+                    var id = sequence.nextId;
+                    sequence.nextId += count;
+                    if(sequence.remaining() < blockSize / 2 && !sequence.hasPrefetched()) {
+                        refill(name, sequence, blockSize);
+                    }
+                    return id;
+                }
+                refill = refill(name, sequence, Math.max(count, blockSize));
+            }
+            await(name, refill);
+        }
+    }
+
+    // sequence를 잡고 호출, 이미 받아오는 중이면 그 작업을 반환
+    private CompletableFuture<Void> refill(String name, Sequence sequence, int size) {
+        if(sequence.refill != null && !sequence.refill.isDone()) {
+            return sequence.refill;
+        }
+        sequence.refill = CompletableFuture.supplyAsync(() -> allocate(name, size), shardIdExecutor)
+                .thenAccept(startId -> {
+                    synchronized (sequence) {
+                        sequence.prefetchedStartId = startId;
+                        sequence.prefetchedEndId = startId + size;
+                    }
+                })
+                .whenComplete((ignored, e) -> {
+                    if(e != null) {
+                        log.warn("샤드 id 범위를 받아오지 못했습니다. name={}", name, e);
+                    }
+                });
+        return sequence.refill;
+    }
+
+    private void await(String name, CompletableFuture<Void> refill) {
+        try {
+            refill.get(waitTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("샤드 id 범위를 받아오는 시간이 초과되었습니다. name=" + name, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("샤드 id 범위를 받아오지 못했습니다. name=" + name, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("샤드 id 범위를 기다리다 중단되었습니다. name=" + name, e);
+        }
+    }
+
+    // shardIdExecutor 스레드에서 실행, 바로 커밋해서 행 lock을 오래 잡지 않음
+    private long allocate(String name, int count) {
+        var sql = String.format("INSERT INTO %s (name, nextId) VALUES (:name, LAST_INSERT_ID(1 + :count)) " +
+                "ON DUPLICATE KEY UPDATE nextId = LAST_INSERT_ID(nextId + :count)", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("name", name)
+                .addValue("count", count);
+
+        var nextId = transactionTemplate.execute(status -> {
+            namedParameterJdbcTemplate.update(sql, params);
+            return namedParameterJdbcTemplate.queryForObject("SELECT LAST_INSERT_ID()", new MapSqlParameterSource(), Long.class);
+        });
+        return nextId - count;
+    }
+
+    // 이름(테이블)마다 지금 나눠 주는 범위 [nextId, endId)와 미리 받아둔 범위, 자신으로 동기화
+    private static class Sequence {
+        private long nextId;
+        private long endId;
+        private long prefetchedStartId;
+        private long prefetchedEndId;
+        private CompletableFuture<Void> refill;
+
+        private long remaining() {
+            return endId - nextId;
+        }
+
+        private boolean hasPrefetched() {
+            return prefetchedEndId > prefetchedStartId;
+        }
+
+        // 지금 범위에 남은 id는 버림
+        private void usePrefetched() {
+            nextId = prefetchedStartId;
+            endId = prefetchedEndId;
+            prefetchedStartId = 0;
+            prefetchedEndId = 0;
+        }
+    }
+}
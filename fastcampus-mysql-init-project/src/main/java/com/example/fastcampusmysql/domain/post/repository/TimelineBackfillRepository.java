@@ -0,0 +1,169 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.domain.post.entity.TimelineBackfill;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class TimelineBackfillRepository {
+    static final String TABLE = "TimelineBackfill";
+
+    final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    final static private RowMapper<TimelineBackfill> ROW_MAPPER = (ResultSet resultSet, int rowNum) -> TimelineBackfill.builder()
+            .id(resultSet.getLong("id"))
+            .memberId(resultSet.getLong("memberId"))
+            .authorId(resultSet.getLong("authorId"))
+            .type(TimelineBackfill.Type.valueOf(resultSet.getString("type")))
+            .lastPostId(resultSet.getObject("lastPostId", Long.class))
+            .claimedBy(resultSet.getString("claimedBy"))
+            .createdAt(resultSet.getObject("createdAt", LocalDateTime.class))
+            .build();
+
+    public TimelineBackfill save(TimelineBackfill backfill) {
+        if(backfill.getId() == null) {
+            return insert(backfill);
+        }
+
+        throw new UnsupportedOperationException("TimelineBackfill은 갱신을 지원하지 않습니다.");
+    }
+
+    // pull 작성자에서 빠진 작성자의 팔로워들에게 한 번에 남김(PullAuthorExitWorker)
+    public void saveAll(List<TimelineBackfill> backfills) {
+        if(backfills.isEmpty()) {
+            return;
+        }
+
+        var sql = String.format("INSERT INTO %s (memberId, authorId, type, lastPostId, createdAt) " +
+                "VALUES (:memberId, :authorId, :type, :lastPostId, :createdAt)", TABLE);
+        SqlParameterSource[] params = backfills.stream()
+                .map(backfill -> new MapSqlParameterSource()
+                        .addValue("memberId", backfill.getMemberId())
+                        .addValue("authorId", backfill.getAuthorId())
+                        .addValue("type", backfill.getType().name())
+                        .addValue("lastPostId", backfill.getLastPostId())
+                        .addValue("createdAt", backfill.getCreatedAt()))
+                .toArray(SqlParameterSource[]::new);
+        namedParameterJdbcTemplate.batchUpdate(sql, params);
+    }
+
+    // TimelineOutboxRepository.claim과 같은 방식(FOR UPDATE SKIP LOCKED + lease + claimedBy 토큰)
+    //  -> 호출하는 쪽에서 트랜잭션으로 묶을 것
+    public List<TimelineBackfill> claim(int size, Duration lease) {
+        var selectSql = String.format("SELECT id, memberId, authorId, type, lastPostId, claimedBy, createdAt " +
+                "FROM %s " +
+                "WHERE completedAt IS NULL AND (claimedUntil IS NULL OR claimedUntil < NOW(6)) " +
+                "ORDER BY id " +
+                "LIMIT :size " +
+                "FOR UPDATE SKIP LOCKED", TABLE);
+        var backfills = namedParameterJdbcTemplate.query(selectSql, new MapSqlParameterSource("size", size), ROW_MAPPER);
+        if(backfills.isEmpty()) {
+            return backfills;
+        }
+
+        var claimedBy = UUID.randomUUID().toString();
+        var updateSql = String.format("UPDATE %s SET " +
+                "claimedBy = :claimedBy, " +
+                "claimedUntil = NOW(6) + INTERVAL :leaseMillis * 1000 MICROSECOND " +
+                "WHERE id in (:ids)", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("claimedBy", claimedBy)
+                .addValue("leaseMillis", lease.toMillis())
+                .addValue("ids", backfills.stream().map(TimelineBackfill::getId).toList());
+        namedParameterJdbcTemplate.update(updateSql, params);
+
+        return backfills.stream()
+                .map(backfill -> TimelineBackfill.builder()
+                        .id(backfill.getId())
+                        .memberId(backfill.getMemberId())
+                        .authorId(backfill.getAuthorId())
+                        .type(backfill.getType())
+                        .lastPostId(backfill.getLastPostId())
+                        .claimedBy(claimedBy)
+                        .createdAt(backfill.getCreatedAt())
+                        .build())
+                .toList();
+    }
+
+    // chunk 하나를 지운 뒤 체크포인트를 남기고 lease를 연장(Timeline delete와 같은 트랜잭션)
+    //  -> 다른 워커가 다시 가져간 작업이면 예외를 던져서 같은 트랜잭션의 Timeline delete도 롤백
+    public void saveCheckpoint(Long id, String claimedBy, Long lastPostId, Duration lease) {
+        var sql = String.format("UPDATE %s SET " +
+                "lastPostId = :lastPostId, " +
+                "claimedUntil = NOW(6) + INTERVAL :leaseMillis * 1000 MICROSECOND " +
+                "WHERE id = :id AND claimedBy = :claimedBy AND completedAt IS NULL", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("claimedBy", claimedBy)
+                .addValue("lastPostId", lastPostId)
+                .addValue("leaseMillis", lease.toMillis());
+        if(namedParameterJdbcTemplate.update(sql, params) == 0) {
+            throw new IllegalStateException("다른 워커가 가져간 보정 작업입니다. id=" + id);
+        }
+    }
+
+    public void complete(Long id, String claimedBy) {
+        var sql = String.format("UPDATE %s SET completedAt = NOW(6), claimedUntil = NULL " +
+                "WHERE id = :id AND claimedBy = :claimedBy AND completedAt IS NULL", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("claimedBy", claimedBy);
+        if(namedParameterJdbcTemplate.update(sql, params) == 0) {
+            throw new IllegalStateException("다른 워커가 가져간 보정 작업입니다. id=" + id);
+        }
+    }
+
+    // 완료된 지 오래된 작업을 size개씩 지움(TimelineOutboxRepository.deleteAllCompletedBefore와 같음)
+    public int deleteAllCompletedBefore(LocalDateTime before, int size) {
+        var sql = String.format("DELETE FROM %s WHERE completedAt < :before LIMIT :size", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("before", before)
+                .addValue("size", size);
+        return namedParameterJdbcTemplate.update(sql, params);
+    }
+
+    public long countPending() {
+        var sql = String.format("SELECT count(id) FROM %s WHERE completedAt IS NULL", TABLE);
+        return namedParameterJdbcTemplate.queryForObject(sql, new MapSqlParameterSource(), Long.class);
+    }
+
+    public long countPendingByAuthorId(Long authorId) {
+        var sql = String.format("SELECT count(id) FROM %s WHERE authorId = :authorId AND completedAt IS NULL", TABLE);
+        return namedParameterJdbcTemplate.queryForObject(sql, new MapSqlParameterSource("authorId", authorId), Long.class);
+    }
+
+    private TimelineBackfill insert(TimelineBackfill backfill) {
+        SimpleJdbcInsert jdbcInsert = new SimpleJdbcInsert(namedParameterJdbcTemplate.getJdbcTemplate())
+                .withTableName(TABLE)
+                .usingColumns("memberId", "authorId", "type", "lastPostId", "createdAt")
+                .usingGeneratedKeyColumns("id");
+
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", backfill.getMemberId())
+                .addValue("authorId", backfill.getAuthorId())
+                .addValue("type", backfill.getType().name())
+                .addValue("lastPostId", backfill.getLastPostId())
+                .addValue("createdAt", backfill.getCreatedAt());
+        var id = jdbcInsert.executeAndReturnKey(params).longValue();
+
+        return TimelineBackfill.builder()
+                .id(id)
+                .memberId(backfill.getMemberId())
+                .authorId(backfill.getAuthorId())
+                .type(backfill.getType())
+                .lastPostId(backfill.getLastPostId())
+                .createdAt(backfill.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,218 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.domain.post.entity.Timeline;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 회원별 타임라인의 최신 postId entriesPerMember개를 메모리에 들고 있는 캐시
+//  - 타임라인 조회(GetTimelinePostUsecase.executeByTimeline)는 postId를 커서로 쓰고 대부분 첫 페이지이므로
+//    첫 페이지와 얕은 커서 조회는 Timeline을 읽지 않고 캐시의 postId로 게시물을 가져옴(PostCache)
+//  - 회원마다 고정 크기 long 배열 하나를 postId 내림차순 ring buffer로 사용(항목당 8byte)
+//      -> 새 항목은 가장 오래된 항목 자리에 덮어씀
+//  - 처음 조회할 때 DB에서 채우고(lazy), 배달(insert)된 Timeline은 이미 캐시된 회원에만 덧붙임
+//      -> 배달할 때 postId를 알고 있으므로 DB를 다시 읽지 않음
+//  - 캐시하는 회원 수는 maxMembers로 제한하고 가장 오래 조회하지 않은 회원부터 내보냄(LRU)
+//      -> 가득 찬 상태에서 새로 채울 때만 전체를 훑어서 찾음(채우기는 DB 조회 뒤에만 일어나므로 그에 비하면 작음)
+//  - 조회가 서로 막지 않도록 전체 lock 없이 ConcurrentHashMap + 회원(ring)마다 lock
+//      -> 채우기/배달/삭제가 겹치는 것은 load token 맵(loading)의 회원 key 단위 연산으로 순서를 맞춤
+//  - 다른 서버에서 배달한 Timeline은 알 수 없으므로 expireAfter가 지나면 다시 채움
+//  - 채우기 위해 DB를 읽는 도중에 그 회원의 타임라인이 바뀐 경우(읽은 값이 이미 예전 값일 수 있음)에는 캐시에 넣지 않음
+//      -> 읽기 전에 회원별 load token을 받고, 그 회원에게 배달/삭제가 반영되면 token을 지움
+//      -> 다른 회원의 배달은 채우기에 영향을 주지 않음
+@Component
+class TimelineHeadCache {
+    final private Map<Long, PostIdRing> members = new ConcurrentHashMap<>();
+    // 채우는 중인 회원 -> load token
+    final private Map<Long, Long> loading = new ConcurrentHashMap<>();
+    final private int entriesPerMember;
+    final private int maxMembers;
+    final private long expireAfterNanos;
+    final private AtomicLong nextLoadToken = new AtomicLong();
+
+    @Autowired
+    TimelineHeadCache(
+            @Value("${timeline.head-cache.entries-per-member:50}") int entriesPerMember,
+            @Value("${timeline.head-cache.max-members:10000}") int maxMembers,
+            @Value("${timeline.head-cache.expire-after-ms:10000}") long expireAfterMillis
+    ) {
+        Assert.isTrue(entriesPerMember > 0, "entriesPerMember는 1 이상이어야 합니다.");
+        Assert.isTrue(maxMembers > 0, "maxMembers는 1 이상이어야 합니다.");
+        this.entriesPerMember = entriesPerMember;
+        this.maxMembers = maxMembers;
+        this.expireAfterNanos = expireAfterMillis * 1_000_000L;
+    }
+
+    int entriesPerMember() {
+        return entriesPerMember;
+    }
+
+    // 캐시만으로 응답할 수 있으면 postId 내림차순 size개, cursorPostId가 null이면 가장 최신부터 아니면 cursorPostId보다 작은 것부터
+    //  -> 캐시에 cursorPostId 뒤로 size개가 없고 그 회원의 타임라인 전체가 캐시에 있는 것도 아니면 empty
+    Optional<List<Long>> find(Long memberId, Long cursorPostId, int size) {
+        var ring = members.get(memberId);
+        if(ring == null || System.nanoTime() - ring.loadedAt > expireAfterNanos) {
+            return Optional.empty();
+        }
+
+        synchronized (ring) {
+            ring.lastAccessedAt = System.nanoTime();
+            var start = cursorPostId == null ? 0 : ring.indexOfFirstLessThan(cursorPostId);
+            var available = ring.count - start;
+            if(available < size && !ring.complete) {
+                return Optional.empty();
+            }
+
+            var postIds = new ArrayList<Long>(Math.min(size, available));
+            for(int i = start; i < start + Math.min(size, available); i++) {
+                postIds.add(ring.get(i));
+            }
+            return Optional.of(postIds);
+        }
+    }
+
+    // DB에서 읽기 전에 호출, 돌려준 token을 fill에 넘김
+    long beginLoad(Long memberId) {
+        var token = nextLoadToken.incrementAndGet();
+        loading.put(memberId, token);
+        return token;
+    }
+
+    // postIds : DB에서 읽은 회원의 최신 postId(내림차순, 최대 entriesPerMember개)
+    //  -> entriesPerMember개보다 적게 읽었다면 그 회원의 타임라인 전체
+    void fill(Long memberId, List<Long> postIds, long loadToken) {
+        var ring = new PostIdRing(entriesPerMember);
+        for(int i = postIds.size() - 1; i >= 0; i--) {
+            ring.add(postIds.get(i));
+        }
+        ring.complete = postIds.size() < entriesPerMember;
+
+        // token 확인과 넣기를 회원 key 단위로 묶음
+        //  -> 배달/삭제가 token을 먼저 지웠으면 넣지 않고, 넣은 뒤라면 배달/삭제가 넣은 ring에 반영됨
+        var filled = new boolean[1];
+        loading.computeIfPresent(memberId, (id, token) -> {
+            if(token != loadToken) {
+                return token;
+            }
+            members.put(memberId, ring);
+            filled[0] = true;
+            return null;
+        });
+        if(filled[0] && members.size() > maxMembers) {
+            evictLeastRecentlyUsed();
+        }
+    }
+
+    // 배달이 커밋된 뒤 호출, 캐시된 회원에는 덧붙이고 채우는 중인 회원은 그 결과를 버림
+    void applyInserted(List<Timeline> insertedTimelines) {
+        for(var timeline : insertedTimelines) {
+            loading.remove(timeline.getMemberId());
+            var ring = members.get(timeline.getMemberId());
+            if(ring != null) {
+                synchronized (ring) {
+                    ring.add(timeline.getPostId());
+                }
+            }
+        }
+    }
+
+    // 타임라인에서 지운 항목이 있는 회원은 다음 조회 때 DB에서 다시 채움
+    void invalidate(Collection<Long> memberIds) {
+        for(var memberId : memberIds) {
+            loading.remove(memberId);
+            members.remove(memberId);
+        }
+    }
+
+    void invalidateAll() {
+        loading.clear();
+        members.clear();
+    }
+
+    // 여러 스레드가 동시에 내보내도 maxMembers 밑으로 내려가면 멈춤, 그 사이 바뀐 ring은 지우지 않음(remove(key, value))
+    private void evictLeastRecentlyUsed() {
+        while (members.size() > maxMembers) {
+            Map.Entry<Long, PostIdRing> eldest = null;
+            for(var entry : members.entrySet()) {
+                if(eldest == null || entry.getValue().lastAccessedAt < eldest.getValue().lastAccessedAt) {
+                    eldest = entry;
+                }
+            }
+            if(eldest == null) {
+                return;
+            }
+            members.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    // 회원 한 명의 최신 postId, 논리 위치 0이 가장 최신(postId가 가장 큰) 항목
+    //  -> 배열과 count, complete는 자신으로 동기화
+    private static class PostIdRing {
+        final private long[] postIds;
+        final private long loadedAt = System.nanoTime();
+        private volatile long lastAccessedAt = loadedAt;
+        // 가장 최신 항목의 배열 위치
+        private int newest = -1;
+        private int count;
+        // 회원의 타임라인 전체가 들어있는지(가장 오래된 항목보다 오래된 Timeline이 없는지)
+        private boolean complete = true;
+
+        private PostIdRing(int capacity) {
+            this.postIds = new long[capacity];
+        }
+
+        // 보통은 가장 최신 항목으로 들어오므로 newest만 한 칸 옮기고 가장 오래된 자리에 씀
+        //  -> 백필처럼 예전 게시물이 들어오거나 배달 순서가 바뀌면 중간에 들어가므로 더 최신 항목들을 한 칸씩 당김
+        private void add(long postId) {
+            var position = 0;
+            while (position < count && postIds[index(position)] > postId) {
+                position++;
+            }
+            if(position < count && postIds[index(position)] == postId) {
+                return;
+            }
+            if(count == postIds.length) {
+                if(position == count) {
+                    // 들고 있는 어떤 항목보다 오래된 항목이라 캐시 범위 밖
+                    //  -> 가장 오래된 항목 뒤에 Timeline이 생겼으므로 더 이상 타임라인 전체가 아님
+                    complete = false;
+                    return;
+                }
+                count--;
+                complete = false;
+            }
+
+            newest = (newest + 1) % postIds.length;
+            count++;
+            for(int i = 0; i < position; i++) {
+                postIds[index(i)] = postIds[index(i + 1)];
+            }
+            postIds[index(position)] = postId;
+        }
+
+        private int indexOfFirstLessThan(long postId) {
+            var position = 0;
+            while (position < count && postIds[index(position)] >= postId) {
+                position++;
+            }
+            return position;
+        }
+
+        private long get(int position) {
+            return postIds[index(position)];
+        }
+
+        private int index(int position) {
+            return Math.floorMod(newest - position, postIds.length);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.domain.post.entity.TimelineOutbox;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+@Repository
+@RequiredArgsConstructor
+public class TimelineOutboxRepository {
+    static final String TABLE = "TimelineOutbox";
+
+    final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    final static private RowMapper<TimelineOutbox> ROW_MAPPER = (ResultSet resultSet, int rowNum) -> TimelineOutbox.builder()
+            .id(resultSet.getLong("id"))
+            .postId(resultSet.getLong("postId"))
+            .authorId(resultSet.getLong("authorId"))
+            .lastFollowId(resultSet.getLong("lastFollowId"))
+            .claimedBy(resultSet.getString("claimedBy"))
+            .createdAt(resultSet.getObject("createdAt", LocalDateTime.class))
+            .build();
+
+    public TimelineOutbox save(TimelineOutbox outbox) {
+        if(outbox.getId() == null) {
+            return insert(outbox);
+        }
+
+        throw new UnsupportedOperationException("TimelineOutbox는 갱신을 지원하지 않습니다.");
+    }
+
+    // 배달할 작업을 가져가면서 lease 동안 다른 서버가 가져가지 못하게 표시
+    //  - FOR UPDATE SKIP LOCKED : 다른 서버가 지금 가져가고 있는 행은 기다리지 않고 건너뜀
+    //  - lease가 끝날 때까지 완료/체크포인트가 없으면(서버가 죽은 경우) 다른 서버가 다시 가져감
+    //  - 호출하는 쪽에서 트랜잭션으로 묶어야 SELECT와 UPDATE 사이에 다른 서버가 같은 행을 가져가지 않음
+    //  - 가져갈 때마다 새 토큰(claimedBy)을 남기고, 반환하는 작업에도 같은 토큰을 담음
+    //      -> lease가 끝난 뒤 다른 워커가 다시 가져가면 토큰이 바뀌므로 이전 워커의 체크포인트/완료는 반영되지 않음
+    public List<TimelineOutbox> claim(int size, Duration lease) {
+        var selectSql = String.format("SELECT * " +
+                "FROM %s " +
+                "WHERE completedAt IS NULL AND (claimedUntil IS NULL OR claimedUntil < NOW(6)) " +
+                "ORDER BY id " +
+                "LIMIT :size " +
+                "FOR UPDATE SKIP LOCKED", TABLE);
+        var outboxes = namedParameterJdbcTemplate.query(selectSql, new MapSqlParameterSource("size", size), ROW_MAPPER);
+        if(outboxes.isEmpty()) {
+            return outboxes;
+        }
+
+        var claimedBy = UUID.randomUUID().toString();
+        var updateSql = String.format("UPDATE %s SET " +
+                "claimedBy = :claimedBy, " +
+                "claimedUntil = NOW(6) + INTERVAL :leaseMillis * 1000 MICROSECOND " +
+                "WHERE id in (:ids)", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("claimedBy", claimedBy)
+                .addValue("leaseMillis", lease.toMillis())
+                .addValue("ids", outboxes.stream().map(TimelineOutbox::getId).toList());
+        namedParameterJdbcTemplate.update(updateSql, params);
+
+        return outboxes.stream()
+                .map(outbox -> TimelineOutbox.builder()
+                        .id(outbox.getId())
+                        .postId(outbox.getPostId())
+                        .authorId(outbox.getAuthorId())
+                        .lastFollowId(outbox.getLastFollowId())
+                        .claimedBy(claimedBy)
+                        .createdAt(outbox.getCreatedAt())
+                        .build())
+                .toList();
+    }
+
+    // chunk 하나를 배달한 뒤 체크포인트를 남기고 lease를 연장
+    //  -> Timeline insert와 같은 트랜잭션으로 묶어야 죽었다가 이어서 배달할 때 중복 배달되지 않음
+    //  -> 다른 워커가 다시 가져간 작업이면(claimedBy가 다름) 예외를 던져서 같은 트랜잭션의 Timeline insert도 롤백
+    public void saveCheckpoint(Long id, String claimedBy, Long lastFollowId, Duration lease) {
+        var sql = String.format("UPDATE %s SET " +
+                "lastFollowId = :lastFollowId, " +
+                "claimedUntil = NOW(6) + INTERVAL :leaseMillis * 1000 MICROSECOND " +
+                "WHERE id = :id AND claimedBy = :claimedBy AND completedAt IS NULL", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("claimedBy", claimedBy)
+                .addValue("lastFollowId", lastFollowId)
+                .addValue("leaseMillis", lease.toMillis());
+        if(namedParameterJdbcTemplate.update(sql, params) == 0) {
+            throw new IllegalStateException("다른 워커가 가져간 배달 작업입니다. id=" + id);
+        }
+    }
+
+    public void complete(Long id, String claimedBy) {
+        var sql = String.format("UPDATE %s SET completedAt = NOW(6), claimedUntil = NULL " +
+                "WHERE id = :id AND claimedBy = :claimedBy AND completedAt IS NULL", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("id", id)
+                .addValue("claimedBy", claimedBy);
+        if(namedParameterJdbcTemplate.update(sql, params) == 0) {
+            throw new IllegalStateException("다른 워커가 가져간 배달 작업입니다. id=" + id);
+        }
+    }
+
+    // 완료된 지 오래된 작업을 size개씩 지움(완료된 행이 쌓여서 남은 작업 조회가 느려지지 않도록)
+    //  -> completedAt 인덱스로 범위를 읽음, 한 번에 지우는 행 수를 제한해서 lock을 오래 잡지 않음
+    public int deleteAllCompletedBefore(LocalDateTime before, int size) {
+        var sql = String.format("DELETE FROM %s WHERE completedAt < :before LIMIT :size", TABLE);
+        var params = new MapSqlParameterSource()
+                .addValue("before", before)
+                .addValue("size", size);
+        return namedParameterJdbcTemplate.update(sql, params);
+    }
+
+    public long countPending() {
+        var sql = String.format("SELECT count(id) FROM %s WHERE completedAt IS NULL", TABLE);
+        return namedParameterJdbcTemplate.queryForObject(sql, new MapSqlParameterSource(), Long.class);
+    }
+
+    // 아직 배달이 끝나지 않은 가장 오래된 작업의 생성 시각(= 배달 지연)
+    public Optional<LocalDateTime> findOldestPendingCreatedAt() {
+        var sql = String.format("SELECT createdAt FROM %s WHERE completedAt IS NULL ORDER BY id LIMIT 1", TABLE);
+        return namedParameterJdbcTemplate.query(sql, new MapSqlParameterSource(),
+                        (ResultSet resultSet, int rowNum) -> resultSet.getObject("createdAt", LocalDateTime.class))
+                .stream()
+                .findFirst();
+    }
+
+    private TimelineOutbox insert(TimelineOutbox outbox) {
+        SimpleJdbcInsert jdbcInsert = new SimpleJdbcInsert(namedParameterJdbcTemplate.getJdbcTemplate())
+                .withTableName(TABLE)
+                .usingColumns("postId", "authorId", "lastFollowId", "createdAt")
+                .usingGeneratedKeyColumns("id");
+
+        var params = new MapSqlParameterSource()
+                .addValue("postId", outbox.getPostId())
+                .addValue("authorId", outbox.getAuthorId())
+                .addValue("lastFollowId", outbox.getLastFollowId())
+                .addValue("createdAt", outbox.getCreatedAt());
+        var id = jdbcInsert.executeAndReturnKey(params).longValue();
+
+        return TimelineOutbox.builder()
+                .id(id)
+                .postId(outbox.getPostId())
+                .authorId(outbox.getAuthorId())
+                .lastFollowId(outbox.getLastFollowId())
+                .createdAt(outbox.getCreatedAt())
+                .build();
+    }
+}
@@ -1,6 +1,11 @@
 package com.example.fastcampusmysql.domain.post.repository;
 
+import com.example.fastcampusmysql.config.datasource.PrimaryReader;
 import com.example.fastcampusmysql.domain.post.entity.Timeline;
+import com.example.fastcampusmysql.domain.post.entity.TimelineRowMappers;
+import com.example.fastcampusmysql.util.BulkInsertPipeline;
+import com.example.fastcampusmysql.util.loaddata.LoadDataFormat;
+import com.example.fastcampusmysql.util.loaddata.LocalInfileLoader;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.BeanPropertySqlParameterSource;
@@ -9,10 +14,16 @@ import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.jdbc.core.namedparam.SqlParameterSource;
 import org.springframework.jdbc.core.simple.SimpleJdbcInsert;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
-import java.sql.ResultSet;
-import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Repository
 @RequiredArgsConstructor
@@ -20,17 +31,52 @@ public class TimelineRepository {
     // 1. 저장하는 write
     // 2. 회원의 id, 커서를 받아서 커서 처리
 
+    static final String TABLE = "Timeline";
+
     final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
-    final private String TABLE = "Timeline";
-    final private RowMapper<Timeline> ROW_MAPPER = (ResultSet resultSet, int rowNum) -> Timeline.builder()
-            .id(resultSet.getLong("id"))
-            .memberId(resultSet.getLong("memberId"))
-            .postId(resultSet.getLong("postId"))
-            .createdAt(resultSet.getObject("createdAt", LocalDateTime.class))
-            .build();
+    final private BulkInsertPipeline bulkInsertPipeline;
+    final private LocalInfileLoader localInfileLoader;
+    final private TimelineHeadCache timelineHeadCache;
+    final private PrimaryReader primaryReader;
+    // shard.count가 1이면 모든 쿼리가 Timeline 테이블 하나로 감
+    final private MemberShardRouter memberShardRouter;
+    final private ShardIdGenerator shardIdGenerator;
+    final static RowMapper<Timeline> ROW_MAPPER = TimelineRowMappers.ROW_MAPPER;
+    final private LoadDataFormat<Timeline> LOAD_DATA_FORMAT = new LoadDataFormat<>(
+            TABLE,
+            List.of("memberId", "postId", "createdAt"),
+            (timeline, writer) -> writer
+                    .column(timeline.getMemberId())
+                    .column(timeline.getPostId())
+                    .column(timeline.getCreatedAt())
+    );
+
+    // 타임라인의 최신 postId를 최신 타임라인 캐시(TimelineHeadCache)에서 읽음
+    //  - 첫 페이지가 캐시에 없으면 캐시 크기만큼 (memberId, postId) 인덱스로 읽어서 채움(primary에서)
+    //  - 캐시로 응답할 수 없는 깊은 커서는 empty(호출하는 쪽에서 Timeline-Post join으로 읽음)
+    public Optional<List<Long>> findHeadPostIdsByMemberId(Long memberId, Long cursorPostId, int size) {
+        var cached = timelineHeadCache.find(memberId, cursorPostId, size);
+        if(cached.isPresent()) {
+            return cached;
+        }
+
+        var entriesPerMember = timelineHeadCache.entriesPerMember();
+        if(cursorPostId != null || size > entriesPerMember) {
+            return Optional.empty();
+        }
+
+        var loadToken = timelineHeadCache.beginLoad(memberId);
+        var sql = String.format("SELECT " + TimelineRowMappers.POST_ID_ONLY_COLUMNS + " FROM %s WHERE memberId = :memberId ORDER BY postId DESC LIMIT :size", timelineTableOf(memberId));
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("size", entriesPerMember);
+        var postIds = primaryReader.read(() -> namedParameterJdbcTemplate.query(sql, params, TimelineRowMappers.POST_ID_ONLY));
+        timelineHeadCache.fill(memberId, postIds, loadToken);
+        return Optional.of(postIds.subList(0, Math.min(size, postIds.size())));
+    }
 
     public List<Timeline> findAllByMemberIdAndOrderByIdDesc(Long memberId, int size) {
-        var sql = String.format("SELECT * FROM %s WHERE memberId = :memberId ORDER BY id DESC LIMIT :size", TABLE);
+        var sql = String.format("SELECT " + TimelineRowMappers.COLUMNS + " FROM %s WHERE memberId = :memberId ORDER BY id DESC LIMIT :size", timelineTableOf(memberId));
         var params = new MapSqlParameterSource()
                 .addValue("memberId", memberId)
                 .addValue("size", size);
@@ -39,7 +85,7 @@ public class TimelineRepository {
     }
 
     public List<Timeline> findAllByLessThanIdAndMemberIdAndOrderByIdDesc(Long id, Long memberId, int size) {
-        var sql = String.format("SELECT * FROM %s WHERE memberId = :memberId AND id < :id ORDER BY id DESC LIMIT :size", TABLE);
+        var sql = String.format("SELECT " + TimelineRowMappers.COLUMNS + " FROM %s WHERE memberId = :memberId AND id < :id ORDER BY id DESC LIMIT :size", timelineTableOf(memberId));
         var params = new MapSqlParameterSource()
                 .addValue("memberId", memberId)
                 .addValue("id", id)
@@ -48,6 +94,27 @@ public class TimelineRepository {
         return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
     }
 
+    // 하이브리드 타임라인은 pull로 가져온 게시물과 합쳐야 하므로 Timeline id가 아니라 postId를 커서로 사용
+    //  -> (memberId, postId) 인덱스
+    public List<Timeline> findAllByMemberIdAndOrderByPostIdDesc(Long memberId, int size) {
+        var sql = String.format("SELECT " + TimelineRowMappers.COLUMNS + " FROM %s WHERE memberId = :memberId ORDER BY postId DESC LIMIT :size", timelineTableOf(memberId));
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("size", size);
+
+        return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
+    public List<Timeline> findAllByLessThanPostIdAndMemberIdAndOrderByPostIdDesc(Long postId, Long memberId, int size) {
+        var sql = String.format("SELECT " + TimelineRowMappers.COLUMNS + " FROM %s WHERE memberId = :memberId AND postId < :postId ORDER BY postId DESC LIMIT :size", timelineTableOf(memberId));
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("postId", postId)
+                .addValue("size", size);
+
+        return namedParameterJdbcTemplate.query(sql, params, ROW_MAPPER);
+    }
+
     public Timeline save(Timeline timeline) {
         if (timeline.getId() == null) {
             return insert(timeline);
@@ -57,6 +124,15 @@ public class TimelineRepository {
     }
 
     public Timeline insert(Timeline timeline) {
+        if(memberShardRouter.shardCount() > 1) {
+            var saved = withId(timeline, shardIdGenerator.next(TABLE, 1));
+            var sql = String.format("INSERT INTO %s (id, memberId, postId, createdAt) VALUES (:id, :memberId, :postId, :createdAt)",
+                    memberShardRouter.timelineTable(memberShardRouter.shardOfForWrite(saved.getMemberId())));
+            namedParameterJdbcTemplate.update(sql, new BeanPropertySqlParameterSource(saved));
+            applyToHeadCacheAfterCommit(List.of(saved));
+            return saved;
+        }
+
         SimpleJdbcInsert jdbcInsert = new SimpleJdbcInsert(namedParameterJdbcTemplate.getJdbcTemplate())
                 .withTableName(TABLE)
                 .usingGeneratedKeyColumns("id");
@@ -64,15 +140,17 @@ public class TimelineRepository {
         SqlParameterSource params = new BeanPropertySqlParameterSource(timeline);
         var id = jdbcInsert.executeAndReturnKey(params).longValue();
 
-        return Timeline.builder()
-                .id(id)
-                .memberId(timeline.getMemberId())
-                .postId(timeline.getPostId())
-                .createdAt(timeline.getCreatedAt())
-                .build();
+        var saved = withId(timeline, id);
+        applyToHeadCacheAfterCommit(List.of(saved));
+        return saved;
     }
 
     public void bulkInsert(List<Timeline> timelines) {
+        if(memberShardRouter.shardCount() > 1) {
+            bulkInsertToShards(timelines);
+            return;
+        }
+
         var sql = String.format("INSERT INTO %s (memberId, postId, createdAt) " +
                 "VALUES (:memberId, :postId, :createdAt)", TABLE);
         SqlParameterSource[] params = timelines.stream()
@@ -80,5 +158,123 @@ public class TimelineRepository {
                 .toArray(SqlParameterSource[]::new);
 
         namedParameterJdbcTemplate.batchUpdate(sql, params);
+        applyToHeadCacheAfterCommit(timelines);
+    }
+
+    // 배달받는 회원의 샤드별로 나눠서 insert
+    private void bulkInsertToShards(List<Timeline> timelines) {
+        if(timelines.isEmpty()) {
+            return;
+        }
+
+        var memberIds = timelines.stream()
+                .map(Timeline::getMemberId)
+                .collect(Collectors.toSet());
+        var shards = memberShardRouter.shardsOfForWrite(memberIds);
+        var nextId = shardIdGenerator.next(TABLE, timelines.size());
+        var saved = new ArrayList<Timeline>(timelines.size());
+        var timelinesByShard = new HashMap<Integer, List<Timeline>>();
+        for(var timeline : timelines) {
+            var withId = withId(timeline, nextId++);
+            saved.add(withId);
+            timelinesByShard.computeIfAbsent(shards.get(timeline.getMemberId()), shard -> new ArrayList<>()).add(withId);
+        }
+
+        timelinesByShard.forEach((shard, shardTimelines) -> namedParameterJdbcTemplate.batchUpdate(
+                String.format("INSERT INTO %s (id, memberId, postId, createdAt) " +
+                        "VALUES (:id, :memberId, :postId, :createdAt)", memberShardRouter.timelineTable(shard)),
+                shardTimelines.stream()
+                        .map(BeanPropertySqlParameterSource::new)
+                        .toArray(SqlParameterSource[]::new)));
+        applyToHeadCacheAfterCommit(saved);
+    }
+
+    // 팔로워가 많은 회원의 배달처럼 row 수가 큰 경우 chunk 단위로 나눠서 insert
+    public BulkInsertPipeline.BulkInsertResult bulkInsert(Stream<Timeline> timelines) {
+        return bulkInsertPipeline.run(timelines.iterator(), this::bulkInsert);
+    }
+
+    // 백필처럼 row 수가 매우 큰 경우 LOAD DATA LOCAL INFILE로 적재, 사용할 수 없거나 샤드가 여러 개면 batch insert
+    public BulkInsertPipeline.BulkInsertResult bulkLoad(Stream<Timeline> timelines) {
+        if(!localInfileLoader.isAvailable() || memberShardRouter.shardCount() > 1) {
+            return bulkInsert(timelines);
+        }
+        var result = localInfileLoader.load(LOAD_DATA_FORMAT, timelines.iterator());
+        timelineHeadCache.invalidateAll();
+        return result;
+    }
+
+    // 회원의 타임라인에 이미 있는 게시물(백필할 때 중복 확인용), (memberId, postId) 인덱스
+    public List<Long> findAllPostIdsByMemberIdAndInPostId(Long memberId, Collection<Long> postIds) {
+        if(postIds.isEmpty()) {
+            return List.of();
+        }
+
+        var sql = String.format("SELECT " + TimelineRowMappers.POST_ID_ONLY_COLUMNS + " FROM %s WHERE memberId = :memberId AND postId in (:postIds)",
+                memberShardRouter.timelineTable(memberShardRouter.shardOfForWrite(memberId)));
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("postIds", postIds);
+        return namedParameterJdbcTemplate.query(sql, params, TimelineRowMappers.POST_ID_ONLY);
+    }
+
+    // 회원의 타임라인에서 postIds 게시물을 지우고 지운 행 수를 반환
+    //  -> 캐시에 남은 항목은 지울 수 없으므로 커밋 후 그 회원의 캐시를 비움
+    public int deleteAllByMemberIdAndInPostId(Long memberId, Collection<Long> postIds) {
+        if(postIds.isEmpty()) {
+            return 0;
+        }
+
+        var sql = String.format("DELETE FROM %s WHERE memberId = :memberId AND postId in (:postIds)",
+                memberShardRouter.timelineTable(memberShardRouter.shardOfForWrite(memberId)));
+        var params = new MapSqlParameterSource()
+                .addValue("memberId", memberId)
+                .addValue("postIds", postIds);
+        var deleted = namedParameterJdbcTemplate.update(sql, params);
+        if(deleted > 0) {
+            invalidateHeadCacheAfterCommit(List.of(memberId));
+        }
+        return deleted;
+    }
+
+    private void invalidateHeadCacheAfterCommit(Collection<Long> memberIds) {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    timelineHeadCache.invalidate(memberIds);
+                }
+            });
+            return;
+        }
+        timelineHeadCache.invalidate(memberIds);
+    }
+
+    // 롤백된 배달이 캐시에 남지 않도록 트랜잭션 안이라면 커밋 후에 반영
+    //  -> 캐시는 postId만 들고 있으므로 insert한 Timeline을 다시 읽지 않음
+    private void applyToHeadCacheAfterCommit(List<Timeline> inserted) {
+        if(TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    timelineHeadCache.applyInserted(inserted);
+                }
+            });
+            return;
+        }
+        timelineHeadCache.applyInserted(inserted);
+    }
+
+    private String timelineTableOf(Long memberId) {
+        return memberShardRouter.timelineTable(memberShardRouter.shardOf(memberId));
+    }
+
+    private static Timeline withId(Timeline timeline, long id) {
+        return Timeline.builder()
+                .id(id)
+                .memberId(timeline.getMemberId())
+                .postId(timeline.getPostId())
+                .createdAt(timeline.getCreatedAt())
+                .build();
     }
 }
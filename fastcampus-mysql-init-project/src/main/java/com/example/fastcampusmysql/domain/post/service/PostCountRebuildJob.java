@@ -0,0 +1,49 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import com.example.fastcampusmysql.domain.post.repository.MemberPostCountRepository;
+import com.example.fastcampusmysql.domain.post.repository.PostDailyCountRepository;
+import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// 집계 테이블(PostDailyCount, MemberPostCount)이 생기기 전에 쌓인 게시물로 집계를 채우는 작업
+//  - post.count.rebuild-on-startup=true 로 띄우면 서버 시작 시 한 번 실행
+//  - 전체를 하나의 트랜잭션으로 돌리면 너무 길어지므로 회원 단위로 트랜잭션을 나눔
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCountRebuildJob implements ApplicationRunner {
+    final private PostRepository postRepository;
+    final private PostDailyCountRepository postDailyCountRepository;
+    final private MemberPostCountRepository memberPostCountRepository;
+    final private TransactionTemplate transactionTemplate;
+
+    @Value("${post.count.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if(rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    public void rebuild() {
+        var memberIds = postRepository.findAllMemberIds();
+        log.info("게시물 수 집계 재생성 시작. members={}", memberIds.size());
+
+        for (var memberId : memberIds) {
+            transactionTemplate.executeWithoutResult(status -> {
+                postDailyCountRepository.rebuild(memberId);
+                memberPostCountRepository.rebuild(memberId);
+            });
+        }
+
+        log.info("게시물 수 집계 재생성 완료");
+    }
+}
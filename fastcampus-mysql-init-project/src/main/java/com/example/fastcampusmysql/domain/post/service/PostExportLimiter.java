@@ -0,0 +1,28 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Semaphore;
+
+// 동시에 실행하는 게시물 export 수 제한
+//  - export는 끝날 때까지 replica 커넥션을 하나씩 잡고 있으므로 제한이 없으면 다른 조회가 커넥션을 얻지 못함
+//  - 자리가 없으면 기다리지 않고 바로 거절(호출하는 쪽에서 429)
+@Component
+public class PostExportLimiter {
+    final private Semaphore permits;
+
+    public PostExportLimiter(@Value("${post.export.max-concurrent:3}") int maxConcurrent) {
+        Assert.isTrue(maxConcurrent > 0, "maxConcurrent는 1 이상이어야 합니다.");
+        this.permits = new Semaphore(maxConcurrent);
+    }
+
+    public boolean tryAcquire() {
+        return permits.tryAcquire();
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
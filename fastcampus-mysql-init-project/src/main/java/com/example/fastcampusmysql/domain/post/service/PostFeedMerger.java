@@ -0,0 +1,139 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+// 여러 회원의 게시물을 최신순(id 내림차순)으로 합쳐서 size개만 꺼내는 k-way merge
+//  - memberId IN (...) 쿼리는 팔로우한 회원이 많으면 모든 회원의 게시물 범위를 읽고 filesort까지 함
+//  - 대신 회원마다 (memberId, id < cursor) 인덱스 seek으로 몇 개씩만 읽고, 힙으로 가장 최신 게시물부터 꺼냄
+//      -> 회원들을 chunkSize명씩 묶어 UNION ALL 쿼리 하나로 만들고 여러 chunk를 동시에 조회
+//      -> 어떤 회원의 게시물을 다 꺼냈는데 그 회원에게 더 있을 수 있으면 그 회원만 이어서 더 읽음
+//  - size개를 꺼내면 바로 멈추므로 읽는 행 수는 (회원 수 * 처음 읽는 개수 + 추가로 읽은 개수)를 넘지 않음
+@Component
+public class PostFeedMerger {
+    // 게시물이 한 회원에게 몰려 있으면 그 회원만 여러 번 추가로 읽게 되므로 처음 읽는 개수의 최소값을 둠
+    final private static int MIN_LIMIT_PER_MEMBER = 4;
+
+    final private PostRepository postRepository;
+    final private Executor feedQueryExecutor;
+    final private int chunkSize;
+
+    @Autowired
+    public PostFeedMerger(
+            PostRepository postRepository,
+            @Qualifier("feedQueryExecutor") Executor feedQueryExecutor,
+            @Value("${feed.merge.chunk-size:100}") int chunkSize
+    ) {
+        Assert.isTrue(chunkSize > 0, "chunkSize는 1 이상이어야 합니다.");
+        this.postRepository = postRepository;
+        this.feedQueryExecutor = feedQueryExecutor;
+        this.chunkSize = chunkSize;
+    }
+
+    // cursorId가 null이면 가장 최신 게시물부터, 아니면 cursorId보다 작은 게시물부터
+    public List<Post> merge(List<Long> memberIds, Long cursorId, int size) {
+        if(memberIds.isEmpty() || size <= 0) {
+            return List.of();
+        }
+
+        // 게시물이 고르게 퍼져 있다면 회원마다 size / 회원 수 정도만 필요하므로 여유를 두고 2배를 읽음
+        var limit = Math.min(size, Math.max(MIN_LIMIT_PER_MEMBER, (size * 2 + memberIds.size() - 1) / memberIds.size()));
+
+        var futures = new ArrayList<CompletableFuture<List<Post>>>();
+        for(int from = 0; from < memberIds.size(); from += chunkSize) {
+            var chunk = memberIds.subList(from, Math.min(from + chunkSize, memberIds.size()));
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> postRepository.findAllBySeekEachMemberId(chunk, cursorId, limit), feedQueryExecutor));
+        }
+
+        var membersById = new HashMap<Long, MemberPosts>();
+        for(var future : futures) {
+            for(var post : join(future)) {
+                membersById.computeIfAbsent(post.getMemberId(), MemberPosts::new).posts.add(post);
+            }
+        }
+
+        var heap = new PriorityQueue<MemberPosts>(Comparator.comparing(MemberPosts::headId).reversed());
+        for(var member : membersById.values()) {
+            member.prepare(limit);
+            heap.add(member);
+        }
+
+        var merged = new ArrayList<Post>(size);
+        while (merged.size() < size && !heap.isEmpty()) {
+            var member = heap.poll();
+            merged.add(member.next());
+
+            // 이 회원에게서 읽은 게시물을 다 꺼냈는데 읽은 개수가 limit만큼이었다면 더 있을 수 있음
+            //  -> 남은 개수만큼만 이어서 읽고 다시 힙에 넣음
+            if(!member.hasNext() && member.mayHaveMore && merged.size() < size) {
+                var remaining = size - merged.size();
+                member.posts.clear();
+                member.posts.addAll(postRepository.findAllBySeekEachMemberId(List.of(member.memberId), member.lastId, remaining));
+                member.prepare(remaining);
+            }
+            if(member.hasNext()) {
+                heap.add(member);
+            }
+        }
+        return merged;
+    }
+
+    private static List<Post> join(CompletableFuture<List<Post>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if(e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    // 한 회원에게서 읽어온 게시물과 다음에 꺼낼 위치
+    private static class MemberPosts {
+        final private Long memberId;
+        final private List<Post> posts = new ArrayList<>();
+        private int position;
+        private Long lastId;
+        private boolean mayHaveMore;
+
+        private MemberPosts(Long memberId) {
+            this.memberId = memberId;
+        }
+
+        private void prepare(int requested) {
+            posts.sort(Comparator.comparing(Post::getId).reversed());
+            position = 0;
+            mayHaveMore = posts.size() >= requested;
+        }
+
+        private Long headId() {
+            return posts.get(position).getId();
+        }
+
+        private boolean hasNext() {
+            return position < posts.size();
+        }
+
+        private Post next() {
+            var post = posts.get(position++);
+            lastId = post.getId();
+            return post;
+        }
+    }
+}
@@ -0,0 +1,183 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import javax.annotation.PreDestroy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongSupplier;
+
+// 좋아요 write-behind 버퍼
+//  - 낙관적 락 방식은 좋아요 한 번마다 SELECT + version UPDATE가 나가고, 인기 게시물이면 대부분 "갱신 실패"로 끝남
+//  - 좋아요를 메모리에 누적해두고 일정 주기마다 likeCount = likeCount + ? 로 한 번에 반영
+//  - 게시물 하나에 좋아요가 몰려도 하나의 카운터를 두고 경합하지 않도록 stripe를 여러 개 두고 스레드별로 나눠서 누적
+//  - 트레이드오프 : flush 전에 서버가 죽으면 그 사이의 좋아요는 유실될 수 있음(정상 종료 시에는 flush 후 종료)
+//  - 조회 시 좋아요가 빠지거나 두 번 세어지지 않도록
+//      -> stripe의 증가분은 같은 lock 안에서 반영 중(inFlight)으로 옮김 -> 꺼낸 뒤 반영 중으로 표시되기 전의 틈이 없음
+//      -> DB 반영 + 반영 중 비우기는 commitLock의 write lock 안에서 하고, 시작할 때 generation을 올림
+//      -> 조회는 read lock 안에서 남은 증가분과 generation만 읽고, lock을 놓은 뒤 DB 값을 읽음
+//          -> DB 값을 읽는 동안 generation이 바뀌었으면(flush가 끼어들었으면) 반영 전/후 어느 값인지 모르므로 다시 읽음
+//          -> 느린 조회가 flush를 막지 않고, 조회는 flush와 겹쳤을 때만 그 flush가 끝날 때까지 기다림
+@Slf4j
+@Component
+public class PostLikeCountBuffer {
+    final private static long MIN_FLUSH_INTERVAL_MS = 100;
+    final private static long MAX_FLUSH_INTERVAL_MS = 60_000;
+
+    final private PostRepository postRepository;
+    final private Stripe[] stripes;
+    final private ReentrantLock flushLock = new ReentrantLock();
+    final private ReentrantReadWriteLock commitLock = new ReentrantReadWriteLock();
+    // flush가 DB 반영을 시작할 때마다 증가(commitLock의 write lock 안에서만 바꿈)
+    private volatile long generation;
+
+    public PostLikeCountBuffer(
+            PostRepository postRepository,
+            @Value("${post.like.write-behind.stripes:16}") int stripeCount,
+            @Value("${post.like.write-behind.flush-interval-ms:1000}") long flushIntervalMs
+    ) {
+        Assert.isTrue(stripeCount > 0, "stripe 개수는 1 이상이어야 합니다.");
+        // flush 주기가 곧 DB에 반영되기까지 걸리는 최대 지연 시간이므로 범위를 제한
+        Assert.isTrue(flushIntervalMs >= MIN_FLUSH_INTERVAL_MS && flushIntervalMs <= MAX_FLUSH_INTERVAL_MS,
+                "flush 주기는 " + MIN_FLUSH_INTERVAL_MS + "ms ~ " + MAX_FLUSH_INTERVAL_MS + "ms 사이여야 합니다.");
+
+        this.postRepository = postRepository;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    public void increment(Long postId) {
+        // 같은 스레드는 항상 같은 stripe를 쓰도록 해서 스레드끼리 lock 경합이 거의 일어나지 않게 함
+        var stripe = stripes[(int) (Thread.currentThread().getId() % stripes.length)];
+        synchronized (stripe) {
+            stripe.deltas.computeIfAbsent(postId, key -> new long[1])[0]++;
+        }
+    }
+
+    // DB에 반영된 좋아요 수(committedLikeCount) + 아직 DB에 반영되지 않은 좋아요 수
+    //  -> committedLikeCount는 캐시나 replica가 아니라 primary에서 읽어야 flush 직후에도 값이 줄어들지 않음
+    public long getLikeCount(Long postId, LongSupplier committedLikeCount) {
+        while (true) {
+            long pending;
+            long readGeneration;
+            commitLock.readLock().lock();
+            try {
+                readGeneration = generation;
+                pending = getPending(postId);
+            } finally {
+                commitLock.readLock().unlock();
+            }
+
+            var committed = committedLikeCount.getAsLong();
+            if(generation == readGeneration) {
+                return committed + pending;
+            }
+        }
+    }
+
+    // 아직 DB에 반영되지 않은 좋아요 수(반영 중인 것 포함)
+    public long getPending(Long postId) {
+        long pending = 0;
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                pending += sum(stripe.deltas, postId) + sum(stripe.inFlight, postId);
+            }
+        }
+        return pending;
+    }
+
+    @Scheduled(fixedDelayString = "${post.like.write-behind.flush-interval-ms:1000}")
+    public void flush() {
+        // 스케줄러와 종료 시점의 flush가 겹치지 않도록 flush는 한 번에 하나만
+        flushLock.lock();
+        try {
+            var deltas = drain();
+            if (deltas.isEmpty()) {
+                return;
+            }
+
+            commitLock.writeLock().lock();
+            try {
+                generation++;
+                postRepository.bulkIncrementLikeCount(deltas);
+                clearInFlight();
+            } catch (RuntimeException e) {
+                // 반영에 실패한 증가분은 버리지 않고 다음 flush에서 다시 시도
+                log.warn("좋아요 수 반영 실패, 다음 flush에서 재시도합니다. posts={}", deltas.size(), e);
+                requeue();
+            } finally {
+                commitLock.writeLock().unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+
+        var remaining = drain();
+        if (!remaining.isEmpty()) {
+            log.error("종료 시점에 반영하지 못한 좋아요가 있습니다. {}", remaining);
+        }
+    }
+
+    // stripe마다 누적된 값을 반영 중으로 옮기면서 게시물 별로 합침
+    //  -> stripe의 map 자체를 교체하므로 lock을 잡는 시간이 짧음
+    //  -> 반영 중인 값은 flush가 하나씩만 돌기 때문에 drain 시점에는 항상 비어 있음
+    private Map<Long, Long> drain() {
+        var merged = new HashMap<Long, Long>();
+        for (var stripe : stripes) {
+            Map<Long, long[]> drained;
+            synchronized (stripe) {
+                if (stripe.deltas.isEmpty()) {
+                    continue;
+                }
+                drained = stripe.deltas;
+                stripe.inFlight = drained;
+                stripe.deltas = new HashMap<>();
+            }
+            drained.forEach((postId, delta) -> merged.merge(postId, delta[0], Long::sum));
+        }
+        return merged;
+    }
+
+    private void clearInFlight() {
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                stripe.inFlight = Map.of();
+            }
+        }
+    }
+
+    // 반영 중이던 값을 stripe의 누적 값으로 되돌림
+    private void requeue() {
+        for (var stripe : stripes) {
+            synchronized (stripe) {
+                stripe.inFlight.forEach((postId, delta) -> stripe.deltas.computeIfAbsent(postId, key -> new long[1])[0] += delta[0]);
+                stripe.inFlight = Map.of();
+            }
+        }
+    }
+
+    private static long sum(Map<Long, long[]> deltas, Long postId) {
+        var delta = deltas.get(postId);
+        return delta == null ? 0 : delta[0];
+    }
+
+    private static class Stripe {
+        private Map<Long, long[]> deltas = new HashMap<>();
+        // DB에 반영 중인 증가분 -> 반영이 끝나기 전까지는 조회 시에도 더해줘야 함
+        private Map<Long, long[]> inFlight = Map.of();
+    }
+}
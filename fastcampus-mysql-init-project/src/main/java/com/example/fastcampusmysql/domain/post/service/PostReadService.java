@@ -3,23 +3,43 @@ package com.example.fastcampusmysql.domain.post.service;
 import com.example.fastcampusmysql.domain.post.dto.DailyPostCount;
 import com.example.fastcampusmysql.domain.post.dto.DailyPostCountRequest;
 import com.example.fastcampusmysql.domain.post.dto.PostDto;
+import com.example.fastcampusmysql.domain.post.dto.PostSort;
 import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.repository.PostDailyCountRepository;
 import com.example.fastcampusmysql.domain.post.repository.PostLikeRepository;
 import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import com.example.fastcampusmysql.domain.post.repository.TimelineRepository;
 import com.example.fastcampusmysql.util.CursorRequest;
 import com.example.fastcampusmysql.util.CursorResponse;
+import com.example.fastcampusmysql.util.InvalidSeekRequestException;
+import com.example.fastcampusmysql.util.SeekRequest;
+import com.example.fastcampusmysql.util.NdjsonWriter;
+import com.example.fastcampusmysql.util.SeekResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
+// 읽기 전용 트랜잭션으로 실행해서 replica로 조회(ReplicationRoutingDataSource)
+@Transactional(readOnly = true)
 @RequiredArgsConstructor
 @Service
 public class PostReadService {
     private final PostRepository postRepository;
+    private final TimelineRepository timelineRepository;
     private final PostLikeRepository postLikeRepository;
+    private final PostLikeCountBuffer postLikeCountBuffer;
+    private final PostDailyCountRepository postDailyCountRepository;
+    private final PostFeedMerger postFeedMerger;
+    private final ObjectMapper objectMapper;
 
     // 일자별 게시물 개수 반환 메서드
     public List<DailyPostCount> getDailyPostCounts(DailyPostCountRequest request) {
@@ -30,8 +50,23 @@ public class PostReadService {
             from posts
             where memberId = :memberId and createdDate between firstDate and lastDate
             group by createdDate memberId
+
+            -> 게시물이 많아질수록 느려지므로 게시물 저장 시 같이 갱신되는 집계 테이블(PostDailyCount)에서 조회
+            -> 조회 비용이 게시물 수가 아니라 조회 기간의 날짜 수에 비례
          */
-        return postRepository.groupByCreatedDate(request);
+        return postDailyCountRepository.findAllBy(request);
+    }
+
+    // 회원의 게시물 전체를 페이지로 나누지 않고 NDJSON으로 outputStream에 바로 씀
+    //  - DB에서 한 행씩 읽는 대로 한 줄씩 써서 게시물 수와 관계없이 메모리 사용량이 일정
+    //  - 끝까지 읽는 동안 replica 커넥션 하나를 계속 잡고 있음
+    //      -> 클라이언트가 느리게 받으면 서버가 net_write_timeout 동안 기다리다 쿼리를 끊을 수 있음
+    //      -> 동시에 실행하는 export 수는 PostExportLimiter로 제한
+    public long exportPosts(Long memberId, OutputStream outputStream) throws IOException {
+        try (var writer = new NdjsonWriter<>(objectMapper, Post.class, outputStream)) {
+            postRepository.streamAllByMemberIdOrderByIdAsc(memberId, writer::write);
+            return writer.count();
+        }
     }
 
     // 페이징에 대한 정보가 필요
@@ -55,7 +90,38 @@ public class PostReadService {
     public Page<PostDto> getPosts(Long memberId, Pageable pageRequest) {
         // Spring Data에서 제공하는 Page 인터페이스에 map()이 있음
         //  - contents의 내용을 map의 파라미터로 변경해줌!
-        return postRepository.findAllByMemberId(memberId, pageRequest).map(this::toDto);
+        // 좋아요 수는 페이지에 담긴 게시물들을 모아서 한 번에 조회한 뒤 매핑
+        //  -> 게시물마다 count 쿼리를 날리던 N+1을 제거
+        var posts = postRepository.findAllByMemberId(memberId, pageRequest);
+        var likeCounts = postLikeRepository.countAllByPostIds(toIds(posts.getContent()));
+        return posts.map(post -> toDto(post, likeCounts.get(post.getId(), 0L)));
+    }
+
+    public CursorResponse<PostDto> getPostDtos(Long memberId, CursorRequest cursorRequest) {
+        var posts = findAllBy(memberId, cursorRequest);
+        var nextKey = getNextKey(posts);
+
+        return new CursorResponse<>(cursorRequest.next(nextKey), toDtos(posts));
+    }
+
+    // 허용된 정렬(PostSort)로 keyset 페이징
+    //  -> 한 페이지를 꽉 채워서 읽었을 때만 다음 토큰을 줌, 덜 채워졌으면 마지막 페이지
+    public SeekResponse<PostDto> getPostDtos(Long memberId, PostSort sort, SeekRequest seekRequest) {
+        if(!seekRequest.isValidSize()) {
+            throw new InvalidSeekRequestException("size는 1 ~ " + SeekRequest.MAX_SIZE + " 사이여야 합니다.");
+        }
+        var seekKey = seekRequest.hasToken() ? sort.fromToken(seekRequest.token()) : null;
+        var posts = postRepository.findAllByMemberId(memberId, sort, seekKey, seekRequest.size());
+        var nextToken = posts.isEmpty() || posts.size() < seekRequest.size() ? null : sort.toToken(posts.get(posts.size() - 1));
+
+        return new SeekResponse<>(nextToken, toDtos(posts));
+    }
+
+    public List<PostDto> toDtos(List<Post> posts) {
+        var likeCounts = postLikeRepository.countAllByPostIds(toIds(posts));
+        return posts.stream()
+                .map(post -> toDto(post, likeCounts.get(post.getId(), 0L)))
+                .toList();
     }
 
     // Dto로 변환하는 간단한 매핑 작업에는 IO 작업이 있으면 예상치 못한 일들이 일어날 수 있다!
@@ -67,20 +133,45 @@ public class PostReadService {
     //      - MySQL을 쓰더라도 Post 테이블에 likeCount 컬럼을 그대로 뒀으니, PostLike의 count 쿼리를 일정 주기적으로 Post 테이블의 likeCount에 넣어주는 방식
     //          -> 인기가 많은 게시글이라면 1초에 조회가 수백만번 발생할 수도 있음
     //          -> 1초에 한 번씩 count 쿼리를 likeCount에 넣어주게 되고 그것을 그대로 조회해서 사용하게 되면 게시물에 대해서 1초에 한 번만 쿼리가 나가는 것이니 부하가 줄어든다!
-    private PostDto toDto(Post post) {
+    //  -> 그래서 좋아요 수는 PostLikeRepository.countAllByPostIds()로 한 번에 조회해서 파라미터로 넘겨받음
+    static PostDto toDto(Post post, long likeCount) {
         return new PostDto(
                 post.getId(),
                 post.getContents(),
                 post.getCreatedAt(),
 //                post.getLikeCount() // 현재 LikeCount가 올라가지 않고 있음 -> 결국 PostLike에 count 쿼리가 필요!
-                postLikeRepository.count(post.getId()) // 조회 때 매번 count 쿼리가 나감!
+                likeCount
         );
     }
 
+    private static List<Long> toIds(List<Post> posts) {
+        return posts.stream()
+                .map(Post::getId)
+                .toList();
+    }
+
+    // 회원의 게시물 id를 최신순으로 size개, lastPostId가 null이면 가장 최신부터
+    public List<Long> getPostIds(Long memberId, Long lastPostId, int size) {
+        return postRepository.findAllIdsByMemberIdAndLessThanIdOrderByIdDesc(memberId, lastPostId, size);
+    }
+
+    // 회원의 타임라인에 들어와 있는 authorId의 게시물 id(언팔로우 정리용), postId 내림차순
+    public List<Long> getTimelinePostIds(Long memberId, Long authorId, Long lastPostId, int size) {
+        return postRepository.findAllIdsByTimelineMemberIdAndAuthorIdAndLessThanPostId(memberId, authorId, lastPostId, size);
+    }
+
     public Post getPost(Long postId) {
         return postRepository.findById(postId, false).orElseThrow();
     }
 
+    // 좋아요 수 조회
+    //  -> DB에 반영된 값 + 아직 write-behind 버퍼에 남아있는 값 + 아직 압축되지 않은 슬롯 카운터 값
+    //  -> DB 값은 버퍼의 flush와 맞춰서 더해야 하므로 캐시(PostCache)와 replica를 거치지 않고 primary에서 읽음
+    //  -> Post.likeCount와 슬롯 합계는 슬롯 압축과 어긋나지 않도록 쿼리 하나로 읽음(PostRepository.findLikeCount)
+    public long getLikeCount(Long postId) {
+        return postLikeCountBuffer.getLikeCount(postId, () -> postRepository.findLikeCount(postId));
+    }
+
     public CursorResponse<Post> getPosts(Long memberId, CursorRequest cursorRequest) {
         // 응답값
         //  -> Page 객체를 만들기 위해서는 totalElements가 필요하니 count 쿼리를 썼음
@@ -108,8 +199,30 @@ public class PostReadService {
         return new CursorResponse<>(cursorRequest.next(nextKey), posts);
     }
 
+    // 여러 회원의 최신 게시물 size개, cursorId가 null이면 가장 최신부터
+    public List<Post> getLatestPosts(List<Long> memberIds, Long cursorId, int size) {
+        return postFeedMerger.merge(memberIds, cursorId, size);
+    }
+
+    // id IN (...) 결과는 순서가 보장되지 않으므로 요청한 ids 순서대로 다시 정렬, 없는 게시물은 빠짐
     public List<Post> getPosts(List<Long> ids) {
-        return postRepository.findAllByInId(ids);
+        var postsById = postRepository.findAllByInId(ids).stream()
+                .collect(Collectors.toMap(Post::getId, post -> post));
+        return ids.stream()
+                .map(postsById::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 회원의 타임라인(push로 배달된 게시물)을 타임라인 순서대로 조회
+    //  - 첫 페이지와 얕은 커서는 최신 타임라인 캐시의 postId로 게시물을 가져옴(대부분 PostCache에서 읽힘)
+    //  - 캐시 범위 밖의 깊은 커서는 Timeline-Post join 쿼리 한 번으로 조회
+    public List<Post> getTimelinePosts(Long memberId, Long cursorPostId, int size) {
+        var headPostIds = timelineRepository.findHeadPostIdsByMemberId(memberId, cursorPostId, size);
+        if(headPostIds.isPresent()) {
+            return getPosts(headPostIds.get());
+        }
+        return postRepository.findAllByTimelineMemberIdAndLessThanPostId(memberId, cursorPostId, size);
     }
 
     private List<Post> findAllBy(Long memberId, CursorRequest cursorRequest) {
@@ -119,14 +232,14 @@ public class PostReadService {
         return postRepository.findAllByMemberIdAndOrderByIdDesc(memberId, cursorRequest.size());
     }
 
-    private List<Post> findAllBy(List<Long> memberId, CursorRequest cursorRequest) {
-        if(cursorRequest.hasKey()) {
-            return postRepository.findAllByLessThanIdAndInMemberIdAndOrderByIdDesc(cursorRequest.key(), memberId, cursorRequest.size());
-        }
-        return postRepository.findAllByInMemberIdAndOrderByIdDesc(memberId, cursorRequest.size());
+    // memberId IN (...) 쿼리(findAllByLessThanIdAndInMemberIdAndOrderByIdDesc) 대신 회원별 seek + 병합
+    //  -> 팔로우한 회원이 많아도 회원마다 인덱스에서 몇 개씩만 읽음
+    private List<Post> findAllBy(List<Long> memberIds, CursorRequest cursorRequest) {
+        var cursorId = cursorRequest.hasKey() ? cursorRequest.key() : null;
+        return postFeedMerger.merge(memberIds, cursorId, cursorRequest.size());
     }
 
-    private long getNextKey(List<Post> posts) {
+    static long getNextKey(List<Post> posts) {
         return posts.stream()
                 .mapToLong(Post::getId)
                 .min()
@@ -11,9 +11,13 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class PostWriteService {
     final private PostRepository postRepository;
+    final private PostLikeCountBuffer postLikeCountBuffer;
+    final private ShardedPostLikeCounter shardedPostLikeCounter;
 
     // 게시물 작성자를 팔로우하는 유저들의 목록을 조회해야 함, 이를 timeline에 delivery해줘야 함
     // 두 도메인이 필요함 -> Usecase로 올리자!
+    // 게시물 저장과 일자별 게시물 수 집계 갱신이 함께 반영되어야 하므로 트랜잭션으로 묶음
+    @Transactional
     public Long create(PostCommand command) {
         var post = Post.builder()
                 .memberId(command.memberId())
@@ -46,4 +50,22 @@ public class PostWriteService {
 
         postRepository.save(post);
     }
+
+    // write-behind로 좋아요 수 증가
+    //  - 게시물 row를 조회하거나 갱신하지 않고 메모리 버퍼에만 누적
+    //  - 누적된 값은 PostLikeCountBuffer가 주기적으로 모아서 DB에 반영
+    public void likePostByWriteBehind(Long postId) {
+        postLikeCountBuffer.increment(postId);
+    }
+
+    // 슬롯으로 나눈 카운터로 좋아요 수 증가
+    //  - Post 행을 잠그지 않고 게시물의 슬롯 중 하나만 증가
+    public void likePostBySharding(Long postId) {
+        shardedPostLikeCounter.increment(postId);
+    }
+
+    // 인기 게시물은 슬롯 수를 늘려서 쓰기 경합을 나눔
+    public void changeLikeCounterSlotCount(Long postId, int slotCount) {
+        shardedPostLikeCounter.changeSlotCount(postId, slotCount);
+    }
 }
@@ -0,0 +1,176 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import com.example.fastcampusmysql.domain.post.dto.ReshardJob;
+import com.example.fastcampusmysql.domain.post.repository.MemberShardRepository;
+import com.example.fastcampusmysql.domain.post.repository.MemberShardRouter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+// 회원 한 명의 게시물, 타임라인을 다른 샤드로 옮김(서비스를 멈추지 않고)
+//  1. 지금 샤드를 MemberShard에 적어둠(shard.count를 바꿔도 옮기는 동안 해시로 정해지는 샤드가 바뀌지 않도록)
+//  2. 트랜잭션 없이 chunk 단위로 새 샤드에 복사, 그동안의 읽기/쓰기는 예전 샤드로 감
+//  3. 짧은 트랜잭션에서 MemberShard 행에 배타 lock을 잡고(진행 중인 쓰기가 끝날 때까지 기다림) 복사한 뒤 바뀐 행을 다시 맞춘 다음 샤드를 바꿈
+//      -> 복사한 뒤 예전 샤드에서 지워진 행은 PK로 확인해서 새 샤드에서도 지움
+//      -> 그 뒤의 쓰기는 새 샤드로 감
+//  4. 다른 서버가 MemberShard를 다시 읽을 때까지는 예전 샤드에서 읽으므로 cleanupDelay가 지난 뒤 예전 샤드의 행을 지움
+//      -> 지우기 전에 서버가 내려가면 예전 샤드에 행이 남지만, 조회는 회원이 속한 샤드의 행만 사용하므로 결과에는 영향 없음
+//  - 이동은 회원의 데이터 양만큼 오래 걸리므로 submit()은 작업만 넣고 바로 반환, 진행 상태는 getJob()으로 확인
+//      -> 작업 상태는 요청을 받은 서버의 메모리에만 있음(예전 행 정리 대기열과 같음)
+@Slf4j
+@Service
+public class ReshardService {
+    final private MemberShardRouter memberShardRouter;
+    final private MemberShardRepository memberShardRepository;
+    final private TransactionTemplate transactionTemplate;
+    final private Executor reshardExecutor;
+    final private int chunkSize;
+    final private long cleanupDelayMillis;
+
+    final private Queue<Cleanup> cleanups = new ConcurrentLinkedQueue<>();
+    // 회원 -> 마지막 이동 작업
+    final private Map<Long, ReshardJob> jobs = new ConcurrentHashMap<>();
+
+    public ReshardService(
+            MemberShardRouter memberShardRouter,
+            MemberShardRepository memberShardRepository,
+            TransactionTemplate transactionTemplate,
+            @Qualifier("reshardExecutor") Executor reshardExecutor,
+            @Value("${shard.reshard.chunk-size:1000}") int chunkSize,
+            @Value("${shard.reshard.cleanup-delay-ms:60000}") long cleanupDelayMillis
+    ) {
+        Assert.isTrue(chunkSize > 0, "chunkSize는 1 이상이어야 합니다.");
+        this.memberShardRouter = memberShardRouter;
+        this.memberShardRepository = memberShardRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.reshardExecutor = reshardExecutor;
+        this.chunkSize = chunkSize;
+        this.cleanupDelayMillis = cleanupDelayMillis;
+    }
+
+    // 이동 작업을 reshardExecutor에 넣고 바로 반환
+    //  -> 같은 회원의 이동이 아직 끝나지 않았으면 IllegalStateException
+    public ReshardJob submit(Long memberId, int targetShard) {
+        Assert.isTrue(targetShard >= 0 && targetShard < memberShardRouter.shardCount(), "없는 샤드입니다.");
+
+        var job = ReshardJob.pending(memberId, targetShard);
+        var current = jobs.compute(memberId, (id, previous) -> previous == null || previous.isFinished() ? job : previous);
+        if(current != job) {
+            throw new IllegalStateException("이미 진행 중인 샤드 이동이 있습니다. memberId=" + memberId);
+        }
+
+        try {
+            reshardExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(memberId, job);
+            throw new IllegalStateException("샤드 이동 대기열이 가득 찼습니다.", e);
+        }
+        return job;
+    }
+
+    public Optional<ReshardJob> getJob(Long memberId) {
+        return Optional.ofNullable(jobs.get(memberId));
+    }
+
+    private void run(ReshardJob job) {
+        jobs.put(job.memberId(), job.running());
+        try {
+            move(job.memberId(), job.targetShard());
+            jobs.put(job.memberId(), job.succeeded());
+        } catch (RuntimeException e) {
+            log.warn("샤드 이동 실패. memberId={}, targetShard={}", job.memberId(), job.targetShard(), e);
+            jobs.put(job.memberId(), job.failed(e.getMessage()));
+        }
+    }
+
+    void move(Long memberId, int targetShard) {
+        var sourceShard = transactionTemplate.execute(status -> {
+            var shard = memberShardRouter.shardOfForWrite(memberId);
+            memberShardRepository.save(memberId, shard);
+            return shard;
+        });
+        if(sourceShard == targetShard) {
+            return;
+        }
+        log.info("샤드 이동 시작. memberId={}, {} -> {}", memberId, sourceShard, targetShard);
+
+        copy(memberShardRouter.postTable(sourceShard), memberShardRouter.postTable(targetShard), memberId);
+        copy(memberShardRouter.timelineTable(sourceShard), memberShardRouter.timelineTable(targetShard), memberId);
+
+        // INSERT ... SELECT는 읽는 행에 공유 lock을 걸기 때문에 lock을 잡기 전에 시작해서 아직 커밋되지 않은 쓰기도 기다렸다가 옮김
+        transactionTemplate.executeWithoutResult(status -> {
+            memberShardRepository.lockForUpdate(memberId);
+            memberShardRepository.sync(memberShardRouter.postTable(sourceShard), memberShardRouter.postTable(targetShard), memberId, true);
+            memberShardRepository.sync(memberShardRouter.timelineTable(sourceShard), memberShardRouter.timelineTable(targetShard), memberId, false);
+            memberShardRepository.deleteMissing(memberShardRouter.postTable(sourceShard), memberShardRouter.postTable(targetShard), memberId);
+            memberShardRepository.deleteMissing(memberShardRouter.timelineTable(sourceShard), memberShardRouter.timelineTable(targetShard), memberId);
+            memberShardRepository.save(memberId, targetShard);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    memberShardRouter.assign(memberId, targetShard);
+                }
+            });
+        });
+
+        cleanups.add(new Cleanup(memberId, sourceShard, System.currentTimeMillis() + cleanupDelayMillis));
+        log.info("샤드 이동 완료. memberId={}, {} -> {}", memberId, sourceShard, targetShard);
+    }
+
+    // 다른 서버가 새 샤드를 읽기 시작할 만큼 시간이 지난 이동 건의 예전 행을 지움
+    @Scheduled(fixedDelayString = "${shard.reshard.cleanup-interval-ms:1000}")
+    public void cleanup() {
+        var now = System.currentTimeMillis();
+        Cleanup cleanup;
+        while ((cleanup = cleanups.peek()) != null && cleanup.runAt() <= now) {
+            cleanups.poll();
+            try {
+                delete(cleanup.memberId(), cleanup.sourceShard());
+            } catch (RuntimeException e) {
+                log.warn("예전 샤드 정리 실패. memberId={}, shard={}", cleanup.memberId(), cleanup.sourceShard(), e);
+            }
+        }
+    }
+
+    private void copy(String fromTable, String toTable, Long memberId) {
+        var lastId = 0L;
+        Long copiedId;
+        while ((copiedId = memberShardRepository.copyChunk(fromTable, toTable, memberId, lastId, chunkSize)) != null) {
+            lastId = copiedId;
+        }
+    }
+
+    // chunk마다 MemberShard 행에 공유 lock을 잡고, 그 사이 회원이 다시 예전 샤드로 돌아왔다면 지우지 않음
+    private void delete(Long memberId, int sourceShard) {
+        for(var table : new String[]{memberShardRouter.postTable(sourceShard), memberShardRouter.timelineTable(sourceShard)}) {
+            while (true) {
+                var deleted = transactionTemplate.execute(status -> {
+                    if(memberShardRouter.shardOfForWrite(memberId) == sourceShard) {
+                        return 0;
+                    }
+                    return memberShardRepository.deleteChunk(table, memberId, chunkSize);
+                });
+                if(deleted < chunkSize) {
+                    break;
+                }
+            }
+        }
+    }
+
+    private record Cleanup(Long memberId, int sourceShard, long runAt) {
+    }
+}
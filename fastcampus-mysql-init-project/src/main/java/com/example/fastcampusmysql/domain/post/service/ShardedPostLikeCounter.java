@@ -0,0 +1,105 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import com.example.fastcampusmysql.domain.post.repository.PostLikeCounterRepository;
+import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// 슬롯으로 나눈 좋아요 카운터
+//  - 좋아요 : 게시물의 슬롯 중 하나를 랜덤으로 골라서 1 증가
+//  - 조회 : Post.likeCount + 슬롯 합계(PostRepository.findLikeCount에서 쿼리 하나로 읽음)
+//      -> 슬롯 합계만 따로 캐시하면 다른 서버가 압축해서 Post.likeCount로 옮긴 좋아요가 캐시가 만료될 때까지 두 번 세어짐
+//      -> 슬롯 수는 PK(postId, slot) 범위로 읽으므로 합계를 매번 구해도 슬롯 수만큼만 읽음
+//  - 압축 : 주기적으로 슬롯 합계를 Post.likeCount로 옮기고 슬롯을 지움
+@Slf4j
+@Service
+public class ShardedPostLikeCounter {
+    final private static int DEFAULT_SLOT_COUNT = 1;
+    final private static int MAX_SLOT_COUNT = 256;
+
+    final private PostLikeCounterRepository postLikeCounterRepository;
+    final private PostRepository postRepository;
+    final private TransactionTemplate transactionTemplate;
+    final private int compactionBatchSize;
+
+    // 슬롯 수를 지정한 게시물(인기 게시물)만 들고 있으므로 크기가 작음
+    //  -> 좋아요마다 설정 테이블을 조회하지 않도록 메모리에 올려두고 주기적으로 다시 읽음
+    private volatile Map<Long, Integer> slotCounts = Map.of();
+
+    public ShardedPostLikeCounter(
+            PostLikeCounterRepository postLikeCounterRepository,
+            PostRepository postRepository,
+            TransactionTemplate transactionTemplate,
+            @Value("${post.like.sharded.compaction-batch-size:100}") int compactionBatchSize
+    ) {
+        this.postLikeCounterRepository = postLikeCounterRepository;
+        this.postRepository = postRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.compactionBatchSize = compactionBatchSize;
+    }
+
+    @PostConstruct
+    @Scheduled(fixedDelayString = "${post.like.sharded.config-refresh-interval-ms:30000}")
+    public void refreshSlotCounts() {
+        slotCounts = Map.copyOf(postLikeCounterRepository.findAllSlotCounts());
+    }
+
+    public void increment(Long postId) {
+        var slot = ThreadLocalRandom.current().nextInt(getSlotCount(postId));
+        postLikeCounterRepository.increment(postId, slot);
+    }
+
+    public int getSlotCount(Long postId) {
+        return slotCounts.getOrDefault(postId, DEFAULT_SLOT_COUNT);
+    }
+
+    // 슬롯 수를 줄여도 이미 쌓인 슬롯 값은 조회/압축 시 모두 더하므로 유실되지 않음
+    public void changeSlotCount(Long postId, int slotCount) {
+        Assert.isTrue(slotCount >= 1 && slotCount <= MAX_SLOT_COUNT, "슬롯 수는 1 ~ " + MAX_SLOT_COUNT + " 사이여야 합니다.");
+        postLikeCounterRepository.saveSlotCount(postId, slotCount);
+
+        var changed = new HashMap<>(slotCounts);
+        changed.put(postId, slotCount);
+        slotCounts = Map.copyOf(changed);
+    }
+
+    @Scheduled(fixedDelayString = "${post.like.sharded.compaction-interval-ms:10000}")
+    public void compact() {
+        // 실패한 게시물이 앞에 남아 있어도 뒤의 게시물까지 압축하도록 postId 순으로 끝까지 읽음
+        var lastPostId = 0L;
+        while (true) {
+            var postIds = postLikeCounterRepository.findAllPostIdsToCompact(lastPostId, compactionBatchSize);
+            for (var postId : postIds) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> compact(postId));
+                } catch (RuntimeException e) {
+                    log.warn("좋아요 슬롯 압축 실패. postId={}", postId, e);
+                }
+                lastPostId = postId;
+            }
+            if(postIds.size() < compactionBatchSize) {
+                return;
+            }
+        }
+    }
+
+    // 슬롯 lock -> Post lock 순서로만 잡음
+    //  -> 좋아요 쪽은 슬롯만, 다른 좋아요 방식은 Post만 잡으므로 서로 반대 순서로 기다리는 경우가 없음
+    private void compact(Long postId) {
+        var sum = postLikeCounterRepository.sumByPostIdForUpdate(postId);
+        if(sum > 0) {
+            postRepository.bulkIncrementLikeCount(Map.of(postId, sum));
+        }
+        // 합계가 0인 슬롯(예전에 0으로 비워둔 슬롯)도 같이 지움
+        postLikeCounterRepository.deleteByPostId(postId);
+    }
+}
@@ -6,9 +6,12 @@ import com.example.fastcampusmysql.util.CursorRequest;
 import com.example.fastcampusmysql.util.CursorResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
+// 읽기 전용 트랜잭션으로 실행해서 replica로 조회(ReplicationRoutingDataSource)
+@Transactional(readOnly = true)
 @Service
 @RequiredArgsConstructor
 public class TimelineReadService {
@@ -22,6 +25,14 @@ public class TimelineReadService {
         return new CursorResponse<>(cursorRequest.next(nextKey), timelines);
     }
 
+    // postId 내림차순으로 size개, cursorPostId가 null이면 가장 최신부터
+    public List<Timeline> getTimelinesByPostId(Long memberId, Long cursorPostId, int size) {
+        if(cursorPostId != null) {
+            return timelineRepository.findAllByLessThanPostIdAndMemberIdAndOrderByPostIdDesc(cursorPostId, memberId, size);
+        }
+        return timelineRepository.findAllByMemberIdAndOrderByPostIdDesc(memberId, size);
+    }
+
     private List<Timeline> findAllBy(Long memberId, CursorRequest cursorRequest) {
         if(cursorRequest.hasKey()) {
             return timelineRepository.findAllByLessThanIdAndMemberIdAndOrderByIdDesc(cursorRequest.key(), memberId, cursorRequest.size());
@@ -29,7 +40,7 @@ public class TimelineReadService {
         return timelineRepository.findAllByMemberIdAndOrderByIdDesc(memberId, cursorRequest.size());
     }
 
-    private static long getNextKey(List<Timeline> timelines) {
+    static long getNextKey(List<Timeline> timelines) {
         return timelines.stream()
                 .mapToLong(Timeline::getId)
                 .min()
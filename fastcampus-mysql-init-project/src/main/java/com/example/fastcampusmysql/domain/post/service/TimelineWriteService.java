@@ -1,16 +1,82 @@
 package com.example.fastcampusmysql.domain.post.service;
 
 import com.example.fastcampusmysql.domain.post.entity.Timeline;
+import com.example.fastcampusmysql.domain.post.entity.TimelineBackfill;
+import com.example.fastcampusmysql.domain.post.entity.TimelineOutbox;
+import com.example.fastcampusmysql.domain.post.repository.TimelineBackfillRepository;
+import com.example.fastcampusmysql.domain.post.repository.TimelineOutboxRepository;
 import com.example.fastcampusmysql.domain.post.repository.TimelineRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 
 @RequiredArgsConstructor
 @Service
 public class TimelineWriteService {
     final private TimelineRepository timelineRepository;
+    final private TimelineOutboxRepository timelineOutboxRepository;
+    final private TimelineBackfillRepository timelineBackfillRepository;
+
+    // 게시물 작성 트랜잭션 안에서 배달 작업만 남기고, 실제 배달은 TimelineFanOutWorker가 백그라운드에서 진행
+    //  -> 팔로워 수와 상관없이 게시물 작성 요청은 insert 몇 번으로 끝남
+    public void enqueueDelivery(Long postId, Long authorId) {
+        timelineOutboxRepository.save(TimelineOutbox.builder()
+                .postId(postId)
+                .authorId(authorId)
+                .build());
+    }
+
+    // 팔로우/언팔로우 트랜잭션 안에서 타임라인 보정 작업만 남기고, 실제 작업은 TimelineBackfillWorker가 진행
+    public void enqueueBackfill(Long memberId, Long authorId) {
+        enqueue(memberId, authorId, TimelineBackfill.Type.BACKFILL);
+    }
+
+    public void enqueueCleanup(Long memberId, Long authorId) {
+        enqueue(memberId, authorId, TimelineBackfill.Type.CLEANUP);
+    }
+
+    // pull 작성자에서 빠진 작성자의 팔로워들(memberIds)에게 BACKFILL 작업을 한 번에 남김
+    //  -> pull 작성자였던 동안 쓴 글은 배달되지 않았으므로 최근 게시물을 타임라인에 채워 넣음
+    public void enqueueBackfills(List<Long> memberIds, Long authorId) {
+        timelineBackfillRepository.saveAll(memberIds.stream()
+                .map(memberId -> TimelineBackfill.builder()
+                        .memberId(memberId)
+                        .authorId(authorId)
+                        .type(TimelineBackfill.Type.BACKFILL)
+                        .build())
+                .toList());
+    }
+
+    public boolean hasPendingBackfill(Long authorId) {
+        return timelineBackfillRepository.countPendingByAuthorId(authorId) > 0;
+    }
+
+    // 팔로우한 회원의 게시물(postIds)을 회원의 타임라인에 한 번에 넣고 넣은 수를 반환
+    //  - 그 사이 배달(TimelineFanOutWorker)로 이미 들어간 게시물은 건너뜀
+    //  - postId 오름차순으로 넣어서 백필한 게시물끼리는 Timeline id 순서가 게시물 순서와 같음
+    public int backfill(Long memberId, List<Long> postIds) {
+        var existing = new HashSet<>(timelineRepository.findAllPostIdsByMemberIdAndInPostId(memberId, postIds));
+        var timelines = postIds.stream()
+                .filter(postId -> !existing.contains(postId))
+                .distinct()
+                .sorted(Comparator.naturalOrder())
+                .map(postId -> toTimeline(postId, memberId))
+                .toList();
+        if(timelines.isEmpty()) {
+            return 0;
+        }
+
+        timelineRepository.bulkInsert(timelines);
+        return timelines.size();
+    }
+
+    // 회원의 타임라인에서 postIds 게시물을 지우고 지운 수를 반환
+    public int removeFromTimeline(Long memberId, List<Long> postIds) {
+        return timelineRepository.deleteAllByMemberIdAndInPostId(memberId, postIds);
+    }
 
     // 게시물 작성했을 때 작성자를 팔로우하고 있는 회원들에게 게시물을 배달해주는 메서드
     public void deliveryToTimeline(Long postId, List<Long> toMemberIds) {
@@ -21,6 +87,14 @@ public class TimelineWriteService {
         timelineRepository.bulkInsert(timelines);
     }
 
+    private void enqueue(Long memberId, Long authorId, TimelineBackfill.Type type) {
+        timelineBackfillRepository.save(TimelineBackfill.builder()
+                .memberId(memberId)
+                .authorId(authorId)
+                .type(type)
+                .build());
+    }
+
     private static Timeline toTimeline(Long postId, Long memberId) {
         return Timeline.builder()
                 .memberId(memberId)
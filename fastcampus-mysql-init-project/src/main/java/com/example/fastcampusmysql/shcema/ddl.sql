@@ -52,3 +52,149 @@ create index POST__index_created_date
 
 
 
+create table PostLike
+(
+    id int auto_increment,
+    memberId int not null,
+    postId int not null,
+    createdAt datetime not null,
+    constraint PostLike_id_uindex
+        primary key (id)
+);
+
+-- 게시물 별 좋아요 수를 GROUP BY로 모아서 조회할 때 사용
+create index PostLike__index_post_id
+    on PostLike (postId);
+
+-- 회원별, 일자별 게시물 수 집계 (게시물 저장 시 같이 갱신)
+create table PostDailyCount
+(
+    memberId int not null,
+    createdDate date not null,
+    postCount int not null,
+    constraint PostDailyCount_pk
+        primary key (memberId, createdDate)
+);
+
+-- 게시물 좋아요 분산 카운터 (게시물마다 slotCount개의 행으로 나눠서 증가)
+-- 압축한 슬롯은 지우므로 아직 압축되지 않은 게시물만 남음 -> 압축 대상은 PK 앞부분(postId)으로 찾음
+create table PostLikeCounterSlot
+(
+    postId int not null,
+    slot int not null,
+    likeCount int not null,
+    constraint PostLikeCounterSlot_pk
+        primary key (postId, slot)
+);
+
+-- 슬롯 수를 따로 지정한 게시물 (없으면 슬롯 1개)
+create table PostLikeCounterConfig
+(
+    postId int not null,
+    slotCount int not null,
+    constraint PostLikeCounterConfig_pk
+        primary key (postId)
+);
+
+
+-- 게시물 keyset 페이징(PostSort) 정렬별 인덱스, 뒤에 PK(id)가 붙어 (memberId, 정렬 컬럼, id) 순으로 정렬됨
+create index POST__index_member_id_created_at
+    on POST (memberId, createdAt);
+
+create index POST__index_member_id_like_count
+    on POST (memberId, likeCount);
+
+-- 회원별 전체 게시물 수 집계 (게시물 저장 시 같이 갱신, 페이지 응답의 전체 개수로 사용)
+create table MemberPostCount
+(
+    memberId int not null,
+    postCount int not null,
+    constraint MemberPostCount_pk
+        primary key (memberId)
+);
+
+-- 팔로워를 id 순으로 나눠 읽을 때 사용 (뒤에 PK(id)가 붙음)
+create index Follow__index_to_member_id
+    on Follow (toMemberId);
+
+-- 게시물 작성 시 같이 남기는 타임라인 배달 작업, lastFollowId까지 배달 완료(체크포인트)
+create table TimelineOutbox
+(
+    id int auto_increment,
+    postId int not null,
+    authorId int not null,
+    lastFollowId int not null,
+    claimedBy varchar(36) null,
+    claimedUntil datetime(6) null,
+    completedAt datetime(6) null,
+    createdAt datetime not null,
+    constraint TimelineOutbox_id_uindex
+        primary key (id)
+);
+
+-- 끝나지 않은 배달 작업(completedAt IS NULL)을 id 순으로 찾을 때, 완료된 지 오래된 작업을 지울 때 사용
+create index TimelineOutbox__index_completed_at
+    on TimelineOutbox (completedAt);
+
+-- 팔로우(BACKFILL)/언팔로우(CLEANUP) 시 같이 남기는 타임라인 보정 작업, CLEANUP은 타임라인에서 lastPostId보다 작은 게시물부터 이어서 지움
+create table TimelineBackfill
+(
+    id int auto_increment,
+    memberId int not null,
+    authorId int not null,
+    type varchar(20) not null,
+    lastPostId int null,
+    claimedBy varchar(36) null,
+    claimedUntil datetime(6) null,
+    completedAt datetime(6) null,
+    createdAt datetime not null,
+    constraint TimelineBackfill_id_uindex
+        primary key (id)
+);
+
+create index TimelineBackfill__index_completed_at
+    on TimelineBackfill (completedAt);
+
+-- pull 작성자에서 빠진 작성자의 보정 작업이 다 끝났는지 확인(PullAuthorExitWorker)
+create index TimelineBackfill__index_author_id_completed_at
+    on TimelineBackfill (authorId, completedAt);
+
+-- 하이브리드 타임라인의 pull 작성자, 모든 서버가 같은 목록을 쓰도록 저장
+--  -> leavingAt : pull 작성자에서 빠지기 시작한 시각(이후 배달은 하지만 읽을 때 계속 pull로도 가져옴)
+--  -> backfilledAt : 팔로워들의 타임라인 보정 작업을 남긴 시각(작업이 다 끝나면 행을 지움)
+create table PullAuthor
+(
+    memberId int not null,
+    leavingAt datetime(6) null,
+    backfilledAt datetime(6) null,
+    createdAt datetime not null,
+    constraint PullAuthor_pk
+        primary key (memberId)
+);
+
+-- 하이브리드 타임라인은 pull로 가져온 게시물과 합치기 위해 postId를 커서로 사용
+create index Timeline__index_member_id_post_id
+    on Timeline (memberId, postId);
+
+-- 다른 샤드로 옮긴 회원의 샤드(없는 회원은 memberId 해시 % shard.count)
+create table MemberShard
+(
+    memberId int not null,
+    shard int not null,
+    constraint MemberShard_pk
+        primary key (memberId)
+);
+
+-- shard.count가 2 이상일 때 Post, Timeline id 발급(name = 'Post', 'Timeline')
+--  -> 샤드를 나누기 전에 기존 테이블의 MAX(id) + 1을 nextId로 넣어둘 것
+create table ShardSequence
+(
+    name varchar(32) not null,
+    nextId bigint not null,
+    constraint ShardSequence_pk
+        primary key (name)
+);
+
+-- 샤드 0은 기존 Post, Timeline을 그대로 쓰고 1 ~ shard.count - 1은 같은 구조로 만듦(인덱스 포함)
+-- create table Post_1 like Post;
+-- create table Timeline_1 like Timeline;
@@ -0,0 +1,122 @@
+package com.example.fastcampusmysql.util;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+// 스트리밍 bulk insert 파이프라인
+//  - 기존 bulkInsert(List)는 100만건을 전부 메모리에 올린 뒤 batchUpdate 한 번으로 보냄
+//  - Iterator에서 chunkSize만큼씩 끊어서 여러 스레드(= 커넥션 풀의 여러 커넥션)로 동시에 insert
+//  - 동시에 메모리에 존재할 수 있는 chunk 수를 (parallelism + queueCapacity)개로 제한
+//      -> insert가 느리면 chunk를 만드는 쪽이 기다리게 되므로(backpressure) 입력 크기와 상관없이 힙 사용량이 일정함
+//  - parallelism은 커넥션 풀 크기(hikari 기본 10)보다 작게 잡아야 다른 요청이 커넥션을 못 얻는 일이 없음
+@Slf4j
+@Component
+public class BulkInsertPipeline {
+    final private int chunkSize;
+    final private int parallelism;
+    final private int queueCapacity;
+
+    @Autowired
+    public BulkInsertPipeline(
+            @Value("${bulk-insert.chunk-size:10000}") int chunkSize,
+            @Value("${bulk-insert.parallelism:4}") int parallelism,
+            @Value("${bulk-insert.queue-capacity:4}") int queueCapacity
+    ) {
+        Assert.isTrue(chunkSize > 0, "chunkSize는 1 이상이어야 합니다.");
+        Assert.isTrue(parallelism > 0, "parallelism은 1 이상이어야 합니다.");
+        Assert.isTrue(queueCapacity >= 0, "queueCapacity는 0 이상이어야 합니다.");
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+        this.queueCapacity = queueCapacity;
+    }
+
+    public <T> BulkInsertResult run(Iterator<T> source, Consumer<List<T>> chunkWriter) {
+        return run(source, chunkWriter, BulkInsertPipeline::logChunk);
+    }
+
+    public <T> BulkInsertResult run(Iterator<T> source, Consumer<List<T>> chunkWriter, Consumer<ChunkReport> chunkListener) {
+        var permits = new Semaphore(parallelism + queueCapacity);
+        var failure = new AtomicReference<Throwable>();
+        var totalRows = new AtomicLong();
+        var startedAt = System.nanoTime();
+        var chunkIndex = 0;
+
+        ExecutorService executor = Executors.newFixedThreadPool(parallelism);
+        try {
+            while (source.hasNext() && failure.get() == null) {
+                var chunk = new ArrayList<T>(chunkSize);
+                while (source.hasNext() && chunk.size() < chunkSize) {
+                    chunk.add(source.next());
+                }
+
+                // 처리 중 + 대기 중인 chunk가 가득 차 있으면 여기서 기다림
+                permits.acquire();
+                var index = chunkIndex++;
+                executor.execute(() -> {
+                    try {
+                        if (failure.get() != null) {
+                            return;
+                        }
+                        var chunkStartedAt = System.nanoTime();
+                        chunkWriter.accept(chunk);
+                        totalRows.addAndGet(chunk.size());
+                        chunkListener.accept(new ChunkReport(index, chunk.size(), Duration.ofNanos(System.nanoTime() - chunkStartedAt)));
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+
+            executor.shutdown();
+            executor.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+            throw new IllegalStateException("bulk insert가 중단되었습니다.", e);
+        }
+
+        if (failure.get() != null) {
+            throw new IllegalStateException("bulk insert 실패. 반영된 row 수 = " + totalRows.get(), failure.get());
+        }
+        return new BulkInsertResult(totalRows.get(), chunkIndex, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private static void logChunk(ChunkReport report) {
+        log.info("bulk insert chunk #{} : {} rows, {} ms, {} rows/sec",
+                report.index(), report.rows(), report.elapsed().toMillis(), report.rowsPerSecond());
+    }
+
+    public record ChunkReport(int index, int rows, Duration elapsed) {
+        public long rowsPerSecond() {
+            return toRowsPerSecond(rows, elapsed);
+        }
+    }
+
+    public record BulkInsertResult(long rows, int chunks, Duration elapsed) {
+        public long rowsPerSecond() {
+            return toRowsPerSecond(rows, elapsed);
+        }
+    }
+
+    private static long toRowsPerSecond(long rows, Duration elapsed) {
+        var nanos = Math.max(elapsed.toNanos(), 1);
+        return rows * 1_000_000_000L / nanos;
+    }
+}
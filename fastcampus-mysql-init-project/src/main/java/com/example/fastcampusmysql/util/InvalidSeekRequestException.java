@@ -0,0 +1,14 @@
+package com.example.fastcampusmysql.util;
+
+// 페이징 요청 값(정렬, 커서 토큰, size)이 잘못된 경우
+//  - 컨트롤러는 이 예외만 400으로 바꿈, 다른 IllegalArgumentException은 서버 쪽 버그일 수 있으므로 그대로 500
+//  - IllegalArgumentException을 상속해서 기존처럼 잘못된 인자로도 다룰 수 있음
+public class InvalidSeekRequestException extends IllegalArgumentException {
+    public InvalidSeekRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidSeekRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
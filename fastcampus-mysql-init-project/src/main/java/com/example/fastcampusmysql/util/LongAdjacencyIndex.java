@@ -0,0 +1,127 @@
+package com.example.fastcampusmysql.util;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+
+// long id 그래프의 인접 목록을 CSR(compressed sparse row) 형태로 들고 있는 불변 인덱스
+//  - List<Follow>처럼 간선마다 객체(Long 2개, LocalDateTime)를 만들지 않고 배열 3개로 표현
+//      -> sourceIds : 간선이 있는 정점 id(오름차순)
+//      -> offsets : sourceIds[i]의 이웃은 targets[offsets[i]] ~ targets[offsets[i + 1] - 1]
+//      -> targets : 이웃 id, 정점마다 오름차순이고 중복 없음
+//  - 정점 조회는 sourceIds 이진 탐색, 간선당 메모리는 long 하나(8byte)
+//  - 불변이므로 여러 스레드에서 락 없이 읽어도 됨, 간선을 추가하려면 merge()로 새로 만듦
+public class LongAdjacencyIndex {
+    final public static LongAdjacencyIndex EMPTY = new LongAdjacencyIndex(new long[0], new int[]{0}, new long[0]);
+
+    final private long[] sourceIds;
+    final private int[] offsets;
+    final private long[] targets;
+
+    private LongAdjacencyIndex(long[] sourceIds, int[] offsets, long[] targets) {
+        this.sourceIds = sourceIds;
+        this.offsets = offsets;
+        this.targets = targets;
+    }
+
+    // sources[i] -> targets[i] 간선 size개로 만듦, 같은 간선이 여러 번 있으면 하나만 남김
+    public static LongAdjacencyIndex build(long[] sources, long[] targets, int size) {
+        Assert.isTrue(size >= 0 && size <= sources.length && size <= targets.length, "size가 배열 길이를 벗어났습니다.");
+        if(size == 0) {
+            return EMPTY;
+        }
+
+        var sourceIds = Arrays.copyOf(sources, size);
+        Arrays.sort(sourceIds);
+        var sourceCount = unique(sourceIds, 0, size);
+        sourceIds = Arrays.copyOf(sourceIds, sourceCount);
+
+        // 정점마다 간선 수를 센 뒤 누적합으로 시작 위치를 구하고, 두 번째 순회에서 제자리에 채움
+        var offsets = new int[sourceCount + 1];
+        for(int i = 0; i < size; i++) {
+            offsets[Arrays.binarySearch(sourceIds, sources[i]) + 1]++;
+        }
+        for(int i = 0; i < sourceCount; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+        var cursor = Arrays.copyOf(offsets, sourceCount);
+        var sorted = new long[size];
+        for(int i = 0; i < size; i++) {
+            sorted[cursor[Arrays.binarySearch(sourceIds, sources[i])]++] = targets[i];
+        }
+
+        // 정점마다 이웃을 정렬하고 중복 간선을 지우면서 앞으로 당김
+        var edgeCount = 0;
+        var start = 0;
+        for(int i = 0; i < sourceCount; i++) {
+            var end = offsets[i + 1];
+            Arrays.sort(sorted, start, end);
+            var count = unique(sorted, start, end);
+            System.arraycopy(sorted, start, sorted, edgeCount, count);
+            offsets[i] = edgeCount;
+            edgeCount += count;
+            start = end;
+        }
+        offsets[sourceCount] = edgeCount;
+        return new LongAdjacencyIndex(sourceIds, offsets, edgeCount == size ? sorted : Arrays.copyOf(sorted, edgeCount));
+    }
+
+    // 기존 간선에 sources[i] -> targets[i] 간선 size개를 더한 새 인덱스
+    public LongAdjacencyIndex merge(long[] sources, long[] targets, int size) {
+        if(size == 0) {
+            return this;
+        }
+
+        var edgeCount = this.targets.length;
+        var mergedSources = new long[edgeCount + size];
+        var mergedTargets = new long[edgeCount + size];
+        for(int i = 0; i < sourceIds.length; i++) {
+            Arrays.fill(mergedSources, offsets[i], offsets[i + 1], sourceIds[i]);
+        }
+        System.arraycopy(this.targets, 0, mergedTargets, 0, edgeCount);
+        System.arraycopy(sources, 0, mergedSources, edgeCount, size);
+        System.arraycopy(targets, 0, mergedTargets, edgeCount, size);
+        return build(mergedSources, mergedTargets, edgeCount + size);
+    }
+
+    // 이웃 id 복사본(오름차순), 간선이 없으면 빈 배열
+    public long[] get(long sourceId) {
+        var index = Arrays.binarySearch(sourceIds, sourceId);
+        if(index < 0) {
+            return new long[0];
+        }
+        return Arrays.copyOfRange(targets, offsets[index], offsets[index + 1]);
+    }
+
+    public int count(long sourceId) {
+        var index = Arrays.binarySearch(sourceIds, sourceId);
+        return index < 0 ? 0 : offsets[index + 1] - offsets[index];
+    }
+
+    public boolean contains(long sourceId, long targetId) {
+        var index = Arrays.binarySearch(sourceIds, sourceId);
+        return index >= 0 && Arrays.binarySearch(targets, offsets[index], offsets[index + 1], targetId) >= 0;
+    }
+
+    public int sourceCount() {
+        return sourceIds.length;
+    }
+
+    public int edgeCount() {
+        return targets.length;
+    }
+
+    // 정렬된 values[from, to)의 중복을 지우고 앞으로 당긴 뒤 남은 개수를 반환
+    private static int unique(long[] values, int from, int to) {
+        if(from == to) {
+            return 0;
+        }
+        var last = from;
+        for(int i = from + 1; i < to; i++) {
+            if(values[i] != values[last]) {
+                values[++last] = values[i];
+            }
+        }
+        return last - from + 1;
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.fastcampusmysql.util;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+// long[]을 복사하지 않고 List<Long>으로 보여주는 읽기 전용 view
+//  - Arrays.stream(ids).boxed().toList()는 원소마다 Long을 만들어 새 리스트에 담음
+//  - view는 꺼낼 때만 박싱하므로, 한 번 훑고 끝나는 조회(IN 파라미터, 캐시 getAll)에서는 중간 리스트가 생기지 않음
+//  - 배열은 호출한 쪽이 더 이상 고치지 않는다고 가정(FollowGraph가 돌려주는 배열처럼)
+public class LongListView extends AbstractList<Long> implements RandomAccess {
+    final private long[] values;
+
+    private LongListView(long[] values) {
+        this.values = values;
+    }
+
+    public static LongListView of(long[] values) {
+        return new LongListView(values);
+    }
+
+    @Override
+    public Long get(int index) {
+        return values[index];
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+}
@@ -0,0 +1,125 @@
+package com.example.fastcampusmysql.util;
+
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+
+// long -> long 매핑 전용 해시맵
+//  - HashMap<Long, Long>은 항목마다 Long 객체 2개와 Node 객체가 생김
+//  - 게시물 id -> 좋아요 수처럼 키, 값이 모두 long인 경우에는 배열 두 개로 open addressing 하는 것이 메모리/GC 측면에서 유리
+//  - Long.MIN_VALUE는 빈 슬롯 표시용으로 쓰기 때문에 키로 사용할 수 없음(PK는 양수이므로 문제 없음)
+public class LongLongMap {
+    final private static long EMPTY_KEY = Long.MIN_VALUE;
+    final private static float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    public LongLongMap() {
+        this(16);
+    }
+
+    public LongLongMap(int expectedSize) {
+        allocate(tableSizeFor(Math.max(expectedSize, 4)));
+    }
+
+    public long get(long key, long defaultValue) {
+        var index = indexOf(key);
+        return keys[index] == key ? values[index] : defaultValue;
+    }
+
+    public boolean containsKey(long key) {
+        return keys[indexOf(key)] == key;
+    }
+
+    public void put(long key, long value) {
+        Assert.isTrue(key != EMPTY_KEY, "Long.MIN_VALUE는 키로 사용할 수 없습니다.");
+        var index = indexOf(key);
+        if(keys[index] != key) {
+            keys[index] = key;
+            size++;
+        }
+        values[index] = value;
+        growIfNeeded();
+    }
+
+    public long addTo(long key, long delta) {
+        Assert.isTrue(key != EMPTY_KEY, "Long.MIN_VALUE는 키로 사용할 수 없습니다.");
+        var index = indexOf(key);
+        if(keys[index] != key) {
+            keys[index] = key;
+            values[index] = 0;
+            size++;
+        }
+        var result = values[index] += delta;
+        growIfNeeded();
+        return result;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void forEach(LongLongConsumer consumer) {
+        for(int i = 0; i < keys.length; i++) {
+            if(keys[i] != EMPTY_KEY) {
+                consumer.accept(keys[i], values[i]);
+            }
+        }
+    }
+
+    // 키가 있으면 그 슬롯을, 없으면 키가 들어갈 빈 슬롯을 반환(linear probing)
+    private int indexOf(long key) {
+        var index = hash(key) & mask;
+        while(keys[index] != EMPTY_KEY && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void growIfNeeded() {
+        if(size <= keys.length * LOAD_FACTOR) {
+            return;
+        }
+
+        var oldKeys = keys;
+        var oldValues = values;
+        allocate(keys.length * 2);
+        for(int i = 0; i < oldKeys.length; i++) {
+            if(oldKeys[i] != EMPTY_KEY) {
+                var index = indexOf(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, EMPTY_KEY);
+        mask = capacity - 1;
+    }
+
+    // 연속된 PK가 같은 구간에 몰리지 않도록 섞어줌
+    private static int hash(long key) {
+        var h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        var capacity = Integer.highestOneBit((int) (expectedSize / LOAD_FACTOR) - 1) << 1;
+        return Math.max(capacity, 8);
+    }
+
+    @FunctionalInterface
+    public interface LongLongConsumer {
+        void accept(long key, long value);
+    }
+}
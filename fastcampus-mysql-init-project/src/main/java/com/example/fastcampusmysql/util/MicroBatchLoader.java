@@ -0,0 +1,94 @@
+package com.example.fastcampusmysql.util;
+
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+// 여러 요청에서 동시에 들어온 단건 조회를 짧은 시간(window) 동안 모아서 한 번의 IN 쿼리로 읽음
+//  - 같은 키를 동시에 요청하면 같은 CompletableFuture를 받으므로 조회는 한 번만 나감
+//  - 첫 키가 들어온 뒤 window가 지나거나 maxBatchSize개가 모이면 batchLoader를 호출
+//  - batchLoader 결과에 없는 키는 null로 완료
+public class MicroBatchLoader<K, V> implements AutoCloseable {
+    final private Function<Set<K>, Map<K, V>> batchLoader;
+    final private long windowMicros;
+    final private int maxBatchSize;
+    final private ScheduledExecutorService scheduler;
+
+    private Map<K, CompletableFuture<V>> pending = new HashMap<>();
+
+    public MicroBatchLoader(String name, Function<Set<K>, Map<K, V>> batchLoader, long windowMicros, int maxBatchSize, int threads) {
+        Assert.isTrue(windowMicros >= 0, "windowMicros는 0 이상이어야 합니다.");
+        Assert.isTrue(maxBatchSize > 0, "maxBatchSize는 1 이상이어야 합니다.");
+        Assert.isTrue(threads > 0, "threads는 1 이상이어야 합니다.");
+        this.batchLoader = batchLoader;
+        this.windowMicros = windowMicros;
+        this.maxBatchSize = maxBatchSize;
+
+        var threadNumber = new AtomicInteger();
+        this.scheduler = Executors.newScheduledThreadPool(threads, runnable -> {
+            var thread = new Thread(runnable, name + "-batch-loader-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public CompletableFuture<V> load(K key) {
+        synchronized (this) {
+            var future = pending.get(key);
+            if(future != null) {
+                return future;
+            }
+
+            future = new CompletableFuture<>();
+            pending.put(key, future);
+            if(pending.size() >= maxBatchSize) {
+                var batch = drain();
+                scheduler.execute(() -> dispatch(batch));
+            } else if(pending.size() == 1) {
+                // 이번 batch의 첫 키가 들어왔을 때 window 뒤에 모인 키들을 한 번에 읽도록 예약
+                scheduler.schedule(this::flush, windowMicros, TimeUnit.MICROSECONDS);
+            }
+            return future;
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+    }
+
+    private void flush() {
+        Map<K, CompletableFuture<V>> batch;
+        synchronized (this) {
+            if(pending.isEmpty()) {
+                // maxBatchSize가 차서 이미 보낸 경우
+                return;
+            }
+            batch = drain();
+        }
+        dispatch(batch);
+    }
+
+    private Map<K, CompletableFuture<V>> drain() {
+        var batch = pending;
+        pending = new HashMap<>();
+        return batch;
+    }
+
+    private void dispatch(Map<K, CompletableFuture<V>> batch) {
+        try {
+            var values = batchLoader.apply(batch.keySet());
+            batch.forEach((key, future) -> future.complete(values.get(key)));
+        } catch (Throwable e) {
+            batch.values().forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
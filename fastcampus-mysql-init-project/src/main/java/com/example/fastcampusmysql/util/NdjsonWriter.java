@@ -0,0 +1,54 @@
+package com.example.fastcampusmysql.util;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+
+// 객체를 한 줄에 하나씩 JSON으로 쓰는 writer(NDJSON, application/x-ndjson)
+//  - JsonGenerator 하나를 계속 사용하고, 객체마다 flush하지 않음
+//      -> 출력 버퍼가 찰 때만 OutputStream으로 내보내므로 행 수와 관계없이 메모리 사용량이 일정
+//  - close()는 남은 버퍼만 내보내고 OutputStream은 닫지 않음(응답 스트림은 컨테이너가 닫음)
+public class NdjsonWriter<T> implements Closeable {
+    final private ObjectWriter objectWriter;
+    final private JsonGenerator generator;
+    private long count;
+
+    public NdjsonWriter(ObjectMapper objectMapper, Class<T> type, OutputStream outputStream) {
+        try {
+            this.objectWriter = objectMapper.writerFor(type)
+                    .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+            this.generator = objectMapper.getFactory().createGenerator(outputStream)
+                    .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                    .disable(JsonGenerator.Feature.FLUSH_PASSED_TO_STREAM);
+            // 최상위 값 사이에 기본 구분자(공백)를 넣지 않고 줄바꿈만 씀
+            this.generator.setRootValueSeparator(null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public void write(T value) {
+        try {
+            objectWriter.writeValue(generator, value);
+            generator.writeRaw('\n');
+            count++;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public long count() {
+        return count;
+    }
+
+    @Override
+    public void close() throws IOException {
+        generator.close();
+    }
+}
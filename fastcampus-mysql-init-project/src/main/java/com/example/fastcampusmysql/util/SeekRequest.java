@@ -0,0 +1,20 @@
+package com.example.fastcampusmysql.util;
+
+// keyset 페이징 요청
+//  - CursorRequest는 PK 하나를 키로 쓰지만, 정렬 기준이 여러 개면 (정렬 값, id) 쌍이 키가 되므로 불투명한 토큰으로 받음
+//  - 처음 요청할 때에는 token 없이 요청
+public record SeekRequest(
+        String token,
+        int size
+) {
+    // size 없이 요청하면 0으로 들어오므로 받는 쪽에서 isValidSize로 확인
+    public static final int MAX_SIZE = 100;
+
+    public boolean isValidSize() {
+        return size > 0 && size <= MAX_SIZE;
+    }
+
+    public boolean hasToken() {
+        return token != null && !token.isBlank();
+    }
+}
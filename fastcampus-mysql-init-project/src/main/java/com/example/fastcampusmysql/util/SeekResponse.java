@@ -0,0 +1,12 @@
+package com.example.fastcampusmysql.util;
+
+import java.util.List;
+
+public record SeekResponse<T>(
+        String nextToken, // 다음 요청에 그대로 넘길 토큰, 더이상 데이터가 없으면 null
+        List<T> contents
+) {
+    public boolean hasNext() {
+        return nextToken != null;
+    }
+}
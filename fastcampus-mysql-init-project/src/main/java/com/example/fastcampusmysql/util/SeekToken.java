@@ -0,0 +1,28 @@
+package com.example.fastcampusmysql.util;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+// keyset 페이징 커서를 클라이언트에 넘길 불투명한 문자열로 변환
+//  - 마지막으로 읽은 행의 정렬 값들을 이어붙여 Base64(URL-safe)로 인코딩
+//  - 클라이언트는 값을 해석하지 않고 그대로 돌려보내기만 하면 되므로 정렬 기준이 바뀌어도 API 규약이 그대로임
+public class SeekToken {
+    final private static char SEPARATOR = '|';
+
+    public static String encode(List<String> values) {
+        var joined = String.join(String.valueOf(SEPARATOR), values);
+        return Base64.getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(joined.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static List<String> decode(String token) {
+        try {
+            var joined = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            return List.of(joined.split("\\" + SEPARATOR, -1));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidSeekRequestException("잘못된 커서입니다.", e);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.fastcampusmysql.util.loaddata;
+
+import java.util.List;
+
+// LOAD DATA로 넣을 테이블, 컬럼 순서, 엔티티 -> 컬럼 값 변환 방법
+//  - encoder가 writer에 넘기는 값의 순서는 columns 순서와 같아야 함
+public record LoadDataFormat<T>(
+        String table,
+        List<String> columns,
+        Encoder<T> encoder
+) {
+    @FunctionalInterface
+    public interface Encoder<T> {
+        void encode(T row, LoadDataRowWriter writer);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.fastcampusmysql.util.loaddata;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+// Iterator의 엔티티를 읽히는 만큼만 텍스트로 바꿔주는 InputStream
+//  - 드라이버가 서버로 파일 내용을 보낼 때 read()를 호출하므로 임시 파일 없이 메모리에서 바로 흘려보낼 수 있음
+//  - 한 번에 ROWS_PER_FILL개 행만 인코딩해서 들고 있으므로 전체 행 수와 상관없이 메모리 사용량이 일정함
+public class LoadDataInputStream<T> extends InputStream {
+    final private static int ROWS_PER_FILL = 1_000;
+
+    final private Iterator<T> rows;
+    final private LoadDataFormat.Encoder<T> encoder;
+    final private StringBuilder text = new StringBuilder();
+    final private LoadDataRowWriter writer = new LoadDataRowWriter(text);
+
+    private byte[] bytes = new byte[0];
+    private int position;
+    private long rowCount;
+
+    public LoadDataInputStream(Iterator<T> rows, LoadDataFormat.Encoder<T> encoder) {
+        this.rows = rows;
+        this.encoder = encoder;
+    }
+
+    @Override
+    public int read() {
+        if(!fill()) {
+            return -1;
+        }
+        return bytes[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] destination, int offset, int length) {
+        if(length == 0) {
+            return 0;
+        }
+        if(!fill()) {
+            return -1;
+        }
+
+        var count = Math.min(length, bytes.length - position);
+        System.arraycopy(bytes, position, destination, offset, count);
+        position += count;
+        return count;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    // 남은 바이트가 없으면 다음 행들을 인코딩해서 채움
+    private boolean fill() {
+        if(position < bytes.length) {
+            return true;
+        }
+
+        text.setLength(0);
+        for(int i = 0; i < ROWS_PER_FILL && rows.hasNext(); i++) {
+            encoder.encode(rows.next(), writer);
+            writer.endRow();
+            rowCount++;
+        }
+
+        bytes = text.toString().getBytes(StandardCharsets.UTF_8);
+        position = 0;
+        return bytes.length > 0;
+    }
+}
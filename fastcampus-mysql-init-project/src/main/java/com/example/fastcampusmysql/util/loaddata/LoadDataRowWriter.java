@@ -0,0 +1,83 @@
+package com.example.fastcampusmysql.util.loaddata;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+// 한 행을 MySQL LOAD DATA 기본 텍스트 형식으로 씀
+//  - 컬럼 구분 '\t', 행 구분 '\n', 이스케이프 '\\', NULL은 \N
+//  - 값 안에 구분자가 들어있으면 이스케이프해야 컬럼/행이 밀리지 않음
+public class LoadDataRowWriter {
+    final private static DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSSSSS");
+
+    final private StringBuilder buffer;
+    private boolean firstColumn = true;
+
+    LoadDataRowWriter(StringBuilder buffer) {
+        this.buffer = buffer;
+    }
+
+    public LoadDataRowWriter column(Long value) {
+        if(value == null) {
+            return writeNull();
+        }
+        separate();
+        buffer.append(value.longValue());
+        return this;
+    }
+
+    public LoadDataRowWriter column(String value) {
+        if(value == null) {
+            return writeNull();
+        }
+        separate();
+        for(int i = 0; i < value.length(); i++) {
+            var c = value.charAt(i);
+            switch (c) {
+                case '\\' -> buffer.append("\\\\");
+                case '\t' -> buffer.append("\\t");
+                case '\n' -> buffer.append("\\n");
+                case '\r' -> buffer.append("\\r");
+                case '\0' -> buffer.append("\\0");
+                default -> buffer.append(c);
+            }
+        }
+        return this;
+    }
+
+    public LoadDataRowWriter column(LocalDate value) {
+        if(value == null) {
+            return writeNull();
+        }
+        separate();
+        buffer.append(value);
+        return this;
+    }
+
+    public LoadDataRowWriter column(LocalDateTime value) {
+        if(value == null) {
+            return writeNull();
+        }
+        separate();
+        DATE_TIME_FORMATTER.formatTo(value, buffer);
+        return this;
+    }
+
+    void endRow() {
+        buffer.append('\n');
+        firstColumn = true;
+    }
+
+    private LoadDataRowWriter writeNull() {
+        separate();
+        buffer.append("\\N");
+        return this;
+    }
+
+    private void separate() {
+        if(!firstColumn) {
+            buffer.append('\t');
+        }
+        firstColumn = false;
+    }
+}
@@ -0,0 +1,151 @@
+package com.example.fastcampusmysql.util.loaddata;
+
+import com.example.fastcampusmysql.util.BulkInsertPipeline;
+import com.mysql.cj.conf.PropertyKey;
+import com.mysql.cj.jdbc.JdbcConnection;
+import com.mysql.cj.jdbc.JdbcStatement;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+// LOAD DATA LOCAL INFILE로 대량 적재
+//  - batchUpdate(rewriteBatchedStatements)는 결국 INSERT 문을 파싱/실행하지만 LOAD DATA는 서버가 텍스트를 바로 읽어서 넣으므로 훨씬 빠름
+//  - 파일 대신 드라이버의 setLocalInfileInputStream()에 LoadDataInputStream을 넘겨서 임시 파일 없이 메모리에서 바로 보냄
+//  - 서버(local_infile=ON)와 드라이버(allowLoadLocalInfile=true) 둘 다 허용해야 쓸 수 있음
+//      -> 허용되지 않은 환경에서는 isAvailable()이 false이므로 호출하는 쪽에서 batch insert로 대체
+//      -> allowLoadLocalInfile은 서버가 클라이언트 파일을 요청할 수 있게 하는 옵션이라 신뢰하는 DB에만 켜야 함
+//  - 한 문장이 너무 커지면 undo/redo가 커지고 실패 시 전부 롤백되므로 rowsPerStatement개씩 끊어서 여러 번 실행
+//      -> 문장마다 따로 커밋되므로 중간에 실패하면 앞의 문장까지는 적재된 채로 남음
+//      -> 적재한 행으로 집계 등을 갱신해야 하면 afterStatement를 넘겨서 문장과 같은 트랜잭션으로 묶음
+@Slf4j
+@Component
+public class LocalInfileLoader {
+    final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    final private TransactionTemplate transactionTemplate;
+    final private int rowsPerStatement;
+    private volatile Boolean available;
+
+    @Autowired
+    public LocalInfileLoader(
+            NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            @Value("${load-data.rows-per-statement:1000000}") int rowsPerStatement
+    ) {
+        Assert.isTrue(rowsPerStatement > 0, "rowsPerStatement는 1 이상이어야 합니다.");
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.rowsPerStatement = rowsPerStatement;
+    }
+
+    // 설정은 실행 중에 바뀌지 않으므로 처음 한 번만 확인
+    public boolean isAvailable() {
+        var result = available;
+        if(result == null) {
+            result = namedParameterJdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Boolean>) this::checkAvailable);
+            available = result;
+            if(!result) {
+                log.info("LOAD DATA LOCAL INFILE을 사용할 수 없어 batch insert로 대체합니다.");
+            }
+        }
+        return result;
+    }
+
+    public <T> BulkInsertPipeline.BulkInsertResult load(LoadDataFormat<T> format, Iterator<T> rows) {
+        return load(format, rows, null);
+    }
+
+    // 문장마다 afterStatement를 그 문장과 같은 트랜잭션에서 실행(null이면 트랜잭션 없이 문장만 실행)
+    //  -> 적재한 행과 afterStatement의 변경이 같이 커밋되거나 같이 롤백됨
+    public <T> BulkInsertPipeline.BulkInsertResult load(LoadDataFormat<T> format, Iterator<T> rows, Runnable afterStatement) {
+        Assert.state(isAvailable(), "LOAD DATA LOCAL INFILE을 사용할 수 없습니다.");
+
+        var sql = String.format("LOAD DATA LOCAL INFILE 'stream' INTO TABLE %s " +
+                "CHARACTER SET utf8mb4 " +
+                "FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\' " +
+                "LINES TERMINATED BY '\\n' " +
+                "(%s)", format.table(), String.join(", ", format.columns()));
+
+        var startedAt = System.nanoTime();
+        var totalRows = 0L;
+        var statements = 0;
+
+        // 같은 커넥션에서 rowsPerStatement개씩 끊어서 실행
+        //  -> 트랜잭션 안에서 호출하면 트랜잭션 커넥션을 그대로 쓰므로 전체가 하나로 묶임
+        while (rows.hasNext()) {
+            var stream = new LoadDataInputStream<>(new LimitedIterator<>(rows, rowsPerStatement), format.encoder());
+            if(afterStatement == null) {
+                execute(sql, stream);
+            } else {
+                transactionTemplate.executeWithoutResult(status -> {
+                    execute(sql, stream);
+                    afterStatement.run();
+                });
+            }
+            totalRows += stream.getRowCount();
+            statements++;
+            log.info("LOAD DATA {} : {} rows", format.table(), stream.getRowCount());
+        }
+
+        return new BulkInsertPipeline.BulkInsertResult(totalRows, statements, Duration.ofNanos(System.nanoTime() - startedAt));
+    }
+
+    private void execute(String sql, LoadDataInputStream<?> stream) {
+        namedParameterJdbcTemplate.getJdbcTemplate().execute((ConnectionCallback<Long>) connection -> {
+            try (var statement = connection.createStatement()) {
+                statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(stream);
+                return statement.executeLargeUpdate(sql);
+            }
+        });
+    }
+
+    private Boolean checkAvailable(Connection connection) throws SQLException {
+        var clientAllowed = connection.unwrap(JdbcConnection.class)
+                .getPropertySet()
+                .getBooleanProperty(PropertyKey.allowLoadLocalInfile)
+                .getValue();
+        if(!clientAllowed) {
+            return false;
+        }
+
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT @@GLOBAL.local_infile")) {
+            return resultSet.next() && resultSet.getBoolean(1);
+        }
+    }
+
+    // 원본 Iterator에서 최대 limit개까지만 꺼내는 Iterator
+    private static class LimitedIterator<T> implements Iterator<T> {
+        final private Iterator<T> source;
+        private int remaining;
+
+        LimitedIterator(Iterator<T> source, int limit) {
+            this.source = source;
+            this.remaining = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0 && source.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if(!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            remaining--;
+            return source.next();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.fastcampusmysql.application.usecase;
+
+import com.example.fastcampusmysql.domain.follow.dto.FollowPair;
+import com.example.fastcampusmysql.domain.follow.service.FollowWriteService;
+import com.example.fastcampusmysql.domain.member.service.MemberReadService;
+import com.example.fastcampusmysql.util.BulkInsertPipeline;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+class ImportFollowsUsecaseTest {
+    @DisplayName("없는 회원, 자기 자신 팔로우는 rejected, 입력 안의 중복과 이미 있는 팔로우는 duplicates로 센다")
+    @Test
+    public void testCounts() {
+        var memberReadService = Mockito.mock(MemberReadService.class);
+        Mockito.when(memberReadService.getExistingMemberIds(ArgumentMatchers.anyCollection()))
+                .thenAnswer(invocation -> {
+                    var ids = new HashSet<Long>(invocation.<Collection<Long>>getArgument(0));
+                    ids.retainAll(Set.of(1L, 2L, 3L));
+                    return ids;
+                });
+        // (1, 2)는 이미 저장되어 있는 팔로우
+        var saved = new ArrayList<FollowPair>();
+        var followWriteService = Mockito.mock(FollowWriteService.class);
+        Mockito.when(followWriteService.bulkCreate(ArgumentMatchers.anyList()))
+                .thenAnswer(invocation -> {
+                    List<FollowPair> pairs = invocation.getArgument(0);
+                    synchronized (saved) {
+                        saved.addAll(pairs);
+                    }
+                    return (int) pairs.stream().filter(pair -> !pair.equals(new FollowPair(1L, 2L))).count();
+                });
+        var usecase = new ImportFollowsUsecase(memberReadService, followWriteService, new BulkInsertPipeline(4, 1, 1));
+
+        var result = usecase.execute(Stream.of(
+                new FollowPair(1L, 2L),
+                new FollowPair(3L, 1L),
+                new FollowPair(3L, 1L),
+                new FollowPair(1L, 1L),
+                new FollowPair(2L, 3L),
+                new FollowPair(2L, 99L),
+                new FollowPair(1L, 3L)
+        ));
+
+        Assertions.assertEquals(3, result.accepted());
+        Assertions.assertEquals(2, result.duplicates());
+        Assertions.assertEquals(2, result.rejected());
+        Assertions.assertEquals(7, result.pairs());
+        Assertions.assertEquals(2, result.batches());
+        Assertions.assertEquals(Set.of(new FollowPair(1L, 2L), new FollowPair(3L, 1L), new FollowPair(2L, 3L), new FollowPair(1L, 3L)), new HashSet<>(saved));
+    }
+}
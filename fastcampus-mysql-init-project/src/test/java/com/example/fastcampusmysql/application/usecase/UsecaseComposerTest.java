@@ -0,0 +1,117 @@
+package com.example.fastcampusmysql.application.usecase;
+
+import com.example.fastcampusmysql.config.datasource.ReadYourWritesContext;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+class UsecaseComposerTest {
+    final private ExecutorService executor = Executors.newFixedThreadPool(2);
+    final private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    public void tearDown() {
+        executor.shutdownNow();
+        MDC.clear();
+        ReadYourWritesContext.end();
+    }
+
+    @DisplayName("fork한 조회는 동시에 실행되고, 요청 스레드의 MDC를 그대로 사용하며, 단계별 시간을 기록한다")
+    @Test
+    public void testForkRunsConcurrently() {
+        var composer = new UsecaseComposer(executor, meterRegistry, 3000);
+        var bothStarted = new CountDownLatch(2);
+        MDC.put("requestId", "request-1");
+
+        try (var composition = composer.begin("TestUsecase")) {
+            // 두 조회가 서로를 기다리므로 순서대로 실행하면 끝나지 않음
+            var first = composition.fork("first", () -> awaitOther(bothStarted));
+            var second = composition.fork("second", () -> awaitOther(bothStarted));
+
+            Assertions.assertEquals("request-1", first.join());
+            Assertions.assertEquals("request-1", second.join());
+        }
+
+        Assertions.assertEquals(1, meterRegistry.get("usecase.steps").tag("usecase", "TestUsecase").tag("step", "first").timer().count());
+        Assertions.assertEquals(1, meterRegistry.get("usecase.executions").tag("usecase", "TestUsecase").timer().count());
+    }
+
+    @DisplayName("timeout이 지나도 끝나지 않은 조회를 기다리면 예외를 던진다")
+    @Test
+    public void testDeadline() {
+        var composer = new UsecaseComposer(executor, meterRegistry, 50);
+        var never = new CountDownLatch(1);
+
+        try (var composition = composer.begin("TestUsecase")) {
+            var step = composition.fork("slow", () -> {
+                await(never);
+                return "slow";
+            });
+
+            var exception = Assertions.assertThrows(IllegalStateException.class, step::join);
+            Assertions.assertEquals("TestUsecase.slow 조회 시간이 초과되었습니다.", exception.getMessage());
+        } finally {
+            never.countDown();
+        }
+    }
+
+    @DisplayName("fork한 조회는 요청의 read-your-writes 표시를 같이 쓴다")
+    @Test
+    public void testForkSharesReadYourWrites() {
+        var composer = new UsecaseComposer(executor, meterRegistry, 3000);
+        ReadYourWritesContext.begin();
+
+        try (var composition = composer.begin("TestUsecase")) {
+            Assertions.assertFalse(composition.fork("before", ReadYourWritesContext::isWritten).join());
+
+            ReadYourWritesContext.markWritten();
+            Assertions.assertTrue(composition.fork("after", ReadYourWritesContext::isWritten).join());
+        }
+
+        // 조회 스레드에는 표시가 남지 않음
+        Assertions.assertFalse(CompletableFuture.supplyAsync(ReadYourWritesContext::isWritten, executor).join());
+    }
+
+    @DisplayName("트랜잭션 안에서는 호출한 스레드에서 바로 실행하고, 실패한 조회의 예외는 join할 때 던진다")
+    @Test
+    public void testInlineInTransaction() {
+        var composer = new UsecaseComposer(executor, meterRegistry, 3000);
+        var caller = Thread.currentThread();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try (var composition = composer.begin("TestUsecase")) {
+            var thread = composition.fork("thread", Thread::currentThread);
+            var failed = composition.fork("failed", () -> {
+                throw new IllegalArgumentException("failed");
+            });
+
+            Assertions.assertSame(caller, thread.join());
+            Assertions.assertThrows(IllegalArgumentException.class, failed::join);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+        }
+    }
+
+    private static String awaitOther(CountDownLatch latch) {
+        latch.countDown();
+        await(latch);
+        return MDC.get("requestId");
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.fastcampusmysql.application.worker;
+
+import com.example.fastcampusmysql.domain.follow.service.FollowReadService;
+import com.example.fastcampusmysql.domain.post.entity.TimelineBackfill;
+import com.example.fastcampusmysql.domain.post.repository.TimelineBackfillRepository;
+import com.example.fastcampusmysql.domain.post.service.PostReadService;
+import com.example.fastcampusmysql.domain.post.service.TimelineWriteService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.LongStream;
+
+class TimelineBackfillWorkerTest {
+    final private FollowReadService followReadService = Mockito.mock(FollowReadService.class);
+    final private PostReadService postReadService = Mockito.mock(PostReadService.class);
+    final private TimelineWriteService timelineWriteService = Mockito.mock(TimelineWriteService.class);
+    final private TimelineBackfillRepository timelineBackfillRepository = Mockito.mock(TimelineBackfillRepository.class);
+
+    // 작성자(회원 1)의 게시물 id 1 ~ 1200, 회원 2의 타임라인에도 모두 들어와 있음
+    final private List<Long> postIds = LongStream.rangeClosed(1, 1_200).boxed()
+            .sorted(Comparator.reverseOrder())
+            .toList();
+
+    private TimelineBackfillWorker worker() {
+        Mockito.when(postReadService.getPostIds(ArgumentMatchers.eq(1L), ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenAnswer(invocation -> page(invocation.getArgument(1), invocation.getArgument(2)));
+        Mockito.when(postReadService.getTimelinePostIds(ArgumentMatchers.eq(2L), ArgumentMatchers.eq(1L), ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenAnswer(invocation -> page(invocation.getArgument(2), invocation.getArgument(3)));
+
+        return new TimelineBackfillWorker(
+                followReadService,
+                postReadService,
+                timelineWriteService,
+                timelineBackfillRepository,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                Mockito.mock(ThreadPoolTaskExecutor.class),
+                new SimpleMeterRegistry(),
+                1,
+                50,
+                500,
+                60_000,
+                86_400_000,
+                2
+        );
+    }
+
+    private List<Long> page(Long lastPostId, int size) {
+        return postIds.stream()
+                .filter(postId -> lastPostId == null || postId < lastPostId)
+                .limit(size)
+                .toList();
+    }
+
+    private static TimelineBackfill backfill(TimelineBackfill.Type type, Long lastPostId) {
+        return TimelineBackfill.builder().id(10L).memberId(2L).authorId(1L).type(type).lastPostId(lastPostId).claimedBy("worker-a").build();
+    }
+
+    @DisplayName("팔로우하고 있으면 작성자의 최근 게시물 size개를 한 번에 타임라인에 넣고 완료 처리한다")
+    @Test
+    public void testBackfill() {
+        var worker = worker();
+        Mockito.when(followReadService.isFollowing(2L, 1L)).thenReturn(true);
+
+        worker.process(backfill(TimelineBackfill.Type.BACKFILL, null));
+
+        Mockito.verify(timelineWriteService, Mockito.times(1)).backfill(ArgumentMatchers.eq(2L),
+                ArgumentMatchers.argThat(ids -> ids.size() == 50 && ids.get(0) == 1_200L));
+        Mockito.verify(timelineBackfillRepository).complete(10L, "worker-a");
+    }
+
+    @DisplayName("작업을 처리할 때 이미 언팔로우했다면 타임라인에 넣지 않는다")
+    @Test
+    public void testBackfillAfterUnfollow() {
+        var worker = worker();
+        Mockito.when(followReadService.isFollowing(2L, 1L)).thenReturn(false);
+
+        worker.process(backfill(TimelineBackfill.Type.BACKFILL, null));
+
+        Mockito.verifyNoInteractions(timelineWriteService);
+        Mockito.verify(timelineBackfillRepository).complete(10L, "worker-a");
+    }
+
+    @DisplayName("언팔로우하면 타임라인에 있는 작성자의 게시물을 chunk 단위로 지우고 chunk마다 체크포인트를 남긴다")
+    @Test
+    public void testCleanupInChunks() {
+        var worker = worker();
+
+        worker.process(backfill(TimelineBackfill.Type.CLEANUP, null));
+
+        InOrder inOrder = Mockito.inOrder(timelineWriteService, timelineBackfillRepository);
+        inOrder.verify(timelineWriteService).removeFromTimeline(ArgumentMatchers.eq(2L), ArgumentMatchers.argThat(ids -> ids.size() == 500 && ids.get(0) == 1_200L));
+        inOrder.verify(timelineBackfillRepository).saveCheckpoint(10L, "worker-a", 701L, Duration.ofMillis(60_000));
+        inOrder.verify(timelineWriteService).removeFromTimeline(ArgumentMatchers.eq(2L), ArgumentMatchers.argThat(ids -> ids.size() == 500));
+        inOrder.verify(timelineBackfillRepository).saveCheckpoint(10L, "worker-a", 201L, Duration.ofMillis(60_000));
+        inOrder.verify(timelineWriteService).removeFromTimeline(ArgumentMatchers.eq(2L), ArgumentMatchers.argThat(ids -> ids.size() == 200));
+        inOrder.verify(timelineBackfillRepository).saveCheckpoint(10L, "worker-a", 1L, Duration.ofMillis(60_000));
+        inOrder.verify(timelineBackfillRepository).complete(10L, "worker-a");
+    }
+
+    @DisplayName("체크포인트부터 이어서 지우고, 중간에 다시 팔로우하면 거기서 멈춘다")
+    @Test
+    public void testCleanupResumeAndRefollow() {
+        var worker = worker();
+        Mockito.when(followReadService.isFollowing(2L, 1L)).thenReturn(false, true);
+
+        worker.process(backfill(TimelineBackfill.Type.CLEANUP, 1_001L));
+
+        Mockito.verify(timelineWriteService, Mockito.times(1)).removeFromTimeline(ArgumentMatchers.eq(2L),
+                ArgumentMatchers.argThat(ids -> ids.size() == 500 && ids.get(0) == 1_000L));
+        Mockito.verify(timelineBackfillRepository).saveCheckpoint(10L, "worker-a", 501L, Duration.ofMillis(60_000));
+        Mockito.verify(timelineBackfillRepository).complete(10L, "worker-a");
+    }
+
+    @DisplayName("정리 중 실패하면 완료 처리하지 않는다")
+    @Test
+    public void testFailure() {
+        var worker = worker();
+        Mockito.doThrow(new RuntimeException("delete 실패"))
+                .when(timelineWriteService).removeFromTimeline(ArgumentMatchers.eq(2L), ArgumentMatchers.anyList());
+
+        Assertions.assertDoesNotThrow(() -> worker.process(backfill(TimelineBackfill.Type.CLEANUP, null)));
+        Mockito.verify(timelineBackfillRepository, Mockito.never()).complete(ArgumentMatchers.anyLong(), ArgumentMatchers.anyString());
+    }
+
+    @DisplayName("정리는 작성자의 게시물 전체가 아니라 타임라인에 들어와 있는 게시물만 읽는다")
+    @Test
+    public void testCleanupReadsTimeline() {
+        var worker = worker();
+        Mockito.when(postReadService.getTimelinePostIds(2L, 1L, null, 500)).thenReturn(List.of(1_150L, 900L, 3L));
+
+        worker.process(backfill(TimelineBackfill.Type.CLEANUP, null));
+
+        Mockito.verify(postReadService, Mockito.never()).getPostIds(ArgumentMatchers.anyLong(), ArgumentMatchers.any(), ArgumentMatchers.anyInt());
+        Mockito.verify(timelineWriteService).removeFromTimeline(2L, List.of(1_150L, 900L, 3L));
+        Mockito.verify(timelineBackfillRepository).saveCheckpoint(10L, "worker-a", 3L, Duration.ofMillis(60_000));
+        Mockito.verify(timelineBackfillRepository).complete(10L, "worker-a");
+    }
+
+    @DisplayName("다른 워커가 다시 가져가서 체크포인트가 거절되면 정리를 멈추고 완료 처리하지 않는다")
+    @Test
+    public void testCleanupStopWhenLeaseLost() {
+        var worker = worker();
+        Mockito.doThrow(new IllegalStateException("다른 워커가 가져간 보정 작업입니다."))
+                .when(timelineBackfillRepository).saveCheckpoint(10L, "worker-a", 701L, Duration.ofMillis(60_000));
+
+        Assertions.assertDoesNotThrow(() -> worker.process(backfill(TimelineBackfill.Type.CLEANUP, null)));
+        Mockito.verify(timelineWriteService, Mockito.times(1)).removeFromTimeline(ArgumentMatchers.eq(2L), ArgumentMatchers.anyList());
+        Mockito.verify(timelineBackfillRepository, Mockito.never()).complete(ArgumentMatchers.anyLong(), ArgumentMatchers.anyString());
+    }
+
+    @DisplayName("완료된 지 오래된 작업은 batch 크기만큼씩 남은 것이 없을 때까지 지운다")
+    @Test
+    public void testPurge() {
+        Mockito.when(timelineBackfillRepository.deleteAllCompletedBefore(ArgumentMatchers.any(), ArgumentMatchers.eq(2)))
+                .thenReturn(2, 0);
+
+        worker().purge();
+
+        Mockito.verify(timelineBackfillRepository, Mockito.times(2)).deleteAllCompletedBefore(ArgumentMatchers.any(), ArgumentMatchers.eq(2));
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.fastcampusmysql.application.worker;
+
+import com.example.fastcampusmysql.domain.follow.entity.Follow;
+import com.example.fastcampusmysql.domain.follow.service.FollowReadService;
+import com.example.fastcampusmysql.domain.post.entity.TimelineOutbox;
+import com.example.fastcampusmysql.domain.post.repository.TimelineOutboxRepository;
+import com.example.fastcampusmysql.domain.post.service.TimelineWriteService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+class TimelineFanOutWorkerTest {
+    final private FollowReadService followReadService = Mockito.mock(FollowReadService.class);
+    final private TimelineWriteService timelineWriteService = Mockito.mock(TimelineWriteService.class);
+    final private TimelineOutboxRepository timelineOutboxRepository = Mockito.mock(TimelineOutboxRepository.class);
+
+    // Follow id 1 ~ 2500, 팔로워 회원 id = Follow id + 100
+    final private List<Follow> follows = LongStream.rangeClosed(1, 2_500)
+            .mapToObj(id -> Follow.builder().id(id).fromMemberId(id + 100).toMemberId(1L).build())
+            .toList();
+
+    private TimelineFanOutWorker worker() {
+        Mockito.when(followReadService.getFollows(ArgumentMatchers.eq(1L), ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt()))
+                .thenAnswer(invocation -> {
+                    long lastFollowId = invocation.getArgument(1);
+                    int size = invocation.getArgument(2);
+                    return follows.stream()
+                            .filter(follow -> follow.getId() > lastFollowId)
+                            .limit(size)
+                            .toList();
+                });
+
+        return new TimelineFanOutWorker(
+                followReadService,
+                timelineWriteService,
+                timelineOutboxRepository,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                Mockito.mock(ThreadPoolTaskExecutor.class),
+                new SimpleMeterRegistry(),
+                1,
+                1_000,
+                60_000,
+                86_400_000,
+                2
+        );
+    }
+
+    @DisplayName("팔로워를 chunk 단위로 배달하고 chunk마다 체크포인트를 남긴 뒤 완료 처리한다")
+    @Test
+    public void testDeliverInChunks() {
+        var outbox = TimelineOutbox.builder().id(10L).postId(7L).authorId(1L).claimedBy("worker-a").build();
+
+        worker().deliver(outbox);
+
+        InOrder inOrder = Mockito.inOrder(timelineWriteService, timelineOutboxRepository);
+        inOrder.verify(timelineWriteService).deliveryToTimeline(ArgumentMatchers.eq(7L), ArgumentMatchers.argThat(ids -> ids.size() == 1_000 && ids.get(0) == 101L));
+        inOrder.verify(timelineOutboxRepository).saveCheckpoint(10L, "worker-a", 1_000L, Duration.ofMillis(60_000));
+        inOrder.verify(timelineWriteService).deliveryToTimeline(ArgumentMatchers.eq(7L), ArgumentMatchers.argThat(ids -> ids.size() == 1_000));
+        inOrder.verify(timelineOutboxRepository).saveCheckpoint(10L, "worker-a", 2_000L, Duration.ofMillis(60_000));
+        inOrder.verify(timelineWriteService).deliveryToTimeline(ArgumentMatchers.eq(7L), ArgumentMatchers.argThat(ids -> ids.size() == 500));
+        inOrder.verify(timelineOutboxRepository).saveCheckpoint(10L, "worker-a", 2_500L, Duration.ofMillis(60_000));
+        inOrder.verify(timelineOutboxRepository).complete(10L, "worker-a");
+    }
+
+    @DisplayName("체크포인트가 있으면 그 다음 팔로워부터 이어서 배달한다")
+    @Test
+    public void testResumeFromCheckpoint() {
+        var outbox = TimelineOutbox.builder().id(10L).postId(7L).authorId(1L).claimedBy("worker-a").lastFollowId(2_000L).build();
+
+        worker().deliver(outbox);
+
+        Mockito.verify(timelineWriteService, Mockito.times(1)).deliveryToTimeline(ArgumentMatchers.eq(7L),
+                ArgumentMatchers.argThat(ids -> ids.size() == 500 && ids.get(0) == 2_101L));
+        Mockito.verify(timelineOutboxRepository).complete(10L, "worker-a");
+    }
+
+    @DisplayName("배달 중 실패하면 완료 처리하지 않는다")
+    @Test
+    public void testFailure() {
+        var outbox = TimelineOutbox.builder().id(10L).postId(7L).authorId(1L).claimedBy("worker-a").build();
+        var worker = worker();
+        Mockito.doThrow(new RuntimeException("insert 실패"))
+                .when(timelineWriteService).deliveryToTimeline(ArgumentMatchers.eq(7L), ArgumentMatchers.anyList());
+
+        Assertions.assertDoesNotThrow(() -> worker.deliver(outbox));
+        Mockito.verify(timelineOutboxRepository, Mockito.never()).complete(ArgumentMatchers.anyLong(), ArgumentMatchers.anyString());
+    }
+
+    @DisplayName("다른 워커가 다시 가져가서 체크포인트가 거절되면 배달을 멈추고 완료 처리하지 않는다")
+    @Test
+    public void testStopWhenLeaseLost() {
+        var outbox = TimelineOutbox.builder().id(10L).postId(7L).authorId(1L).claimedBy("worker-a").build();
+        var worker = worker();
+        Mockito.doThrow(new IllegalStateException("다른 워커가 가져간 배달 작업입니다."))
+                .when(timelineOutboxRepository).saveCheckpoint(10L, "worker-a", 1_000L, Duration.ofMillis(60_000));
+
+        Assertions.assertDoesNotThrow(() -> worker.deliver(outbox));
+        Mockito.verify(timelineWriteService, Mockito.times(1)).deliveryToTimeline(ArgumentMatchers.eq(7L), ArgumentMatchers.anyList());
+        Mockito.verify(timelineOutboxRepository, Mockito.never()).complete(ArgumentMatchers.anyLong(), ArgumentMatchers.anyString());
+    }
+
+    @DisplayName("완료된 지 오래된 작업은 batch 크기만큼씩 남은 것이 없을 때까지 지운다")
+    @Test
+    public void testPurge() {
+        Mockito.when(timelineOutboxRepository.deleteAllCompletedBefore(ArgumentMatchers.any(), ArgumentMatchers.eq(2)))
+                .thenReturn(2, 2, 1);
+
+        worker().purge();
+
+        Mockito.verify(timelineOutboxRepository, Mockito.times(3)).deleteAllCompletedBefore(ArgumentMatchers.any(), ArgumentMatchers.eq(2));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.fastcampusmysql.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+
+class MeteredDataSourceTest {
+    @DisplayName("대상마다 실행한 쿼리 수를 기록하고 unwrap은 원래 객체에 위임한다")
+    @Test
+    public void testRecordsQueriesPerTarget() throws Exception {
+        var meterRegistry = new SimpleMeterRegistry();
+        var statement = Mockito.mock(PreparedStatement.class);
+        var connection = Mockito.mock(Connection.class);
+        var target = Mockito.mock(DataSource.class);
+        Mockito.when(target.getConnection()).thenReturn(connection);
+        Mockito.when(connection.prepareStatement("SELECT 1")).thenReturn(statement);
+        Mockito.when(statement.unwrap(PreparedStatement.class)).thenReturn(statement);
+
+        var dataSource = new MeteredDataSource(target, "replica-0", meterRegistry);
+        try (var metered = dataSource.getConnection()) {
+            var prepared = metered.prepareStatement("SELECT 1");
+            prepared.executeQuery();
+            prepared.executeQuery();
+            Assertions.assertSame(statement, prepared.unwrap(PreparedStatement.class));
+        }
+
+        var timer = meterRegistry.get("datasource.queries").tag("target", "replica-0").timer();
+        Assertions.assertEquals(2, timer.count());
+        Mockito.verify(connection).close();
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.fastcampusmysql.config.datasource;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ReplicationRoutingDataSourceTest {
+    final private Map<DataSource, Long> lags = new HashMap<>();
+    final private SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    final private AtomicLong nanoTime = new AtomicLong();
+
+    @AfterEach
+    public void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        ReadYourWritesContext.end();
+    }
+
+    private TestRouting routing(long... replicaLags) {
+        var replicas = new LinkedHashMap<String, DataSource>();
+        for(var lag : replicaLags) {
+            var replica = Mockito.mock(DataSource.class);
+            lags.put(replica, lag);
+            replicas.put("replica-" + replicas.size(), replica);
+        }
+        var monitor = new ReplicaLagMonitor(new ReplicaDataSources(replicas), lags::get, 1000, 3000, meterRegistry, nanoTime::get);
+        monitor.check();
+        return new TestRouting(List.copyOf(replicas.keySet()), monitor);
+    }
+
+    @DisplayName("읽기 전용 트랜잭션만 replica로 돌아가면서 보내고 나머지는 primary로 보낸다")
+    @Test
+    public void testRoutesReadOnlyToReplicas() {
+        var routing = routing(0, 500);
+
+        Assertions.assertEquals(ReplicationRoutingDataSource.PRIMARY, routing.route());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Assertions.assertEquals(List.of("replica-0", "replica-1", "replica-0"),
+                List.of(routing.route(), routing.route(), routing.route()));
+    }
+
+    @DisplayName("요청 안에서 primary를 쓴 뒤의 조회는 primary로 보낸다")
+    @Test
+    public void testReadYourWrites() {
+        var routing = routing(0);
+        ReadYourWritesContext.begin();
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Assertions.assertEquals("replica-0", routing.route());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+        Assertions.assertEquals(ReplicationRoutingDataSource.PRIMARY, routing.route());
+
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        Assertions.assertEquals(ReplicationRoutingDataSource.PRIMARY, routing.route());
+
+        // 다음 요청
+        ReadYourWritesContext.end();
+        ReadYourWritesContext.begin();
+        Assertions.assertEquals("replica-0", routing.route());
+    }
+
+    @DisplayName("복제 지연이 maxLag을 넘거나 알 수 없는 replica는 건너뛰고, 모두 그렇다면 primary로 보낸다")
+    @Test
+    public void testFallbackOnReplicaLag() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        var oneLagging = routing(5_000, 0);
+        Assertions.assertEquals(List.of("replica-1", "replica-1"), List.of(oneLagging.route(), oneLagging.route()));
+
+        var allLagging = routing(5_000, -1);
+        Assertions.assertEquals(ReplicationRoutingDataSource.PRIMARY, allLagging.route());
+        Assertions.assertEquals(1.0, meterRegistry.counter("datasource.routing.fallbacks").count());
+    }
+
+    @DisplayName("마지막으로 복제 지연을 잰 지 staleAfter가 지나면 다시 잴 때까지 primary로 보낸다")
+    @Test
+    public void testFallbackOnStaleCheck() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        var routing = routing(0);
+        Assertions.assertEquals("replica-0", routing.route());
+
+        nanoTime.addAndGet(3_001_000_000L);
+        Assertions.assertEquals(ReplicationRoutingDataSource.PRIMARY, routing.route());
+    }
+
+    private class TestRouting extends ReplicationRoutingDataSource {
+        private TestRouting(List<String> replicas, ReplicaLagMonitor monitor) {
+            super(replicas, monitor, meterRegistry);
+        }
+
+        private Object route() {
+            return determineCurrentLookupKey();
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.fastcampusmysql.config.jdbc;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.core.JdbcOperations;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+class QueryMetricsTest {
+    @DisplayName("리포지토리 메서드마다 실행 시간, 반환한 행 수, 예외 수를 기록한다")
+    @Test
+    public void testRecordsPerMethod() {
+        var meterRegistry = new SimpleMeterRegistry();
+        var jdbcOperations = Mockito.mock(JdbcOperations.class);
+        Mockito.when(jdbcOperations.query(ArgumentMatchers.any(PreparedStatementCreator.class), ArgumentMatchers.<RowMapper<Long>>any()))
+                .thenReturn(List.of(1L, 2L, 3L));
+        // 느린 쿼리 로그까지 타도록 기준 0ms, 전부 남김
+        var queryMetrics = new QueryMetrics(meterRegistry, Duration.ZERO, 1.0);
+
+        var proxyFactory = new ProxyFactory(new SampleRepository(new MeteredNamedParameterJdbcTemplate(jdbcOperations)));
+        proxyFactory.setProxyTargetClass(true);
+        proxyFactory.addAdvice(queryMetrics);
+        var repository = (SampleRepository) proxyFactory.getProxy();
+
+        Assertions.assertEquals(3, repository.findAllIds(1L).size());
+        Assertions.assertEquals(3, repository.findAllIds(2L).size());
+        Assertions.assertTrue(repository.findById(1L).isEmpty());
+        Assertions.assertThrows(IllegalStateException.class, repository::fail);
+
+        var timer = meterRegistry.get("repository.queries").tag("method", "SampleRepository.findAllIds").timer();
+        Assertions.assertEquals(2, timer.count());
+        var rows = meterRegistry.get("repository.query.rows").tag("method", "SampleRepository.findAllIds").summary();
+        Assertions.assertEquals(6, rows.totalAmount());
+        Assertions.assertEquals(0, meterRegistry.get("repository.query.rows").tag("method", "SampleRepository.findById").summary().totalAmount());
+        var errors = meterRegistry.get("repository.query.errors").tag("method", "SampleRepository.fail").tag("exception", "IllegalStateException").counter();
+        Assertions.assertEquals(1, errors.count());
+    }
+
+    static class SampleRepository {
+        final private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+        SampleRepository(NamedParameterJdbcTemplate namedParameterJdbcTemplate) {
+            this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        }
+
+        public List<Long> findAllIds(Long memberId) {
+            var params = new MapSqlParameterSource().addValue("memberId", memberId);
+            return namedParameterJdbcTemplate.query("SELECT id FROM Post WHERE memberId = :memberId", params, (resultSet, rowNum) -> resultSet.getLong(1));
+        }
+
+        public Optional<Long> findById(Long id) {
+            return Optional.empty();
+        }
+
+        public void fail() {
+            throw new IllegalStateException("fail");
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.example.fastcampusmysql.domain.follow.service;
+
+import com.example.fastcampusmysql.domain.follow.dto.FollowPair;
+import com.example.fastcampusmysql.domain.follow.entity.Follow;
+import com.example.fastcampusmysql.domain.follow.repository.FollowRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+class FollowGraphTest {
+    private static FollowRepository repository(List<Follow> follows) {
+        var followRepository = Mockito.mock(FollowRepository.class);
+        Mockito.when(followRepository.findAllByGreaterThanIdOrderByIdAsc(ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt()))
+                .thenAnswer(invocation -> {
+                    long lastId = invocation.getArgument(0);
+                    int size = invocation.getArgument(1);
+                    return follows.stream()
+                            .filter(follow -> follow.getId() > lastId)
+                            .limit(size)
+                            .toList();
+                });
+        return followRepository;
+    }
+
+    private static Follow follow(long id, long fromMemberId, long toMemberId) {
+        return Follow.builder().id(id).fromMemberId(fromMemberId).toMemberId(toMemberId).build();
+    }
+
+    @DisplayName("Follow 테이블을 나눠 읽어서 팔로잉, 팔로워 두 방향을 만든다")
+    @Test
+    public void testReload() {
+        var follows = List.of(follow(1, 1, 2), follow(2, 1, 3), follow(3, 2, 3), follow(4, 3, 1), follow(5, 1, 4));
+        var graph = new FollowGraph(repository(follows), true, 2, 10_000, Runnable::run);
+        Assertions.assertFalse(graph.isReady());
+
+        graph.reload();
+
+        Assertions.assertTrue(graph.isReady());
+        Assertions.assertArrayEquals(new long[]{2, 3, 4}, graph.getFollowingIds(1));
+        Assertions.assertArrayEquals(new long[]{1, 2}, graph.getFollowerIds(3));
+        Assertions.assertArrayEquals(new long[0], graph.getFollowingIds(4));
+    }
+
+    @DisplayName("추가한 팔로우는 merge 전에도 보이고, merge 후에도 중복 없이 보인다")
+    @Test
+    public void testDeltaAndMerge() {
+        var follows = new ArrayList<>(List.of(follow(1, 1, 2)));
+        var graph = new FollowGraph(repository(follows), true, 100, 10_000, Runnable::run);
+        graph.reload();
+
+        graph.add(1, 3);
+        graph.add(1, 3);
+        graph.add(1, 2);
+        graph.add(4, 2);
+
+        Assertions.assertArrayEquals(new long[]{2, 3}, graph.getFollowingIds(1));
+        Assertions.assertArrayEquals(new long[]{1, 4}, graph.getFollowerIds(2));
+
+        graph.merge();
+
+        Assertions.assertArrayEquals(new long[]{2, 3}, graph.getFollowingIds(1));
+        Assertions.assertArrayEquals(new long[]{1, 4}, graph.getFollowerIds(2));
+        Assertions.assertArrayEquals(new long[]{1}, graph.getFollowerIds(3));
+    }
+
+    @DisplayName("다시 읽으면 읽기 전에 추가된 팔로우는 delta에서 빠지고 DB 기준으로 바뀐다")
+    @Test
+    public void testReloadDropsAppliedDelta() {
+        var follows = new ArrayList<>(List.of(follow(1, 1, 2)));
+        var graph = new FollowGraph(repository(follows), true, 100, 10_000, Runnable::run);
+        graph.reload();
+
+        graph.add(1, 3);
+        follows.add(follow(2, 1, 3));
+        follows.add(follow(3, 5, 1));
+        graph.reload();
+        graph.merge();
+
+        Assertions.assertArrayEquals(new long[]{2, 3}, graph.getFollowingIds(1));
+        Assertions.assertArrayEquals(new long[]{5}, graph.getFollowerIds(1));
+    }
+
+    @DisplayName("팔로우를 추가해도 이미 읽어간 이웃 배열은 바뀌지 않고, 추가 전에 쌓인 다른 회원의 delta도 그대로 보인다")
+    @Test
+    public void testAppendTouchesOnlySource() {
+        var graph = new FollowGraph(repository(List.of(follow(1, 1, 2))), true, 100, 10_000, Runnable::run);
+        graph.reload();
+        for(long member = 10; member < 1_010; member++) {
+            graph.add(member, 2);
+        }
+
+        var before = graph.getFollowingIds(1);
+        graph.add(1, 3);
+
+        Assertions.assertArrayEquals(new long[]{2}, before);
+        Assertions.assertArrayEquals(new long[]{2, 3}, graph.getFollowingIds(1));
+        Assertions.assertArrayEquals(new long[]{2}, graph.getFollowingIds(500));
+        Assertions.assertEquals(1_001, graph.getFollowerIds(2).length);
+    }
+
+    @DisplayName("한 번에 넣은 팔로우는 merge 전에도 보이고, 취소했던 팔로우는 다시 보인다")
+    @Test
+    public void testAddAll() {
+        var graph = new FollowGraph(repository(List.of(follow(1, 1, 2))), true, 100, 10_000, Runnable::run);
+        graph.reload();
+        graph.remove(1, 2);
+
+        graph.addAll(List.of(new FollowPair(1L, 2L), new FollowPair(1L, 3L), new FollowPair(4L, 3L)));
+
+        Assertions.assertArrayEquals(new long[]{2, 3}, graph.getFollowingIds(1));
+        Assertions.assertArrayEquals(new long[]{1, 4}, graph.getFollowerIds(3));
+    }
+
+    @DisplayName("한 번에 넣은 팔로우가 기준 이상이면 delta에 넣지 않고 그래프를 다시 읽는다")
+    @Test
+    public void testAddAllReloadsAboveThreshold() {
+        var follows = new ArrayList<>(List.of(follow(1, 1, 2)));
+        var tasks = new ConcurrentLinkedQueue<Runnable>();
+        var graph = new FollowGraph(repository(follows), true, 100, 2, tasks::add);
+        graph.reload();
+
+        follows.add(follow(2, 1, 3));
+        follows.add(follow(3, 4, 3));
+        graph.addAll(List.of(new FollowPair(1L, 3L), new FollowPair(4L, 3L)));
+        Assertions.assertArrayEquals(new long[]{2}, graph.getFollowingIds(1));
+        Assertions.assertEquals(1, tasks.size());
+
+        tasks.poll().run();
+        Assertions.assertArrayEquals(new long[]{2, 3}, graph.getFollowingIds(1));
+        Assertions.assertArrayEquals(new long[]{1, 4}, graph.getFollowerIds(3));
+    }
+
+    @DisplayName("취소한 팔로우는 바로 안 보이고, 다시 팔로우하면 보이며, 취소 뒤 다시 읽으면 삭제 표시가 지워진다")
+    @Test
+    public void testRemove() {
+        var follows = new ArrayList<>(List.of(follow(1, 1, 2), follow(2, 1, 3), follow(3, 4, 3)));
+        var graph = new FollowGraph(repository(follows), true, 100, 10_000, Runnable::run);
+        graph.reload();
+
+        graph.remove(1, 3);
+        Assertions.assertArrayEquals(new long[]{2}, graph.getFollowingIds(1));
+        Assertions.assertArrayEquals(new long[]{4}, graph.getFollowerIds(3));
+
+        graph.add(1, 3);
+        Assertions.assertArrayEquals(new long[]{2, 3}, graph.getFollowingIds(1));
+
+        graph.remove(1, 2);
+        follows.remove(0);
+        graph.reload();
+        Assertions.assertArrayEquals(new long[]{3}, graph.getFollowingIds(1));
+        Assertions.assertArrayEquals(new long[]{1, 4}, graph.getFollowerIds(3));
+
+        graph.add(1, 2);
+        Assertions.assertArrayEquals(new long[]{3, 2}, graph.getFollowingIds(1));
+    }
+
+    @DisplayName("주기 작업은 스케줄러 스레드에서 바로 읽지 않고 실행기에 넘기며, 대기 중인 같은 작업은 다시 넣지 않는다")
+    @Test
+    public void testScheduleOnExecutor() {
+        var tasks = new ConcurrentLinkedQueue<Runnable>();
+        var graph = new FollowGraph(repository(List.of(follow(1, 1, 2))), true, 100, 10_000, tasks::add);
+
+        graph.scheduleReload();
+        graph.scheduleReload();
+        Assertions.assertEquals(1, tasks.size());
+        Assertions.assertFalse(graph.isReady());
+
+        tasks.poll().run();
+        Assertions.assertTrue(graph.isReady());
+        Assertions.assertArrayEquals(new long[]{2}, graph.getFollowingIds(1));
+
+        graph.scheduleReload();
+        Assertions.assertEquals(1, tasks.size());
+    }
+}
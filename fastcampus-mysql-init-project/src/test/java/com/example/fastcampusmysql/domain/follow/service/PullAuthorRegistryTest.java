@@ -0,0 +1,117 @@
+package com.example.fastcampusmysql.domain.follow.service;
+
+import com.example.fastcampusmysql.domain.follow.dto.FollowerCount;
+import com.example.fastcampusmysql.domain.follow.entity.PullAuthor;
+import com.example.fastcampusmysql.domain.follow.repository.FollowRepository;
+import com.example.fastcampusmysql.domain.follow.repository.PullAuthorRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+class PullAuthorRegistryTest {
+    final private List<FollowerCount> candidates = List.of(
+            new FollowerCount(1L, 50_000L),
+            new FollowerCount(2L, 12_000L),
+            new FollowerCount(3L, 9_000L),
+            new FollowerCount(4L, 8_500L)
+    );
+
+    @DisplayName("팔로워 수가 기준 이상인 회원만 새로 pull 작성자가 된다")
+    @Test
+    public void testEnter() {
+        var selected = PullAuthorRegistry.select(Set.of(), candidates, 10_000, 8_000, 10);
+
+        Assertions.assertEquals(Set.of(1L, 2L), selected);
+    }
+
+    @DisplayName("이미 pull 작성자인 회원은 빠지는 기준 밑으로 내려가기 전까지 유지된다")
+    @Test
+    public void testHysteresis() {
+        var selected = PullAuthorRegistry.select(Set.of(3L, 5L), candidates, 10_000, 8_000, 10);
+
+        Assertions.assertEquals(Set.of(1L, 2L, 3L), selected);
+    }
+
+    @DisplayName("pull 작성자는 팔로워 수가 많은 순으로 최대 수까지만 선택된다")
+    @Test
+    public void testMaxPullAuthors() {
+        var selected = PullAuthorRegistry.select(Set.of(), candidates, 10_000, 8_000, 1);
+
+        Assertions.assertEquals(Set.of(1L), selected);
+    }
+
+    @DisplayName("하이브리드 모드가 꺼져 있으면 pull 작성자가 없다")
+    @Test
+    public void testDisabled() {
+        var followRepository = Mockito.mock(FollowRepository.class);
+        var pullAuthorRepository = Mockito.mock(PullAuthorRepository.class);
+        var registry = new PullAuthorRegistry(followRepository, pullAuthorRepository, false, 10_000, 0.8, 10, 10_000, 60_000);
+
+        registry.init();
+        registry.refresh();
+
+        Assertions.assertFalse(registry.isPullAuthor(1L));
+        Mockito.verifyNoInteractions(followRepository, pullAuthorRepository);
+    }
+
+    @DisplayName("서버가 뜰 때 목록을 계산해서 저장하고, 빠지는 작성자는 배달 대상이 되지만 읽을 때는 계속 pull로 가져온다")
+    @Test
+    public void testInitMarksLeaving() {
+        var followRepository = Mockito.mock(FollowRepository.class);
+        var pullAuthorRepository = Mockito.mock(PullAuthorRepository.class);
+        var registry = new PullAuthorRegistry(followRepository, pullAuthorRepository, true, 10_000, 0.8, 10, 10_000, 60_000);
+        Mockito.when(followRepository.findAllFollowerCountsGreaterThanOrEqual(8_000, 20)).thenReturn(candidates);
+        Mockito.when(pullAuthorRepository.findAll()).thenReturn(
+                List.of(pullAuthor(2L, null), pullAuthor(5L, null)),
+                List.of(pullAuthor(1L, null), pullAuthor(2L, null), pullAuthor(5L, LocalDateTime.now()))
+        );
+
+        registry.init();
+
+        Mockito.verify(pullAuthorRepository).saveAll(List.of(1L));
+        Mockito.verify(pullAuthorRepository).markLeaving(List.of(5L));
+        Assertions.assertTrue(registry.isPullAuthor(1L));
+        Assertions.assertFalse(registry.isPullAuthor(5L));
+        Assertions.assertEquals(Set.of(1L, 2L, 5L), registry.getPullAuthorIds());
+    }
+
+    @DisplayName("서버가 뜰 때 목록을 만들지 못하면 빈 목록으로 시작하지 않고 실패한다")
+    @Test
+    public void testInitFailure() {
+        var followRepository = Mockito.mock(FollowRepository.class);
+        var pullAuthorRepository = Mockito.mock(PullAuthorRepository.class);
+        var registry = new PullAuthorRegistry(followRepository, pullAuthorRepository, true, 10_000, 0.8, 10, 10_000, 60_000);
+        Mockito.when(pullAuthorRepository.findAll()).thenThrow(new IllegalStateException("DB 연결 실패"));
+
+        Assertions.assertThrows(IllegalStateException.class, registry::init);
+    }
+
+    @DisplayName("빠진 지 exitGrace가 지나고 아직 보정하지 않은 작성자만 보정 대상이다")
+    @Test
+    public void testExitedAuthors() {
+        var pullAuthorRepository = Mockito.mock(PullAuthorRepository.class);
+        var registry = new PullAuthorRegistry(Mockito.mock(FollowRepository.class), pullAuthorRepository, true, 10_000, 0.8, 10, 10_000, 60_000);
+        var now = LocalDateTime.now();
+        Mockito.when(pullAuthorRepository.findAll()).thenReturn(List.of(
+                pullAuthor(1L, null),
+                pullAuthor(2L, now),
+                pullAuthor(3L, now.minusMinutes(5)),
+                PullAuthor.builder().memberId(4L).leavingAt(now.minusMinutes(5)).backfilledAt(now).build()
+        ));
+
+        Assertions.assertEquals(List.of(3L), registry.getExitedAuthorIds());
+        Assertions.assertEquals(List.of(4L), registry.getBackfilledAuthorIds());
+    }
+
+    private static PullAuthor pullAuthor(Long memberId, LocalDateTime leavingAt) {
+        return PullAuthor.builder()
+                .memberId(memberId)
+                .leavingAt(leavingAt)
+                .build();
+    }
+}
@@ -0,0 +1,97 @@
+package com.example.fastcampusmysql.domain.member.service;
+
+import com.example.fastcampusmysql.domain.member.dto.MemberDto;
+import com.example.fastcampusmysql.domain.member.entity.Member;
+import com.example.fastcampusmysql.domain.member.repository.MemberRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+
+import static org.mockito.ArgumentMatchers.anyList;
+
+class MemberCacheTest {
+    private static Member member(long id) {
+        return Member.builder().id(id).email("pnu@fast.com").nickname("member" + id).birthday(LocalDate.now()).build();
+    }
+
+    private static MemberRepository repository(List<List<Long>> requested) {
+        var memberRepository = Mockito.mock(MemberRepository.class);
+        Mockito.when(memberRepository.findAllByIdIn(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            synchronized (requested) {
+                requested.add(List.copyOf(ids));
+            }
+            return ids.stream().filter(id -> id != 404L).map(MemberCacheTest::member).toList();
+        });
+        return memberRepository;
+    }
+
+    @DisplayName("한 회원을 동시에 여러 요청이 조회해도 DB 조회는 한 번만 나간다")
+    @Test
+    public void testThunderingHerd() throws Exception {
+        var requested = new ArrayList<List<Long>>();
+        var cache = new MemberCache(repository(requested), 100, 60_000, 10_000, 100);
+        var threads = 64;
+        var executor = Executors.newFixedThreadPool(threads);
+        var start = new CountDownLatch(1);
+
+        var futures = new ArrayList<CompletableFuture<MemberDto>>();
+        for(int i = 0; i < threads; i++) {
+            futures.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return cache.get(1L).orElseThrow();
+            }, executor));
+        }
+        start.countDown();
+
+        for(var future : futures) {
+            Assertions.assertEquals(1L, future.get().id());
+        }
+        Assertions.assertEquals(List.of(List.of(1L)), requested);
+        executor.shutdown();
+        cache.close();
+    }
+
+    @DisplayName("서로 다른 회원을 동시에 조회하면 한 번의 IN 쿼리로 묶이고 없는 회원은 빠진다")
+    @Test
+    public void testBatchesMissesAcrossRequests() {
+        var requested = new ArrayList<List<Long>>();
+        var cache = new MemberCache(repository(requested), 100, 60_000, 50_000, 100);
+
+        var members = cache.getAll(List.of(3L, 1L, 404L, 2L, 1L));
+
+        Assertions.assertEquals(List.of(3L, 1L, 2L), members.stream().map(MemberDto::id).toList());
+        Assertions.assertEquals(1, requested.size());
+        Assertions.assertEquals(List.of(1L, 2L, 3L, 404L), requested.get(0).stream().sorted().toList());
+        cache.close();
+    }
+
+    @DisplayName("비운 회원과 없는 회원은 다음 조회 때 다시 읽는다")
+    @Test
+    public void testEvictAndMissing() {
+        var requested = new ArrayList<List<Long>>();
+        var cache = new MemberCache(repository(requested), 100, 60_000, 0, 100);
+
+        Assertions.assertTrue(cache.get(404L).isEmpty());
+        Assertions.assertTrue(cache.get(404L).isEmpty());
+        cache.get(1L);
+        cache.get(1L);
+        cache.evictAfterCommit(1L);
+        cache.get(1L);
+
+        Assertions.assertEquals(List.of(List.of(404L), List.of(404L), List.of(1L), List.of(1L)), requested);
+        cache.close();
+    }
+}
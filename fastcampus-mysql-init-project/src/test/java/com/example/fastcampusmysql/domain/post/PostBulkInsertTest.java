@@ -71,6 +71,46 @@ public class PostBulkInsertTest {
     // 100만건이어서 메모리 설정이 필요
     //  -> cmd + shift + a 눌러서 Edit Custom VM Option 누르기
     //  -> -Xmx2048m 이라는 글씨가 보일텐데, 2048m이 메모리 크기를 의미
+
+    // 스트리밍 bulk insert
+    //  -> 객체를 만들면서 바로 chunk 단위로 insert 하므로 100만건을 List로 들고 있지 않음
+    //  -> 위처럼 메모리 설정을 늘리지 않아도 됨
+    @Test
+    public void streamingBulkInsert() {
+        var easyRandom = PostFixtureFactory.get(
+                2L,
+                LocalDate.of(1970, 1, 1),
+                LocalDate.of(2023, 2, 1)
+        );
+
+        var posts = IntStream.range(0, 1_000_000)
+                .mapToObj(i -> easyRandom.nextObject(Post.class));
+
+        var result = postRepository.bulkInsert(posts);
+
+        System.out.println("DB insert 시간 : " + result.elapsed().toMillis() / 1000.0);
+        System.out.println("초당 insert row 수 : " + result.rowsPerSecond());
+    }
+
+    // LOAD DATA LOCAL INFILE 적재
+    //  -> 테스트 datasource url에 allowLoadLocalInfile=true가 있고 서버가 local_infile=ON 이어야 함
+    //  -> 아니면 위의 스트리밍 bulk insert로 대체되므로 두 결과를 비교해볼 수 있음
+    @Test
+    public void bulkLoad() {
+        var easyRandom = PostFixtureFactory.get(
+                2L,
+                LocalDate.of(1970, 1, 1),
+                LocalDate.of(2023, 2, 1)
+        );
+
+        var posts = IntStream.range(0, 1_000_000)
+                .mapToObj(i -> easyRandom.nextObject(Post.class));
+
+        var result = postRepository.bulkLoad(posts);
+
+        System.out.println("DB load 시간 : " + result.elapsed().toMillis() / 1000.0);
+        System.out.println("초당 load row 수 : " + result.rowsPerSecond());
+    }
 }
 // 100만건 넣는 테스트는 다양한 방법으로 해볼 수 있음
 //  -> 지금 우리가 하고 있는 것은 굉장히 원초적인 방법
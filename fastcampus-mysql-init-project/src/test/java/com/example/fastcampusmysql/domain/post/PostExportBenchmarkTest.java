@@ -0,0 +1,68 @@
+package com.example.fastcampusmysql.domain.post;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import com.example.fastcampusmysql.domain.post.service.PostReadService;
+import com.example.fastcampusmysql.util.PostFixtureFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.StopWatch;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+// 게시물 100만건인 회원의 export 초당 행 수
+//  - 스트리밍 조회만(streamAllByMemberIdOrderByIdAsc) / 조회 + NDJSON 쓰기(exportPosts)를 나눠서 잼
+//  - 둘의 차이가 매핑 + 직렬화 비용이고, jmh의 PostExportBenchmark와 비교해볼 수 있음
+//  - 네트워크로 내보내는 시간은 빼기 위해 결과는 버림
+@SpringBootTest
+public class PostExportBenchmarkTest {
+    // 다른 벤치마크가 넣은 게시물과 섞이지 않도록 별도 회원
+    final private static Long MEMBER_ID = 5L;
+    final private static int ROWS = 1_000_000;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostReadService postReadService;
+
+    @Test
+    public void export() throws IOException {
+        var easyRandom = PostFixtureFactory.get(
+                MEMBER_ID,
+                LocalDate.of(2020, 1, 1),
+                LocalDate.of(2023, 2, 1)
+        );
+        postRepository.bulkLoad(IntStream.range(0, ROWS)
+                .mapToObj(i -> easyRandom.nextObject(Post.class)));
+
+        // 워밍업
+        var rows = new AtomicLong();
+        postRepository.streamAllByMemberIdOrderByIdAsc(MEMBER_ID, post -> rows.incrementAndGet());
+
+        rows.set(0);
+        var fetchStopWatch = new StopWatch();
+        fetchStopWatch.start();
+        postRepository.streamAllByMemberIdOrderByIdAsc(MEMBER_ID, post -> rows.incrementAndGet());
+        fetchStopWatch.stop();
+
+        var exportStopWatch = new StopWatch();
+        exportStopWatch.start();
+        var exported = postReadService.exportPosts(MEMBER_ID, OutputStream.nullOutputStream());
+        exportStopWatch.stop();
+
+        System.out.println("스트리밍 조회 행 수 / 시간 : " + rows.get() + " / " + fetchStopWatch.getTotalTimeSeconds());
+        System.out.println("스트리밍 조회 초당 행 수 : " + toRowsPerSecond(rows.get(), fetchStopWatch));
+        System.out.println("export 행 수 / 시간 : " + exported + " / " + exportStopWatch.getTotalTimeSeconds());
+        System.out.println("export 초당 행 수 : " + toRowsPerSecond(exported, exportStopWatch));
+    }
+
+    private static long toRowsPerSecond(long rows, StopWatch stopWatch) {
+        return rows * 1_000 / Math.max(stopWatch.getTotalTimeMillis(), 1);
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.fastcampusmysql.domain.post;
+
+import com.example.fastcampusmysql.domain.post.dto.PostSort;
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import com.example.fastcampusmysql.util.PostFixtureFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.StopWatch;
+
+import java.time.LocalDate;
+import java.util.stream.IntStream;
+
+// OFFSET 페이징과 keyset 페이징의 1페이지, 10,000페이지 조회 시간 비교
+//  - OFFSET : 10,000페이지는 앞의 20만건을 읽고 버리므로 1페이지보다 훨씬 느림
+//  - keyset : 몇 번째 페이지든 인덱스에서 마지막 행 다음부터 20건만 읽으므로 1페이지와 비슷해야 함
+@SpringBootTest
+public class PostKeysetPaginationBenchmarkTest {
+    final private static Long MEMBER_ID = 4L;
+    final private static int PAGE_SIZE = 20;
+    final private static int LAST_PAGE = 10_000;
+    final private static int ITERATIONS = 100;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Test
+    public void compareDeepPage() {
+        var easyRandom = PostFixtureFactory.get(
+                MEMBER_ID,
+                LocalDate.of(2020, 1, 1),
+                LocalDate.of(2023, 2, 1)
+        );
+        postRepository.bulkInsert(IntStream.range(0, PAGE_SIZE * (LAST_PAGE + 1))
+                .mapToObj(i -> easyRandom.nextObject(Post.class)));
+
+        for (var sort : PostSort.values()) {
+            var spring = Sort.by(Sort.Direction.DESC, switch (sort) {
+                case ID_DESC -> "id";
+                case CREATED_AT_DESC -> "createdAt";
+                case LIKE_COUNT_DESC -> "likeCount";
+            });
+            var firstPage = PageRequest.of(0, PAGE_SIZE, spring);
+            var deepPage = PageRequest.of(LAST_PAGE, PAGE_SIZE, spring);
+
+            // 10,000페이지 직전 행의 토큰은 OFFSET으로 한 번만 구해둠
+            var previousPage = postRepository.findAllByMemberId(MEMBER_ID, PageRequest.of(LAST_PAGE - 1, PAGE_SIZE, spring)).getContent();
+            var deepKey = sort.fromToken(sort.toToken(previousPage.get(previousPage.size() - 1)));
+
+            var offsetFirst = measure(() -> postRepository.findAllByMemberId(MEMBER_ID, firstPage));
+            var offsetDeep = measure(() -> postRepository.findAllByMemberId(MEMBER_ID, deepPage));
+            var keysetFirst = measure(() -> postRepository.findAllByMemberId(MEMBER_ID, sort, null, PAGE_SIZE));
+            var keysetDeep = measure(() -> postRepository.findAllByMemberId(MEMBER_ID, sort, deepKey, PAGE_SIZE));
+
+            System.out.println(sort + " OFFSET 1페이지 / 10,000페이지 평균 ms : " + offsetFirst + " / " + offsetDeep);
+            System.out.println(sort + " keyset 1페이지 / 10,000페이지 평균 ms : " + keysetFirst + " / " + keysetDeep);
+        }
+    }
+
+    private double measure(Runnable query) {
+        // 워밍업
+        query.run();
+
+        var stopWatch = new StopWatch();
+        stopWatch.start();
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.run();
+        }
+        stopWatch.stop();
+        return stopWatch.getTotalTimeMillis() / (double) ITERATIONS;
+    }
+}
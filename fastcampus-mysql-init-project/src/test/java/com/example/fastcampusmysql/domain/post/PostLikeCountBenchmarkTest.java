@@ -0,0 +1,96 @@
+package com.example.fastcampusmysql.domain.post;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.entity.PostLike;
+import com.example.fastcampusmysql.domain.post.repository.PostLikeRepository;
+import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import com.example.fastcampusmysql.domain.post.service.PostReadService;
+import com.example.fastcampusmysql.util.PostFixtureFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.util.StopWatch;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// PostReadService.getPosts(Long, Pageable)의 좋아요 수 조회 방식 비교
+//  - before : 게시물마다 postLikeRepository.count() -> 페이지당 쿼리 2 + 20번
+//  - after : postLikeRepository.countAllByPostIds() -> 페이지당 쿼리 3번
+// PostLike 100만건을 쌓아두고 같은 페이지를 여러 번 조회해서 평균 시간을 비교
+@SpringBootTest
+public class PostLikeCountBenchmarkTest {
+    final private static Long MEMBER_ID = 3L;
+    final private static int POST_COUNT = 200;
+    final private static int LIKE_COUNT = 1_000_000;
+    final private static int PAGE_SIZE = 20;
+    final private static int ITERATIONS = 100;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private PostLikeRepository postLikeRepository;
+
+    @Autowired
+    private PostReadService postReadService;
+
+    @Test
+    public void compareLikeCountLoading() {
+        var easyRandom = PostFixtureFactory.get(
+                MEMBER_ID,
+                LocalDate.of(2023, 1, 1),
+                LocalDate.of(2023, 2, 1)
+        );
+        postRepository.bulkInsert(IntStream.range(0, POST_COUNT)
+                .mapToObj(i -> easyRandom.nextObject(Post.class))
+                .toList());
+
+        var postIds = postRepository.findAllByMemberIdAndOrderByIdDesc(MEMBER_ID, POST_COUNT).stream()
+                .map(Post::getId)
+                .toList();
+
+        // 좋아요는 한 번에 올리면 메모리를 많이 쓰므로 10만건씩 나눠서 삽입
+        for (int offset = 0; offset < LIKE_COUNT; offset += 100_000) {
+            var postLikes = IntStream.range(offset, offset + 100_000)
+                    .mapToObj(i -> PostLike.builder()
+                            .memberId((long) i)
+                            .postId(postIds.get(i % postIds.size()))
+                            .build())
+                    .toList();
+            postLikeRepository.bulkInsert(postLikes);
+        }
+
+        var pageRequest = PageRequest.of(0, PAGE_SIZE);
+
+        // 워밍업
+        getPostsByPerPostCount(pageRequest);
+        postReadService.getPosts(MEMBER_ID, pageRequest);
+
+        var beforeStopWatch = new StopWatch();
+        beforeStopWatch.start();
+        for (int i = 0; i < ITERATIONS; i++) {
+            getPostsByPerPostCount(pageRequest);
+        }
+        beforeStopWatch.stop();
+
+        var afterStopWatch = new StopWatch();
+        afterStopWatch.start();
+        for (int i = 0; i < ITERATIONS; i++) {
+            postReadService.getPosts(MEMBER_ID, pageRequest);
+        }
+        afterStopWatch.stop();
+
+        System.out.println("게시물마다 count 쿼리 (before) 페이지당 평균 ms : " + beforeStopWatch.getTotalTimeMillis() / (double) ITERATIONS);
+        System.out.println("IN + GROUP BY 한 번 (after) 페이지당 평균 ms : " + afterStopWatch.getTotalTimeMillis() / (double) ITERATIONS);
+    }
+
+    // 기존 PostReadService.toDto()가 하던 방식 그대로 게시물마다 count 쿼리
+    private List<Long> getPostsByPerPostCount(PageRequest pageRequest) {
+        return postRepository.findAllByMemberId(MEMBER_ID, pageRequest).getContent().stream()
+                .map(post -> postLikeRepository.count(post.getId()))
+                .toList();
+    }
+}
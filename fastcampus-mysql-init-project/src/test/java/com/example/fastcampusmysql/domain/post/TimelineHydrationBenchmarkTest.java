@@ -0,0 +1,99 @@
+package com.example.fastcampusmysql.domain.post;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.entity.Timeline;
+import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import com.example.fastcampusmysql.domain.post.repository.TimelineRepository;
+import com.example.fastcampusmysql.domain.post.service.PostReadService;
+import com.example.fastcampusmysql.domain.post.service.TimelineReadService;
+import com.example.fastcampusmysql.util.PostFixtureFactory;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.util.StopWatch;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
+// 타임라인 조회 시 게시물을 채우는 방식 비교 (1, 10, 100 페이지)
+//  - before : Timeline 조회 + id IN (...) 쿼리, 2번 왕복하고 IN 결과는 타임라인 순서가 아님
+//  - after : Timeline과 Post를 join해서 1번 왕복, 타임라인 순서 그대로
+@SpringBootTest
+public class TimelineHydrationBenchmarkTest {
+    final private static Long AUTHOR_ID = 5L;
+    final private static Long READER_ID = 6L;
+    final private static int PAGE_SIZE = 20;
+    final private static int ITERATIONS = 100;
+
+    @Autowired
+    private PostRepository postRepository;
+
+    @Autowired
+    private TimelineRepository timelineRepository;
+
+    @Autowired
+    private TimelineReadService timelineReadService;
+
+    @Autowired
+    private PostReadService postReadService;
+
+    @Test
+    public void compareHydration() {
+        var easyRandom = PostFixtureFactory.get(
+                AUTHOR_ID,
+                LocalDate.of(2023, 1, 1),
+                LocalDate.of(2023, 2, 1)
+        );
+        postRepository.bulkInsert(IntStream.range(0, PAGE_SIZE * 100)
+                .mapToObj(i -> easyRandom.nextObject(Post.class))
+                .toList());
+        var postIds = postRepository.findAllByMemberIdAndOrderByIdDesc(AUTHOR_ID, PAGE_SIZE * 100).stream()
+                .map(Post::getId)
+                .toList();
+        timelineRepository.bulkInsert(postIds.stream()
+                .map(postId -> Timeline.builder().memberId(READER_ID).postId(postId).build())
+                .toList());
+
+        for (var page : List.of(1, 10, 100)) {
+            // page번째 페이지 직전 게시물 id가 커서
+            var cursorPostId = page == 1 ? null : postIds.get((page - 1) * PAGE_SIZE - 1);
+
+            var before = twoQueries(cursorPostId);
+            var after = postReadService.getTimelinePosts(READER_ID, cursorPostId, PAGE_SIZE);
+            Assertions.assertEquals(ids(after), postIds.subList((page - 1) * PAGE_SIZE, page * PAGE_SIZE));
+            Assertions.assertEquals(ids(after).stream().sorted().toList(), ids(before).stream().sorted().toList());
+
+            var beforeMillis = measure(() -> twoQueries(cursorPostId));
+            var afterMillis = measure(() -> postReadService.getTimelinePosts(READER_ID, cursorPostId, PAGE_SIZE));
+            System.out.println(page + "페이지 평균 ms - Timeline + IN (before) : " + beforeMillis + ", join (after) : " + afterMillis);
+        }
+    }
+
+    // 기존 executeByTimeline이 하던 방식 그대로
+    private List<Post> twoQueries(Long cursorPostId) {
+        var timelinePostIds = timelineReadService.getTimelinesByPostId(READER_ID, cursorPostId, PAGE_SIZE).stream()
+                .map(Timeline::getPostId)
+                .toList();
+        return postRepository.findAllByInId(timelinePostIds);
+    }
+
+    private double measure(Supplier<List<Post>> query) {
+        // 워밍업
+        query.get();
+
+        var stopWatch = new StopWatch();
+        stopWatch.start();
+        for (int i = 0; i < ITERATIONS; i++) {
+            query.get();
+        }
+        stopWatch.stop();
+        return stopWatch.getTotalTimeMillis() / (double) ITERATIONS;
+    }
+
+    private static List<Long> ids(List<Post> posts) {
+        return posts.stream().map(Post::getId).toList();
+    }
+}
@@ -0,0 +1,53 @@
+package com.example.fastcampusmysql.domain.post.dto;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.util.InvalidSeekRequestException;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDateTime;
+
+class PostSortTest {
+    final private Post post = Post.builder()
+            .id(10L)
+            .memberId(1L)
+            .contents("contents")
+            .likeCount(7L)
+            .createdAt(LocalDateTime.of(2023, 2, 1, 10, 30, 15, 500))
+            .build();
+
+    @DisplayName("커서 토큰에서 마지막 행의 정렬 값과 id를 그대로 복원한다")
+    @Test
+    public void testTokenRoundTrip() {
+        var createdAtKey = PostSort.CREATED_AT_DESC.fromToken(PostSort.CREATED_AT_DESC.toToken(post));
+        Assertions.assertEquals(post.getCreatedAt(), createdAtKey.sortValue());
+        Assertions.assertEquals(10L, createdAtKey.id());
+
+        var likeCountKey = PostSort.LIKE_COUNT_DESC.fromToken(PostSort.LIKE_COUNT_DESC.toToken(post));
+        Assertions.assertEquals(7L, likeCountKey.sortValue());
+        Assertions.assertEquals(10L, likeCountKey.id());
+    }
+
+    @DisplayName("다른 정렬로 만든 토큰이나 깨진 토큰은 거부한다")
+    @Test
+    public void testInvalidToken() {
+        var token = PostSort.LIKE_COUNT_DESC.toToken(post);
+
+        Assertions.assertThrows(InvalidSeekRequestException.class, () -> PostSort.CREATED_AT_DESC.fromToken(token));
+        Assertions.assertThrows(InvalidSeekRequestException.class, () -> PostSort.ID_DESC.fromToken("not-a-token!"));
+    }
+
+    @DisplayName("허용된 정렬만 변환하고 나머지는 거부한다")
+    @Test
+    public void testFromSort() {
+        Assertions.assertEquals(PostSort.ID_DESC, PostSort.from(Sort.unsorted()));
+        Assertions.assertEquals(PostSort.LIKE_COUNT_DESC, PostSort.from(Sort.by(Sort.Direction.DESC, "likeCount")));
+        Assertions.assertEquals("createdAt DESC, id DESC", PostSort.from(Sort.by(Sort.Direction.DESC, "createdAt")).orderBy());
+
+        Assertions.assertThrows(InvalidSeekRequestException.class, () -> PostSort.from(Sort.by(Sort.Direction.DESC, "contents")));
+        Assertions.assertThrows(InvalidSeekRequestException.class, () -> PostSort.from(Sort.by(Sort.Direction.ASC, "id")));
+        Assertions.assertThrows(InvalidSeekRequestException.class, () -> PostSort.from(Sort.by(Sort.Direction.DESC, "id; DROP TABLE POST")));
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.domain.post.dto.DailyPostCount;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+class DailyPostCountCacheTest {
+    @DisplayName("이미 읽은 구간은 다시 읽지 않고 모자란 구간만 집계 테이블에서 읽는다")
+    @Test
+    public void testLoadOnlyMissingRange() {
+        var cache = new DailyPostCountCache(10, 60_000);
+        var loadedRanges = new ArrayList<DailyPostCountCache.DailyPostCountRange>();
+        var day = LocalDate.of(2023, 1, 1);
+
+        var first = cache.get(1L, day, day.plusDays(9), range -> {
+            loadedRanges.add(range);
+            return List.of(new DailyPostCount(1L, day.plusDays(3), 5L));
+        });
+        var second = cache.get(1L, day.plusDays(2), day.plusDays(14), range -> {
+            loadedRanges.add(range);
+            return List.of(new DailyPostCount(1L, day.plusDays(12), 2L));
+        });
+
+        Assertions.assertEquals(List.of(new DailyPostCount(1L, day.plusDays(3), 5L)), first);
+        Assertions.assertEquals(List.of(
+                new DailyPostCount(1L, day.plusDays(3), 5L),
+                new DailyPostCount(1L, day.plusDays(12), 2L)
+        ), second);
+        Assertions.assertEquals(List.of(
+                new DailyPostCountCache.DailyPostCountRange(day, day.plusDays(9)),
+                new DailyPostCountCache.DailyPostCountRange(day.plusDays(10), day.plusDays(14))
+        ), loadedRanges);
+    }
+
+    @DisplayName("캐시를 비운 회원은 다음 조회 때 다시 읽는다")
+    @Test
+    public void testEvict() {
+        var cache = new DailyPostCountCache(10, 60_000);
+        var day = LocalDate.of(2023, 1, 1);
+        cache.get(1L, day, day, range -> List.of(new DailyPostCount(1L, day, 1L)));
+
+        cache.evict(1L);
+        var result = cache.get(1L, day, day, range -> List.of(new DailyPostCount(1L, day, 2L)));
+
+        Assertions.assertEquals(List.of(new DailyPostCount(1L, day, 2L)), result);
+    }
+
+    @DisplayName("읽는 도중에 비워진 회원은 읽은 값을 캐시에 넣지 않는다")
+    @Test
+    public void testEvictDuringLoad() {
+        var cache = new DailyPostCountCache(10, 60_000);
+        var day = LocalDate.of(2023, 1, 1);
+        var loads = new AtomicLong();
+
+        var first = cache.get(1L, day, day, range -> {
+            // 읽은 뒤 다른 요청의 쓰기가 커밋되고 비워짐
+            var count = loads.incrementAndGet();
+            if(count == 1) {
+                cache.evict(1L);
+            }
+            return List.of(new DailyPostCount(1L, day, count));
+        });
+        var second = cache.get(1L, day, day, range -> List.of(new DailyPostCount(1L, day, loads.incrementAndGet())));
+
+        // 비워진 뒤 요청 구간을 다시 읽어서 응답
+        Assertions.assertEquals(List.of(new DailyPostCount(1L, day, 2L)), first);
+        // 처음 읽은 값(1)도 다시 읽은 값(2)도 캐시에 남지 않고 새로 읽음
+        Assertions.assertEquals(List.of(new DailyPostCount(1L, day, 3L)), second);
+    }
+
+    @DisplayName("처음 읽은 뒤 ttl이 지난 회원은 다시 읽는다")
+    @Test
+    public void testExpireAfterWrite() {
+        var nanoTime = new AtomicLong();
+        var cache = new DailyPostCountCache(10, 1_000, nanoTime::get);
+        var day = LocalDate.of(2023, 1, 1);
+        cache.get(1L, day, day, range -> List.of(new DailyPostCount(1L, day, 1L)));
+
+        nanoTime.addAndGet(999_000_000L);
+        Assertions.assertEquals(List.of(new DailyPostCount(1L, day, 1L)),
+                cache.get(1L, day, day, range -> List.of(new DailyPostCount(1L, day, 2L))));
+
+        nanoTime.addAndGet(2_000_000L);
+        Assertions.assertEquals(List.of(new DailyPostCount(1L, day, 2L)),
+                cache.get(1L, day, day, range -> List.of(new DailyPostCount(1L, day, 2L))));
+    }
+}
@@ -0,0 +1,78 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+class MemberPostCountCacheTest {
+    @DisplayName("한 번 읽은 회원은 비우기 전까지 다시 읽지 않는다")
+    @Test
+    public void testCacheUntilEvict() {
+        var cache = new MemberPostCountCache(10, 60_000, 0, 0);
+        var loads = new AtomicInteger();
+
+        Assertions.assertEquals(5L, cache.get(1L, () -> { loads.incrementAndGet(); return 5L; }));
+        Assertions.assertEquals(5L, cache.get(1L, () -> { loads.incrementAndGet(); return 6L; }));
+        cache.evict(1L);
+        Assertions.assertEquals(6L, cache.get(1L, () -> { loads.incrementAndGet(); return 6L; }));
+        Assertions.assertEquals(2, loads.get());
+    }
+
+    @DisplayName("읽는 도중에 비워지면 읽은 값을 캐시에 넣지 않는다")
+    @Test
+    public void testEvictDuringLoad() {
+        var cache = new MemberPostCountCache(10, 60_000, 0, 0);
+
+        var stale = cache.get(1L, () -> {
+            cache.evict(1L);
+            return 5L;
+        });
+
+        Assertions.assertEquals(5L, stale);
+        Assertions.assertEquals(6L, cache.get(1L, () -> 6L));
+    }
+
+    @DisplayName("추정 모드에서 게시물이 많은 회원은 비워도 TTL 동안 같은 값을 쓴다")
+    @Test
+    public void testEstimatedMode() {
+        var cache = new MemberPostCountCache(10, 60_000, 1_000, 60_000);
+
+        cache.get(1L, () -> 5_000L);
+        cache.get(2L, () -> 10L);
+        cache.evict(1L);
+        cache.evict(2L);
+
+        Assertions.assertEquals(5_000L, cache.get(1L, () -> 5_001L));
+        Assertions.assertEquals(11L, cache.get(2L, () -> 11L));
+    }
+
+    @DisplayName("다른 회원이 비워져도 읽고 있던 회원의 값은 캐시에 들어간다")
+    @Test
+    public void testEvictOtherMemberDuringLoad() {
+        var cache = new MemberPostCountCache(10, 60_000, 0, 0);
+
+        cache.get(1L, () -> {
+            cache.evict(2L);
+            return 5L;
+        });
+
+        Assertions.assertEquals(5L, cache.get(1L, () -> 6L));
+    }
+
+    @DisplayName("비우지 않아도 TTL이 지나면 다시 읽는다(다른 서버에서 저장한 게시물)")
+    @Test
+    public void testExpireAfterTtl() {
+        var nanoTime = new AtomicLong();
+        var cache = new MemberPostCountCache(10, 1_000, 0, 0, nanoTime::get);
+
+        cache.get(1L, () -> 5L);
+        nanoTime.addAndGet(999_000_000L);
+        Assertions.assertEquals(5L, cache.get(1L, () -> 6L));
+
+        nanoTime.addAndGet(2_000_000L);
+        Assertions.assertEquals(6L, cache.get(1L, () -> 6L));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+
+class MemberShardRouterTest {
+    @DisplayName("샤드가 하나면 기존 테이블을 그대로 쓰고 MemberShard를 읽지 않는다")
+    @Test
+    public void testSingleShard() {
+        var repository = Mockito.mock(MemberShardRepository.class);
+        var router = new MemberShardRouter(repository, Runnable::run, 1, 1);
+
+        router.refresh();
+
+        Assertions.assertEquals(0, router.shardOf(12345L));
+        Assertions.assertEquals(0, router.shardOfForWrite(12345L));
+        Assertions.assertEquals("Post", router.postTable(0));
+        Assertions.assertEquals("Timeline", router.timelineTable(0));
+        Mockito.verifyNoInteractions(repository);
+    }
+
+    @DisplayName("옮기지 않은 회원은 해시로 hashShardCount개 샤드에 고르게 나뉘고, 옮긴 회원은 MemberShard의 샤드를 사용한다")
+    @Test
+    public void testHashAndDirectory() {
+        var repository = Mockito.mock(MemberShardRepository.class);
+        Mockito.when(repository.findAll()).thenReturn(Map.of(1L, 3));
+        var router = new MemberShardRouter(repository, Runnable::run, 4, 2);
+
+        var counts = new int[4];
+        for (long memberId = 1; memberId <= 10_000; memberId++) {
+            counts[router.shardOf(memberId)]++;
+        }
+        Assertions.assertEquals(0, counts[2] + counts[3]);
+        Assertions.assertTrue(Math.abs(counts[0] - counts[1]) < 500);
+
+        router.refresh();
+        Assertions.assertEquals(3, router.shardOf(1L));
+        Assertions.assertEquals("Post_3", router.postTable(router.shardOf(1L)));
+
+        router.assign(2L, 2);
+        Assertions.assertEquals(2, router.shardOf(2L));
+    }
+
+    @DisplayName("쓰기는 메모리의 목록이 아니라 DB의 MemberShard를 읽어서 샤드를 정한다")
+    @Test
+    public void testShardOfForWrite() {
+        var repository = Mockito.mock(MemberShardRepository.class);
+        Mockito.when(repository.findAllByInMemberIdForShare(ArgumentMatchers.anyCollection())).thenReturn(Map.of(5L, 3));
+        var router = new MemberShardRouter(repository, Runnable::run, 4, 4);
+
+        var shards = router.shardsOfForWrite(List.of(5L, 6L));
+
+        Assertions.assertEquals(3, shards.get(5L));
+        Assertions.assertEquals(router.shardOf(6L), shards.get(6L));
+    }
+
+    @DisplayName("여러 샤드에 동시에 보낸 쿼리의 결과를 모두 합치고, 실패한 샤드의 예외를 그대로 던진다")
+    @Test
+    public void testScatter() {
+        var executor = Executors.newFixedThreadPool(4);
+        try {
+            var router = new MemberShardRouter(Mockito.mock(MemberShardRepository.class), executor, 4, 4);
+
+            var results = router.scatter(router.shards(), shard -> List.of(shard * 10, shard * 10 + 1));
+            Assertions.assertEquals(Set.of(0, 1, 10, 11, 20, 21, 30, 31), new HashSet<>(results));
+
+            var groups = router.groupByShard(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L));
+            Assertions.assertEquals(8, groups.values().stream().mapToInt(List::size).sum());
+
+            var exception = Assertions.assertThrows(IllegalStateException.class, () -> router.scatter(router.shards(), shard -> {
+                if(shard == 2) {
+                    throw new IllegalStateException("shard 2");
+                }
+                return List.of(shard);
+            }));
+            Assertions.assertEquals("shard 2", exception.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.config.datasource.PrimaryReader;
+import com.example.fastcampusmysql.config.datasource.ReadYourWritesContext;
+import com.example.fastcampusmysql.config.datasource.ReplicaDataSources;
+import com.example.fastcampusmysql.config.datasource.ReplicaLagMonitor;
+import com.example.fastcampusmysql.config.datasource.ReplicationRoutingDataSource;
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PostCacheTest {
+    private static Post post(long id) {
+        return Post.builder().id(id).memberId(1L).contents("contents").build();
+    }
+
+    @DisplayName("캐시된 게시물을 꺼내서 바꿔도 캐시에 있는 값은 바뀌지 않는다")
+    @Test
+    public void testReturnsCopy() {
+        var cache = new PostCache(100, 60_000);
+        var loads = new AtomicInteger();
+
+        var first = cache.get(1L, id -> { loads.incrementAndGet(); return post(id); });
+        first.incrementLikeCount();
+        var second = cache.get(1L, id -> { loads.incrementAndGet(); return post(id); });
+
+        Assertions.assertEquals(1, loads.get());
+        Assertions.assertEquals(0L, second.getLikeCount());
+        Assertions.assertNotSame(first, second);
+    }
+
+    @DisplayName("여러 게시물을 조회하면 캐시에 없는 게시물만 한 번에 읽고 없는 게시물은 빠진다")
+    @Test
+    public void testGetAllLoadsOnlyMissing() {
+        var cache = new PostCache(100, 60_000);
+        var requested = new ArrayList<Collection<Long>>();
+        cache.get(1L, PostCacheTest::post);
+
+        var posts = cache.getAll(List.of(1L, 2L, 3L), ids -> {
+            requested.add(List.copyOf(ids));
+            return ids.stream().filter(id -> id != 3L).map(PostCacheTest::post).toList();
+        });
+
+        Assertions.assertEquals(1, requested.size());
+        Assertions.assertEquals(List.of(2L, 3L), requested.get(0).stream().sorted().toList());
+        Assertions.assertEquals(List.of(1L, 2L), posts.stream().map(Post::getId).sorted().toList());
+    }
+
+    @DisplayName("비운 게시물과 없는 게시물은 다음 조회 때 다시 읽는다")
+    @Test
+    public void testEvictAndMissing() {
+        var cache = new PostCache(100, 60_000);
+        var loads = new AtomicInteger();
+
+        Assertions.assertNull(cache.get(1L, id -> { loads.incrementAndGet(); return null; }));
+        cache.get(1L, id -> { loads.incrementAndGet(); return post(id); });
+        cache.evictAfterCommit(List.of(1L));
+        cache.get(1L, id -> { loads.incrementAndGet(); return post(id); });
+
+        Assertions.assertEquals(3, loads.get());
+    }
+
+    @DisplayName("쓰기 후 캐시를 비우면 다음 조회는 아직 복제되지 않은 replica가 아니라 primary에서 읽어서 캐시를 채운다")
+    @Test
+    public void testRefillFromPrimaryAfterWrite() throws SQLException {
+        var primary = dataSource();
+        var replica = dataSource();
+        var replicaLagMonitor = Mockito.mock(ReplicaLagMonitor.class);
+        Mockito.when(replicaLagMonitor.isHealthy("replica-0")).thenReturn(true);
+        var routing = new ReplicationRoutingDataSource(List.of("replica-0"), replicaLagMonitor, new SimpleMeterRegistry());
+        routing.setTargetDataSources(Map.of(ReplicationRoutingDataSource.PRIMARY, primary, "replica-0", replica));
+        routing.afterPropertiesSet();
+
+        var transactionManager = new DataSourceTransactionManager(dataSource());
+        var primaryReader = new PrimaryReader(transactionManager, new ReplicaDataSources(Map.of("replica-0", replica)));
+        var write = new TransactionTemplate(transactionManager);
+        var readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        var cache = new PostCache(100, 60_000);
+
+        // primary에는 좋아요 1이 커밋되었고 replica에는 아직 복제되지 않음
+        var primaryConnection = primary.getConnection();
+        var replicaConnection = replica.getConnection();
+        var loads = new AtomicInteger();
+        cache.get(1L, PostCacheTest::post);
+        write.executeWithoutResult(status -> cache.evictAfterCommit(List.of(1L)));
+
+        ReadYourWritesContext.begin();
+        try {
+            var post = readOnly.execute(status -> {
+                var loaded = cache.get(1L, id -> primaryReader.read(() -> {
+                    loads.incrementAndGet();
+                    var likeCount = route(routing) == primaryConnection ? 1 : 0;
+                    var read = post(id);
+                    for (int i = 0; i < likeCount; i++) {
+                        read.incrementLikeCount();
+                    }
+                    return read;
+                }));
+                // 캐시를 거치지 않는 조회는 그대로 replica로 감
+                Assertions.assertSame(replicaConnection, route(routing));
+                return loaded;
+            });
+
+            Assertions.assertEquals(1, loads.get());
+            Assertions.assertEquals(1L, post.getLikeCount());
+            Assertions.assertEquals(1L, cache.get(1L, PostCacheTest::post).getLikeCount());
+            // primary에서 읽었다고 요청의 이후 조회까지 primary로 보내지는 않음
+            Assertions.assertFalse(ReadYourWritesContext.isWritten());
+        } finally {
+            ReadYourWritesContext.end();
+        }
+    }
+
+    private static DataSource dataSource() throws SQLException {
+        var dataSource = Mockito.mock(DataSource.class);
+        var connection = Mockito.mock(Connection.class);
+        Mockito.when(dataSource.getConnection()).thenReturn(connection);
+        return dataSource;
+    }
+
+    private static Connection route(DataSource routing) {
+        try {
+            return routing.getConnection();
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ShardIdGeneratorTest {
+    // ShardSequence 행 하나(nextId)처럼 동작하는 jdbc
+    private static NamedParameterJdbcTemplate sequenceJdbc(AtomicLong nextId) {
+        var jdbc = Mockito.mock(NamedParameterJdbcTemplate.class);
+        Mockito.when(jdbc.update(ArgumentMatchers.anyString(), ArgumentMatchers.any(SqlParameterSource.class)))
+                .thenAnswer(invocation -> {
+                    MapSqlParameterSource params = invocation.getArgument(1);
+                    var count = ((Number) params.getValue("count")).longValue();
+                    nextId.addAndGet(count);
+                    return 1;
+                });
+        Mockito.when(jdbc.queryForObject(ArgumentMatchers.eq("SELECT LAST_INSERT_ID()"), ArgumentMatchers.any(SqlParameterSource.class), ArgumentMatchers.eq(Long.class)))
+                .thenAnswer(invocation -> nextId.get());
+        return jdbc;
+    }
+
+    private static ShardIdGenerator generator(NamedParameterJdbcTemplate jdbc, Executor executor, int blockSize, long waitTimeoutMillis) {
+        return new ShardIdGenerator(jdbc, Mockito.mock(PlatformTransactionManager.class), executor, blockSize, waitTimeoutMillis);
+    }
+
+    @DisplayName("받아온 범위에서 id를 나눠 주고, 절반 밑으로 내려가면 다음 범위를 미리 받아온다")
+    @Test
+    public void testBlockAndPrefetch() {
+        var nextId = new AtomicLong(1);
+        var jdbc = sequenceJdbc(nextId);
+        var generator = generator(jdbc, Runnable::run, 10, 1_000);
+
+        var ids = new ArrayList<Long>();
+        for(int i = 0; i < 16; i++) {
+            ids.add(generator.next("Post", 1));
+        }
+
+        for(int i = 0; i < 16; i++) {
+            Assertions.assertEquals(i + 1, ids.get(i));
+        }
+        // 처음 1번 + 남은 id가 5개 밑으로 내려갈 때(6번째, 16번째)마다 1번
+        Mockito.verify(jdbc, Mockito.times(3)).update(ArgumentMatchers.anyString(), ArgumentMatchers.any(SqlParameterSource.class));
+    }
+
+    @DisplayName("범위보다 많은 id를 한 번에 요청하면 연속된 범위를 따로 받아온다")
+    @Test
+    public void testLargeCount() {
+        var generator = generator(sequenceJdbc(new AtomicLong(1)), Runnable::run, 10, 1_000);
+
+        var first = generator.next("Post", 1);
+        var bulk = generator.next("Post", 25);
+        var after = generator.next("Post", 1);
+
+        Assertions.assertEquals(1, first);
+        Assertions.assertTrue(bulk > first);
+        Assertions.assertTrue(after >= bulk + 25 || after < bulk);
+    }
+
+    @DisplayName("id 범위는 호출한 스레드가 아니라 실행기에서 받아오고, 받아오지 못하면 기다리다 예외가 난다")
+    @Test
+    public void testAllocateOnExecutor() {
+        var jdbc = sequenceJdbc(new AtomicLong(1));
+        var tasks = new ConcurrentLinkedQueue<Runnable>();
+        var generator = generator(jdbc, tasks::add, 10, 50);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> generator.next("Timeline", 1));
+        Mockito.verifyNoInteractions(jdbc);
+        Assertions.assertEquals(1, tasks.size());
+
+        tasks.poll().run();
+
+        Assertions.assertEquals(1, generator.next("Timeline", 1));
+        Assertions.assertEquals(2, generator.next("Timeline", 1));
+    }
+
+    @DisplayName("이름마다 따로 범위를 받는다")
+    @Test
+    public void testPerName() {
+        var generator = generator(sequenceJdbc(new AtomicLong(1)), Runnable::run, 10, 1_000);
+
+        var ids = List.of(generator.next("Post", 1), generator.next("Timeline", 1));
+
+        Assertions.assertNotEquals(ids.get(0), ids.get(1));
+    }
+}
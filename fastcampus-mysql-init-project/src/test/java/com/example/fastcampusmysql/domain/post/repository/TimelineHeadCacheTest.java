@@ -0,0 +1,144 @@
+package com.example.fastcampusmysql.domain.post.repository;
+
+import com.example.fastcampusmysql.domain.post.entity.Timeline;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+class TimelineHeadCacheTest {
+    private static Timeline timeline(long memberId, long postId) {
+        return Timeline.builder().memberId(memberId).postId(postId).build();
+    }
+
+    // postId 내림차순
+    private static List<Long> postIds(long from, long to) {
+        return LongStream.rangeClosed(from, to).map(postId -> to - postId + from).boxed().toList();
+    }
+
+    private static void fill(TimelineHeadCache cache, long memberId, List<Long> postIds) {
+        cache.fill(memberId, postIds, cache.beginLoad(memberId));
+    }
+
+    @DisplayName("채운 뒤에는 첫 페이지와 캐시 범위 안의 postId 커서 조회를 캐시에서 읽는다")
+    @Test
+    public void testFindFromFilledRing() {
+        var cache = new TimelineHeadCache(5, 100, 60_000);
+        fill(cache, 1L, postIds(1, 5));
+
+        Assertions.assertEquals(List.of(5L, 4L), cache.find(1L, null, 2).orElseThrow());
+        Assertions.assertEquals(List.of(3L, 2L), cache.find(1L, 4L, 2).orElseThrow());
+        // 캐시가 가득 찼으므로 1번보다 오래된 게시물이 있을 수 있음
+        Assertions.assertTrue(cache.find(1L, 3L, 3).isEmpty());
+        Assertions.assertTrue(cache.find(2L, null, 2).isEmpty());
+    }
+
+    @DisplayName("타임라인 전체가 캐시에 있으면 요청한 개수보다 적어도 캐시에서 읽는다")
+    @Test
+    public void testCompleteTimeline() {
+        var cache = new TimelineHeadCache(5, 100, 60_000);
+        fill(cache, 1L, postIds(1, 2));
+
+        Assertions.assertEquals(List.of(2L, 1L), cache.find(1L, null, 10).orElseThrow());
+        Assertions.assertEquals(List.of(), cache.find(1L, 1L, 10).orElseThrow());
+    }
+
+    @DisplayName("배달/백필된 게시물은 postId 순서에 맞게 들어가고 가장 오래된 항목이 밀려난다")
+    @Test
+    public void testApplyInsertedKeepsNewestEntries() {
+        var cache = new TimelineHeadCache(3, 100, 60_000);
+        fill(cache, 1L, postIds(10, 20).subList(0, 2));
+
+        cache.applyInserted(List.of(timeline(1L, 50), timeline(1L, 30), timeline(2L, 70)));
+        Assertions.assertEquals(List.of(50L, 30L, 20L), cache.find(1L, null, 3).orElseThrow());
+        Assertions.assertTrue(cache.find(2L, null, 1).isEmpty());
+
+        // 백필처럼 예전 게시물이 나중에 들어온 경우
+        cache.applyInserted(List.of(timeline(1L, 40), timeline(1L, 5)));
+        Assertions.assertEquals(List.of(50L, 40L, 30L), cache.find(1L, null, 3).orElseThrow());
+        Assertions.assertTrue(cache.find(1L, 30L, 1).isEmpty());
+    }
+
+    @DisplayName("가득 찬 캐시에 가장 오래된 항목보다 오래된 게시물이 들어오면 더 이상 타임라인 전체가 아니다")
+    @Test
+    public void testOlderEntryIntoFullRingMarksIncomplete() {
+        var cache = new TimelineHeadCache(3, 100, 60_000);
+        fill(cache, 1L, List.of(5L, 4L));
+        cache.applyInserted(List.of(timeline(1L, 6)));
+        Assertions.assertEquals(List.of(), cache.find(1L, 4L, 1).orElseThrow());
+
+        cache.applyInserted(List.of(timeline(1L, 1)));
+
+        Assertions.assertEquals(List.of(6L, 5L, 4L), cache.find(1L, null, 3).orElseThrow());
+        Assertions.assertTrue(cache.find(1L, 4L, 1).isEmpty());
+    }
+
+    @DisplayName("여러 스레드가 동시에 조회, 배달, 채우기를 해도 캐시된 항목은 postId 내림차순을 유지한다")
+    @Test
+    public void testConcurrentAccess() throws Exception {
+        var cache = new TimelineHeadCache(20, 8, 60_000);
+        var executor = Executors.newFixedThreadPool(8);
+        try {
+            var futures = new ArrayList<Future<?>>();
+            for(int thread = 0; thread < 8; thread++) {
+                var seed = thread;
+                futures.add(executor.submit(() -> {
+                    for(int i = 0; i < 2_000; i++) {
+                        long memberId = (seed + i) % 16;
+                        switch (i % 3) {
+                            case 0 -> fill(cache, memberId, postIds(1, 10));
+                            case 1 -> cache.applyInserted(List.of(timeline(memberId, 10 + i)));
+                            default -> cache.find(memberId, null, 20).ifPresent(postIds -> {
+                                for(int j = 1; j < postIds.size(); j++) {
+                                    Assertions.assertTrue(postIds.get(j - 1) > postIds.get(j));
+                                }
+                            });
+                        }
+                    }
+                }));
+            }
+            for(var future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @DisplayName("채우는 도중에 그 회원의 타임라인이 바뀌면 캐시에 넣지 않고, 다른 회원의 배달은 영향을 주지 않는다")
+    @Test
+    public void testLoadTokenPerMember() {
+        var cache = new TimelineHeadCache(5, 100, 60_000);
+        var firstToken = cache.beginLoad(1L);
+        var secondToken = cache.beginLoad(2L);
+        cache.applyInserted(List.of(timeline(1L, 3)));
+        cache.fill(1L, postIds(1, 2), firstToken);
+        cache.fill(2L, postIds(1, 2), secondToken);
+
+        Assertions.assertTrue(cache.find(1L, null, 1).isEmpty());
+        Assertions.assertEquals(List.of(2L), cache.find(2L, null, 1).orElseThrow());
+
+        cache.invalidate(List.of(2L));
+        Assertions.assertTrue(cache.find(2L, null, 1).isEmpty());
+    }
+
+    @DisplayName("최대 회원 수를 넘으면 가장 오래 조회하지 않은 회원부터 내보낸다")
+    @Test
+    public void testLeastRecentlyUsedEviction() {
+        var cache = new TimelineHeadCache(5, 2, 60_000);
+        fill(cache, 1L, postIds(1, 2));
+        fill(cache, 2L, postIds(1, 2));
+        cache.find(1L, null, 1);
+        fill(cache, 3L, postIds(1, 2));
+
+        Assertions.assertTrue(cache.find(1L, null, 1).isPresent());
+        Assertions.assertTrue(cache.find(2L, null, 1).isEmpty());
+        Assertions.assertTrue(cache.find(3L, null, 1).isPresent());
+    }
+}
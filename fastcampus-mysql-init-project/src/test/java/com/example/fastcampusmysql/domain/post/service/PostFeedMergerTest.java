@@ -0,0 +1,90 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class PostFeedMergerTest {
+    @DisplayName("회원별로 나눠 읽어서 병합해도 memberId IN 쿼리와 같은 순서, 같은 게시물을 반환한다")
+    @Test
+    public void testMergeEqualsInQuery() {
+        var random = new Random(42);
+        var posts = new ArrayList<Post>();
+        for (long id = 1; id <= 5_000; id++) {
+            // 한 회원에게 게시물이 몰려 있는 경우도 섞이도록 절반은 1번 회원
+            var memberId = random.nextBoolean() ? 1L : 1L + random.nextInt(300);
+            posts.add(Post.builder().id(id).memberId(memberId).contents("contents").build());
+        }
+        var queries = new AtomicInteger();
+        var merger = new PostFeedMerger(fakeRepository(posts, queries), Runnable::run, 50);
+
+        var memberIds = new ArrayList<Long>();
+        for (long memberId = 1; memberId <= 300; memberId += 2) {
+            memberIds.add(memberId);
+        }
+
+        Long cursorId = null;
+        for (int page = 0; page < 30; page++) {
+            var merged = merger.merge(memberIds, cursorId, 20);
+            var expected = findAllByInMemberId(posts, memberIds, cursorId, 20);
+
+            Assertions.assertEquals(ids(expected), ids(merged));
+            cursorId = merged.get(merged.size() - 1).getId();
+        }
+        Assertions.assertTrue(queries.get() > 0);
+    }
+
+    @DisplayName("게시물이 size보다 적으면 있는 만큼만 반환한다")
+    @Test
+    public void testLessThanSize() {
+        var posts = List.of(
+                Post.builder().id(1L).memberId(1L).contents("contents").build(),
+                Post.builder().id(2L).memberId(2L).contents("contents").build()
+        );
+        var merger = new PostFeedMerger(fakeRepository(posts, new AtomicInteger()), Runnable::run, 10);
+
+        Assertions.assertEquals(List.of(2L, 1L), ids(merger.merge(List.of(1L, 2L, 3L), null, 20)));
+        Assertions.assertEquals(List.of(), merger.merge(List.of(), null, 20));
+    }
+
+    // findAllBySeekEachMemberId를 메모리에서 흉내냄
+    private static PostRepository fakeRepository(List<Post> posts, AtomicInteger queries) {
+        var postRepository = Mockito.mock(PostRepository.class);
+        Mockito.when(postRepository.findAllBySeekEachMemberId(ArgumentMatchers.anyList(), ArgumentMatchers.any(), ArgumentMatchers.anyInt()))
+                .thenAnswer(invocation -> {
+                    queries.incrementAndGet();
+                    List<Long> memberIds = invocation.getArgument(0);
+                    Long id = invocation.getArgument(1);
+                    int limit = invocation.getArgument(2);
+                    var result = new ArrayList<Post>();
+                    for (var memberId : memberIds) {
+                        result.addAll(findAllByInMemberId(posts, List.of(memberId), id, limit));
+                    }
+                    return result;
+                });
+        return postRepository;
+    }
+
+    private static List<Post> findAllByInMemberId(List<Post> posts, List<Long> memberIds, Long id, int size) {
+        return posts.stream()
+                .filter(post -> memberIds.contains(post.getMemberId()))
+                .filter(post -> id == null || post.getId() < id)
+                .sorted(Comparator.comparing(Post::getId).reversed())
+                .limit(size)
+                .toList();
+    }
+
+    private static List<Long> ids(List<Post> posts) {
+        return posts.stream().map(Post::getId).toList();
+    }
+}
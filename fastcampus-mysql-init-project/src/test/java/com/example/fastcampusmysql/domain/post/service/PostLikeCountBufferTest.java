@@ -0,0 +1,130 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
+
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+class PostLikeCountBufferTest {
+    @DisplayName("여러 스레드에서 누른 좋아요가 유실 없이 게시물 별로 합쳐져서 반영된다")
+    @Test
+    public void testConcurrentIncrementAndFlush() throws InterruptedException {
+        var postRepository = Mockito.mock(PostRepository.class);
+        var buffer = new PostLikeCountBuffer(postRepository, 4, 1000);
+
+        var executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                for (int j = 0; j < 10_000; j++) {
+                    buffer.increment(1L);
+                    buffer.increment(2L);
+                }
+            });
+        }
+        executor.shutdown();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        Assertions.assertEquals(80_000L, buffer.getPending(1L));
+
+        buffer.flush();
+
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<Long, Long>> captor = ArgumentCaptor.forClass(Map.class);
+        Mockito.verify(postRepository).bulkIncrementLikeCount(captor.capture());
+        Assertions.assertEquals(Map.of(1L, 80_000L, 2L, 80_000L), captor.getValue());
+        Assertions.assertEquals(0L, buffer.getPending(1L));
+    }
+
+    @DisplayName("DB 반영에 실패한 좋아요는 버퍼에 남아서 다음 flush에서 다시 반영된다")
+    @Test
+    public void testRequeueOnFailure() {
+        var postRepository = Mockito.mock(PostRepository.class);
+        var buffer = new PostLikeCountBuffer(postRepository, 4, 1000);
+        Mockito.doThrow(new RuntimeException("DB 장애"))
+                .doNothing()
+                .when(postRepository).bulkIncrementLikeCount(Mockito.anyMap());
+
+        buffer.increment(1L);
+        buffer.flush();
+
+        Assertions.assertEquals(1L, buffer.getPending(1L));
+
+        buffer.flush();
+
+        Mockito.verify(postRepository, Mockito.times(2)).bulkIncrementLikeCount(Map.of(1L, 1L));
+        Assertions.assertEquals(0L, buffer.getPending(1L));
+    }
+
+    @DisplayName("flush 중에 조회해도 DB 값과 버퍼 값을 합친 좋아요 수가 빠지거나 두 번 세어지지 않는다")
+    @Test
+    public void testConsistentReadDuringFlush() throws Exception {
+        var postRepository = Mockito.mock(PostRepository.class);
+        var buffer = new PostLikeCountBuffer(postRepository, 4, 1000);
+        var committed = new AtomicLong();
+        var writing = new CountDownLatch(1);
+        var read = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            Map<Long, Long> deltas = invocation.getArgument(0);
+            writing.countDown();
+            // 조회가 DB 반영 도중에 끼어들 시간을 줌
+            read.await(200, TimeUnit.MILLISECONDS);
+            committed.addAndGet(deltas.get(1L));
+            return null;
+        }).when(postRepository).bulkIncrementLikeCount(Mockito.anyMap());
+
+        for (int i = 0; i < 10; i++) {
+            buffer.increment(1L);
+        }
+        Assertions.assertEquals(10L, buffer.getLikeCount(1L, committed::get));
+
+        var executor = Executors.newSingleThreadExecutor();
+        var flush = executor.submit(buffer::flush);
+        writing.await(1, TimeUnit.SECONDS);
+        // 반영 중인 값은 조회에 포함됨
+        Assertions.assertEquals(10L, buffer.getPending(1L));
+        var likeCount = buffer.getLikeCount(1L, committed::get);
+        read.countDown();
+        flush.get(1, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        Assertions.assertEquals(10L, likeCount);
+        Assertions.assertEquals(10L, buffer.getLikeCount(1L, committed::get));
+        Assertions.assertEquals(0L, buffer.getPending(1L));
+    }
+
+    @DisplayName("DB 값을 읽는 동안 flush가 반영하면 다시 읽어서 두 번 세지 않고, 조회가 flush를 막지 않는다")
+    @Test
+    public void testRetryWhenFlushOverlapsRead() {
+        var postRepository = Mockito.mock(PostRepository.class);
+        var buffer = new PostLikeCountBuffer(postRepository, 4, 1000);
+        var committed = new AtomicLong();
+        Mockito.doAnswer(invocation -> {
+            Map<Long, Long> deltas = invocation.getArgument(0);
+            committed.addAndGet(deltas.get(1L));
+            return null;
+        }).when(postRepository).bulkIncrementLikeCount(Mockito.anyMap());
+        var reads = new AtomicLong();
+
+        for (int i = 0; i < 10; i++) {
+            buffer.increment(1L);
+        }
+        var likeCount = buffer.getLikeCount(1L, () -> {
+            // 첫 번째로 읽는 중에 flush가 반영을 끝내서 반영 후 값을 읽음
+            if(reads.incrementAndGet() == 1) {
+                buffer.flush();
+            }
+            return committed.get();
+        });
+
+        Assertions.assertEquals(10L, likeCount);
+        Assertions.assertEquals(2L, reads.get());
+    }
+}
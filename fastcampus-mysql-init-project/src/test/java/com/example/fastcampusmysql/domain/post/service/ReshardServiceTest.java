@@ -0,0 +1,123 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import com.example.fastcampusmysql.domain.post.dto.ReshardJob;
+import com.example.fastcampusmysql.domain.post.repository.MemberShardRepository;
+import com.example.fastcampusmysql.domain.post.repository.MemberShardRouter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.InOrder;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+class ReshardServiceTest {
+    final private MemberShardRouter memberShardRouter = Mockito.mock(MemberShardRouter.class);
+    final private MemberShardRepository memberShardRepository = Mockito.mock(MemberShardRepository.class);
+    final private ConcurrentLinkedQueue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+
+    // 샤드를 바꾼 뒤 afterCommit으로 라우터에 반영하므로 트랜잭션 동기화를 켜둠
+    @BeforeEach
+    public void initSynchronization() {
+        TransactionSynchronizationManager.initSynchronization();
+    }
+
+    @AfterEach
+    public void clearSynchronization() {
+        TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    private ReshardService service() {
+        // 복사할 행이 없음
+        Mockito.when(memberShardRepository.copyChunk(ArgumentMatchers.anyString(), ArgumentMatchers.anyString(), ArgumentMatchers.anyLong(), ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt()))
+                .thenReturn(null);
+        Mockito.when(memberShardRouter.shardCount()).thenReturn(2);
+        Mockito.when(memberShardRouter.shardOfForWrite(1L)).thenReturn(0);
+        Mockito.when(memberShardRouter.postTable(ArgumentMatchers.anyInt())).thenAnswer(invocation -> "Post_" + invocation.getArgument(0));
+        Mockito.when(memberShardRouter.timelineTable(ArgumentMatchers.anyInt())).thenAnswer(invocation -> "Timeline_" + invocation.getArgument(0));
+
+        return new ReshardService(
+                memberShardRouter,
+                memberShardRepository,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                tasks::add,
+                1_000,
+                60_000
+        );
+    }
+
+    @DisplayName("이동 요청은 작업만 넣고 바로 반환하며, 실행되면 상태가 SUCCEEDED로 바뀐다")
+    @Test
+    public void testSubmitRunsAsync() {
+        var service = service();
+
+        var job = service.submit(1L, 1);
+
+        Assertions.assertEquals(ReshardJob.State.PENDING, job.state());
+        Mockito.verifyNoInteractions(memberShardRepository);
+
+        tasks.poll().run();
+
+        var finished = service.getJob(1L).orElseThrow();
+        Assertions.assertEquals(ReshardJob.State.SUCCEEDED, finished.state());
+        Assertions.assertNotNull(finished.finishedAt());
+    }
+
+    @DisplayName("같은 회원의 이동이 끝나기 전에는 다시 요청할 수 없다")
+    @Test
+    public void testRejectWhileRunning() {
+        var service = service();
+        service.submit(1L, 1);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> service.submit(1L, 1));
+
+        tasks.poll().run();
+        Assertions.assertDoesNotThrow(() -> service.submit(1L, 0));
+    }
+
+    @DisplayName("이동이 실패하면 상태가 FAILED로 바뀌고 이유가 남는다")
+    @Test
+    public void testFailed() {
+        var service = service();
+        Mockito.doThrow(new RuntimeException("복사 실패"))
+                .when(memberShardRepository).copyChunk(ArgumentMatchers.anyString(), ArgumentMatchers.anyString(), ArgumentMatchers.eq(1L), ArgumentMatchers.anyLong(), ArgumentMatchers.anyInt());
+
+        service.submit(1L, 1);
+        tasks.poll().run();
+
+        var failed = service.getJob(1L).orElseThrow();
+        Assertions.assertEquals(ReshardJob.State.FAILED, failed.state());
+        Assertions.assertEquals("복사 실패", failed.error());
+    }
+
+    @DisplayName("샤드를 바꾸기 전에 예전 샤드에서 지워진 행을 새 샤드에서도 지운다")
+    @Test
+    public void testDeleteMissingBeforeCutover() {
+        var service = service();
+
+        service.move(1L, 1);
+
+        InOrder inOrder = Mockito.inOrder(memberShardRepository);
+        inOrder.verify(memberShardRepository).lockForUpdate(1L);
+        inOrder.verify(memberShardRepository).sync("Post_0", "Post_1", 1L, true);
+        inOrder.verify(memberShardRepository).sync("Timeline_0", "Timeline_1", 1L, false);
+        inOrder.verify(memberShardRepository).deleteMissing("Post_0", "Post_1", 1L);
+        inOrder.verify(memberShardRepository).deleteMissing("Timeline_0", "Timeline_1", 1L);
+        inOrder.verify(memberShardRepository).save(1L, 1);
+    }
+
+    @DisplayName("없는 샤드로는 옮길 수 없다")
+    @Test
+    public void testInvalidTargetShard() {
+        var service = service();
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> service.submit(1L, 2));
+        Assertions.assertTrue(tasks.isEmpty());
+    }
+}
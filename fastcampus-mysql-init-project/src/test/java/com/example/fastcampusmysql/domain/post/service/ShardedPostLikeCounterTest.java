@@ -0,0 +1,94 @@
+package com.example.fastcampusmysql.domain.post.service;
+
+import com.example.fastcampusmysql.domain.post.repository.PostLikeCounterRepository;
+import com.example.fastcampusmysql.domain.post.repository.PostRepository;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Map;
+
+class ShardedPostLikeCounterTest {
+    private static ShardedPostLikeCounter counter(PostLikeCounterRepository postLikeCounterRepository, PostRepository postRepository, int compactionBatchSize) {
+        return new ShardedPostLikeCounter(
+                postLikeCounterRepository,
+                postRepository,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                compactionBatchSize
+        );
+    }
+
+    @DisplayName("좋아요는 게시물에 지정한 슬롯 수 안에서 슬롯 하나만 증가시킨다")
+    @Test
+    public void testIncrementWithinSlotCount() {
+        var postLikeCounterRepository = Mockito.mock(PostLikeCounterRepository.class);
+        var counter = counter(postLikeCounterRepository, Mockito.mock(PostRepository.class), 100);
+        counter.changeSlotCount(1L, 4);
+
+        for (int i = 0; i < 1000; i++) {
+            counter.increment(1L);
+            counter.increment(2L);
+        }
+
+        var slots = ArgumentCaptor.forClass(Integer.class);
+        Mockito.verify(postLikeCounterRepository, Mockito.times(1000)).increment(ArgumentMatchers.eq(1L), slots.capture());
+        Assertions.assertTrue(slots.getAllValues().stream().allMatch(slot -> slot >= 0 && slot < 4));
+        Assertions.assertEquals(4, slots.getAllValues().stream().distinct().count());
+        Mockito.verify(postLikeCounterRepository, Mockito.times(1000)).increment(2L, 0);
+    }
+
+    @DisplayName("슬롯 수는 1 ~ 256 사이만 지정할 수 있다")
+    @Test
+    public void testInvalidSlotCount() {
+        var counter = counter(Mockito.mock(PostLikeCounterRepository.class), Mockito.mock(PostRepository.class), 100);
+
+        Assertions.assertThrows(IllegalArgumentException.class, () -> counter.changeSlotCount(1L, 0));
+        Assertions.assertThrows(IllegalArgumentException.class, () -> counter.changeSlotCount(1L, 257));
+    }
+
+    @DisplayName("압축은 슬롯 합계를 Post.likeCount로 옮기고 슬롯을 지우며, 배치 크기를 넘어도 끝까지 진행한다")
+    @Test
+    public void testCompact() {
+        var postLikeCounterRepository = Mockito.mock(PostLikeCounterRepository.class);
+        var postRepository = Mockito.mock(PostRepository.class);
+        Mockito.when(postLikeCounterRepository.findAllPostIdsToCompact(0L, 2)).thenReturn(List.of(1L, 2L));
+        Mockito.when(postLikeCounterRepository.findAllPostIdsToCompact(2L, 2)).thenReturn(List.of(3L));
+        Mockito.when(postLikeCounterRepository.sumByPostIdForUpdate(1L)).thenReturn(3L);
+        Mockito.when(postLikeCounterRepository.sumByPostIdForUpdate(2L)).thenReturn(0L);
+        Mockito.when(postLikeCounterRepository.sumByPostIdForUpdate(3L)).thenReturn(7L);
+        var counter = counter(postLikeCounterRepository, postRepository, 2);
+
+        counter.compact();
+
+        Mockito.verify(postRepository).bulkIncrementLikeCount(Map.of(1L, 3L));
+        Mockito.verify(postRepository).bulkIncrementLikeCount(Map.of(3L, 7L));
+        Mockito.verify(postRepository, Mockito.never()).bulkIncrementLikeCount(Map.of(2L, 0L));
+        Mockito.verify(postLikeCounterRepository).deleteByPostId(1L);
+        Mockito.verify(postLikeCounterRepository).deleteByPostId(2L);
+        Mockito.verify(postLikeCounterRepository).deleteByPostId(3L);
+    }
+
+    @DisplayName("한 게시물의 압축이 실패해도 남은 게시물은 압축하고, 실패한 슬롯은 지우지 않는다")
+    @Test
+    public void testCompactContinuesOnFailure() {
+        var postLikeCounterRepository = Mockito.mock(PostLikeCounterRepository.class);
+        var postRepository = Mockito.mock(PostRepository.class);
+        Mockito.when(postLikeCounterRepository.findAllPostIdsToCompact(0L, 100)).thenReturn(List.of(1L, 2L));
+        Mockito.when(postLikeCounterRepository.sumByPostIdForUpdate(ArgumentMatchers.anyLong())).thenReturn(1L);
+        Mockito.doThrow(new RuntimeException("DB 장애"))
+                .doNothing()
+                .when(postRepository).bulkIncrementLikeCount(ArgumentMatchers.anyMap());
+        var counter = counter(postLikeCounterRepository, postRepository, 100);
+
+        counter.compact();
+
+        Mockito.verify(postLikeCounterRepository, Mockito.never()).deleteByPostId(1L);
+        Mockito.verify(postLikeCounterRepository).deleteByPostId(2L);
+    }
+}
@@ -0,0 +1,93 @@
+package com.example.fastcampusmysql.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+class BulkInsertPipelineTest {
+    @DisplayName("입력을 chunk 단위로 나눠서 빠짐없이 쓴다")
+    @Test
+    public void testChunking() {
+        var pipeline = new BulkInsertPipeline(100, 2, 1);
+        var written = new AtomicLong();
+
+        var result = pipeline.run(IntStream.range(0, 10_050).boxed().iterator(), chunk -> written.addAndGet(chunk.size()), report -> {});
+
+        Assertions.assertEquals(10_050, written.get());
+        Assertions.assertEquals(10_050, result.rows());
+        Assertions.assertEquals(101, result.chunks());
+    }
+
+    @DisplayName("chunk 쓰기가 막혀 있으면 입력을 (parallelism + queueCapacity)개 chunk보다 앞서서 읽지 않는다")
+    @Test
+    public void testBackpressure() throws Exception {
+        int chunkSize = 10;
+        int parallelism = 2;
+        int queueCapacity = 1;
+        var pipeline = new BulkInsertPipeline(chunkSize, parallelism, queueCapacity);
+        var read = new AtomicInteger();
+        var source = IntStream.range(0, 1_000).boxed().iterator();
+        var counting = new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return source.hasNext();
+            }
+
+            @Override
+            public Integer next() {
+                read.incrementAndGet();
+                return source.next();
+            }
+        };
+        var writing = new CountDownLatch(parallelism);
+        var release = new CountDownLatch(1);
+        var written = new AtomicLong();
+
+        var executor = Executors.newSingleThreadExecutor();
+        var run = executor.submit(() -> pipeline.run(counting, chunk -> {
+            writing.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            written.addAndGet(chunk.size());
+        }, report -> {}));
+
+        Assertions.assertTrue(writing.await(1, TimeUnit.SECONDS));
+        // 쓰기가 막힌 동안 읽기가 더 진행될 시간을 줌
+        Thread.sleep(200);
+        // 처리 중 + 대기 중인 chunk에, permit을 기다리며 만들어둔 chunk 하나까지만 읽음
+        Assertions.assertEquals((parallelism + queueCapacity + 1) * chunkSize, read.get());
+
+        release.countDown();
+        var result = run.get(5, TimeUnit.SECONDS);
+        executor.shutdown();
+
+        Assertions.assertEquals(1_000, read.get());
+        Assertions.assertEquals(1_000, written.get());
+        Assertions.assertEquals(1_000, result.rows());
+    }
+
+    @DisplayName("chunk 쓰기에 실패하면 예외를 던진다")
+    @Test
+    public void testFailure() {
+        var pipeline = new BulkInsertPipeline(10, 2, 1);
+
+        Assertions.assertThrows(IllegalStateException.class, () -> pipeline.run(
+                IntStream.range(0, 100).boxed().iterator(),
+                chunk -> {
+                    throw new RuntimeException("insert 실패");
+                },
+                report -> {}
+        ));
+    }
+}
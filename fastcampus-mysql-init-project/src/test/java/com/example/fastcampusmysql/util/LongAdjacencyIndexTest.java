@@ -0,0 +1,51 @@
+package com.example.fastcampusmysql.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+class LongAdjacencyIndexTest {
+    @DisplayName("간선을 무작위 순서로 넣어도 정점마다 중복 없이 정렬된 이웃을 돌려준다")
+    @Test
+    public void testBuildMatchesSetOfEdges() {
+        var random = new Random(0);
+        var size = 20_000;
+        var sources = new long[size];
+        var targets = new long[size];
+        var expected = new HashMap<Long, Set<Long>>();
+        for (int i = 0; i < size; i++) {
+            sources[i] = random.nextInt(1_000) + 1;
+            targets[i] = random.nextInt(1_000) + 1;
+            expected.computeIfAbsent(sources[i], key -> new TreeSet<>()).add(targets[i]);
+        }
+
+        var index = LongAdjacencyIndex.build(sources, targets, size);
+
+        Assertions.assertEquals(expected.size(), index.sourceCount());
+        Assertions.assertEquals(expected.values().stream().mapToInt(Set::size).sum(), index.edgeCount());
+        expected.forEach((source, neighbors) -> {
+            Assertions.assertArrayEquals(neighbors.stream().mapToLong(Long::longValue).toArray(), index.get(source));
+            Assertions.assertEquals(neighbors.size(), index.count(source));
+        });
+        Assertions.assertEquals(0, index.get(5_000L).length);
+    }
+
+    @DisplayName("merge하면 기존 간선에 새 간선이 더해지고 기존 인덱스는 바뀌지 않는다")
+    @Test
+    public void testMerge() {
+        var index = LongAdjacencyIndex.build(new long[]{1, 1, 2}, new long[]{3, 2, 1}, 3);
+
+        var merged = index.merge(new long[]{1, 3, 1}, new long[]{4, 1, 2}, 3);
+
+        Assertions.assertArrayEquals(new long[]{2, 3, 4}, merged.get(1));
+        Assertions.assertArrayEquals(new long[]{1}, merged.get(3));
+        Assertions.assertTrue(merged.contains(3, 1));
+        Assertions.assertArrayEquals(new long[]{2, 3}, index.get(1));
+        Assertions.assertFalse(index.contains(3, 1));
+    }
+}
@@ -0,0 +1,37 @@
+package com.example.fastcampusmysql.util;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Random;
+
+class LongLongMapTest {
+    @DisplayName("크기를 넘겨서 값을 넣어도 HashMap과 같은 결과를 돌려준다")
+    @Test
+    public void testPutAndGetWithResize() {
+        var map = new LongLongMap(4);
+        var expected = new HashMap<Long, Long>();
+        var random = new Random(0);
+
+        for (int i = 0; i < 10_000; i++) {
+            var key = (long) random.nextInt(5_000);
+            map.addTo(key, i);
+            expected.merge(key, (long) i, Long::sum);
+        }
+
+        Assertions.assertEquals(expected.size(), map.size());
+        expected.forEach((key, value) -> Assertions.assertEquals(value, map.get(key, -1L)));
+        Assertions.assertEquals(-1L, map.get(10_000L, -1L));
+    }
+
+    @DisplayName("Long.MIN_VALUE는 키로 사용할 수 없다")
+    @Test
+    public void testMinValueKey() {
+        var map = new LongLongMap();
+
+        Assertions.assertThrows(IllegalArgumentException.class,
+                () -> map.put(Long.MIN_VALUE, 1L));
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.fastcampusmysql.util;
+
+import com.example.fastcampusmysql.domain.post.entity.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+class NdjsonWriterTest {
+    final private ObjectMapper objectMapper = new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    @DisplayName("객체마다 한 줄씩 JSON으로 쓰고, 각 줄은 따로 읽을 수 있다")
+    @Test
+    public void testWritesOneObjectPerLine() throws Exception {
+        var outputStream = new ByteArrayOutputStream();
+        try (var writer = new NdjsonWriter<>(objectMapper, Post.class, outputStream)) {
+            for (long id = 1; id <= 3; id++) {
+                writer.write(post(id));
+            }
+            Assertions.assertEquals(3, writer.count());
+        }
+
+        var lines = outputStream.toString(StandardCharsets.UTF_8).split("\n", -1);
+        Assertions.assertEquals(4, lines.length);
+        Assertions.assertEquals("", lines[3]);
+        for (int i = 0; i < 3; i++) {
+            var node = objectMapper.readTree(lines[i]);
+            Assertions.assertEquals(i + 1, node.get("id").asLong());
+            Assertions.assertEquals("내용 " + (i + 1), node.get("contents").asText());
+        }
+    }
+
+    private static Post post(long id) {
+        return Post.builder()
+                .id(id)
+                .memberId(1L)
+                .contents("내용 " + id)
+                .likeCount(0L)
+                .version(0L)
+                .createdAt(LocalDateTime.of(2022, 8, 1, 12, 30))
+                .build();
+    }
+}
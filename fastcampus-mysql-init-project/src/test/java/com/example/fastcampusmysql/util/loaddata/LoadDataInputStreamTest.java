@@ -0,0 +1,65 @@
+package com.example.fastcampusmysql.util.loaddata;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+class LoadDataInputStreamTest {
+    record Row(Long id, String contents, LocalDate date, LocalDateTime createdAt) {
+    }
+
+    final private LoadDataFormat.Encoder<Row> encoder = (row, writer) -> writer
+            .column(row.id())
+            .column(row.contents())
+            .column(row.date())
+            .column(row.createdAt());
+
+    @DisplayName("컬럼은 탭, 행은 줄바꿈으로 구분하고 구분자와 NULL은 이스케이프한다")
+    @Test
+    public void testEncoding() throws IOException {
+        var rows = List.of(
+                new Row(1L, "a\tb\nc\\d\re\0", LocalDate.of(2023, 2, 1), LocalDateTime.of(2023, 2, 1, 10, 30, 0, 123_000)),
+                new Row(2L, null, null, null),
+                new Row(3L, "한글", LocalDate.of(1970, 1, 1), LocalDateTime.of(1970, 1, 1, 0, 0))
+        );
+
+        var stream = new LoadDataInputStream<>(rows.iterator(), encoder);
+        var text = new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+
+        Assertions.assertEquals(
+                "1\ta\\tb\\nc\\\\d\\re\\0\t2023-02-01\t2023-02-01 10:30:00.000123\n" +
+                "2\t\\N\t\\N\t\\N\n" +
+                "3\t한글\t1970-01-01\t1970-01-01 00:00:00.000000\n",
+                text);
+        Assertions.assertEquals(3, stream.getRowCount());
+    }
+
+    @DisplayName("여러 번 나눠 읽어도 모든 행을 빠짐없이 읽는다")
+    @Test
+    public void testPartialRead() throws IOException {
+        var rows = IntStream.range(0, 5_000)
+                .mapToObj(i -> new Row((long) i, "contents" + i, null, null))
+                .iterator();
+        var stream = new LoadDataInputStream<>(rows, encoder);
+
+        var buffer = new byte[7];
+        var bytes = new ByteArrayOutputStream();
+        int read;
+        while ((read = stream.read(buffer, 0, buffer.length)) != -1) {
+            bytes.write(buffer, 0, read);
+        }
+
+        var lines = bytes.toString(StandardCharsets.UTF_8).split("\n");
+        Assertions.assertEquals(5_000, lines.length);
+        Assertions.assertEquals("4999\tcontents4999\t\\N\t\\N", lines[4_999]);
+        Assertions.assertEquals(-1, stream.read());
+    }
+}